@@ -0,0 +1,443 @@
+package cn.i7mc.sagadungeons.benchmark;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * 基准测试辅助类
+ * 提供Bukkit类型的轻量替身：服务器、世界、玩家、怪物与背包均由动态代理实现，
+ * 只响应被测代码用到的方法，其余方法返回默认值。
+ * 插件实例不经过构造函数创建，只注入被测代码需要的字段，不启动任何管理器
+ */
+public final class BenchmarkSupport {
+
+    private static final Logger LOGGER = Logger.getLogger("SagaDungeons-Benchmark");
+    private static final Map<String, World> WORLDS = new ConcurrentHashMap<>();
+    private static final Map<UUID, Player> PLAYERS = new ConcurrentHashMap<>();
+    private static SagaDungeons plugin;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 安装替身服务器与插件实例
+     * DebugUtil、BukkitFileUtil等工具类在类初始化时读取插件实例，必须在使用它们之前调用
+     * @return 插件实例
+     */
+    public static synchronized SagaDungeons installPlugin() {
+        if (plugin == null) {
+            if (Bukkit.getServer() == null) {
+                Bukkit.setServer(proxy(Server.class, new ServerHandler()));
+            }
+            plugin = allocate(SagaDungeons.class);
+            setStaticField(SagaDungeons.class, "instance", plugin);
+        }
+        return plugin;
+    }
+
+    /**
+     * 设置插件数据文件夹与主配置
+     * @param plugin 插件实例
+     * @param dataFolder 数据文件夹
+     * @param config 主配置
+     */
+    public static void configurePlugin(SagaDungeons plugin, File dataFolder, YamlConfiguration config) {
+        setField(plugin, "dataFolder", dataFolder);
+        setField(plugin, "newConfig", config);
+    }
+
+    /**
+     * 从插件资源中复制文件到目录
+     * @param resource 资源路径
+     * @param directory 目标目录
+     */
+    public static void copyResource(String resource, File directory) {
+        try (InputStream in = BenchmarkSupport.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("找不到资源: " + resource);
+            }
+            Files.createDirectories(directory.toPath());
+            Files.copy(in, directory.toPath().resolve(resource), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 创建临时目录
+     * @param prefix 目录名前缀
+     * @return 临时目录
+     */
+    public static File createTempDirectory(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix).toFile();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 递归删除目录
+     * @param directory 目录
+     */
+    public static void deleteRecursively(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                deleteRecursively(file);
+            }
+        }
+        directory.delete();
+    }
+
+    /**
+     * 创建替身世界，并注册到替身服务器中
+     * @param name 世界名称
+     * @return 世界
+     */
+    public static World world(String name) {
+        World world = proxy(World.class, new WorldHandler(name));
+        WORLDS.put(name, world);
+        return world;
+    }
+
+    /**
+     * 从替身服务器中移除世界
+     * @param name 世界名称
+     * @return 被移除的世界，不存在时返回null
+     */
+    public static World removeWorld(String name) {
+        return WORLDS.remove(name);
+    }
+
+    /**
+     * 创建替身玩家，注册到替身服务器并加入所在世界的玩家列表
+     * @param name 玩家名称
+     * @param location 玩家位置
+     * @return 玩家
+     */
+    public static Player player(String name, Location location) {
+        Player player = proxy(Player.class, new PlayerHandler(name, location));
+        PLAYERS.put(player.getUniqueId(), player);
+        World world = location.getWorld();
+        if (world != null) {
+            worldHandler(world).players.add(player);
+        }
+        return player;
+    }
+
+    /**
+     * 创建替身怪物
+     * @return 僵尸
+     */
+    public static Zombie monster() {
+        return proxy(Zombie.class, (proxy, method, args) -> defaultValue(method.getReturnType()));
+    }
+
+    /**
+     * 创建替身背包
+     * 与服务端实现一样，每次getContents都返回新的数组
+     * @param contents 背包内容
+     * @return 背包
+     */
+    public static Inventory inventory(ItemStack[] contents) {
+        return proxy(Inventory.class, (proxy, method, args) -> {
+            if ("getContents".equals(method.getName())) {
+                return contents.clone();
+            }
+            if ("getSize".equals(method.getName())) {
+                return contents.length;
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    /**
+     * 不调用构造函数创建对象
+     * 用于插件主类与依赖插件环境的管理器，之后通过setField注入需要的字段
+     * @param type 类型
+     * @param <T> 类型
+     * @return 未初始化的对象
+     */
+    public static <T> T allocate(Class<T> type) {
+        try {
+            Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            Method allocateInstance = unsafe.getClass().getMethod("allocateInstance", Class.class);
+            return type.cast(allocateInstance.invoke(unsafe, type));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("无法创建 " + type.getName(), e);
+        }
+    }
+
+    /**
+     * 设置对象字段，包括父类中的私有字段与final字段
+     * @param target 对象
+     * @param name 字段名
+     * @param value 字段值
+     */
+    public static void setField(Object target, String name, Object value) {
+        try {
+            findField(target.getClass(), name).set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 读取对象字段
+     * @param target 对象
+     * @param name 字段名
+     * @param <T> 字段类型
+     * @return 字段值
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getField(Object target, String name) {
+        try {
+            return (T) findField(target.getClass(), name).get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void setStaticField(Class<?> type, String name, Object value) {
+        try {
+            findField(type, name).set(null, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException ignored) {
+                // 继续查找父类
+            }
+        }
+        throw new IllegalStateException("找不到字段: " + type.getName() + "." + name);
+    }
+
+    private static WorldHandler worldHandler(World world) {
+        return (WorldHandler) Proxy.getInvocationHandler(world);
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        InvocationHandler withObjectMethods = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+            }
+            return handler.invoke(proxy, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(BenchmarkSupport.class.getClassLoader(),
+                new Class<?>[]{type}, withObjectMethods));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+
+    /**
+     * 替身服务器
+     * 物品工厂只支持没有元数据的物品，足以覆盖ItemStack的isSimilar与hasItemMeta
+     */
+    private static class ServerHandler implements InvocationHandler {
+
+        private final ItemFactory itemFactory = proxy(ItemFactory.class, (proxy, method, args) -> {
+            if ("equals".equals(method.getName()) && args != null && args.length == 2) {
+                return Objects.equals(args[0], args[1]);
+            }
+            return defaultValue(method.getReturnType());
+        });
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getLogger":
+                    return LOGGER;
+                case "getName":
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "benchmark";
+                case "getItemFactory":
+                    return itemFactory;
+                case "getWorld":
+                    return args[0] instanceof String ? WORLDS.get(args[0]) : null;
+                case "getWorlds":
+                    return new ArrayList<>(WORLDS.values());
+                case "getPlayer":
+                    return args[0] instanceof UUID ? PLAYERS.get(args[0]) : null;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+    }
+
+    /**
+     * 替身世界
+     * 与服务端实现一样，每次getPlayers都返回新的列表；所有区块都视为已加载
+     */
+    private static class WorldHandler implements InvocationHandler {
+
+        private final String name;
+        private final UUID uid;
+        private final List<Player> players = new ArrayList<>();
+        private final Chunk chunk = proxy(Chunk.class, (proxy, method, args) ->
+                "isLoaded".equals(method.getName()) ? Boolean.TRUE : defaultValue(method.getReturnType()));
+
+        WorldHandler(String name) {
+            this.name = name;
+            this.uid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "getUID":
+                    return uid;
+                case "getPlayers":
+                    return new ArrayList<>(players);
+                case "getSpawnLocation":
+                    return new Location((World) proxy, 0.5, 64, 0.5);
+                case "getChunkAt":
+                    return chunk;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+    }
+
+    /**
+     * 替身玩家
+     * 与服务端实现一样，每次getLocation都返回新的位置对象；
+     * 传送会更新位置，跨世界传送时同时更新两个世界的玩家列表
+     */
+    private static class PlayerHandler implements InvocationHandler {
+
+        private final String name;
+        private final UUID uuid;
+        private final Location location;
+
+        PlayerHandler(String name, Location location) {
+            this.name = name;
+            this.uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
+            this.location = location;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "getUniqueId":
+                    return uuid;
+                case "getLocation":
+                    if (args == null) {
+                        return location.clone();
+                    }
+                    Location target = (Location) args[0];
+                    target.setWorld(location.getWorld());
+                    target.setX(location.getX());
+                    target.setY(location.getY());
+                    target.setZ(location.getZ());
+                    return target;
+                case "getWorld":
+                    return location.getWorld();
+                case "teleport":
+                    if (!(args[0] instanceof Location)) {
+                        return false;
+                    }
+                    teleport((Player) proxy, (Location) args[0]);
+                    return true;
+                case "isOnline":
+                    return true;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+
+        private void teleport(Player player, Location target) {
+            World from = location.getWorld();
+            World to = target.getWorld();
+            if (from != to) {
+                if (from != null) {
+                    worldHandler(from).players.remove(player);
+                }
+                if (to != null) {
+                    worldHandler(to).players.add(player);
+                }
+            }
+            location.setWorld(to);
+            location.setX(target.getX());
+            location.setY(target.getY());
+            location.setZ(target.getZ());
+            location.setYaw(target.getYaw());
+            location.setPitch(target.getPitch());
+        }
+    }
+}
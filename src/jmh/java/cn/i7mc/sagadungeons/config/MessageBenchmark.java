@@ -0,0 +1,80 @@
+package cn.i7mc.sagadungeons.config;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.benchmark.BenchmarkSupport;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 消息获取基准测试
+ * 使用插件自带的messages.yml，测量MessageManager.getMessage的查表与变量替换，
+ * 变量映射按调用方的习惯在每次调用时创建
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageBenchmark {
+
+    private File dataFolder;
+    private MessageManager messageManager;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        SagaDungeons plugin = BenchmarkSupport.installPlugin();
+
+        dataFolder = BenchmarkSupport.createTempDirectory("sagadungeons-messages");
+        BenchmarkSupport.copyResource("messages.yml", dataFolder);
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("lang", "zh");
+        BenchmarkSupport.configurePlugin(plugin, dataFolder, config);
+
+        messageManager = new MessageManager(plugin);
+        messageManager.loadMessages();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSupport.deleteRecursively(dataFolder);
+    }
+
+    @Benchmark
+    public String fixedMessage() {
+        return messageManager.getMessage("dungeon.completion.reach-area.not-reached");
+    }
+
+    @Benchmark
+    public String oneVariable() {
+        return messageManager.getMessage("dungeon.completion.kill-count.description", "count", String.valueOf(++counter));
+    }
+
+    @Benchmark
+    public String placeholderMap() {
+        Map<String, String> placeholders = messageManager.createPlaceholders(
+                "current", String.valueOf(++counter), "target", "50");
+        return messageManager.getMessage("dungeon.completion.kill-count.progress", placeholders);
+    }
+
+    @Benchmark
+    public String threeVariables() {
+        Map<String, String> placeholders = messageManager.createPlaceholders(
+                "x", String.valueOf(++counter), "y", "64", "z", "-120");
+        return messageManager.getMessage("dungeon.completion.reach-area.description", placeholders);
+    }
+
+    @Benchmark
+    public String missingMessage() {
+        return messageManager.getMessage("dungeon.completion.unknown");
+    }
+}
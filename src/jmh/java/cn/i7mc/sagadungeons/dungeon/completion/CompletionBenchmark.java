@@ -0,0 +1,133 @@
+package cn.i7mc.sagadungeons.dungeon.completion;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.benchmark.BenchmarkSupport;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.DungeonManager;
+import cn.i7mc.sagadungeons.dungeon.DungeonRegistry;
+import cn.i7mc.sagadungeons.metrics.PerfRegistry;
+import cn.i7mc.sagadungeons.model.DungeonTemplate;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通关条件事件基准测试
+ * 测量CompletionManager.handleEvent处理移动与击杀事件的耗时，
+ * 包括玩家数据与副本查询、条件处理以及每次事件后的通关检查
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompletionBenchmark {
+
+    private static final String REACH_DUNGEON = "reach";
+    private static final String KILL_DUNGEON = "kill";
+
+    // 副本世界中的玩家数量，到达区域条件每次检查都会遍历这些玩家
+    @Param({"1", "8"})
+    public int playersInWorld;
+
+    private CompletionManager completionManager;
+    private Player reachPlayer;
+    private Player killPlayer;
+    private Player outsidePlayer;
+    private Location moveTarget;
+    private Zombie victim;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SagaDungeons plugin = BenchmarkSupport.installPlugin();
+
+        // 只注入handleEvent用到的管理器，性能指标保持关闭
+        DungeonManager dungeonManager = BenchmarkSupport.allocate(DungeonManager.class);
+        BenchmarkSupport.setField(dungeonManager, "registry", new DungeonRegistry());
+        BenchmarkSupport.setField(dungeonManager, "playerDataMap", new ConcurrentHashMap<UUID, Object>());
+        BenchmarkSupport.setField(plugin, "dungeonManager", dungeonManager);
+        BenchmarkSupport.setField(plugin, "perfRegistry", BenchmarkSupport.allocate(PerfRegistry.class));
+
+        completionManager = new CompletionManager(plugin);
+
+        // 目标区域远离玩家，击杀目标足够大，条件在测试期间不会满足
+        YamlConfiguration reachConfig = new YamlConfiguration();
+        reachConfig.set("reachArea.x", 1000.0);
+        reachConfig.set("reachArea.y", 64.0);
+        reachConfig.set("reachArea.z", 1000.0);
+        reachConfig.set("reachArea.range", 3.0);
+        completionManager.loadCompletionConditions(new DungeonTemplate(REACH_DUNGEON), reachConfig);
+
+        YamlConfiguration killConfig = new YamlConfiguration();
+        killConfig.set("killCount.count", Integer.MAX_VALUE);
+        completionManager.loadCompletionConditions(new DungeonTemplate(KILL_DUNGEON), killConfig);
+
+        reachPlayer = createDungeon(dungeonManager, REACH_DUNGEON);
+        killPlayer = createDungeon(dungeonManager, KILL_DUNGEON);
+        outsidePlayer = BenchmarkSupport.player("outside", new Location(BenchmarkSupport.world("world"), 0, 64, 0));
+
+        moveTarget = new Location(reachPlayer.getWorld(), 10.5, 64, 10.5);
+        victim = BenchmarkSupport.monster();
+    }
+
+    /**
+     * 每轮迭代前重置击杀计数
+     */
+    @Setup(Level.Iteration)
+    public void resetConditions() {
+        completionManager.resetCompletionConditions(REACH_DUNGEON);
+        completionManager.resetCompletionConditions(KILL_DUNGEON);
+    }
+
+    /**
+     * 创建副本实例与世界，世界中放入指定数量的玩家
+     * @param dungeonManager 副本管理器
+     * @param dungeonId 副本ID，同时作为模板名称
+     * @return 副本中的第一个玩家
+     */
+    private Player createDungeon(DungeonManager dungeonManager, String dungeonId) {
+        World world = BenchmarkSupport.world("sd_" + dungeonId);
+        Player first = null;
+        for (int i = 0; i < playersInWorld; i++) {
+            Player player = BenchmarkSupport.player(dungeonId + i, new Location(world, i * 2.0, 64, 0));
+            dungeonManager.getPlayerData(player.getUniqueId()).setCurrentDungeonId(dungeonId);
+            if (first == null) {
+                first = player;
+            }
+        }
+
+        DungeonInstance instance = new DungeonInstance(dungeonId, dungeonId, first.getUniqueId());
+        dungeonManager.getRegistry().register(instance);
+        instance.setWorld(world);
+        completionManager.createConditionsForDungeon(dungeonId, dungeonId);
+        return first;
+    }
+
+    @Benchmark
+    public void moveEvent() {
+        completionManager.handleEvent(reachPlayer, "move", moveTarget);
+    }
+
+    @Benchmark
+    public void killEvent() {
+        completionManager.handleEvent(killPlayer, "kill", victim);
+    }
+
+    @Benchmark
+    public void playerNotInDungeon() {
+        completionManager.handleEvent(outsidePlayer, "move", moveTarget);
+    }
+}
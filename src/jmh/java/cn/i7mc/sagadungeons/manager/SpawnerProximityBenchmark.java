@@ -0,0 +1,71 @@
+package cn.i7mc.sagadungeons.manager;
+
+import cn.i7mc.sagadungeons.benchmark.BenchmarkSupport;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 刷怪点玩家距离检查基准测试
+ * 模拟一次刷怪检查中对副本内全部刷怪点调用MobSpawnerManager.isPlayerNearby，
+ * 玩家都在刷怪范围之外，每个刷怪点都要检查完所有玩家
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpawnerProximityBenchmark {
+
+    // 副本世界中的玩家数量
+    @Param({"1", "5", "20"})
+    public int players;
+
+    // 副本中的刷怪点数量
+    @Param({"32"})
+    public int spawners;
+
+    private World world;
+    private Player owner;
+    private Location[] spawnerLocations;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.installPlugin();
+        world = BenchmarkSupport.world("sd_proximity_" + players);
+
+        Random random = new Random(42L);
+        for (int i = 0; i < players; i++) {
+            Player player = BenchmarkSupport.player("player" + i,
+                    new Location(world, random.nextDouble(-500, -100), 64, random.nextDouble(-500, -100)));
+            if (owner == null) {
+                owner = player;
+            }
+        }
+
+        spawnerLocations = new Location[spawners];
+        for (int i = 0; i < spawners; i++) {
+            spawnerLocations[i] = new Location(world, random.nextDouble(100, 500), 64, random.nextDouble(100, 500));
+        }
+    }
+
+    @Benchmark
+    public int spawnerTick() {
+        int nearby = 0;
+        for (Location location : spawnerLocations) {
+            if (MobSpawnerManager.isPlayerNearby(owner, world, location)) {
+                nearby++;
+            }
+        }
+        return nearby;
+    }
+}
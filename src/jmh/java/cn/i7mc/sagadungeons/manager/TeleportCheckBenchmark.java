@@ -0,0 +1,71 @@
+package cn.i7mc.sagadungeons.manager;
+
+import cn.i7mc.sagadungeons.benchmark.BenchmarkSupport;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 传送世界检查基准测试
+ * 服务器上的每次传送都会调用WorldManager.isDungeonWorld判断目标世界，
+ * 对比按世界UID集合查询与按世界名前缀匹配两种方式
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TeleportCheckBenchmark {
+
+    // 已加载的副本世界数量
+    @Param({"10", "100"})
+    public int dungeonWorlds;
+
+    private WorldManager worldManager;
+    private World normalWorld;
+    private World dungeonWorld;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.installPlugin();
+
+        worldManager = BenchmarkSupport.allocate(WorldManager.class);
+        BenchmarkSupport.setField(worldManager, "worldPrefix", "sd_");
+        BenchmarkSupport.setField(worldManager, "dungeonWorldIds", ConcurrentHashMap.<UUID>newKeySet());
+
+        for (int i = 0; i < dungeonWorlds; i++) {
+            World world = BenchmarkSupport.world("sd_tower_" + i);
+            worldManager.trackWorld(world);
+            dungeonWorld = world;
+        }
+        normalWorld = BenchmarkSupport.world("world_nether");
+    }
+
+    @Benchmark
+    public boolean normalWorldByUid() {
+        return worldManager.isDungeonWorld(normalWorld);
+    }
+
+    @Benchmark
+    public boolean dungeonWorldByUid() {
+        return worldManager.isDungeonWorld(dungeonWorld);
+    }
+
+    @Benchmark
+    public boolean normalWorldByName() {
+        return worldManager.isDungeonWorld(normalWorld.getName());
+    }
+
+    @Benchmark
+    public boolean dungeonWorldByName() {
+        return worldManager.isDungeonWorld(dungeonWorld.getName());
+    }
+}
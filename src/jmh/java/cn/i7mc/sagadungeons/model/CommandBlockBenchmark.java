@@ -0,0 +1,51 @@
+package cn.i7mc.sagadungeons.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 禁止指令检查基准测试
+ * 副本中玩家执行的每条指令都会经过DungeonTemplate.isCommandBlocked
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandBlockBenchmark {
+
+    private static final String[] BLOCKED_COMMANDS = {
+            "/spawn", "/home", "/tpa", "/tpaccept", "/back", "/warp", "/rtp", "/sethome", "/ec", "/pv",
+            "/fly", "/gamemode", "/gm", "/kill", "/suicide", "/tp", "/tphere", "/jail", "/enderchest", "/hat"
+    };
+
+    // 禁止指令数量
+    @Param({"5", "20"})
+    public int blockedCount;
+
+    private DungeonTemplate template;
+
+    @Setup
+    public void setup() {
+        template = new DungeonTemplate("benchmark");
+        for (int i = 0; i < blockedCount; i++) {
+            template.addBlockCommand(BLOCKED_COMMANDS[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean blockedCommand() {
+        return template.isCommandBlocked("/Spawn");
+    }
+
+    @Benchmark
+    public boolean allowedCommand() {
+        return template.isCommandBlocked("/msg Steve see you at the boss room");
+    }
+}
@@ -0,0 +1,89 @@
+package cn.i7mc.sagadungeons.model;
+
+import cn.i7mc.sagadungeons.benchmark.BenchmarkSupport;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 玩家数据保存与加载基准测试
+ * 与DungeonManager保存playerdata.yml的过程一致：逐个写入配置节点后在调用线程序列化为字符串，
+ * 加载时解析字符串并逐个读取，不包含磁盘写入
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlayerDataBenchmark {
+
+    private static final String[] TEMPLATES = {"tower", "crypt", "forest", "nether_keep", "sky_isles"};
+
+    // 玩家数量
+    @Param({"100", "1000"})
+    public int players;
+
+    private final List<PlayerData> playerData = new ArrayList<>();
+    private String serialized;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.installPlugin();
+        World world = BenchmarkSupport.world("world");
+
+        for (int i = 0; i < players; i++) {
+            PlayerData data = new PlayerData(UUID.nameUUIDFromBytes(("player" + i).getBytes(StandardCharsets.UTF_8)));
+            data.setLastCreationTime(System.currentTimeMillis() - i * 1000L);
+            data.setLastLocation(new Location(world, i, 64, -i, i % 360, 0));
+            data.setOriginalGameMode(GameMode.SURVIVAL);
+            data.setTotalCreated(i % 50);
+            data.setTotalJoined(i % 80);
+            for (int j = 0; j <= i % TEMPLATES.length; j++) {
+                data.incrementCompletedCount(TEMPLATES[j]);
+            }
+            playerData.add(data);
+        }
+
+        serialized = save();
+    }
+
+    @Benchmark
+    public String save() {
+        YamlConfiguration config = new YamlConfiguration();
+        ConfigurationSection playersSection = config.createSection("players");
+        for (PlayerData data : playerData) {
+            data.saveToConfig(playersSection.createSection(data.getPlayerUUID().toString()));
+        }
+        return config.saveToString();
+    }
+
+    @Benchmark
+    public List<PlayerData> load() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(serialized);
+
+        ConfigurationSection playersSection = config.getConfigurationSection("players");
+        List<PlayerData> loaded = new ArrayList<>(players);
+        for (String uuidString : playersSection.getKeys(false)) {
+            PlayerData data = new PlayerData(UUID.fromString(uuidString));
+            data.loadFromConfig(playersSection.getConfigurationSection(uuidString));
+            loaded.add(data);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,400 @@
+package cn.i7mc.sagadungeons.simulation;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.benchmark.BenchmarkSupport;
+import cn.i7mc.sagadungeons.config.ConfigManager;
+import cn.i7mc.sagadungeons.config.MessageManager;
+import cn.i7mc.sagadungeons.config.TemplateManager;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.DungeonManager;
+import cn.i7mc.sagadungeons.dungeon.completion.CompletionManager;
+import cn.i7mc.sagadungeons.dungeon.death.DeathManager;
+import cn.i7mc.sagadungeons.governor.DegradationLevel;
+import cn.i7mc.sagadungeons.governor.TickGovernor;
+import cn.i7mc.sagadungeons.hook.HookManager;
+import cn.i7mc.sagadungeons.io.IOManager;
+import cn.i7mc.sagadungeons.manager.DungeonSecurityManager;
+import cn.i7mc.sagadungeons.manager.MobSpawnerManager;
+import cn.i7mc.sagadungeons.metrics.PerfRegistry;
+import cn.i7mc.sagadungeons.model.DungeonTemplate;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 副本tick负载基准
+ * 按场景文件准备大量队伍，每个队伍的队长通过DungeonManager创建副本，队员再加入副本；
+ * 世界的复制与加载由模拟世界管理器代替，其余创建、加入与离开流程都使用插件的实现。
+ * 每次基准调用模拟一个服务器tick：分发移动、击杀与死亡事件，按秒让一批队伍全部离开副本并重新创建，
+ * 最后推进调度器，由生命周期时间轮执行刷怪检查与超时任务。
+ * 每次调用的平均耗时即每tick的CPU时间，配合 -PjmhProfilers=gc 可得到每tick的内存分配量；
+ * 每个副本占用的堆内存与每次迭代的创建、加入、离开次数作为辅助计数输出
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class InstanceTickBenchmark {
+
+    private static final String REACH_TEMPLATE = "sim_reach";
+    private static final String KILL_TEMPLATE = "sim_kill";
+    private static final int TICKS_PER_SECOND = 20;
+    private static final int MAX_SETUP_TICKS = 100;
+
+    // 准备阶段测得的每个副本占用的堆内存，由辅助计数在测量迭代中输出
+    private static volatile long heapBytesPerInstance;
+
+    // 场景名称，对应 scenarios/<名称>.yml
+    @Param({"baseline", "peak"})
+    public String scenario;
+
+    private Scenario config;
+    private SimulatedTaskScheduler scheduler;
+    private DungeonManager dungeonManager;
+    private CompletionManager completionManager;
+    private DeathManager deathManager;
+    private IOManager ioManager;
+    private Party[] parties;
+    private Zombie victim;
+    private Random random;
+    private File dataFolder;
+    private int resetCursor;
+    private int resetPerSecond;
+
+    @Setup
+    public void setup() {
+        config = Scenario.load(scenario);
+        random = new Random(42L);
+        SagaDungeons plugin = BenchmarkSupport.installPlugin();
+
+        // 调度器、性能指标(关闭)与插件集成(无MythicMobs)
+        scheduler = new SimulatedTaskScheduler();
+        BenchmarkSupport.setField(plugin, "taskScheduler", scheduler);
+        BenchmarkSupport.setField(plugin, "perfRegistry", BenchmarkSupport.allocate(PerfRegistry.class));
+        BenchmarkSupport.setField(plugin, "hookManager", BenchmarkSupport.allocate(HookManager.class));
+
+        // 负载调节器(不采样，始终为正常等级)
+        TickGovernor governor = BenchmarkSupport.allocate(TickGovernor.class);
+        BenchmarkSupport.setField(governor, "level", DegradationLevel.NORMAL);
+        BenchmarkSupport.setField(plugin, "tickGovernor", governor);
+
+        // 默认主配置、消息与模板，冷却、运行统计等设置与插件默认值一致
+        dataFolder = BenchmarkSupport.createTempDirectory("sagadungeons-simulation");
+        new File(dataFolder, "templates").mkdirs();
+        BenchmarkSupport.copyResource("config.yml", dataFolder);
+        BenchmarkSupport.copyResource("messages.yml", dataFolder);
+        YamlConfiguration pluginConfig = YamlConfiguration.loadConfiguration(new File(dataFolder, "config.yml"));
+        pluginConfig.set("lang", "zh");
+        BenchmarkSupport.configurePlugin(plugin, dataFolder, pluginConfig);
+
+        ConfigManager configManager = new ConfigManager(plugin);
+        BenchmarkSupport.setField(configManager, "config", pluginConfig);
+        BenchmarkSupport.setField(configManager, "language", "zh");
+        BenchmarkSupport.setField(plugin, "configManager", configManager);
+        MessageManager messageManager = new MessageManager(plugin);
+        messageManager.loadMessages();
+        BenchmarkSupport.setField(configManager, "messageManager", messageManager);
+        TemplateManager templateManager = new TemplateManager(plugin);
+        BenchmarkSupport.setField(configManager, "templateManager", templateManager);
+
+        // I/O、世界与副本相关的管理器
+        ioManager = new IOManager(plugin);
+        BenchmarkSupport.setField(plugin, "ioManager", ioManager);
+        World lobby = BenchmarkSupport.world("world");
+        BenchmarkSupport.setField(plugin, "worldManager", new SimulatedWorldManager(plugin));
+        BenchmarkSupport.setField(plugin, "dungeonSecurityManager", new DungeonSecurityManager(plugin));
+        BenchmarkSupport.setField(plugin, "mobSpawnerManager", new MobSpawnerManager(plugin));
+        dungeonManager = new DungeonManager(plugin);
+        BenchmarkSupport.setField(plugin, "dungeonManager", dungeonManager);
+        completionManager = dungeonManager.getCompletionManager();
+        deathManager = dungeonManager.getDeathManager();
+
+        Map<String, DungeonTemplate> templates = BenchmarkSupport.getField(templateManager, "templates");
+        templates.put(REACH_TEMPLATE, createTemplate(REACH_TEMPLATE, "reachArea.x", 5000.0));
+        templates.put(KILL_TEMPLATE, createTemplate(KILL_TEMPLATE, "killCount.count", Integer.MAX_VALUE));
+
+        // 重置速度至少保证每个副本在时限过半前被重置一次，超时任务不会真正删除副本
+        int minimumReset = (int) Math.ceil(config.getInstances() / (config.getTimeoutSeconds() / 2.0));
+        resetPerSecond = Math.max(config.getResetPerSecond(), minimumReset);
+
+        // 准备队伍，玩家数据在创建副本前就已存在，不计入副本占用的内存
+        victim = BenchmarkSupport.monster();
+        parties = new Party[config.getInstances()];
+        for (int i = 0; i < parties.length; i++) {
+            parties[i] = createParty(i, lobby);
+        }
+
+        // 创建所有副本并统计堆内存
+        Counters counters = new Counters();
+        long heapBefore = usedHeap();
+        for (Party party : parties) {
+            create(party, counters);
+        }
+        for (int tick = 0; countPending() > 0; tick++) {
+            if (tick >= MAX_SETUP_TICKS) {
+                throw new IllegalStateException("副本未能在 " + MAX_SETUP_TICKS + " tick内创建完成");
+            }
+            scheduler.tick();
+        }
+        long heapAfter = usedHeap();
+        heapBytesPerInstance = Math.max(0L, heapAfter - heapBefore) / parties.length;
+    }
+
+    @TearDown
+    public void tearDown() {
+        ioManager.shutdown();
+        BenchmarkSupport.deleteRecursively(dataFolder);
+    }
+
+    /**
+     * 模拟一个服务器tick
+     * @param counters 辅助计数
+     */
+    @Benchmark
+    public void serverTick(Counters counters) {
+        for (Party party : parties) {
+            if (party.instance == null) {
+                // 副本世界尚未就绪
+                continue;
+            }
+            for (Player player : party.players) {
+                for (int i = events(config.getMoveRate()); i > 0; i--) {
+                    Location from = player.getLocation();
+                    Location to = from.add(random.nextDouble() - 0.5, 0, random.nextDouble() - 0.5);
+                    completionManager.handleEvent(player, "move", to);
+                }
+                for (int i = events(config.getKillRate()); i > 0; i--) {
+                    completionManager.handleEvent(player, "kill", victim);
+                }
+                for (int i = events(config.getDeathRate()); i > 0; i--) {
+                    deathManager.handleDeath(player);
+                }
+            }
+        }
+
+        if ((scheduler.getCurrentTick() + 1) % TICKS_PER_SECOND == 0) {
+            for (int i = 0; i < resetPerSecond; i++) {
+                Party party = parties[resetCursor];
+                resetCursor = (resetCursor + 1) % parties.length;
+                reset(party, counters);
+            }
+        }
+
+        scheduler.tick();
+    }
+
+    /**
+     * 按频率计算本tick的事件数量，小数部分按概率取整
+     * @param rate 每tick的平均事件数
+     * @return 事件数量
+     */
+    private int events(double rate) {
+        int count = (int) rate;
+        if (random.nextDouble() < rate - count) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 创建模板
+     * 到达区域远离玩家、击杀目标足够大，通关条件在模拟期间不会满足；
+     * 死亡次数不限，死亡只计数并重生；没有创建冷却，时限取自场景
+     * @param name 模板名称
+     * @param conditionKey 通关条件配置键
+     * @param conditionValue 通关条件配置值
+     * @return 模板
+     */
+    private DungeonTemplate createTemplate(String name, String conditionKey, Object conditionValue) {
+        DungeonTemplate template = new DungeonTemplate(name);
+        template.setDefaultTimeout(config.getTimeoutSeconds());
+        template.setCreationCooldown(0);
+        template.setDeathLimit(Integer.MAX_VALUE);
+        template.setSpawnLocation("0.5,64.0,0.5,0.0,0.0");
+        for (int i = 0; i < config.getSpawnersPerInstance(); i++) {
+            double x = random.nextDouble(-80, 80);
+            double z = random.nextDouble(-80, 80);
+            template.addMobSpawner("spawner" + i, "SkeletalKnight", x + ",64.0," + z + ",0.0,0.0", 10, 3);
+        }
+
+        YamlConfiguration conditions = new YamlConfiguration();
+        conditions.set(conditionKey, conditionValue);
+        completionManager.loadCompletionConditions(template, conditions);
+        return template;
+    }
+
+    /**
+     * 创建队伍，队伍中的玩家都在主世界
+     * @param index 队伍序号
+     * @param lobby 主世界
+     * @return 队伍
+     */
+    private Party createParty(int index, World lobby) {
+        String templateName = index % 2 == 0 ? REACH_TEMPLATE : KILL_TEMPLATE;
+        Player[] players = new Player[config.getPlayersPerInstance()];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = BenchmarkSupport.player("party" + index + "_" + i, lobby.getSpawnLocation());
+            dungeonManager.getPlayerData(players[i].getUniqueId());
+        }
+        return new Party(templateName, players);
+    }
+
+    /**
+     * 队长创建副本，副本世界就绪后队员加入
+     * @param party 队伍
+     * @param counters 辅助计数
+     */
+    private void create(Party party, Counters counters) {
+        party.instance = null;
+        if (!dungeonManager.createDungeon(party.players[0], party.templateName, instance -> join(party, instance, counters))) {
+            throw new IllegalStateException("无法创建副本: " + party.templateName);
+        }
+        counters.created++;
+    }
+
+    /**
+     * 副本世界就绪后队员加入副本，之后所有玩家分散到副本各处
+     * @param party 队伍
+     * @param instance 副本实例
+     * @param counters 辅助计数
+     */
+    private void join(Party party, DungeonInstance instance, Counters counters) {
+        if (instance == null) {
+            throw new IllegalStateException("副本世界创建失败: " + party.templateName);
+        }
+
+        for (int i = 1; i < party.players.length; i++) {
+            Player member = party.players[i];
+            instance.addAllowedPlayer(member.getUniqueId());
+            if (dungeonManager.joinDungeon(member, instance.getId())) {
+                counters.joined++;
+            }
+        }
+
+        World world = instance.getWorld();
+        for (Player player : party.players) {
+            player.teleport(new Location(world, random.nextDouble(-100, 100), 64, random.nextDouble(-100, 100)));
+        }
+        party.instance = instance;
+    }
+
+    /**
+     * 重置队伍的副本：所有玩家离开副本，最后一名玩家离开时副本被删除，随后队长重新创建副本
+     * @param party 队伍
+     * @param counters 辅助计数
+     */
+    private void reset(Party party, Counters counters) {
+        if (party.instance == null) {
+            return;
+        }
+
+        for (Player player : party.players) {
+            if (dungeonManager.leaveDungeon(player)) {
+                counters.left++;
+            }
+        }
+        create(party, counters);
+    }
+
+    /**
+     * 统计副本世界尚未就绪的队伍数量
+     * @return 队伍数量
+     */
+    private int countPending() {
+        int pending = 0;
+        for (Party party : parties) {
+            if (party.instance == null) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * 获取GC后的已用堆内存
+     * @return 已用堆内存(字节)
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 辅助计数
+     * 公共字段为事件计数，JMH在每次迭代开始时清零并按迭代累加；
+     * 每个副本占用的堆内存只在每个fork的第一次测量迭代中按fork数均分计入，汇总结果即各fork测得值的平均值
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        // 通过DungeonManager创建的副本数量
+        public long created;
+        // 通过DungeonManager加入副本的玩家数量
+        public long joined;
+        // 通过DungeonManager离开副本的玩家数量
+        public long left;
+
+        private double heapShare;
+        private boolean heapReported;
+
+        @Setup(Level.Iteration)
+        public void setupIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+            heapShare = 0;
+            if (iterationParams.getType() == IterationType.MEASUREMENT && !heapReported) {
+                heapShare = (double) InstanceTickBenchmark.heapBytesPerInstance / Math.max(1, benchmarkParams.getForks());
+                heapReported = true;
+            }
+        }
+
+        /**
+         * 获取本次迭代计入的每个副本占用的堆内存
+         * @return 堆内存(字节)
+         */
+        public double heapBytesPerInstance() {
+            return heapShare;
+        }
+    }
+
+    /**
+     * 模拟队伍
+     * 第一名玩家为队长，副本世界就绪前副本实例为null
+     */
+    private static class Party {
+        private final String templateName;
+        private final Player[] players;
+        private DungeonInstance instance;
+
+        Party(String templateName, Player[] players) {
+            this.templateName = templateName;
+            this.players = players;
+        }
+    }
+}
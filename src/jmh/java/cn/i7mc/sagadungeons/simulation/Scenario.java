@@ -0,0 +1,129 @@
+package cn.i7mc.sagadungeons.simulation;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 副本tick负载场景
+ * 从 scenarios/&lt;名称&gt;.yml 读取，所有频率都以每tick计
+ */
+public class Scenario {
+
+    private final String name;
+    private final int instances;
+    private final int playersPerInstance;
+    private final int spawnersPerInstance;
+    private final double moveRate;
+    private final double killRate;
+    private final double deathRate;
+    private final int timeoutSeconds;
+    private final int resetPerSecond;
+
+    private Scenario(String name, YamlConfiguration config) {
+        this.name = name;
+        this.instances = Math.max(1, config.getInt("instances", 100));
+        this.playersPerInstance = Math.max(1, config.getInt("players-per-instance", 4));
+        this.spawnersPerInstance = Math.max(0, config.getInt("spawners-per-instance", 8));
+        this.moveRate = Math.max(0.0, config.getDouble("move-rate", 1.0));
+        this.killRate = Math.max(0.0, config.getDouble("kill-rate", 0.05));
+        this.deathRate = Math.max(0.0, config.getDouble("death-rate", 0.001));
+        this.timeoutSeconds = Math.max(60, config.getInt("timeout-seconds", 1800));
+        this.resetPerSecond = Math.max(0, config.getInt("reset-per-second", 1));
+    }
+
+    /**
+     * 从类路径加载场景
+     * @param name 场景名称
+     * @return 场景
+     */
+    public static Scenario load(String name) {
+        String resource = "scenarios/" + name + ".yml";
+        try (InputStream in = Scenario.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("找不到场景文件: " + resource);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return new Scenario(name, YamlConfiguration.loadConfiguration(reader));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("读取场景文件失败: " + resource, e);
+        }
+    }
+
+    /**
+     * 获取场景名称
+     * @return 场景名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取副本实例数量
+     * @return 实例数量
+     */
+    public int getInstances() {
+        return instances;
+    }
+
+    /**
+     * 获取每个副本的玩家数量
+     * @return 玩家数量
+     */
+    public int getPlayersPerInstance() {
+        return playersPerInstance;
+    }
+
+    /**
+     * 获取每个副本的刷怪点数量
+     * @return 刷怪点数量
+     */
+    public int getSpawnersPerInstance() {
+        return spawnersPerInstance;
+    }
+
+    /**
+     * 获取每个玩家每tick的移动事件数量
+     * @return 移动频率
+     */
+    public double getMoveRate() {
+        return moveRate;
+    }
+
+    /**
+     * 获取每个玩家每tick的击杀事件数量
+     * @return 击杀频率
+     */
+    public double getKillRate() {
+        return killRate;
+    }
+
+    /**
+     * 获取每个玩家每tick的死亡事件数量
+     * @return 死亡频率
+     */
+    public double getDeathRate() {
+        return deathRate;
+    }
+
+    /**
+     * 获取副本时限
+     * @return 时限(秒)
+     */
+    public int getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    /**
+     * 获取每秒重置的副本数量
+     * @return 重置数量
+     */
+    public int getResetPerSecond() {
+        return resetPerSecond;
+    }
+}
@@ -0,0 +1,137 @@
+package cn.i7mc.sagadungeons.simulation;
+
+import cn.i7mc.sagadungeons.scheduler.TaskHandle;
+import cn.i7mc.sagadungeons.scheduler.TaskScheduler;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 模拟调度器
+ * 由模拟器逐tick驱动，所有同步任务在调用tick的线程执行，异步任务直接在调用线程执行
+ */
+public class SimulatedTaskScheduler implements TaskScheduler {
+
+    private final List<SimulatedTask> tasks = new ArrayList<>();
+    private final List<SimulatedTask> due = new ArrayList<>();
+    private long currentTick;
+
+    /**
+     * 执行一个tick
+     */
+    public void tick() {
+        currentTick++;
+
+        // 先摘出到期任务，任务执行时可以安排新的任务
+        for (int i = tasks.size() - 1; i >= 0; i--) {
+            SimulatedTask task = tasks.get(i);
+            if (task.cancelled) {
+                tasks.remove(i);
+            } else if (task.nextRun <= currentTick) {
+                due.add(task);
+            }
+        }
+
+        for (int i = due.size() - 1; i >= 0; i--) {
+            SimulatedTask task = due.get(i);
+            if (task.cancelled) {
+                continue;
+            }
+            task.action.run();
+            if (task.period > 0) {
+                task.nextRun = currentTick + task.period;
+            } else {
+                task.cancelled = true;
+            }
+        }
+        due.clear();
+    }
+
+    /**
+     * 获取当前tick
+     * @return 当前tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    private TaskHandle schedule(Runnable action, long delayTicks, long periodTicks) {
+        SimulatedTask task = new SimulatedTask(action, currentTick + Math.max(1L, delayTicks), periodTicks);
+        tasks.add(task);
+        return task;
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return false;
+    }
+
+    @Override
+    public TaskHandle runGlobal(Runnable task) {
+        return schedule(task, 1L, 0L);
+    }
+
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delayTicks) {
+        return schedule(task, delayTicks, 0L);
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return schedule(task, delayTicks, Math.max(1L, periodTicks));
+    }
+
+    @Override
+    public TaskHandle runAt(Location location, Runnable task) {
+        return runGlobal(task);
+    }
+
+    @Override
+    public TaskHandle runAtLater(Location location, Runnable task, long delayTicks) {
+        return runGlobalLater(task, delayTicks);
+    }
+
+    @Override
+    public TaskHandle runForEntity(Entity entity, Runnable task) {
+        return runGlobal(task);
+    }
+
+    @Override
+    public TaskHandle runForEntityLater(Entity entity, Runnable task, long delayTicks) {
+        return runGlobalLater(task, delayTicks);
+    }
+
+    @Override
+    public TaskHandle runAsync(Runnable task) {
+        task.run();
+        return new SimulatedTask(task, currentTick, 0L);
+    }
+
+    /**
+     * 模拟任务
+     */
+    private static class SimulatedTask implements TaskHandle {
+        private final Runnable action;
+        private final long period;
+        private long nextRun;
+        private boolean cancelled;
+
+        SimulatedTask(Runnable action, long nextRun, long period) {
+            this.action = action;
+            this.nextRun = nextRun;
+            this.period = period;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package cn.i7mc.sagadungeons.simulation;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.benchmark.BenchmarkSupport;
+import cn.i7mc.sagadungeons.manager.WorldManager;
+import org.bukkit.World;
+
+import java.util.function.Consumer;
+
+/**
+ * 模拟世界管理器
+ * 替换副本世界的复制、加载与卸载：创建时直接生成替身世界并在下一tick回调，
+ * 删除时从替身服务器中移除世界。其余方法沿用WorldManager的实现
+ */
+public class SimulatedWorldManager extends WorldManager {
+
+    private final SagaDungeons plugin;
+    private final String worldPrefix;
+
+    public SimulatedWorldManager(SagaDungeons plugin) {
+        super(plugin);
+        this.plugin = plugin;
+        this.worldPrefix = plugin.getConfigManager().getWorldPrefix();
+    }
+
+    /**
+     * 创建替身副本世界，下一tick回调创建成功
+     * 不复制世界文件，也不使用创建锁
+     * @param templateName 模板名称
+     * @param dungeonId 副本ID
+     * @param progressCallback 进度回调
+     * @param completionCallback 完成回调
+     */
+    @Override
+    public void createDungeonWorld(String templateName, String dungeonId, Consumer<Double> progressCallback, Consumer<Boolean> completionCallback) {
+        World world = BenchmarkSupport.world(worldPrefix + dungeonId);
+        trackWorld(world);
+        plugin.getTaskScheduler().runGlobal(() -> {
+            if (completionCallback != null) {
+                completionCallback.accept(true);
+            }
+        });
+    }
+
+    /**
+     * 从替身服务器中移除副本世界
+     * @param worldName 世界名称
+     * @param completionCallback 完成回调
+     */
+    @Override
+    public void deleteDungeonWorld(String worldName, Consumer<Boolean> completionCallback) {
+        World world = BenchmarkSupport.removeWorld(worldName);
+        if (world != null) {
+            untrackWorld(world);
+        }
+        if (completionCallback != null) {
+            completionCallback.accept(world != null);
+        }
+    }
+}
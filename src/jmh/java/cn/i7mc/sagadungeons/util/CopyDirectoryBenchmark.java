@@ -0,0 +1,85 @@
+package cn.i7mc.sagadungeons.util;
+
+import cn.i7mc.sagadungeons.benchmark.BenchmarkSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 世界文件夹复制基准测试
+ * 生成与副本模板世界结构相近的目录树(region、entities、poi、data以及level.dat等)，
+ * 测量BukkitFileUtil.copyDirectory复制整个目录的耗时
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CopyDirectoryBenchmark {
+
+    private static final String[] SUB_DIRECTORIES = {"region", "entities", "poi", "data"};
+
+    // 每个子目录中的文件数量
+    @Param({"4", "32"})
+    public int filesPerDirectory;
+
+    // 单个文件大小(KB)
+    @Param({"64"})
+    public int fileSizeKb;
+
+    private File root;
+    private File source;
+    private File target;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkSupport.installPlugin();
+
+        root = BenchmarkSupport.createTempDirectory("sagadungeons-copy");
+        source = new File(root, "template");
+        target = new File(root, "copy");
+
+        Random random = new Random(42L);
+        byte[] content = new byte[fileSizeKb * 1024];
+        for (String directory : SUB_DIRECTORIES) {
+            File folder = new File(source, directory);
+            Files.createDirectories(folder.toPath());
+            for (int i = 0; i < filesPerDirectory; i++) {
+                random.nextBytes(content);
+                Files.write(new File(folder, "r." + i + ".0.mca").toPath(), content);
+            }
+        }
+
+        // 复制时会跳过session.lock与uid.dat
+        random.nextBytes(content);
+        Files.write(new File(source, "level.dat").toPath(), content);
+        Files.write(new File(source, "session.lock").toPath(), new byte[8]);
+        Files.write(new File(source, "uid.dat").toPath(), new byte[16]);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteTarget() {
+        BukkitFileUtil.deleteDirectory(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSupport.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public boolean copyDirectory() {
+        return BukkitFileUtil.copyDirectory(source, target, null);
+    }
+}
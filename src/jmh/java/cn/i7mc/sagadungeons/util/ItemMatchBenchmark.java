@@ -0,0 +1,83 @@
+package cn.i7mc.sagadungeons.util;
+
+import cn.i7mc.sagadungeons.benchmark.BenchmarkSupport;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 物品匹配基准测试
+ * 在41格的玩家背包中统计配置物品，对比ItemMatcher的指纹预筛选与逐格isSimilar。
+ * 替身服务器的物品工厂不支持元数据，因此只覆盖不带元数据的物品，
+ * 带显示名与描述的物品还需在服务端环境中测量
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemMatchBenchmark {
+
+    private static final Material[] FILLER = {
+            Material.STONE, Material.DIRT, Material.COBBLESTONE, Material.OAK_LOG, Material.TORCH,
+            Material.BREAD, Material.IRON_INGOT, Material.ARROW, Material.GOLDEN_APPLE
+    };
+
+    private Inventory inventory;
+    private ItemMatcher presentMatcher;
+    private ItemMatcher missingMatcher;
+    private ItemStack presentPrototype;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.installPlugin();
+
+        // 填满背包，目标物品分散在背包末尾
+        ItemStack[] contents = new ItemStack[41];
+        for (int i = 0; i < contents.length; i++) {
+            if (i % 12 == 11) {
+                contents[i] = null;
+            } else {
+                contents[i] = new ItemStack(FILLER[i % FILLER.length], 1 + i % 64);
+            }
+        }
+        contents[30] = new ItemStack(Material.DIAMOND, 3);
+        contents[38] = new ItemStack(Material.DIAMOND, 5);
+        inventory = BenchmarkSupport.inventory(contents);
+
+        presentPrototype = new ItemStack(Material.DIAMOND);
+        presentMatcher = ItemMatcher.of(presentPrototype);
+        missingMatcher = ItemMatcher.of(new ItemStack(Material.NETHER_STAR));
+    }
+
+    @Benchmark
+    public boolean matcherHasEnough() {
+        return presentMatcher.hasEnough(inventory, 8);
+    }
+
+    @Benchmark
+    public boolean matcherMissing() {
+        return missingMatcher.hasEnough(inventory, 1);
+    }
+
+    @Benchmark
+    public boolean isSimilarScan() {
+        int count = 0;
+        for (ItemStack item : inventory.getContents()) {
+            if (item != null && item.isSimilar(presentPrototype)) {
+                count += item.getAmount();
+                if (count >= 8) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
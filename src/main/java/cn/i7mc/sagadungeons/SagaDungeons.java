@@ -9,11 +9,18 @@ import cn.i7mc.sagadungeons.event.CompletionListener;
 import cn.i7mc.sagadungeons.event.InventoryListener;
 import cn.i7mc.sagadungeons.event.PlayerListener;
 import cn.i7mc.sagadungeons.event.WorldListener;
+import cn.i7mc.sagadungeons.governor.TickGovernor;
 import cn.i7mc.sagadungeons.gui.GUIManager;
 import cn.i7mc.sagadungeons.hook.HookManager;
+import cn.i7mc.sagadungeons.io.IOManager;
+import cn.i7mc.sagadungeons.manager.DebugLogManager;
 import cn.i7mc.sagadungeons.manager.MobSpawnerManager;
+import cn.i7mc.sagadungeons.manager.PlayerNameCache;
 import cn.i7mc.sagadungeons.manager.WorldManager;
 import cn.i7mc.sagadungeons.metrics.Metrics;
+import cn.i7mc.sagadungeons.metrics.PerfRegistry;
+import cn.i7mc.sagadungeons.reaper.StateReaper;
+import cn.i7mc.sagadungeons.scheduler.TaskScheduler;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
@@ -29,11 +36,18 @@ public class SagaDungeons extends JavaPlugin {
     private CommandManager commandManager;
     private DungeonManager dungeonManager;
     private WorldManager worldManager;
+    private PlayerNameCache playerNameCache;
     private HookManager hookManager;
     private GUIManager guiManager;
     private MobSpawnerManager mobSpawnerManager;
     private ChatInputListener chatInputListener;
     private cn.i7mc.sagadungeons.manager.DungeonSecurityManager dungeonSecurityManager;
+    private DebugLogManager debugLogManager;
+    private TaskScheduler taskScheduler;
+    private IOManager ioManager;
+    private PerfRegistry perfRegistry;
+    private TickGovernor tickGovernor;
+    private StateReaper stateReaper;
 
     /**
      * 获取插件实例
@@ -48,22 +62,40 @@ public class SagaDungeons extends JavaPlugin {
         // 保存插件实例
         instance = this;
 
+        // 根据服务端类型选择任务调度器
+        taskScheduler = TaskScheduler.create(this);
+
         // 保存默认配置文件
         saveDefaultConfig();
 
         // 保存所有语言文件
         saveLanguageFiles();
 
+        // 初始化调试日志管理器（由配置管理器加载设置）
+        debugLogManager = new DebugLogManager(this);
+
         // 初始化配置管理器
         configManager = new ConfigManager(this);
         configManager.loadConfigs();
 
+        // 初始化I/O管理器
+        ioManager = new IOManager(this);
+
+        // 初始化性能指标注册表
+        perfRegistry = new PerfRegistry(this);
+
         // 初始化世界管理器
         worldManager = new WorldManager(this);
 
+        // 初始化玩家名称缓存
+        playerNameCache = new PlayerNameCache();
+
         // 初始化副本管理器
         dungeonManager = new DungeonManager(this);
 
+        // 初始化负载调节器
+        tickGovernor = new TickGovernor(this);
+
         // 初始化外部插件集成管理器
         hookManager = new HookManager(this);
 
@@ -79,6 +111,9 @@ public class SagaDungeons extends JavaPlugin {
         // 初始化副本安全管理器
         dungeonSecurityManager = new cn.i7mc.sagadungeons.manager.DungeonSecurityManager(this);
 
+        // 初始化状态回收器
+        stateReaper = new StateReaper(this);
+
         // 初始化命令管理器
         commandManager = new CommandManager(this);
         commandManager.registerCommands();
@@ -167,9 +202,25 @@ public class SagaDungeons extends JavaPlugin {
     @Override
     public void onDisable() {
 
-        // 保存数据
+        // 停止性能指标导出
+        if (perfRegistry != null) {
+            perfRegistry.shutdown();
+        }
+
+        // 停止负载调节
+        if (tickGovernor != null) {
+            tickGovernor.shutdown();
+        }
+
+        // 停止状态回收
+        if (stateReaper != null) {
+            stateReaper.shutdown();
+        }
+
+        // 保存数据并停止生命周期调度
         if (dungeonManager != null) {
             dungeonManager.saveAllData();
+            dungeonManager.getLifecycleScheduler().shutdown();
         }
 
         // 卸载所有副本世界
@@ -177,6 +228,21 @@ public class SagaDungeons extends JavaPlugin {
             worldManager.unloadAllDungeonWorlds();
         }
 
+        // 卸载副本世界时结束的副本也会记录运行数据，世界卸载后再写出
+        if (dungeonManager != null) {
+            dungeonManager.getRunAnalytics().shutdown();
+        }
+
+        // 等待排队的文件操作完成
+        if (ioManager != null) {
+            ioManager.shutdown();
+        }
+
+        // 写出剩余的调试日志
+        if (debugLogManager != null) {
+            debugLogManager.shutdown();
+        }
+
         // 清除插件实例
         instance = null;
     }
@@ -218,6 +284,46 @@ public class SagaDungeons extends JavaPlugin {
         return dungeonManager;
     }
 
+    /**
+     * 获取任务调度器
+     * @return 任务调度器
+     */
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    /**
+     * 获取I/O管理器
+     * @return I/O管理器
+     */
+    public IOManager getIOManager() {
+        return ioManager;
+    }
+
+    /**
+     * 获取性能指标注册表
+     * @return 性能指标注册表
+     */
+    public PerfRegistry getPerfRegistry() {
+        return perfRegistry;
+    }
+
+    /**
+     * 获取负载调节器
+     * @return 负载调节器
+     */
+    public TickGovernor getTickGovernor() {
+        return tickGovernor;
+    }
+
+    /**
+     * 获取状态回收器
+     * @return 状态回收器
+     */
+    public StateReaper getStateReaper() {
+        return stateReaper;
+    }
+
     /**
      * 获取世界管理器
      * @return 世界管理器
@@ -226,6 +332,14 @@ public class SagaDungeons extends JavaPlugin {
         return worldManager;
     }
 
+    /**
+     * 获取玩家名称缓存
+     * @return 玩家名称缓存
+     */
+    public PlayerNameCache getPlayerNameCache() {
+        return playerNameCache;
+    }
+
     /**
      * 获取外部插件集成管理器
      * @return 外部插件集成管理器
@@ -265,4 +379,12 @@ public class SagaDungeons extends JavaPlugin {
     public cn.i7mc.sagadungeons.manager.DungeonSecurityManager getDungeonSecurityManager() {
         return dungeonSecurityManager;
     }
+
+    /**
+     * 获取调试日志管理器
+     * @return 调试日志管理器
+     */
+    public DebugLogManager getDebugLogManager() {
+        return debugLogManager;
+    }
 }
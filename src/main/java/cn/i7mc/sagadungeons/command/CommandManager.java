@@ -2,10 +2,12 @@ package cn.i7mc.sagadungeons.command;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.command.admin.AdminCommand;
+import cn.i7mc.sagadungeons.command.admin.AnalyticsCommand;
 import cn.i7mc.sagadungeons.command.admin.CopyWorldCommand;
 import cn.i7mc.sagadungeons.command.admin.CreateTemplateCommand;
 import cn.i7mc.sagadungeons.command.admin.ForceCloseCommand;
 import cn.i7mc.sagadungeons.command.admin.GUICommand;
+import cn.i7mc.sagadungeons.command.admin.PerfCommand;
 import cn.i7mc.sagadungeons.command.admin.SetBackCommand;
 import cn.i7mc.sagadungeons.command.admin.SetItemCommand;
 import cn.i7mc.sagadungeons.command.admin.SetSpawnCommand;
@@ -18,7 +20,9 @@ import cn.i7mc.sagadungeons.command.player.KickCommand;
 import cn.i7mc.sagadungeons.command.player.LeaveCommand;
 import cn.i7mc.sagadungeons.command.player.ListCommand;
 import cn.i7mc.sagadungeons.command.player.PublicCommand;
+import cn.i7mc.sagadungeons.command.player.QueueCommand;
 import cn.i7mc.sagadungeons.command.player.StatsCommand;
+import cn.i7mc.sagadungeons.command.player.TopCommand;
 import cn.i7mc.sagadungeons.util.MessageUtil;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -65,6 +69,8 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         registerSubCommand(new LeaveCommand(plugin));
         registerSubCommand(new KickCommand(plugin));
         registerSubCommand(new PublicCommand(plugin));
+        registerSubCommand(new QueueCommand(plugin));
+        registerSubCommand(new TopCommand(plugin));
 
         // 注册管理员子命令
         registerSubCommand(new AdminCommand(plugin));
@@ -77,6 +83,8 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         registerSubCommand(new GUICommand(plugin));
         registerSubCommand(new SpawnerAdminCommand(plugin));
         registerSubCommand(new SetBackCommand(plugin));
+        registerSubCommand(new PerfCommand(plugin));
+        registerSubCommand(new AnalyticsCommand(plugin));
     }
 
     /**
@@ -250,6 +258,8 @@ public class CommandManager implements CommandExecutor, TabCompleter {
                 adminSubCommands.add("spawner");
                 adminSubCommands.add("edit");
                 adminSubCommands.add("setback");
+                adminSubCommands.add("perf");
+                adminSubCommands.add("stats");
                 adminSubCommands.add("help");
 
                 for (String subCommand : adminSubCommands) {
@@ -297,7 +307,9 @@ public class CommandManager implements CommandExecutor, TabCompleter {
                commandName.equalsIgnoreCase("forceclose") ||
                commandName.equalsIgnoreCase("setspawn") ||
                commandName.equalsIgnoreCase("gui") ||
-               commandName.equalsIgnoreCase("spawner");
+               commandName.equalsIgnoreCase("spawner") ||
+               commandName.equalsIgnoreCase("perf") ||
+               commandName.equalsIgnoreCase("analytics");
     }
 
     /**
@@ -317,6 +329,8 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         MessageUtil.sendMessage(sender, "command.help.leave");
         MessageUtil.sendMessage(sender, "command.help.kick");
         MessageUtil.sendMessage(sender, "command.help.public");
+        MessageUtil.sendMessage(sender, "command.help.queue");
+        MessageUtil.sendMessage(sender, "command.help.top");
         MessageUtil.sendMessage(sender, "command.help.help");
 
         // 如果有管理员权限，提示使用管理员命令
@@ -349,6 +363,8 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         MessageUtil.sendMessage(sender, "command.admin.help.setspawn");
         MessageUtil.sendMessage(sender, "command.admin.help.gui");
         MessageUtil.sendMessage(sender, "command.admin.help.spawner");
+        MessageUtil.sendMessage(sender, "command.admin.help.perf");
+        MessageUtil.sendMessage(sender, "command.admin.help.stats");
         MessageUtil.sendMessage(sender, "command.admin.help.help");
 
         // 发送帮助页脚
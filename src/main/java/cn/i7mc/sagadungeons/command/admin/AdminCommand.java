@@ -2,6 +2,7 @@ package cn.i7mc.sagadungeons.command.admin;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.command.AbstractCommand;
+import cn.i7mc.sagadungeons.dungeon.JoinResult;
 import cn.i7mc.sagadungeons.util.MessageUtil;
 import org.bukkit.command.CommandSender;
 
@@ -79,14 +80,19 @@ public class AdminCommand extends AbstractCommand {
                 // 获取副本ID
                 String tpDungeonId = args[1];
 
-                // 传送到副本
-                boolean tpSuccess = plugin.getDungeonManager().joinDungeon(getPlayer(sender), tpDungeonId);
+                // 传送到副本，休眠的副本恢复后再发送传送成功消息
+                JoinResult tpResult = plugin.getDungeonManager().joinDungeon(getPlayer(sender), tpDungeonId, joined -> {
+                    if (joined) {
+                        sendMessage(sender, "command.admin.tp.success",
+                                MessageUtil.createPlaceholders("id", tpDungeonId));
+                    }
+                });
 
                 // 发送消息
-                if (tpSuccess) {
+                if (tpResult == JoinResult.JOINED) {
                     sendMessage(sender, "command.admin.tp.success",
                             MessageUtil.createPlaceholders("id", tpDungeonId));
-                } else {
+                } else if (tpResult == JoinResult.FAILED) {
                     sendMessage(sender, "command.admin.tp.fail",
                             MessageUtil.createPlaceholders("id", tpDungeonId));
                 }
@@ -199,6 +205,24 @@ public class AdminCommand extends AbstractCommand {
                 // 执行命令
                 new SetBackCommand(plugin).execute(sender, new String[0]);
                 break;
+            case "perf":
+                // 查看性能指标
+                // 创建参数数组
+                String[] perfArgs = new String[args.length - 1];
+                System.arraycopy(args, 1, perfArgs, 0, args.length - 1);
+
+                // 执行命令
+                new PerfCommand(plugin).execute(sender, perfArgs);
+                break;
+            case "stats":
+                // 查看副本运行统计
+                // 创建参数数组
+                String[] statsArgs = new String[args.length - 1];
+                System.arraycopy(args, 1, statsArgs, 0, args.length - 1);
+
+                // 执行命令
+                new AnalyticsCommand(plugin).execute(sender, statsArgs);
+                break;
             case "help":
                 // 显示帮助
                 showAdminHelp(sender);
@@ -234,6 +258,8 @@ public class AdminCommand extends AbstractCommand {
             subCommands.add("spawner");
             subCommands.add("edit");
             subCommands.add("setback");
+            subCommands.add("perf");
+            subCommands.add("stats");
             subCommands.add("help");
 
             for (String subCommand : subCommands) {
@@ -251,11 +277,7 @@ public class AdminCommand extends AbstractCommand {
                     completions.add("all");
                 }
 
-                for (String dungeonId : plugin.getDungeonManager().getActiveDungeons().keySet()) {
-                    if (dungeonId.toLowerCase().startsWith(arg)) {
-                        completions.add(dungeonId);
-                    }
-                }
+                completions.addAll(plugin.getDungeonManager().getRegistry().getIdsStartingWith(arg));
             } else if (args[0].equalsIgnoreCase("setworld") || args[0].equalsIgnoreCase("copyworld") || args[0].equalsIgnoreCase("setitem")) {
                 String arg = args[1].toLowerCase();
 
@@ -264,6 +286,12 @@ public class AdminCommand extends AbstractCommand {
                         completions.add(templateName);
                     }
                 }
+            } else if (args[0].equalsIgnoreCase("perf")) {
+                // 补全性能指标子命令
+                completions.addAll(new PerfCommand(plugin).tabComplete(sender, new String[]{args[1]}));
+            } else if (args[0].equalsIgnoreCase("stats")) {
+                // 补全模板名称
+                completions.addAll(new AnalyticsCommand(plugin).tabComplete(sender, new String[]{args[1]}));
             } else if (args[0].equalsIgnoreCase("spawner")) {
                 String arg = args[1].toLowerCase();
 
@@ -363,6 +391,8 @@ public class AdminCommand extends AbstractCommand {
         MessageUtil.sendMessage(sender, "command.admin.help.setspawn");
         MessageUtil.sendMessage(sender, "command.admin.help.gui");
         MessageUtil.sendMessage(sender, "command.admin.help.spawner");
+        MessageUtil.sendMessage(sender, "command.admin.help.perf");
+        MessageUtil.sendMessage(sender, "command.admin.help.stats");
         MessageUtil.sendMessage(sender, "command.admin.help.help");
 
         // 发送帮助页脚
@@ -0,0 +1,128 @@
+package cn.i7mc.sagadungeons.command.admin;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.command.AbstractCommand;
+import cn.i7mc.sagadungeons.dungeon.analytics.QuantileSketch;
+import cn.i7mc.sagadungeons.dungeon.analytics.RunAnalytics;
+import cn.i7mc.sagadungeons.dungeon.analytics.RunOutcome;
+import cn.i7mc.sagadungeons.dungeon.analytics.TemplateAnalytics;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+import cn.i7mc.sagadungeons.util.MessageUtil;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 副本运行统计命令
+ * 用于查看模板自启动以来的结果分布与各项指标分位数
+ */
+public class AnalyticsCommand extends AbstractCommand {
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public AnalyticsCommand(SagaDungeons plugin) {
+        super(plugin, "analytics", "sagadungeons.admin", false);
+    }
+
+    @Override
+    public void execute(CommandSender sender, String[] args) {
+        // 检查是否启用统计
+        if (!plugin.getConfigManager().isAnalyticsEnabled()) {
+            sendMessage(sender, "command.admin.stats.disabled");
+            return;
+        }
+
+        if (args.length < 1) {
+            sendMessage(sender, "command.admin.stats.usage");
+            return;
+        }
+
+        String templateName = args[0];
+        RunAnalytics analytics = plugin.getDungeonManager().getRunAnalytics();
+        TemplateAnalytics stats = analytics.getTemplate(templateName);
+        if (stats == null || stats.getRuns() == 0L) {
+            sendMessage(sender, "command.admin.stats.empty",
+                    MessageUtil.createPlaceholders("template", templateName));
+            return;
+        }
+
+        long runs = stats.getRuns();
+        sendMessage(sender, "command.admin.stats.header",
+                MessageUtil.createPlaceholders("template", templateName, "runs", String.valueOf(runs)));
+
+        // 结果分布
+        long timeouts = stats.getCount(RunOutcome.TIMEOUT);
+        sendMessage(sender, "command.admin.stats.outcomes",
+                MessageUtil.createPlaceholders("completed", String.valueOf(stats.getCount(RunOutcome.COMPLETED)),
+                        "timeout", String.valueOf(timeouts),
+                        "rate", String.format(Locale.ROOT, "%.1f%%", timeouts * 100.0 / runs),
+                        "abandoned", String.valueOf(stats.getCount(RunOutcome.ABANDONED)),
+                        "deaths", String.format(Locale.ROOT, "%.2f", (double) stats.getDeaths() / runs)));
+
+        // 指标分位数
+        showMetric(sender, "command.admin.stats.metric-clear", stats.getClearSeconds());
+        showMetric(sender, "command.admin.stats.metric-setup", stats.getSetupSeconds());
+        showMetric(sender, "command.admin.stats.metric-active", stats.getActiveSeconds());
+        showMetric(sender, "command.admin.stats.metric-deaths", stats.getRunDeaths());
+        showMetric(sender, "command.admin.stats.metric-party", stats.getPartySize());
+
+        sendMessage(sender, "command.admin.stats.queue",
+                MessageUtil.createPlaceholders("queued", String.valueOf(analytics.getQueued()),
+                        "dropped", String.valueOf(plugin.getPerfRegistry().getCount(PerfCounter.RUN_DROPPED)),
+                        "folder", analytics.getExportFolder().getPath()));
+    }
+
+    /**
+     * 显示一项指标的分位数
+     * @param sender 命令发送者
+     * @param namePath 指标名称的消息路径
+     * @param sketch 分位数草图
+     */
+    private void showMetric(CommandSender sender, String namePath, QuantileSketch sketch) {
+        if (sketch.getCount() == 0L) {
+            return;
+        }
+
+        sendMessage(sender, "command.admin.stats.metric",
+                MessageUtil.createPlaceholders("metric", plugin.getConfigManager().getMessageManager().getMessage(namePath),
+                        "p50", format(sketch.quantile(0.5)),
+                        "p90", format(sketch.quantile(0.9)),
+                        "p99", format(sketch.quantile(0.99)),
+                        "max", format(sketch.getMax())));
+    }
+
+    /**
+     * 格式化指标值
+     * @param value 值
+     * @return 保留一位小数的文本
+     */
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String[] args) {
+        List<String> completions = new ArrayList<>();
+
+        // 补全模板名称，包括已删除但仍有运行记录的模板
+        if (args.length == 1) {
+            String arg = args[0].toLowerCase();
+
+            Set<String> names = new LinkedHashSet<>(plugin.getConfigManager().getTemplateManager().getTemplates().keySet());
+            names.addAll(plugin.getDungeonManager().getRunAnalytics().getTemplateNames());
+            for (String templateName : names) {
+                if (templateName.toLowerCase().startsWith(arg)) {
+                    completions.add(templateName);
+                }
+            }
+        }
+
+        return completions;
+    }
+}
@@ -7,8 +7,8 @@ import cn.i7mc.sagadungeons.util.MessageUtil;
 import org.bukkit.command.CommandSender;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 强制关闭副本命令
@@ -39,8 +39,8 @@ public class ForceCloseCommand extends AbstractCommand {
 
         // 检查是否为"all"
         if (dungeonId.equalsIgnoreCase("all")) {
-            // 获取所有活动副本
-            Map<String, DungeonInstance> activeDungeons = plugin.getDungeonManager().getActiveDungeons();
+            // 获取所有活动副本(注册表快照，删除过程中不受影响)
+            Collection<DungeonInstance> activeDungeons = plugin.getDungeonManager().getRegistry().getAll();
 
             // 检查是否有活动副本
             if (activeDungeons.isEmpty()) {
@@ -51,12 +51,9 @@ public class ForceCloseCommand extends AbstractCommand {
             // 记录成功关闭的副本数量
             int closedCount = 0;
 
-            // 复制副本ID列表，避免并发修改异常
-            List<String> dungeonIds = new ArrayList<>(activeDungeons.keySet());
-
             // 关闭所有副本
-            for (String id : dungeonIds) {
-                if (plugin.getDungeonManager().deleteDungeon(id)) {
+            for (DungeonInstance instance : activeDungeons) {
+                if (plugin.getDungeonManager().deleteDungeon(instance.getId())) {
                     closedCount++;
                 }
             }
@@ -93,12 +90,8 @@ public class ForceCloseCommand extends AbstractCommand {
                 completions.add("all");
             }
 
-            // 添加所有活动副本ID
-            for (String dungeonId : plugin.getDungeonManager().getActiveDungeons().keySet()) {
-                if (dungeonId.toLowerCase().startsWith(arg)) {
-                    completions.add(dungeonId);
-                }
-            }
+            // 添加匹配的活动副本ID
+            completions.addAll(plugin.getDungeonManager().getRegistry().getIdsStartingWith(arg));
         }
 
         return completions;
@@ -0,0 +1,331 @@
+package cn.i7mc.sagadungeons.command.admin;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.command.AbstractCommand;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleScheduler;
+import cn.i7mc.sagadungeons.dungeon.resource.InstanceResources;
+import cn.i7mc.sagadungeons.dungeon.resource.ResourceQuota;
+import cn.i7mc.sagadungeons.governor.DegradationLevel;
+import cn.i7mc.sagadungeons.governor.TickGovernor;
+import cn.i7mc.sagadungeons.io.IOLane;
+import cn.i7mc.sagadungeons.io.IOManager;
+import cn.i7mc.sagadungeons.io.LaneExecutor;
+import cn.i7mc.sagadungeons.metrics.LatencyHistogram;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+import cn.i7mc.sagadungeons.metrics.PerfRegistry;
+import cn.i7mc.sagadungeons.metrics.PerfTimer;
+import cn.i7mc.sagadungeons.model.DungeonTemplate;
+import cn.i7mc.sagadungeons.reaper.StateReaper;
+import cn.i7mc.sagadungeons.reaper.StateSource;
+import cn.i7mc.sagadungeons.util.MessageUtil;
+import org.bukkit.command.CommandSender;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 性能指标命令
+ * 用于查看副本操作耗时分位数、生命周期调度、I/O通道、负载调节、副本资源与状态回收状态
+ */
+public class PerfCommand extends AbstractCommand {
+
+    private static final int[] WINDOWS = {1, 5, 15};
+    // 资源列表最多显示的副本数量
+    private static final int RESOURCE_ROWS = 10;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public PerfCommand(SagaDungeons plugin) {
+        super(plugin, "perf", "sagadungeons.admin", false);
+    }
+
+    @Override
+    public void execute(CommandSender sender, String[] args) {
+        PerfRegistry registry = plugin.getPerfRegistry();
+
+        // 无参数时显示所有计时项概览
+        if (args.length < 1) {
+            if (!registry.isEnabled()) {
+                sendMessage(sender, "command.admin.perf.disabled");
+                return;
+            }
+            showSummary(sender, registry);
+            return;
+        }
+
+        String subCommand = args[0].toLowerCase();
+        switch (subCommand) {
+            case "lifecycle":
+                showLifecycle(sender);
+                break;
+            case "io":
+                showIO(sender);
+                break;
+            case "governor":
+                showGovernor(sender);
+                break;
+            case "resources":
+                if (args.length > 1 && args[1].equalsIgnoreCase("export")) {
+                    exportResources(sender);
+                } else {
+                    showResources(sender);
+                }
+                break;
+            case "reaper":
+                showReaper(sender);
+                break;
+            case "reset":
+                registry.reset();
+                sendMessage(sender, "command.admin.perf.reset");
+                break;
+            default:
+                PerfTimer timer = PerfTimer.fromKey(subCommand);
+                if (timer == null) {
+                    sendMessage(sender, "command.admin.perf.unknown-timer",
+                            MessageUtil.createPlaceholders("timer", subCommand));
+                    return;
+                }
+                showTimer(sender, registry, timer);
+                break;
+        }
+    }
+
+    /**
+     * 显示所有计时项的p95与事件计数
+     * @param sender 命令发送者
+     * @param registry 性能指标注册表
+     */
+    private void showSummary(CommandSender sender, PerfRegistry registry) {
+        sendMessage(sender, "command.admin.perf.header");
+
+        for (PerfTimer timer : PerfTimer.values()) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("timer", timer.getKey());
+            for (int minutes : WINDOWS) {
+                LatencyHistogram.Snapshot snapshot = registry.getSnapshot(timer, minutes);
+                placeholders.put("p95_" + minutes + "m", PerfRegistry.formatMillis(snapshot.getQuantileNanos(0.95)));
+            }
+            placeholders.put("count", String.valueOf(registry.getSnapshot(timer, 5).getCount()));
+            sendMessage(sender, "command.admin.perf.timer", placeholders);
+        }
+
+        StringBuilder counters = new StringBuilder();
+        for (PerfCounter counter : PerfCounter.values()) {
+            if (counters.length() > 0) {
+                counters.append(", ");
+            }
+            counters.append(counter.getKey()).append('=').append(registry.getCount(counter));
+        }
+        sendMessage(sender, "command.admin.perf.counters",
+                MessageUtil.createPlaceholders("counters", counters.toString()));
+    }
+
+    /**
+     * 显示单个计时项在各窗口的分位数
+     * @param sender 命令发送者
+     * @param registry 性能指标注册表
+     * @param timer 计时项
+     */
+    private void showTimer(CommandSender sender, PerfRegistry registry, PerfTimer timer) {
+        sendMessage(sender, "command.admin.perf.detail-header",
+                MessageUtil.createPlaceholders("timer", timer.getKey()));
+
+        for (int minutes : WINDOWS) {
+            LatencyHistogram.Snapshot snapshot = registry.getSnapshot(timer, minutes);
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("window", minutes + "m");
+            placeholders.put("count", String.valueOf(snapshot.getCount()));
+            placeholders.put("p50", PerfRegistry.formatMillis(snapshot.getQuantileNanos(0.5)));
+            placeholders.put("p90", PerfRegistry.formatMillis(snapshot.getQuantileNanos(0.9)));
+            placeholders.put("p99", PerfRegistry.formatMillis(snapshot.getQuantileNanos(0.99)));
+            placeholders.put("max", PerfRegistry.formatMillis(snapshot.getMaxNanos()));
+            sendMessage(sender, "command.admin.perf.detail", placeholders);
+        }
+    }
+
+    /**
+     * 显示生命周期调度器各阶段的统计
+     * @param sender 命令发送者
+     */
+    private void showLifecycle(CommandSender sender) {
+        LifecycleScheduler scheduler = plugin.getDungeonManager().getLifecycleScheduler();
+        sendMessage(sender, "command.admin.perf.lifecycle-header",
+                MessageUtil.createPlaceholders("pending", String.valueOf(scheduler.getPendingCount())));
+
+        for (LifecyclePhase phase : LifecyclePhase.values()) {
+            long runs = scheduler.getPhaseRuns(phase);
+            long nanos = scheduler.getPhaseNanos(phase);
+            sendMessage(sender, "command.admin.perf.lifecycle",
+                    MessageUtil.createPlaceholders("phase", phase.name().toLowerCase(),
+                            "pending", String.valueOf(scheduler.getPendingCount(phase)),
+                            "runs", String.valueOf(runs),
+                            "avg", PerfRegistry.formatMillis(runs == 0 ? 0L : nanos / runs)));
+        }
+    }
+
+    /**
+     * 显示各I/O通道的队列与执行统计
+     * @param sender 命令发送者
+     */
+    private void showIO(CommandSender sender) {
+        IOManager ioManager = plugin.getIOManager();
+        sendMessage(sender, ioManager.isVirtualThreads()
+                ? "command.admin.perf.io-header-virtual" : "command.admin.perf.io-header");
+
+        for (IOLane lane : IOLane.values()) {
+            LaneExecutor executor = ioManager.getLane(lane);
+            long completed = executor.getCompleted();
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("lane", lane.getKey());
+            placeholders.put("depth", String.valueOf(executor.getQueueDepth()));
+            placeholders.put("capacity", String.valueOf(executor.getQueueCapacity()));
+            placeholders.put("active", String.valueOf(executor.getActiveCount()));
+            placeholders.put("threads", String.valueOf(executor.getThreads()));
+            placeholders.put("completed", String.valueOf(completed));
+            placeholders.put("rejected", String.valueOf(executor.getRejected()));
+            placeholders.put("wait", PerfRegistry.formatMillis(completed == 0 ? 0L : executor.getWaitNanos() / completed));
+            placeholders.put("max-wait", PerfRegistry.formatMillis(executor.getMaxWaitNanos()));
+            sendMessage(sender, "command.admin.perf.io", placeholders);
+        }
+    }
+
+    /**
+     * 显示负载调节器的当前等级、负载与各等级阈值
+     * @param sender 命令发送者
+     */
+    private void showGovernor(CommandSender sender) {
+        TickGovernor governor = plugin.getTickGovernor();
+        if (!governor.isEnabled()) {
+            sendMessage(sender, "command.admin.perf.governor-disabled");
+            return;
+        }
+
+        sendMessage(sender, "command.admin.perf.governor-header",
+                MessageUtil.createPlaceholders("level", governor.getLevel().getKey()));
+
+        LifecyclePhase heaviest = governor.getHeaviestPhase();
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("mspt", TickGovernor.formatValue(governor.getAverageTickTime()));
+        placeholders.put("tps", TickGovernor.formatValue(governor.getTps()));
+        placeholders.put("plugin", TickGovernor.formatValue(governor.getPluginMspt()));
+        placeholders.put("phase", heaviest == null ? "-" : heaviest.name().toLowerCase());
+        sendMessage(sender, "command.admin.perf.governor-load", placeholders);
+
+        for (DegradationLevel level : DegradationLevel.values()) {
+            if (level == DegradationLevel.NORMAL) {
+                continue;
+            }
+            sendMessage(sender, "command.admin.perf.governor-level",
+                    MessageUtil.createPlaceholders("level", level.getKey(),
+                            "enter", TickGovernor.formatValue(governor.getEnterMspt(level)),
+                            "exit", TickGovernor.formatValue(governor.getExitMspt(level))));
+        }
+    }
+
+    /**
+     * 显示耗时最高的副本及其资源统计
+     * @param sender 命令发送者
+     */
+    private void showResources(CommandSender sender) {
+        List<DungeonInstance> instances = new ArrayList<>(plugin.getDungeonManager().getRegistry().getAll());
+        if (instances.isEmpty()) {
+            sendMessage(sender, "command.admin.perf.resources-empty");
+            return;
+        }
+        instances.sort(Comparator.comparingDouble((DungeonInstance instance) -> instance.getResources().getMsPerTick()).reversed());
+
+        sendMessage(sender, "command.admin.perf.resources-header",
+                MessageUtil.createPlaceholders("count", String.valueOf(instances.size())));
+
+        for (int i = 0; i < Math.min(RESOURCE_ROWS, instances.size()); i++) {
+            DungeonInstance instance = instances.get(i);
+            InstanceResources resources = instance.getResources();
+            DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(instance.getTemplateName());
+            ResourceQuota quota = template != null ? template.getResourceQuota() : ResourceQuota.UNLIMITED;
+
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("id", instance.getId());
+            placeholders.put("template", instance.getTemplateName());
+            placeholders.put("players", String.valueOf(resources.getPlayers()));
+            placeholders.put("entities", String.valueOf(resources.getEntities()));
+            placeholders.put("max_entities", ResourceQuota.formatLimit(quota.getMaxEntities()));
+            placeholders.put("chunks", String.valueOf(resources.getChunks()));
+            placeholders.put("max_chunks", ResourceQuota.formatLimit(quota.getMaxChunks()));
+            placeholders.put("mobs", String.valueOf(resources.getAliveMobs()));
+            placeholders.put("cost", String.format(Locale.ROOT, "%.3f", resources.getMsPerTick()));
+            sendMessage(sender, "command.admin.perf.resources", placeholders);
+        }
+    }
+
+    /**
+     * 将所有副本的资源统计导出为CSV文件
+     * @param sender 命令发送者
+     */
+    private void exportResources(CommandSender sender) {
+        File file = plugin.getDungeonManager().getResourceMonitor().export(plugin.getDungeonManager().getRegistry().getAll());
+        sendMessage(sender, "command.admin.perf.resources-exported",
+                MessageUtil.createPlaceholders("file", file.getPath()));
+    }
+
+    /**
+     * 显示状态回收器各类状态的核对结果
+     * @param sender 命令发送者
+     */
+    private void showReaper(CommandSender sender) {
+        StateReaper reaper = plugin.getStateReaper();
+        if (!reaper.isEnabled()) {
+            sendMessage(sender, "command.admin.perf.reaper-disabled");
+            return;
+        }
+
+        sendMessage(sender, reaper.isSweeping() ? "command.admin.perf.reaper-header-sweeping" : "command.admin.perf.reaper-header",
+                MessageUtil.createPlaceholders("sweeps", String.valueOf(reaper.getSweeps()),
+                        "ticks", String.valueOf(reaper.getLastSweepTicks())));
+
+        for (StateSource<?> source : reaper.getSources()) {
+            sendMessage(sender, "command.admin.perf.reaper",
+                    MessageUtil.createPlaceholders("source", source.getKey(),
+                            "tracked", String.valueOf(source.getTracked()),
+                            "orphans", String.valueOf(source.getOrphans()),
+                            "reclaimed", String.valueOf(source.getReclaimed())));
+        }
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String[] args) {
+        List<String> completions = new ArrayList<>();
+
+        // 补全计时项与子命令
+        if (args.length == 1) {
+            String arg = args[0].toLowerCase();
+
+            List<String> options = new ArrayList<>();
+            options.add("lifecycle");
+            options.add("io");
+            options.add("governor");
+            options.add("resources");
+            options.add("reaper");
+            options.add("reset");
+            for (PerfTimer timer : PerfTimer.values()) {
+                options.add(timer.getKey());
+            }
+
+            for (String option : options) {
+                if (option.startsWith(arg)) {
+                    completions.add(option);
+                }
+            }
+        }
+
+        return completions;
+    }
+}
@@ -11,7 +11,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -95,7 +94,7 @@ public class SetItemCommand extends AbstractCommand {
 
         // 获取模板配置文件
         File configFile = new File(plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName), "config.yml");
-        YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+        YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
 
         // 根据类型设置物品
         switch (type) {
@@ -111,22 +110,15 @@ public class SetItemCommand extends AbstractCommand {
                 break;
         }
 
-        // 保存配置
-        try {
-            config.save(configFile);
-
-            // 重新加载模板
-            plugin.getConfigManager().getTemplateManager().loadTemplates();
-
-            // 发送成功消息
-            sendMessage(sender, "command.admin.setitem.success",
-                    MessageUtil.createPlaceholders("template", templateName, "type", type));
-        } catch (IOException e) {
-            // 发送失败消息
-            sendMessage(sender, "command.admin.setitem.fail",
-                    MessageUtil.createPlaceholders("template", templateName, "type", type));
-            e.printStackTrace();
-        }
+        // 保存配置，写入磁盘在持久化I/O通道执行
+        plugin.getConfigManager().getTemplateManager().saveTemplateConfig(config, configFile);
+
+        // 重新加载模板
+        plugin.getConfigManager().getTemplateManager().loadTemplates();
+
+        // 发送成功消息
+        sendMessage(sender, "command.admin.setitem.success",
+                MessageUtil.createPlaceholders("template", templateName, "type", type));
     }
 
     @Override
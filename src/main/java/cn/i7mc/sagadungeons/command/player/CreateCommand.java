@@ -86,9 +86,8 @@ public class CreateCommand extends AbstractCommand {
 
         // 检查冷却时间（仅对玩家执行时检查）
         if (sender instanceof Player) {
-            int cooldownSeconds = plugin.getConfigManager().getCreationCooldown();
-            if (!plugin.getDungeonManager().getCooldownManager().canCreateDungeon(targetPlayer.getUniqueId(), cooldownSeconds)) {
-                int remainingSeconds = plugin.getDungeonManager().getCooldownManager().getRemainingCooldown(targetPlayer.getUniqueId(), cooldownSeconds);
+            if (!plugin.getDungeonManager().getCooldownManager().canCreateDungeon(targetPlayer.getUniqueId(), templateName)) {
+                int remainingSeconds = plugin.getDungeonManager().getCooldownManager().getRemainingCooldown(targetPlayer.getUniqueId(), templateName);
                 sendMessage(sender, "command.create.cooldown",
                         MessageUtil.createPlaceholders("time", String.valueOf(remainingSeconds)));
                 return;
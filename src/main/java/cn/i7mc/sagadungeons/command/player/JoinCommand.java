@@ -3,6 +3,8 @@ package cn.i7mc.sagadungeons.command.player;
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.command.AbstractCommand;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.DungeonRegistry;
+import cn.i7mc.sagadungeons.dungeon.JoinResult;
 import cn.i7mc.sagadungeons.model.PlayerData;
 import cn.i7mc.sagadungeons.util.MessageUtil;
 import org.bukkit.Bukkit;
@@ -12,7 +14,6 @@ import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -70,12 +71,10 @@ public class JoinCommand extends AbstractCommand {
             if (targetPlayer != null) {
                 UUID targetUUID = targetPlayer.getUniqueId();
 
-                // 遍历所有副本
-                for (DungeonInstance instance : plugin.getDungeonManager().getActiveDungeons().values()) {
-                    if (instance.getOwnerUUID().equals(targetUUID)) {
-                        dungeon = instance;
-                        break;
-                    }
+                // 通过创建者索引查找
+                List<DungeonInstance> owned = plugin.getDungeonManager().getRegistry().getByOwner(targetUUID);
+                if (!owned.isEmpty()) {
+                    dungeon = owned.get(0);
                 }
             }
         }
@@ -104,14 +103,20 @@ public class JoinCommand extends AbstractCommand {
             return;
         }
 
-        // 加入副本
-        boolean success = plugin.getDungeonManager().joinDungeon(player, dungeon.getId());
+        // 加入副本，休眠的副本恢复后再发送加入成功消息，失败消息由副本管理器发送
+        DungeonInstance target = dungeon;
+        JoinResult result = plugin.getDungeonManager().joinDungeon(player, dungeon.getId(), joined -> {
+            if (joined) {
+                sendMessage(player, "command.join.success",
+                        MessageUtil.createPlaceholders("dungeon", target.getDisplayName()));
+            }
+        });
 
         // 发送消息
-        if (success) {
+        if (result == JoinResult.JOINED) {
             sendMessage(sender, "command.join.success",
                     MessageUtil.createPlaceholders("dungeon", dungeon.getDisplayName()));
-        } else {
+        } else if (result == JoinResult.FAILED) {
             sendMessage(sender, "command.join.fail");
         }
     }
@@ -124,16 +129,37 @@ public class JoinCommand extends AbstractCommand {
         if (args.length == 1) {
             String arg = args[0].toLowerCase();
 
-            // 添加副本ID
-            for (String dungeonId : plugin.getDungeonManager().getActiveDungeons().keySet()) {
-                if (dungeonId.toLowerCase().startsWith(arg)) {
-                    completions.add(dungeonId);
+            DungeonRegistry registry = plugin.getDungeonManager().getRegistry();
+
+            // 添加副本ID：管理员可补全所有副本，其他玩家只补全可加入的公开副本、自己的副本和受邀请的副本
+            if (sender.hasPermission("sagadungeons.admin")) {
+                completions.addAll(registry.getIdsStartingWith(arg));
+            } else {
+                for (DungeonInstance instance : registry.getJoinable()) {
+                    if (instance.getId().toLowerCase().startsWith(arg)) {
+                        completions.add(instance.getId());
+                    }
+                }
+                if (sender instanceof Player) {
+                    UUID playerUUID = ((Player) sender).getUniqueId();
+                    for (DungeonInstance instance : registry.getByOwner(playerUUID)) {
+                        if (instance.getId().toLowerCase().startsWith(arg) && !completions.contains(instance.getId())) {
+                            completions.add(instance.getId());
+                        }
+                    }
+
+                    // 受邀请的副本没有索引，只检查ID前缀匹配的副本
+                    for (String id : registry.getIdsStartingWith(arg)) {
+                        DungeonInstance instance = registry.get(id);
+                        if (instance != null && instance.isAllowed(playerUUID) && !completions.contains(id)) {
+                            completions.add(id);
+                        }
+                    }
                 }
             }
 
             // 添加创建者名称
-            for (Map.Entry<String, DungeonInstance> entry : plugin.getDungeonManager().getActiveDungeons().entrySet()) {
-                UUID ownerUUID = entry.getValue().getOwnerUUID();
+            for (UUID ownerUUID : registry.getOwners()) {
                 String ownerName = Bukkit.getOfflinePlayer(ownerUUID).getName();
 
                 if (ownerName != null && ownerName.toLowerCase().startsWith(arg) &&
@@ -3,6 +3,9 @@ package cn.i7mc.sagadungeons.command.player;
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.command.AbstractCommand;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.resource.InstanceResources;
+import cn.i7mc.sagadungeons.dungeon.resource.ResourceQuota;
+import cn.i7mc.sagadungeons.model.DungeonTemplate;
 import cn.i7mc.sagadungeons.util.MessageUtil;
 import cn.i7mc.sagadungeons.util.TimeUtil;
 import org.bukkit.Bukkit;
@@ -10,6 +13,7 @@ import org.bukkit.command.CommandSender;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -40,6 +44,9 @@ public class ListCommand extends AbstractCommand {
         
         // 发送标题
         sendMessage(sender, "command.list.header");
+
+        // 管理员额外显示副本资源统计
+        boolean showResources = sender.hasPermission("sagadungeons.admin");
         
         // 发送副本列表
         for (DungeonInstance dungeon : dungeons.values()) {
@@ -68,12 +75,35 @@ public class ListCommand extends AbstractCommand {
                             "players", String.valueOf(playerCount), 
                             "time", remainingTime, 
                             "status", publicStatus));
+
+            if (showResources) {
+                sendResources(sender, dungeon);
+            }
         }
         
         // 发送页脚
         sendMessage(sender, "command.list.footer");
     }
 
+    /**
+     * 发送副本资源统计
+     * @param sender 命令发送者
+     * @param dungeon 副本实例
+     */
+    private void sendResources(CommandSender sender, DungeonInstance dungeon) {
+        InstanceResources resources = dungeon.getResources();
+        DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(dungeon.getTemplateName());
+        ResourceQuota quota = template != null ? template.getResourceQuota() : ResourceQuota.UNLIMITED;
+
+        sendMessage(sender, "command.list.resources",
+                MessageUtil.createPlaceholders("entities", String.valueOf(resources.getEntities()),
+                        "max_entities", ResourceQuota.formatLimit(quota.getMaxEntities()),
+                        "chunks", String.valueOf(resources.getChunks()),
+                        "max_chunks", ResourceQuota.formatLimit(quota.getMaxChunks()),
+                        "mobs", String.valueOf(resources.getAliveMobs()),
+                        "cost", String.format(Locale.ROOT, "%.3f", resources.getMsPerTick())));
+    }
+
     @Override
     public List<String> tabComplete(CommandSender sender, String[] args) {
         return new ArrayList<>();
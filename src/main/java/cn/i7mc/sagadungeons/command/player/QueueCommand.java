@@ -0,0 +1,114 @@
+package cn.i7mc.sagadungeons.command.player;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.command.AbstractCommand;
+import cn.i7mc.sagadungeons.dungeon.queue.MatchmakingManager;
+import cn.i7mc.sagadungeons.util.MessageUtil;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 匹配队列命令
+ * 用于加入或离开模板的匹配队列
+ */
+public class QueueCommand extends AbstractCommand {
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public QueueCommand(SagaDungeons plugin) {
+        super(plugin, "queue", "sagadungeons.command.queue", true);
+        addAlias("q");
+    }
+
+    @Override
+    public void execute(CommandSender sender, String[] args) {
+        Player player = getPlayer(sender);
+        MatchmakingManager matchmakingManager = plugin.getDungeonManager().getMatchmakingManager();
+
+        // 检查是否启用匹配
+        if (!plugin.getConfigManager().isMatchmakingEnabled()) {
+            sendMessage(sender, "command.queue.disabled");
+            return;
+        }
+
+        // 无参数时显示排队状态
+        if (args.length < 1) {
+            String queuedTemplate = matchmakingManager.getQueuedTemplate(player.getUniqueId());
+            if (queuedTemplate == null) {
+                sendMessage(sender, "command.queue.usage");
+                return;
+            }
+
+            sendMessage(sender, "command.queue.status",
+                    MessageUtil.createPlaceholders("template", queuedTemplate,
+                            "position", String.valueOf(matchmakingManager.getPosition(player.getUniqueId())),
+                            "size", String.valueOf(matchmakingManager.getQueueSize(queuedTemplate)),
+                            "time", String.valueOf(matchmakingManager.getWaitedSeconds(player.getUniqueId()))));
+            return;
+        }
+
+        // 离开队列
+        if (args[0].equalsIgnoreCase("leave")) {
+            if (matchmakingManager.dequeue(player.getUniqueId())) {
+                sendMessage(sender, "command.queue.left");
+            } else {
+                sendMessage(sender, "command.queue.not-queued");
+            }
+            return;
+        }
+
+        // 获取模板名称
+        String templateName = args[0];
+
+        // 检查模板是否存在
+        if (!plugin.getConfigManager().getTemplateManager().hasTemplate(templateName)) {
+            sendMessage(sender, "command.queue.template-not-found",
+                    MessageUtil.createPlaceholders("template", templateName));
+            return;
+        }
+
+        // 检查玩家是否已经在副本中
+        if (plugin.getDungeonManager().getPlayerData(player.getUniqueId()).isInDungeon()) {
+            sendMessage(sender, "command.queue.already-in-dungeon");
+            return;
+        }
+
+        // 加入队列
+        if (!matchmakingManager.enqueue(player, templateName)) {
+            sendMessage(sender, "command.queue.already-queued",
+                    MessageUtil.createPlaceholders("template", matchmakingManager.getQueuedTemplate(player.getUniqueId())));
+            return;
+        }
+
+        sendMessage(sender, "command.queue.joined",
+                MessageUtil.createPlaceholders("template", templateName,
+                        "position", String.valueOf(matchmakingManager.getPosition(player.getUniqueId()))));
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String[] args) {
+        List<String> completions = new ArrayList<>();
+
+        // 补全模板名称或leave
+        if (args.length == 1) {
+            String arg = args[0].toLowerCase();
+
+            if ("leave".startsWith(arg)) {
+                completions.add("leave");
+            }
+
+            for (String templateName : plugin.getConfigManager().getTemplateManager().getTemplates().keySet()) {
+                if (templateName.toLowerCase().startsWith(arg)) {
+                    completions.add(templateName);
+                }
+            }
+        }
+
+        return completions;
+    }
+}
@@ -0,0 +1,125 @@
+package cn.i7mc.sagadungeons.command.player;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.command.AbstractCommand;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardEntry;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardManager;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardStat;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.TopKBoard;
+import cn.i7mc.sagadungeons.util.MessageUtil;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 排行榜命令
+ * 玩家不带参数时打开排行榜界面，带参数时在聊天栏显示指定排行榜
+ */
+public class TopCommand extends AbstractCommand {
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public TopCommand(SagaDungeons plugin) {
+        super(plugin, "top", "sagadungeons.command.top", false);
+        addAlias("leaderboard");
+    }
+
+    @Override
+    public void execute(CommandSender sender, String[] args) {
+        // 无参数时玩家打开排行榜界面
+        if (args.length < 1) {
+            if (sender instanceof Player) {
+                plugin.getGUIManager().openLeaderboardGUI((Player) sender, LeaderboardStat.GLOBAL,
+                        LeaderboardStat.getDefault(true));
+            } else {
+                sendMessage(sender, "command.top.usage");
+            }
+            return;
+        }
+
+        // 获取模板名称
+        String templateName = args[0];
+        boolean global = templateName.equalsIgnoreCase(LeaderboardStat.GLOBAL);
+
+        // 检查模板是否存在
+        if (!global && !plugin.getConfigManager().getTemplateManager().hasTemplate(templateName)) {
+            sendMessage(sender, "command.top.template-not-found",
+                    MessageUtil.createPlaceholders("template", templateName));
+            return;
+        }
+
+        // 获取统计项
+        LeaderboardStat stat = LeaderboardStat.getDefault(global);
+        if (args.length > 1) {
+            stat = LeaderboardStat.fromKey(args[1]);
+            if (stat == null || !stat.appliesTo(global)) {
+                List<String> keys = new ArrayList<>();
+                for (LeaderboardStat available : LeaderboardStat.getStats(global)) {
+                    keys.add(available.getKey());
+                }
+                sendMessage(sender, "command.top.invalid-stat",
+                        MessageUtil.createPlaceholders("stat", args[1], "stats", String.join(", ", keys)));
+                return;
+            }
+        }
+
+        LeaderboardManager leaderboardManager = plugin.getDungeonManager().getLeaderboardManager();
+        TopKBoard board = leaderboardManager.getBoard(stat, templateName);
+
+        // 发送排行榜标题
+        sendMessage(sender, "command.top.header",
+                MessageUtil.createPlaceholders("board", global ? LeaderboardStat.GLOBAL : templateName,
+                        "stat", stat.getKey()));
+
+        // 发送排行榜条目
+        List<LeaderboardEntry> entries = board.getEntries();
+        if (entries.isEmpty()) {
+            sendMessage(sender, "command.top.empty");
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            LeaderboardEntry entry = entries.get(i);
+            sendMessage(sender, "command.top.entry",
+                    MessageUtil.createPlaceholders("rank", String.valueOf(i + 1),
+                            "player", leaderboardManager.getName(entry),
+                            "value", LeaderboardManager.formatValue(stat, entry)));
+        }
+
+        // 发送排行榜页脚
+        sendMessage(sender, "command.top.footer");
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String[] args) {
+        List<String> completions = new ArrayList<>();
+
+        if (args.length == 1) {
+            // 补全模板名称
+            String arg = args[0].toLowerCase();
+
+            if (LeaderboardStat.GLOBAL.startsWith(arg)) {
+                completions.add(LeaderboardStat.GLOBAL);
+            }
+            for (String templateName : plugin.getConfigManager().getTemplateManager().getTemplates().keySet()) {
+                if (templateName.toLowerCase().startsWith(arg)) {
+                    completions.add(templateName);
+                }
+            }
+        } else if (args.length == 2) {
+            // 补全统计项
+            String arg = args[1].toLowerCase();
+            boolean global = args[0].equalsIgnoreCase(LeaderboardStat.GLOBAL);
+
+            for (LeaderboardStat stat : LeaderboardStat.getStats(global)) {
+                if (stat.getKey().startsWith(arg)) {
+                    completions.add(stat.getKey());
+                }
+            }
+        }
+
+        return completions;
+    }
+}
@@ -1,6 +1,8 @@
 package cn.i7mc.sagadungeons.config;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.governor.DegradationLevel;
+import cn.i7mc.sagadungeons.io.IOLane;
 import org.bukkit.configuration.file.FileConfiguration;
 
 /**
@@ -32,6 +34,9 @@ public class ConfigManager {
         debug = config.getBoolean("debug", false);
         language = config.getString("lang", "zh");
 
+        // 应用调试日志设置并重新加载调试消息
+        plugin.getDebugLogManager().configure(config);
+
         // 加载消息配置文件
         messageManager = new MessageManager(plugin);
         messageManager.loadMessages();
@@ -55,6 +60,9 @@ public class ConfigManager {
         debug = config.getBoolean("debug", false);
         language = config.getString("lang", "zh");
 
+        // 应用调试日志设置并重新加载调试消息
+        plugin.getDebugLogManager().configure(config);
+
         // 重载消息配置文件
         messageManager.loadMessages();
 
@@ -63,6 +71,26 @@ public class ConfigManager {
 
         // 重载模板配置文件
         templateManager.loadTemplates();
+
+        // 应用性能指标设置
+        if (plugin.getPerfRegistry() != null) {
+            plugin.getPerfRegistry().configure();
+        }
+
+        // 应用负载调节设置
+        if (plugin.getTickGovernor() != null) {
+            plugin.getTickGovernor().configure();
+        }
+
+        // 应用状态回收设置
+        if (plugin.getStateReaper() != null) {
+            plugin.getStateReaper().configure();
+        }
+
+        // 清空GUI物品缓存，使新的语言与模板配置生效
+        if (plugin.getGUIManager() != null) {
+            plugin.getGUIManager().getItemCache().invalidateAll();
+        }
     }
 
     /**
@@ -144,6 +172,62 @@ public class ConfigManager {
         return config.getInt("dungeon.creation-cooldown", 300);
     }
 
+    /**
+     * 获取全局创建冷却时间(秒)
+     * @return 全局创建冷却时间，0为关闭
+     */
+    public int getGlobalCreationCooldown() {
+        return config.getInt("dungeon.cooldown.global", 0);
+    }
+
+    /**
+     * 获取队伍冷却时间(秒)
+     * @return 队伍冷却时间，0为关闭
+     */
+    public int getPartyCreationCooldown() {
+        return config.getInt("dungeon.cooldown.party", 0);
+    }
+
+    /**
+     * 是否启用匹配队列
+     * @return 是否启用
+     */
+    public boolean isMatchmakingEnabled() {
+        return config.getBoolean("dungeon.matchmaking.enabled", true);
+    }
+
+    /**
+     * 获取匹配队伍人数
+     * @return 队伍人数
+     */
+    public int getMatchmakingPartySize() {
+        return Math.max(1, config.getInt("dungeon.matchmaking.party-size", 4));
+    }
+
+    /**
+     * 获取匹配副本的最大人数，用于向公开副本补位
+     * @return 最大人数
+     */
+    public int getMatchmakingMaxPlayers() {
+        return Math.max(1, config.getInt("dungeon.matchmaking.max-players", 4));
+    }
+
+    /**
+     * 获取人数不足时的最长等待时间(秒)
+     * @return 最长等待时间
+     */
+    public int getMatchmakingMaxWait() {
+        return Math.max(0, config.getInt("dungeon.matchmaking.max-wait", 30));
+    }
+
+    /**
+     * 获取匹配间隔(tick)
+     * @return 匹配间隔
+     */
+    public int getMatchmakingInterval() {
+        return Math.max(1, config.getInt("dungeon.matchmaking.interval", 20));
+    }
+
     /**
      * 获取通关后延迟删除时间(秒)
      * @return 通关后延迟删除时间
@@ -176,4 +260,289 @@ public class ConfigManager {
     public boolean isPlaceholderAPIEnabled() {
         return config.getBoolean("integration.placeholderapi", true);
     }
+
+    /**
+     * 获取I/O通道的线程数
+     * @param lane I/O通道
+     * @return 线程数
+     */
+    public int getIOThreads(IOLane lane) {
+        return Math.max(1, config.getInt("io.lanes." + lane.getKey() + ".threads", lane.getDefaultThreads()));
+    }
+
+    /**
+     * 获取I/O通道的队列容量
+     * @param lane I/O通道
+     * @return 队列容量
+     */
+    public int getIOQueueSize(IOLane lane) {
+        return Math.max(1, config.getInt("io.lanes." + lane.getKey() + ".queue-size", lane.getDefaultQueueSize()));
+    }
+
+    /**
+     * 检查是否在Java 21及以上版本使用虚拟线程执行I/O任务
+     * @return 是否使用虚拟线程
+     */
+    public boolean isIOVirtualThreads() {
+        return config.getBoolean("io.virtual-threads", true);
+    }
+
+    /**
+     * 获取关闭插件时等待I/O任务完成的时间(秒)
+     * @return 等待时间
+     */
+    public int getIODrainTimeout() {
+        return Math.max(0, config.getInt("io.drain-timeout", 10));
+    }
+
+    /**
+     * 检查是否启用性能指标统计
+     * @return 是否启用
+     */
+    public boolean isPerfMetricsEnabled() {
+        return config.getBoolean("performance.enabled", true);
+    }
+
+    /**
+     * 检查是否定时导出Prometheus文本格式的指标文件
+     * @return 是否导出
+     */
+    public boolean isPrometheusExportEnabled() {
+        return config.getBoolean("performance.prometheus.enabled", false);
+    }
+
+    /**
+     * 获取Prometheus指标文件路径，相对路径以插件目录为基准
+     * @return 文件路径
+     */
+    public String getPrometheusExportFile() {
+        return config.getString("performance.prometheus.file", "metrics/sagadungeons.prom");
+    }
+
+    /**
+     * 获取Prometheus指标文件的导出间隔(秒)
+     * @return 导出间隔
+     */
+    public int getPrometheusExportInterval() {
+        return Math.max(5, config.getInt("performance.prometheus.interval", 15));
+    }
+
+    /**
+     * 检查是否启用负载调节
+     * @return 是否启用
+     */
+    public boolean isGovernorEnabled() {
+        return config.getBoolean("governor.enabled", true);
+    }
+
+    /**
+     * 获取负载调节的采样间隔(tick)
+     * @return 采样间隔
+     */
+    public int getGovernorCheckInterval() {
+        return Math.max(20, config.getInt("governor.check-interval", 40));
+    }
+
+    /**
+     * 获取插件生命周期任务每tick的耗时预算(毫秒)
+     * @return 耗时预算
+     */
+    public double getGovernorPluginBudget() {
+        return config.getDouble("governor.plugin-budget-ms", 5.0);
+    }
+
+    /**
+     * 获取进入指定降级等级的平均tick耗时阈值(毫秒)
+     * @param level 降级等级
+     * @return 进入阈值
+     */
+    public double getGovernorEnterMspt(DegradationLevel level) {
+        return config.getDouble("governor.levels." + level.getKey() + ".enter-mspt", level.getDefaultEnterMspt());
+    }
+
+    /**
+     * 获取退出指定降级等级的平均tick耗时阈值(毫秒)，不会高于进入阈值
+     * @param level 降级等级
+     * @return 退出阈值
+     */
+    public double getGovernorExitMspt(DegradationLevel level) {
+        double exit = config.getDouble("governor.levels." + level.getKey() + ".exit-mspt", level.getDefaultExitMspt());
+        return Math.min(exit, getGovernorEnterMspt(level));
+    }
+
+    /**
+     * 获取限流时刷怪点检查的间隔倍数
+     * @return 间隔倍数
+     */
+    public int getGovernorSpawnerInterval() {
+        return Math.max(1, config.getInt("governor.levels.throttle.spawner-interval", 3));
+    }
+
+    /**
+     * 获取限流时通关倒计时的提示间隔(秒)
+     * @return 提示间隔
+     */
+    public int getGovernorCountdownInterval() {
+        return Math.max(1, config.getInt("governor.levels.throttle.countdown-interval", 15));
+    }
+
+    /**
+     * 检查是否采样副本资源并执行模板配额
+     * @return 是否启用
+     */
+    public boolean isResourceMonitorEnabled() {
+        return config.getBoolean("resources.enabled", true);
+    }
+
+    /**
+     * 获取副本资源采样间隔(tick)
+     * @return 采样间隔
+     */
+    public int getResourceSampleInterval() {
+        return Math.max(20, config.getInt("resources.sample-interval", 100));
+    }
+
+    /**
+     * 获取卸载区块时玩家周围保留的区块半径
+     * @return 保留半径(区块)
+     */
+    public int getResourceChunkKeepRadius() {
+        return Math.max(0, config.getInt("resources.chunk-keep-radius", 8));
+    }
+
+    /**
+     * 检查是否定期回收已删除副本残留的状态
+     * @return 是否启用
+     */
+    public boolean isReaperEnabled() {
+        return config.getBoolean("reaper.enabled", true);
+    }
+
+    /**
+     * 获取两次完整核对之间的间隔(秒)
+     * @return 核对间隔
+     */
+    public int getReaperSweepInterval() {
+        return Math.max(10, config.getInt("reaper.sweep-interval", 60));
+    }
+
+    /**
+     * 获取每tick最多核对的条目数量
+     * @return 条目数量
+     */
+    public int getReaperEntriesPerTick() {
+        return Math.max(1, config.getInt("reaper.entries-per-tick", 16));
+    }
+
+    /**
+     * 获取每个排行榜保存的名次数量
+     * @return 名次数量
+     */
+    public int getLeaderboardSize() {
+        return Math.max(1, config.getInt("leaderboard.size", 10));
+    }
+
+    /**
+     * 检查是否记录副本运行统计
+     * @return 是否启用
+     */
+    public boolean isAnalyticsEnabled() {
+        return config.getBoolean("analytics.enabled", true);
+    }
+
+    /**
+     * 获取运行记录队列容量
+     * @return 队列容量
+     */
+    public int getAnalyticsQueueSize() {
+        return Math.max(16, config.getInt("analytics.queue-size", 1024));
+    }
+
+    /**
+     * 获取分位数草图压缩系数
+     * @return 压缩系数
+     */
+    public double getAnalyticsCompression() {
+        return Math.max(20.0, config.getDouble("analytics.compression", 100.0));
+    }
+
+    /**
+     * 检查是否将运行记录导出到文件
+     * @return 是否导出
+     */
+    public boolean isAnalyticsExportEnabled() {
+        return config.getBoolean("analytics.export.enabled", true);
+    }
+
+    /**
+     * 获取导出文件保留天数
+     * @return 保留天数
+     */
+    public int getAnalyticsRetentionDays() {
+        return Math.max(1, config.getInt("analytics.export.retention-days", 7));
+    }
+
+    /**
+     * 检查是否预创建下一关的世界
+     * @return 是否启用
+     */
+    public boolean isProvisionEnabled() {
+        return config.getBoolean("provision.enabled", true);
+    }
+
+    /**
+     * 获取开始预创建的通关进度
+     * @return 进度 (0.0 - 1.0)
+     */
+    public double getProvisionThreshold() {
+        return Math.min(1.0, Math.max(0.0, config.getDouble("provision.threshold", 0.75)));
+    }
+
+    /**
+     * 获取每个模板保留的预创建世界数量
+     * @return 世界数量
+     */
+    public int getProvisionPoolSize() {
+        return Math.max(0, config.getInt("provision.pool-size", 1));
+    }
+
+    /**
+     * 获取未使用的预创建世界保留时间
+     * @return 保留时间(秒)
+     */
+    public int getProvisionPoolTtl() {
+        return Math.max(30, config.getInt("provision.pool-ttl", 300));
+    }
+
+    /**
+     * 检查是否启用副本休眠
+     * @return 是否启用
+     */
+    public boolean isHibernateEnabled() {
+        return config.getBoolean("hibernate.enabled", false);
+    }
+
+    /**
+     * 获取副本无人后进入休眠的宽限期
+     * @return 宽限期(秒)
+     */
+    public int getHibernateGracePeriod() {
+        return Math.max(10, config.getInt("hibernate.grace-period", 60));
+    }
+
+    /**
+     * 检查休眠期间是否暂停副本计时
+     * @return 是否暂停
+     */
+    public boolean isHibernatePauseTimeout() {
+        return config.getBoolean("hibernate.pause-timeout", true);
+    }
+
+    /**
+     * 获取副本最长休眠时间
+     * @return 休眠时间(秒)
+     */
+    public int getHibernateMaxTime() {
+        return Math.max(60, config.getInt("hibernate.max-time", 1800));
+    }
 }
@@ -5,16 +5,19 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
  * 调试消息管理器
  * 负责管理插件的调试消息
+ * 消息在加载时展开为只读映射，之后可被任意线程直接读取
  */
 public class DebugMessageManager {
 
     private final SagaDungeons plugin;
-    private FileConfiguration debugMessagesConfig;
+    private volatile Map<String, String> messages = Collections.emptyMap();
 
     public DebugMessageManager(SagaDungeons plugin) {
         this.plugin = plugin;
@@ -26,14 +29,23 @@ public class DebugMessageManager {
      */
     public void loadDebugMessages() {
         File debugMessagesFile = new File(plugin.getDataFolder(), "debugmessage.yml");
-        
+
         // 如果调试消息文件不存在，则保存默认文件
         if (!debugMessagesFile.exists()) {
             plugin.saveResource("debugmessage.yml", false);
         }
-        
+
         // 加载调试消息文件
-        debugMessagesConfig = YamlConfiguration.loadConfiguration(debugMessagesFile);
+        FileConfiguration debugMessagesConfig = YamlConfiguration.loadConfiguration(debugMessagesFile);
+
+        // 展开为 路径 -> 消息 的映射，整体替换旧目录
+        Map<String, String> loaded = new HashMap<>();
+        for (String path : debugMessagesConfig.getKeys(true)) {
+            if (!debugMessagesConfig.isConfigurationSection(path)) {
+                loaded.put(path, debugMessagesConfig.getString(path));
+            }
+        }
+        messages = Collections.unmodifiableMap(loaded);
     }
 
     /**
@@ -42,7 +54,7 @@ public class DebugMessageManager {
      * @return 调试消息
      */
     public String getMessage(String path) {
-        String message = debugMessagesConfig.getString(path);
+        String message = messages.get(path);
         if (message == null) {
             return "调试消息未找到: " + path;
         }
@@ -57,33 +69,20 @@ public class DebugMessageManager {
      */
     public String getMessage(String path, Map<String, String> placeholders) {
         String message = getMessage(path);
-        
+
         // 替换变量
         for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            message = message.replace("%" + entry.getKey() + "%", entry.getValue());
+            message = message.replace("%" + entry.getKey() + "%", String.valueOf(entry.getValue()));
         }
-        
-        return message;
-    }
 
-    /**
-     * 输出调试消息
-     * @param path 消息路径
-     */
-    public void debug(String path) {
-        if (plugin.getConfigManager().isDebugEnabled()) {
-            plugin.getLogger().info("[Debug] " + getMessage(path));
-        }
+        return message;
     }
 
     /**
-     * 输出带变量的调试消息
-     * @param path 消息路径
-     * @param placeholders 变量映射
+     * 获取已加载的调试消息数量
+     * @return 消息数量
      */
-    public void debug(String path, Map<String, String> placeholders) {
-        if (plugin.getConfigManager().isDebugEnabled()) {
-            plugin.getLogger().info("[Debug] " + getMessage(path, placeholders));
-        }
+    public int getMessageCount() {
+        return messages.size();
     }
 }
@@ -43,9 +43,7 @@ public class GUILanguageManager {
 
         // 如果GUI语言文件不存在，尝试回退到默认中文
         if (!guiLanguageFile.exists()) {
-            Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("file", guiLanguageFileName);
-            DebugUtil.debug("config.gui-language.lang-not-found", placeholders);
+            DebugUtil.debug("config.gui-language.lang-not-found", "file", guiLanguageFileName);
             language = "zh";
             guiLanguageFile = new File(plugin.getDataFolder(), "lang_gui.yml");
 
@@ -59,9 +57,7 @@ public class GUILanguageManager {
         // 加载GUI语言文件
         guiLanguageConfig = YamlConfiguration.loadConfiguration(guiLanguageFile);
 
-        Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("language", language);
-        DebugUtil.debug("config.gui-language.loaded", placeholders);
+        DebugUtil.debug("config.gui-language.loaded", "language", language);
     }
 
     /**
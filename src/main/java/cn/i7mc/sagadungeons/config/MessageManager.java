@@ -3,12 +3,16 @@ package cn.i7mc.sagadungeons.config;
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.util.DebugUtil;
 import org.bukkit.ChatColor;
+import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,7 +22,7 @@ import java.util.Map;
 public class MessageManager {
 
     private final SagaDungeons plugin;
-    private FileConfiguration messagesConfig;
+    private volatile Map<String, MessageTemplate> templates = Collections.emptyMap();
     private String prefix;
     private String language;
 
@@ -43,9 +47,7 @@ public class MessageManager {
 
         // 如果消息文件不存在，尝试回退到默认中文
         if (!messagesFile.exists()) {
-            Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("file", messageFileName);
-            DebugUtil.debug("config.message.lang-not-found", placeholders);
+            DebugUtil.debug("config.message.lang-not-found", "file", messageFileName);
             language = "zh";
             messagesFile = new File(plugin.getDataFolder(), "messages.yml");
 
@@ -57,14 +59,24 @@ public class MessageManager {
         }
 
         // 加载消息文件
-        messagesConfig = YamlConfiguration.loadConfiguration(messagesFile);
+        FileConfiguration messagesConfig = YamlConfiguration.loadConfiguration(messagesFile);
 
         // 获取消息前缀
         prefix = ChatColor.translateAlternateColorCodes('&', messagesConfig.getString("prefix", "&6[&bSagaDungeons&6] "));
 
-        Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("language", language);
-        DebugUtil.debug("config.message.loaded", placeholders);
+        // 预编译所有消息，整体替换旧的模板表
+        // 数字与布尔值的消息与getString一样按文本处理
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        for (String path : messagesConfig.getKeys(true)) {
+            Object value = messagesConfig.get(path);
+            if (value != null && !messagesConfig.isConfigurationSection(path) && !(value instanceof List)) {
+                String text = ChatColor.translateAlternateColorCodes('&', String.valueOf(value));
+                compiled.put(path, MessageTemplate.compile(text, prefix));
+            }
+        }
+        templates = compiled;
+
+        DebugUtil.debug("config.message.loaded", "language", language);
     }
 
     /**
@@ -73,11 +85,20 @@ public class MessageManager {
      * @return 格式化后的消息
      */
     public String getMessage(String path) {
-        String message = messagesConfig.getString(path);
-        if (message == null) {
+        MessageTemplate template = templates.get(path);
+        if (template == null) {
             return "§c消息未找到: " + path;
         }
-        return ChatColor.translateAlternateColorCodes('&', message);
+        return template.getText();
+    }
+
+    /**
+     * 获取预编译的消息模板
+     * @param path 消息路径
+     * @return 消息模板，如果不存在则返回null
+     */
+    public MessageTemplate getTemplate(String path) {
+        return templates.get(path);
     }
 
     /**
@@ -86,7 +107,11 @@ public class MessageManager {
      * @return 带前缀的格式化消息
      */
     public String getPrefixedMessage(String path) {
-        return prefix + getMessage(path);
+        MessageTemplate template = templates.get(path);
+        if (template == null) {
+            return prefix + "§c消息未找到: " + path;
+        }
+        return template.getPrefixedText();
     }
 
     /**
@@ -96,14 +121,26 @@ public class MessageManager {
      * @return 替换变量后的消息
      */
     public String getMessage(String path, Map<String, String> placeholders) {
-        String message = getMessage(path);
-
-        // 替换变量
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            message = message.replace("%" + entry.getKey() + "%", entry.getValue());
+        MessageTemplate template = templates.get(path);
+        if (template == null) {
+            return "§c消息未找到: " + path;
         }
+        return template.render(false, placeholders);
+    }
 
-        return message;
+    /**
+     * 获取带单个变量的消息
+     * @param path 消息路径
+     * @param key 变量名
+     * @param value 变量值
+     * @return 替换变量后的消息
+     */
+    public String getMessage(String path, String key, String value) {
+        MessageTemplate template = templates.get(path);
+        if (template == null) {
+            return "§c消息未找到: " + path;
+        }
+        return template.render(false, key, value);
     }
 
     /**
@@ -113,7 +150,43 @@ public class MessageManager {
      * @return 带前缀并替换变量后的消息
      */
     public String getPrefixedMessage(String path, Map<String, String> placeholders) {
-        return prefix + getMessage(path, placeholders);
+        MessageTemplate template = templates.get(path);
+        if (template == null) {
+            return prefix + "§c消息未找到: " + path;
+        }
+        return template.render(true, placeholders);
+    }
+
+    /**
+     * 获取带前缀和单个变量的消息
+     * @param path 消息路径
+     * @param key 变量名
+     * @param value 变量值
+     * @return 带前缀并替换变量后的消息
+     */
+    public String getPrefixedMessage(String path, String key, String value) {
+        MessageTemplate template = templates.get(path);
+        if (template == null) {
+            return prefix + "§c消息未找到: " + path;
+        }
+        return template.render(true, key, value);
+    }
+
+    /**
+     * 获取带前缀和两个变量的消息
+     * @param path 消息路径
+     * @param key1 变量名1
+     * @param value1 变量值1
+     * @param key2 变量名2
+     * @param value2 变量值2
+     * @return 带前缀并替换变量后的消息
+     */
+    public String getPrefixedMessage(String path, String key1, String value1, String key2, String value2) {
+        MessageTemplate template = templates.get(path);
+        if (template == null) {
+            return prefix + "§c消息未找到: " + path;
+        }
+        return template.render(true, key1, value1, key2, value2);
     }
 
     /**
@@ -135,6 +208,51 @@ public class MessageManager {
         player.sendMessage(getPrefixedMessage(path, placeholders));
     }
 
+    /**
+     * 向副本世界中的所有玩家广播消息
+     * 消息只渲染一次，所有玩家共享同一个字符串
+     * @param world 世界
+     * @param path 消息路径
+     */
+    public void broadcast(World world, String path) {
+        broadcastRendered(world.getPlayers(), getPrefixedMessage(path));
+    }
+
+    /**
+     * 向副本世界中的所有玩家广播带单个变量的消息
+     * @param world 世界
+     * @param path 消息路径
+     * @param key 变量名
+     * @param value 变量值
+     */
+    public void broadcast(World world, String path, String key, String value) {
+        broadcastRendered(world.getPlayers(), getPrefixedMessage(path, key, value));
+    }
+
+    /**
+     * 向副本世界中的所有玩家广播带两个变量的消息
+     * @param world 世界
+     * @param path 消息路径
+     * @param key1 变量名1
+     * @param value1 变量值1
+     * @param key2 变量名2
+     * @param value2 变量值2
+     */
+    public void broadcast(World world, String path, String key1, String value1, String key2, String value2) {
+        broadcastRendered(world.getPlayers(), getPrefixedMessage(path, key1, value1, key2, value2));
+    }
+
+    /**
+     * 向玩家集合发送已渲染的消息
+     * @param players 玩家集合
+     * @param message 已渲染的消息
+     */
+    private void broadcastRendered(Collection<? extends Player> players, String message) {
+        for (Player player : players) {
+            player.sendMessage(message);
+        }
+    }
+
     /**
      * 创建变量映射
      * @param key 变量名
@@ -0,0 +1,185 @@
+package cn.i7mc.sagadungeons.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译消息模板
+ * 加载时将消息拆分为 文本片段 与 %变量% 槽位 交替的序列，
+ * 渲染时只需按顺序拼接，不再对每个变量执行一次字符串替换
+ */
+public final class MessageTemplate {
+
+    // 渲染复用的构建器，每个线程一个
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private final String text;
+    private final String prefix;
+    private final String prefixedText;
+    private final String[] literals;
+    private final String[] slots;
+    private final String[] slotTokens;
+
+    private MessageTemplate(String text, String prefix, String[] literals, String[] slots) {
+        this.text = text;
+        this.prefix = prefix;
+        this.prefixedText = prefix + text;
+        this.literals = literals;
+        this.slots = slots;
+        this.slotTokens = new String[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            slotTokens[i] = "%" + slots[i] + "%";
+        }
+    }
+
+    /**
+     * 编译消息模板
+     * @param text 已转换颜色代码的消息文本
+     * @param prefix 消息前缀
+     * @return 消息模板
+     */
+    public static MessageTemplate compile(String text, String prefix) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        int literalStart = 0;
+        int index = 0;
+        while (index < text.length()) {
+            int open = text.indexOf('%', index);
+            if (open < 0) {
+                break;
+            }
+            int close = text.indexOf('%', open + 1);
+            if (close < 0) {
+                break;
+            }
+
+            // 变量名只允许字母、数字、下划线和短横线，否则视为普通的%字符
+            if (close > open + 1 && isSlotName(text, open + 1, close)) {
+                literals.add(text.substring(literalStart, open));
+                slots.add(text.substring(open + 1, close));
+                literalStart = close + 1;
+                index = close + 1;
+            } else {
+                index = close;
+            }
+        }
+        literals.add(text.substring(literalStart));
+
+        return new MessageTemplate(text, prefix, literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    /**
+     * 检查是否为不含变量的固定消息
+     * @return 是否为固定消息
+     */
+    public boolean isFixed() {
+        return slots.length == 0;
+    }
+
+    /**
+     * 获取原始消息文本(变量未替换)
+     * @return 消息文本
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * 获取带前缀的原始消息文本(变量未替换)
+     * @return 带前缀的消息文本
+     */
+    public String getPrefixedText() {
+        return prefixedText;
+    }
+
+    /**
+     * 使用变量映射渲染消息
+     * @param prefixed 是否带前缀
+     * @param values 变量映射
+     * @return 渲染后的消息
+     */
+    public String render(boolean prefixed, Map<String, String> values) {
+        if (slots.length == 0 || values == null || values.isEmpty()) {
+            return prefixed ? prefixedText : text;
+        }
+
+        StringBuilder builder = begin(prefixed);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]);
+            appendValue(builder, i, values.get(slots[i]));
+        }
+        builder.append(literals[slots.length]);
+        return builder.toString();
+    }
+
+    /**
+     * 使用单个变量渲染消息
+     * @param prefixed 是否带前缀
+     * @param key 变量名
+     * @param value 变量值
+     * @return 渲染后的消息
+     */
+    public String render(boolean prefixed, String key, String value) {
+        if (slots.length == 0) {
+            return prefixed ? prefixedText : text;
+        }
+
+        StringBuilder builder = begin(prefixed);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]);
+            appendValue(builder, i, slots[i].equals(key) ? value : null);
+        }
+        builder.append(literals[slots.length]);
+        return builder.toString();
+    }
+
+    /**
+     * 使用两个变量渲染消息
+     * @param prefixed 是否带前缀
+     * @param key1 变量名1
+     * @param value1 变量值1
+     * @param key2 变量名2
+     * @param value2 变量值2
+     * @return 渲染后的消息
+     */
+    public String render(boolean prefixed, String key1, String value1, String key2, String value2) {
+        if (slots.length == 0) {
+            return prefixed ? prefixedText : text;
+        }
+
+        StringBuilder builder = begin(prefixed);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]);
+            String slot = slots[i];
+            appendValue(builder, i, slot.equals(key1) ? value1 : slot.equals(key2) ? value2 : null);
+        }
+        builder.append(literals[slots.length]);
+        return builder.toString();
+    }
+
+    private StringBuilder begin(boolean prefixed) {
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        if (prefixed) {
+            builder.append(prefix);
+        }
+        return builder;
+    }
+
+    private void appendValue(StringBuilder builder, int slot, String value) {
+        // 未提供的变量保留原样，与旧的替换行为一致
+        builder.append(value != null ? value : slotTokens[slot]);
+    }
+
+    private static boolean isSlotName(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -3,18 +3,26 @@ package cn.i7mc.sagadungeons.config;
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.completion.CompletionManager;
 import cn.i7mc.sagadungeons.dungeon.condition.RequirementManager;
+import cn.i7mc.sagadungeons.dungeon.resource.QuotaAction;
+import cn.i7mc.sagadungeons.dungeon.resource.ResourceQuota;
+import cn.i7mc.sagadungeons.dungeon.trigger.TriggerManager;
 import cn.i7mc.sagadungeons.model.DungeonTemplate;
 import cn.i7mc.sagadungeons.model.MobSpawner;
+import cn.i7mc.sagadungeons.util.ItemCodec;
 
 import java.io.IOException;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 模板管理器
@@ -27,12 +35,14 @@ public class TemplateManager {
     private final File templatesDir;
     private final RequirementManager requirementManager;
     private final CompletionManager completionManager;
+    private final TriggerManager triggerManager;
 
     public TemplateManager(SagaDungeons plugin) {
         this.plugin = plugin;
         this.templatesDir = new File(plugin.getDataFolder(), "templates");
         this.requirementManager = new RequirementManager(plugin);
         this.completionManager = new CompletionManager(plugin);
+        this.triggerManager = new TriggerManager(plugin);
 
         // 确保模板目录存在
         if (!templatesDir.exists()) {
@@ -48,6 +58,7 @@ public class TemplateManager {
      */
     public void loadTemplates() {
         templates.clear();
+        triggerManager.clear();
 
         // 确保模板目录存在
         if (!templatesDir.exists() || !templatesDir.isDirectory()) {
@@ -67,18 +78,22 @@ public class TemplateManager {
             File configFile = new File(templateDir, "config.yml");
 
             // 检查配置文件是否存在
-            if (!configFile.exists()) {
+            if (!hasTemplateConfig(configFile)) {
                 continue;
             }
 
             // 加载配置文件
-            FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            FileConfiguration config = loadTemplateConfig(configFile);
+
+            // 将旧格式的序列化物品转换为新格式
+            migrateSerializedItems(templateName, config, configFile);
 
             // 创建模板对象
             DungeonTemplate template = new DungeonTemplate(templateName);
             template.setDisplayName(config.getString("displayName", templateName));
             template.setWorldDisplay(config.getString("worldDisplay", templateName));
             template.setDefaultTimeout(config.getInt("defaultTimeout", plugin.getConfigManager().getDefaultTimeout()));
+            template.setCreationCooldown(config.getInt("creationCooldown", -1));
 
             // 加载游戏模式设置
             template.setForceGameMode(config.getBoolean("forceGameMode", true));
@@ -150,6 +165,9 @@ public class TemplateManager {
                 completionManager.loadCompletionConditions(template, completionSection);
             }
 
+            // 加载触发器
+            triggerManager.loadTriggers(templateName, config.getConfigurationSection("triggers"));
+
             // 加载奖励
             // 奖励系统已移除
 
@@ -190,6 +208,9 @@ public class TemplateManager {
                 }
             }
 
+            // 加载资源配额
+            template.setResourceQuota(loadResourceQuota(templateName, config.getConfigurationSection("quota")));
+
             // 将模板添加到映射
             templates.put(templateName, template);
         }
@@ -216,6 +237,9 @@ public class TemplateManager {
      * @param template 模板
      */
     public void saveTemplate(DungeonTemplate template) {
+        // 模板内容变更，使界面中的模板物品失效
+        invalidateGUIItem(template.getName());
+
         // 获取模板目录
         File templateDir = new File(templatesDir, template.getName());
 
@@ -228,13 +252,16 @@ public class TemplateManager {
         File configFile = new File(templateDir, "config.yml");
 
         // 加载配置
-        YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+        YamlConfiguration config = loadTemplateConfig(configFile);
 
         // 保存基本信息
         config.set("name", template.getName());
         config.set("displayName", template.getDisplayName());
         config.set("worldDisplay", template.getWorldDisplay());
         config.set("defaultTimeout", template.getDefaultTimeout());
+        if (template.getCreationCooldown() >= 0) {
+            config.set("creationCooldown", template.getCreationCooldown());
+        }
 
         // 保存游戏模式设置
         config.set("forceGameMode", template.isForceGameMode());
@@ -291,14 +318,85 @@ public class TemplateManager {
             spawnerSection.set("amount", spawner.getAmount());
         }
 
-        // 保存配置
+        // 保存资源配额
+        ResourceQuota quota = template.getResourceQuota();
+        if (quota.isLimited()) {
+            ConfigurationSection quotaSection = config.createSection("quota");
+            quotaSection.set("maxEntities", quota.getMaxEntities());
+            quotaSection.set("entityActions", actionKeys(quota.getEntityActions()));
+            quotaSection.set("maxChunks", quota.getMaxChunks());
+            quotaSection.set("chunkActions", actionKeys(quota.getChunkActions()));
+        } else {
+            config.set("quota", null);
+        }
+
+        // 保存配置，写入磁盘在持久化I/O通道执行
+        saveTemplateConfig(config, configFile);
+    }
+
+    /**
+     * 保存模板配置文件
+     * 所有模板配置都通过该方法写入，在持久化I/O通道写入磁盘，同一文件的写入按顺序合并；
+     * 插件启动时I/O管理器创建前在调用线程直接写入
+     * @param config 配置
+     * @param configFile 配置文件
+     */
+    public void saveTemplateConfig(FileConfiguration config, File configFile) {
+        if (plugin.getIOManager() != null) {
+            plugin.getIOManager().save(config, configFile);
+            return;
+        }
+
         try {
             config.save(configFile);
         } catch (IOException e) {
+            plugin.getLogger().warning("保存模板配置失败: " + configFile.getPath());
             e.printStackTrace();
         }
     }
 
+    /**
+     * 加载模板配置文件
+     * 文件有尚未写入磁盘的内容时使用该内容，避免读到保存前的旧文件
+     * @param configFile 配置文件
+     * @return 配置，文件不存在时返回空配置
+     */
+    public YamlConfiguration loadTemplateConfig(File configFile) {
+        String pending = getPendingContent(configFile);
+        if (pending == null) {
+            return YamlConfiguration.loadConfiguration(configFile);
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString(pending);
+        } catch (InvalidConfigurationException e) {
+            plugin.getLogger().warning("解析待写入的模板配置失败，读取磁盘文件: " + configFile.getPath());
+            return YamlConfiguration.loadConfiguration(configFile);
+        }
+        return config;
+    }
+
+    /**
+     * 检查模板配置文件是否存在
+     * 包括已保存但尚未写入磁盘的文件
+     * @param configFile 配置文件
+     * @return 是否存在
+     */
+    public boolean hasTemplateConfig(File configFile) {
+        return configFile.exists() || getPendingContent(configFile) != null;
+    }
+
+    /**
+     * 获取模板配置文件尚未写入磁盘的内容
+     * 插件启动时I/O管理器创建前加载模板，此时没有待写入的内容
+     * @param configFile 配置文件
+     * @return 文件内容，没有时返回null
+     */
+    private String getPendingContent(File configFile) {
+        return plugin.getIOManager() != null ? plugin.getIOManager().getPendingContent(configFile) : null;
+    }
+
     /**
      * 获取指定模板
      * @param templateName 模板名称
@@ -326,6 +424,53 @@ public class TemplateManager {
         return new File(templatesDir, templateName);
     }
 
+    /**
+     * 加载资源配额
+     * @param templateName 模板名称
+     * @param section quota配置节点，可为null
+     * @return 资源配额
+     */
+    private ResourceQuota loadResourceQuota(String templateName, ConfigurationSection section) {
+        if (section == null) {
+            return ResourceQuota.UNLIMITED;
+        }
+        return new ResourceQuota(
+                section.getInt("maxEntities", 0), parseActions(templateName, section.getStringList("entityActions")),
+                section.getInt("maxChunks", 0), parseActions(templateName, section.getStringList("chunkActions")));
+    }
+
+    /**
+     * 解析配额动作列表
+     * @param templateName 模板名称
+     * @param keys 动作名称列表
+     * @return 动作集合
+     */
+    private Set<QuotaAction> parseActions(String templateName, List<String> keys) {
+        Set<QuotaAction> actions = EnumSet.noneOf(QuotaAction.class);
+        for (String key : keys) {
+            QuotaAction action = QuotaAction.fromKey(key);
+            if (action != null) {
+                actions.add(action);
+            } else {
+                plugin.getLogger().warning("无效的配额动作: " + key + " 在模板 " + templateName + " 中");
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * 获取配额动作的名称列表
+     * @param actions 动作集合
+     * @return 名称列表
+     */
+    private static List<String> actionKeys(Set<QuotaAction> actions) {
+        List<String> keys = new ArrayList<>();
+        for (QuotaAction action : actions) {
+            keys.add(action.getKey());
+        }
+        return keys;
+    }
+
     /**
      * 解析时间字符串
      * 支持格式：3600、"1h"、"90m"、"30s"
@@ -388,26 +533,31 @@ public class TemplateManager {
 
         // 移除旧的模板
         templates.remove(templateName);
+        invalidateGUIItem(templateName);
 
         // 重新加载单个模板
         File templateDir = new File(templatesDir, templateName);
         File configFile = new File(templateDir, "config.yml");
 
         // 检查配置文件是否存在
-        if (!configFile.exists()) {
+        if (!hasTemplateConfig(configFile)) {
             plugin.getLogger().warning("模板配置文件不存在: " + configFile.getPath());
             return;
         }
 
         try {
-            // 加载配置文件
-            FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            // 加载配置文件，刚保存的内容可能尚未写入磁盘
+            FileConfiguration config = loadTemplateConfig(configFile);
+
+            // 将旧格式的序列化物品转换为新格式
+            migrateSerializedItems(templateName, config, configFile);
 
             // 创建模板对象
             DungeonTemplate template = new DungeonTemplate(templateName);
             template.setDisplayName(config.getString("displayName", templateName));
             template.setWorldDisplay(config.getString("worldDisplay", templateName));
             template.setDefaultTimeout(config.getInt("defaultTimeout", plugin.getConfigManager().getDefaultTimeout()));
+            template.setCreationCooldown(config.getInt("creationCooldown", -1));
 
             // 加载游戏模式设置
             template.setForceGameMode(config.getBoolean("forceGameMode", true));
@@ -479,6 +629,9 @@ public class TemplateManager {
                 completionManager.loadCompletionConditions(template, completionSection);
             }
 
+            // 加载触发器
+            triggerManager.loadTriggers(templateName, config.getConfigurationSection("triggers"));
+
             // 加载奖励
             // 奖励系统已移除
 
@@ -519,6 +672,9 @@ public class TemplateManager {
                 }
             }
 
+            // 加载资源配额
+            template.setResourceQuota(loadResourceQuota(templateName, config.getConfigurationSection("quota")));
+
             // 将模板添加到映射
             templates.put(templateName, template);
 
@@ -537,4 +693,59 @@ public class TemplateManager {
     public CompletionManager getCompletionManager() {
         return completionManager;
     }
+
+    /**
+     * 获取触发器管理器
+     * @return 触发器管理器
+     */
+    public TriggerManager getTriggerManager() {
+        return triggerManager;
+    }
+
+    /**
+     * 使模板在GUI物品缓存中的物品失效
+     * @param templateName 模板名称
+     */
+    private void invalidateGUIItem(String templateName) {
+        if (plugin.getGUIManager() != null) {
+            plugin.getGUIManager().getItemCache().invalidateTemplate(templateName);
+        }
+    }
+
+    /**
+     * 将模板配置中旧版本Java序列化格式的物品转换为新的紧凑格式
+     * 处理所有名为 serialized-item 的字符串值，有转换时写回配置文件
+     * @param templateName 模板名称
+     * @param config 模板配置
+     * @param configFile 配置文件
+     */
+    private void migrateSerializedItems(String templateName, FileConfiguration config, File configFile) {
+        int migrated = 0;
+        for (String path : config.getKeys(true)) {
+            if (!path.endsWith("serialized-item") || !config.isString(path)) {
+                continue;
+            }
+
+            String value = config.getString(path);
+            if (value == null || value.isEmpty() || !ItemCodec.isLegacy(value)) {
+                continue;
+            }
+
+            String converted = ItemCodec.migrate(value);
+            if (converted == null) {
+                plugin.getLogger().warning("模板 " + templateName + " 的物品转换失败，保留原值: " + path);
+                continue;
+            }
+
+            config.set(path, converted);
+            migrated++;
+        }
+
+        if (migrated == 0) {
+            return;
+        }
+
+        saveTemplateConfig(config, configFile);
+        plugin.getLogger().info("模板 " + templateName + " 已转换 " + migrated + " 个物品为新的序列化格式");
+    }
 }
@@ -1,15 +1,18 @@
 package cn.i7mc.sagadungeons.dungeon;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.config.MessageManager;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleScheduler;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleTask;
+import cn.i7mc.sagadungeons.dungeon.resource.InstanceResources;
+import cn.i7mc.sagadungeons.dungeon.trigger.TriggerEvent;
 import cn.i7mc.sagadungeons.model.PlayerData;
-import cn.i7mc.sagadungeons.util.MessageUtil;
 import cn.i7mc.sagadungeons.util.TimeUtil;
 import org.bukkit.*;
 import org.bukkit.entity.Firework;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.meta.FireworkMeta;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashSet;
 import java.util.Random;
@@ -26,13 +29,21 @@ public class DungeonInstance {
     private final String templateName;
     private final UUID ownerUUID;
     private final Set<UUID> allowedPlayers;
-    private final long creationTime;
+    private final RunClock clock;
+    private final Set<UUID> participants = new HashSet<>();
+    private int deaths;
     private String displayName;
     private World world;
     private boolean isPublic;
     private long expirationTime;
     private DungeonState state;
-    private BukkitTask timeoutTask;
+    private LifecycleTask timeoutTask;
+    private LifecycleTask warningTask;
+    private LifecycleTask countdownTask;
+    private LifecycleTask fireworkTask;
+    private boolean hibernated;
+    private long pausedRemainingMillis = -1L;
+    private final InstanceResources resources = new InstanceResources();
 
     /**
      * 构造函数
@@ -45,7 +56,7 @@ public class DungeonInstance {
         this.templateName = templateName;
         this.ownerUUID = ownerUUID;
         this.allowedPlayers = new HashSet<>();
-        this.creationTime = System.currentTimeMillis();
+        this.clock = new RunClock(System.currentTimeMillis());
         this.displayName = templateName;
         this.isPublic = false;
         this.state = DungeonState.CREATING;
@@ -90,6 +101,8 @@ public class DungeonInstance {
     public void setWorld(World world) {
         this.world = world;
         this.state = DungeonState.RUNNING;
+        clock.markReady(System.currentTimeMillis());
+        updateRegistry();
     }
 
     /**
@@ -122,6 +135,7 @@ public class DungeonInstance {
      */
     public void setPublic(boolean isPublic) {
         this.isPublic = isPublic;
+        updateRegistry();
     }
 
     /**
@@ -129,7 +143,63 @@ public class DungeonInstance {
      * @return 创建时间
      */
     public long getCreationTime() {
-        return creationTime;
+        return clock.getCreationTime();
+    }
+
+    /**
+     * 获取世界就绪时间
+     * @return 世界就绪时间，世界尚未创建时为0
+     */
+    public long getReadyTime() {
+        return clock.getReadyTime();
+    }
+
+    /**
+     * 获取通关时间
+     * @return 通关时间，尚未通关时为0
+     */
+    public long getCompletionTime() {
+        return clock.getCompletionTime();
+    }
+
+    /**
+     * 获取通关用时
+     * 从世界就绪开始计算，不包括世界复制与休眠的时间
+     * @return 通关用时(毫秒)，尚未通关时为0
+     */
+    public long getClearMillis() {
+        return clock.getClearMillis();
+    }
+
+    /**
+     * 记录进入过副本的玩家
+     * @param playerUUID 玩家UUID
+     */
+    public void addParticipant(UUID playerUUID) {
+        participants.add(playerUUID);
+    }
+
+    /**
+     * 获取进入过副本的玩家数量
+     * @return 玩家数量
+     */
+    public int getParticipantCount() {
+        return participants.size();
+    }
+
+    /**
+     * 记录一次玩家死亡
+     */
+    public void recordDeath() {
+        deaths++;
+    }
+
+    /**
+     * 获取副本内玩家死亡总次数
+     * @return 死亡次数
+     */
+    public int getDeaths() {
+        return deaths;
     }
 
     /**
@@ -162,10 +232,37 @@ public class DungeonInstance {
      */
     public void setState(DungeonState state) {
         this.state = state;
+        updateRegistry();
 
         // 如果状态为已完成，处理完成事件
         if (state == DungeonState.COMPLETED) {
+            clock.markCompleted(System.currentTimeMillis());
             handleCompletion();
+            fireTriggers(TriggerEvent.COMPLETION);
+        } else if (state == DungeonState.DELETING) {
+            // 在玩家被传送出副本之前触发
+            fireTriggers(TriggerEvent.DELETING);
+        }
+    }
+
+    /**
+     * 分发副本级触发器事件
+     * @param event 事件类型
+     */
+    private void fireTriggers(TriggerEvent event) {
+        SagaDungeons plugin = SagaDungeons.getInstance();
+        if (plugin != null && plugin.getDungeonManager() != null) {
+            plugin.getDungeonManager().getTriggerManager().fireInstanceEvent(this, event);
+        }
+    }
+
+    /**
+     * 世界、公开状态或运行状态变化后更新副本注册表的索引
+     */
+    private void updateRegistry() {
+        SagaDungeons plugin = SagaDungeons.getInstance();
+        if (plugin != null && plugin.getDungeonManager() != null) {
+            plugin.getDungeonManager().getRegistry().update(this);
         }
     }
 
@@ -181,22 +278,23 @@ public class DungeonInstance {
             return;
         }
 
-        // 计算完成时间
-        long completionTime = System.currentTimeMillis();
-        int completionTimeSeconds = (int) ((completionTime - creationTime) / 1000);
+        // 计算通关用时，不包括世界复制与休眠的时间
+        int completionTimeSeconds = (int) (clock.getClearMillis() / 1000);
 
         // 获取配置的延迟删除时间
         int delaySeconds = plugin.getConfigManager().getCompletionDeleteDelay();
 
-        // 发送完成消息和Title
-        for (Player player : world.getPlayers()) {
-            // 发送完成消息
-            MessageUtil.sendMessage(player, "dungeon.completion.success",
-                    MessageUtil.createPlaceholders("dungeon", displayName,
-                            "time", cn.i7mc.sagadungeons.util.TimeUtil.formatTimeShort(completionTimeSeconds)));
+        // 发送完成消息和Title（消息只渲染一次）
+        MessageManager messageManager = plugin.getConfigManager().getMessageManager();
+        messageManager.broadcast(world, "dungeon.completion.success",
+                "dungeon", displayName,
+                "time", cn.i7mc.sagadungeons.util.TimeUtil.formatTimeShort(completionTimeSeconds));
+        String mainTitle = messageManager.getMessage("dungeon.completion.title.main");
+        String subTitle = messageManager.getMessage("dungeon.completion.title.sub", "time", String.valueOf(delaySeconds));
 
+        for (Player player : world.getPlayers()) {
             // 显示Title
-            showCompletionTitle(player, delaySeconds);
+            sendTitle(player, mainTitle, subTitle, 10, 70, 20);
 
             // 原奖励系统已移除，保留触发器功能
 
@@ -204,6 +302,8 @@ public class DungeonInstance {
             PlayerData playerData = plugin.getDungeonManager().getPlayerData(player.getUniqueId());
             if (playerData != null) {
                 playerData.incrementCompletedCount(templateName);
+                plugin.getDungeonManager().getLeaderboardManager()
+                        .recordCompletion(player.getUniqueId(), playerData, templateName, completionTimeSeconds);
             }
         }
 
@@ -222,51 +322,56 @@ public class DungeonInstance {
         SagaDungeons plugin = SagaDungeons.getInstance();
 
         // 创建倒计时任务
-        new BukkitRunnable() {
-            private int remainingSeconds = delaySeconds;
-
-            @Override
-            public void run() {
-                // 检查副本世界是否还存在
-                if (world == null || world.getPlayers().isEmpty()) {
-                    // 如果没有玩家了，直接删除副本
-                    plugin.getDungeonManager().deleteDungeon(id);
-                    this.cancel();
-                    return;
-                }
+        if (countdownTask != null) {
+            countdownTask.cancel();
+        }
+        int[] remaining = {delaySeconds};
+        countdownTask = getScheduler().scheduleRepeating(LifecyclePhase.COUNTDOWN, world, 1L, 20L, () -> { // 每秒执行一次
+            int remainingSeconds = remaining[0];
+
+            // 检查副本世界是否还存在
+            if (world == null || world.getPlayers().isEmpty()) {
+                // 如果没有玩家了，直接删除副本
+                plugin.getDungeonManager().deleteDungeon(id);
+                return false;
+            }
 
-                // 如果倒计时结束，删除副本
-                if (remainingSeconds <= 0) {
-                    plugin.getDungeonManager().deleteDungeon(id);
-                    this.cancel();
-                    return;
-                }
+            // 如果倒计时结束，删除副本
+            if (remainingSeconds <= 0) {
+                plugin.getDungeonManager().deleteDungeon(id);
+                return false;
+            }
 
-                // 发送倒计时消息
-                String messageKey = null;
+            // 发送倒计时消息
+            String messageKey = null;
 
-                if (remainingSeconds <= 3) {
-                    // 最后3秒每秒提示
-                    messageKey = "dungeon.completion.countdown.urgent";
-                } else if (remainingSeconds % 5 == 0) {
-                    // 每5秒提示一次
-                    messageKey = "dungeon.completion.countdown.normal";
-                }
+            if (remainingSeconds <= 3) {
+                // 最后3秒每秒提示
+                messageKey = "dungeon.completion.countdown.urgent";
+            } else if (plugin.getTickGovernor().shouldAnnounceCountdown(remainingSeconds)) {
+                // 每5秒提示一次，服务器负载过高时间隔拉长
+                messageKey = "dungeon.completion.countdown.normal";
+            }
 
-                if (messageKey != null) {
-                    for (Player player : world.getPlayers()) {
-                        // 发送聊天消息
-                        MessageUtil.sendMessage(player, messageKey,
-                                MessageUtil.createPlaceholders("time", String.valueOf(remainingSeconds)));
+            if (messageKey != null) {
+                // 消息与Title每秒只渲染一次，由所有玩家共享
+                MessageManager messageManager = plugin.getConfigManager().getMessageManager();
+                String time = String.valueOf(remainingSeconds);
+                messageManager.broadcast(world, messageKey, "time", time);
 
-                        // 显示倒计时Title
-                        showCountdownTitle(player, remainingSeconds);
-                    }
-                }
+                String mainTitle = messageManager.getMessage("dungeon.completion.title.main");
+                String subTitleKey = remainingSeconds <= 3 ? "dungeon.completion.title.sub-urgent" : "dungeon.completion.title.sub";
+                String subTitle = messageManager.getMessage(subTitleKey, "time", time);
 
-                remainingSeconds--;
+                for (Player player : world.getPlayers()) {
+                    // 显示倒计时Title
+                    sendTitle(player, mainTitle, subTitle, 5, 25, 5);
+                }
             }
-        }.runTaskTimer(plugin, 0L, 20L); // 每秒执行一次
+
+            remaining[0] = remainingSeconds - 1;
+            return true;
+        });
     }
 
     /**
@@ -304,9 +409,13 @@ public class DungeonInstance {
 
     /**
      * 获取剩余时间（秒）
+     * 休眠且暂停计时时返回休眠前的剩余时间
      * @return 剩余时间
      */
     public int getRemainingTime() {
+        if (hibernated && pausedRemainingMillis >= 0L) {
+            return (int) (pausedRemainingMillis / 1000L);
+        }
         return TimeUtil.getRemainingSeconds(expirationTime);
     }
 
@@ -330,42 +439,128 @@ public class DungeonInstance {
 
         // 创建警告任务
         if (warningMillis > 0) {
-            Bukkit.getScheduler().runTaskLater(SagaDungeons.getInstance(), () -> {
+            warningTask = getScheduler().schedule(LifecyclePhase.WARNING, world, warningMillis / 50, () -> {
                 // 发送警告消息
                 if (world != null) {
-                    for (Player player : world.getPlayers()) {
-                        MessageUtil.sendMessage(player, "dungeon.timeout.warning",
-                                MessageUtil.createPlaceholders("time", String.valueOf(60)));
-                    }
+                    SagaDungeons.getInstance().getConfigManager().getMessageManager()
+                            .broadcast(world, "dungeon.timeout.warning", "time", "60");
                 }
-            }, warningMillis / 50);
+            });
         }
 
         // 创建超时任务
-        timeoutTask = Bukkit.getScheduler().runTaskLater(SagaDungeons.getInstance(), () -> {
-            // 发送超时消息
-            if (world != null) {
-                for (Player player : world.getPlayers()) {
-                    MessageUtil.sendMessage(player, "dungeon.timeout.expired");
-                }
-            }
+        timeoutTask = getScheduler().schedule(LifecyclePhase.TIMEOUT, remainingMillis / 50, this::expire);
+    }
+
+    /**
+     * 副本超时
+     */
+    private void expire() {
+        // 发送超时消息
+        if (world != null) {
+            SagaDungeons.getInstance().getConfigManager().getMessageManager()
+                    .broadcast(world, "dungeon.timeout.expired");
+        }
 
-            // 设置状态为超时
-            state = DungeonState.TIMEOUT;
+        // 设置状态为超时
+        state = DungeonState.TIMEOUT;
+        updateRegistry();
+        fireTriggers(TriggerEvent.TIMEOUT);
 
-            // 删除副本
-            SagaDungeons.getInstance().getDungeonManager().deleteDungeon(id);
-        }, remainingMillis / 50);
+        // 删除副本
+        SagaDungeons.getInstance().getDungeonManager().deleteDungeon(id);
+    }
+
+    /**
+     * 进入休眠
+     * 取消所有生命周期任务并释放世界引用，不暂停计时时保留一个不依赖世界的超时任务
+     * @param pauseTimeout 是否暂停计时
+     */
+    public void enterHibernation(boolean pauseTimeout) {
+        long now = System.currentTimeMillis();
+        cancelLifecycleTasks();
+
+        hibernated = true;
+        clock.enterHibernation(now);
+        pausedRemainingMillis = pauseTimeout ? Math.max(0L, expirationTime - now) : -1L;
+        world = null;
+        updateRegistry();
+
+        if (!pauseTimeout) {
+            timeoutTask = getScheduler().schedule(LifecyclePhase.TIMEOUT, Math.max(1L, (expirationTime - now) / 50), this::expire);
+        }
+    }
+
+    /**
+     * 结束休眠
+     * 暂停计时时按休眠前的剩余时间重新计算过期时间
+     * @param world 重新加载的副本世界
+     */
+    public void exitHibernation(World world) {
+        long now = System.currentTimeMillis();
+        if (pausedRemainingMillis >= 0L) {
+            expirationTime = now + pausedRemainingMillis;
+        }
+        hibernated = false;
+        clock.exitHibernation(now);
+        pausedRemainingMillis = -1L;
+
+        setWorld(world);
+        startTimeoutTask();
+    }
+
+    /**
+     * 检查副本是否处于休眠
+     * @return 是否休眠
+     */
+    public boolean isHibernated() {
+        return hibernated;
+    }
+
+    /**
+     * 获取进入休眠的时间
+     * @return 时间戳，未休眠时为0
+     */
+    public long getHibernatedTime() {
+        return clock.getHibernatedTime();
     }
 
     /**
-     * 取消超时任务
+     * 取消超时任务及其警告任务
      */
     public void cancelTimeoutTask() {
         if (timeoutTask != null) {
             timeoutTask.cancel();
             timeoutTask = null;
         }
+        if (warningTask != null) {
+            warningTask.cancel();
+            warningTask = null;
+        }
+    }
+
+    /**
+     * 取消副本的所有生命周期任务
+     * 副本删除时调用
+     */
+    public void cancelLifecycleTasks() {
+        cancelTimeoutTask();
+        if (countdownTask != null) {
+            countdownTask.cancel();
+            countdownTask = null;
+        }
+        if (fireworkTask != null) {
+            fireworkTask.cancel();
+            fireworkTask = null;
+        }
+    }
+
+    /**
+     * 获取生命周期调度器
+     * @return 生命周期调度器
+     */
+    private LifecycleScheduler getScheduler() {
+        return SagaDungeons.getInstance().getDungeonManager().getLifecycleScheduler();
     }
 
     /**
@@ -377,27 +572,32 @@ public class DungeonInstance {
     }
 
     /**
-     * 显示通关Title
-     * @param player 玩家
-     * @param delaySeconds 延迟秒数
+     * 获取副本资源统计
+     * @return 资源统计
      */
-    private void showCompletionTitle(Player player, int delaySeconds) {
-        SagaDungeons plugin = SagaDungeons.getInstance();
-
-        // 获取Title消息
-        String mainTitle = plugin.getConfigManager().getMessageManager().getMessage("dungeon.completion.title.main");
-        String subTitle = plugin.getConfigManager().getMessageManager().getMessage("dungeon.completion.title.sub",
-                MessageUtil.createPlaceholders("time", String.valueOf(delaySeconds)));
+    public InstanceResources getResources() {
+        return resources;
+    }
 
+    /**
+     * 向玩家发送Title
+     * @param player 玩家
+     * @param mainTitle 主标题
+     * @param subTitle 副标题
+     * @param fadeIn 淡入时间(tick)
+     * @param stay 停留时间(tick)
+     * @param fadeOut 淡出时间(tick)
+     */
+    private void sendTitle(Player player, String mainTitle, String subTitle, int fadeIn, int stay, int fadeOut) {
         // 使用Bukkit原生API发送Title
         try {
             // 尝试使用新版本的sendTitle方法
-            player.sendTitle(mainTitle, subTitle, 10, 70, 20);
+            player.sendTitle(mainTitle, subTitle, fadeIn, stay, fadeOut);
         } catch (Exception e) {
             // 如果新版本方法不可用，使用旧版本方法
             try {
                 player.getClass().getMethod("sendTitle", String.class, String.class, int.class, int.class, int.class)
-                        .invoke(player, mainTitle, subTitle, 10, 70, 20);
+                        .invoke(player, mainTitle, subTitle, fadeIn, stay, fadeOut);
             } catch (Exception ex) {
                 // 如果都不可用，只发送聊天消息
                 player.sendMessage(mainTitle);
@@ -414,24 +614,27 @@ public class DungeonInstance {
             return;
         }
 
-        SagaDungeons plugin = SagaDungeons.getInstance();
-
         // 创建烟花效果任务
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                // 检查副本世界是否还存在
-                if (world == null || world.getPlayers().isEmpty()) {
-                    this.cancel();
-                    return;
-                }
+        if (fireworkTask != null) {
+            fireworkTask.cancel();
+        }
+        fireworkTask = getScheduler().scheduleRepeating(LifecyclePhase.COSMETIC, world, 1L, 60L, () -> { // 每3秒执行一次 (60 ticks = 3秒)
+            // 检查副本世界是否还存在
+            if (world == null || world.getPlayers().isEmpty()) {
+                return false;
+            }
 
-                // 为每个玩家生成烟花
-                for (Player player : world.getPlayers()) {
-                    spawnFireworksForPlayer(player);
-                }
+            // 服务器负载过高时跳过本轮烟花，负载恢复后继续
+            if (SagaDungeons.getInstance().getTickGovernor().isCosmeticPaused()) {
+                return true;
+            }
+
+            // 为每个玩家生成烟花
+            for (Player player : world.getPlayers()) {
+                spawnFireworksForPlayer(player);
             }
-        }.runTaskTimer(plugin, 0L, 60L); // 每3秒执行一次 (60 ticks = 3秒)
+            return true;
+        });
     }
 
     /**
@@ -473,35 +676,4 @@ public class DungeonInstance {
             firework.setFireworkMeta(meta);
         }
     }
-
-    /**
-     * 显示倒计时Title
-     * @param player 玩家
-     * @param remainingSeconds 剩余秒数
-     */
-    private void showCountdownTitle(Player player, int remainingSeconds) {
-        SagaDungeons plugin = SagaDungeons.getInstance();
-
-        // 获取Title消息
-        String mainTitle = plugin.getConfigManager().getMessageManager().getMessage("dungeon.completion.title.main");
-        String subTitleKey = remainingSeconds <= 3 ? "dungeon.completion.title.sub-urgent" : "dungeon.completion.title.sub";
-        String subTitle = plugin.getConfigManager().getMessageManager().getMessage(subTitleKey,
-                MessageUtil.createPlaceholders("time", String.valueOf(remainingSeconds)));
-
-        // 使用Bukkit原生API发送Title
-        try {
-            // 尝试使用新版本的sendTitle方法
-            player.sendTitle(mainTitle, subTitle, 5, 25, 5);
-        } catch (Exception e) {
-            // 如果新版本方法不可用，使用旧版本方法
-            try {
-                player.getClass().getMethod("sendTitle", String.class, String.class, int.class, int.class, int.class)
-                        .invoke(player, mainTitle, subTitle, 5, 25, 5);
-            } catch (Exception ex) {
-                // 如果都不可用，只发送聊天消息
-                player.sendMessage(mainTitle);
-                player.sendMessage(subTitle);
-            }
-        }
-    }
 }
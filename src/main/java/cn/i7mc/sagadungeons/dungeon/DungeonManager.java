@@ -1,11 +1,23 @@
 package cn.i7mc.sagadungeons.dungeon;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.dungeon.analytics.RunAnalytics;
 import cn.i7mc.sagadungeons.dungeon.completion.CompletionManager;
 import cn.i7mc.sagadungeons.dungeon.cooldown.CooldownManager;
 import cn.i7mc.sagadungeons.dungeon.condition.RequirementManager;
 import cn.i7mc.sagadungeons.dungeon.death.DeathManager;
+import cn.i7mc.sagadungeons.dungeon.hibernate.HibernationManager;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardManager;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleScheduler;
+import cn.i7mc.sagadungeons.dungeon.placeholder.PlaceholderCache;
+import cn.i7mc.sagadungeons.dungeon.provision.LevelProvisioner;
+import cn.i7mc.sagadungeons.dungeon.provision.PreparedLevel;
+import cn.i7mc.sagadungeons.dungeon.queue.MatchmakingManager;
+import cn.i7mc.sagadungeons.dungeon.resource.ResourceMonitor;
 import cn.i7mc.sagadungeons.dungeon.trigger.TriggerManager;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+import cn.i7mc.sagadungeons.metrics.PerfTimer;
 import cn.i7mc.sagadungeons.model.DungeonTemplate;
 import cn.i7mc.sagadungeons.model.PlayerData;
 import cn.i7mc.sagadungeons.util.MessageUtil;
@@ -18,10 +30,12 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 
 import java.io.File;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * 副本管理器
@@ -30,21 +44,38 @@ import java.util.concurrent.ConcurrentHashMap;
 public class DungeonManager {
 
     private final SagaDungeons plugin;
-    private final Map<String, DungeonInstance> activeDungeons = new ConcurrentHashMap<>();
+    private final DungeonRegistry registry = new DungeonRegistry();
     private final Map<UUID, PlayerData> playerDataMap = new ConcurrentHashMap<>();
     private final CooldownManager cooldownManager;
     private final DeathManager deathManager;
     private final CompletionManager completionManager;
     private final TriggerManager triggerManager;
+    private final MatchmakingManager matchmakingManager;
+    private final LifecycleScheduler lifecycleScheduler;
+    private final ResourceMonitor resourceMonitor;
+    private final PlaceholderCache placeholderCache;
+    private final LeaderboardManager leaderboardManager;
+    private final RunAnalytics runAnalytics;
+    private final LevelProvisioner levelProvisioner;
+    private final HibernationManager hibernationManager;
     private int nextDungeonNumber = 1;
 
     public DungeonManager(SagaDungeons plugin) {
         this.plugin = plugin;
+        this.lifecycleScheduler = new LifecycleScheduler(plugin);
         this.cooldownManager = new CooldownManager(plugin);
         this.deathManager = new DeathManager(plugin);
         // 使用TemplateManager中的CompletionManager实例，而不是创建新的
         this.completionManager = plugin.getConfigManager().getTemplateManager().getCompletionManager();
-        this.triggerManager = new TriggerManager(plugin);
+        // 使用TemplateManager中的TriggerManager实例，模板加载时注册触发器
+        this.triggerManager = plugin.getConfigManager().getTemplateManager().getTriggerManager();
+        this.matchmakingManager = new MatchmakingManager(plugin, this);
+        this.resourceMonitor = new ResourceMonitor(plugin);
+        this.placeholderCache = new PlaceholderCache(plugin);
+        this.leaderboardManager = new LeaderboardManager(plugin);
+        this.runAnalytics = new RunAnalytics(plugin);
+        this.levelProvisioner = new LevelProvisioner(plugin);
+        this.hibernationManager = new HibernationManager(plugin);
 
         // 加载副本数据
         loadDungeonData();
@@ -52,11 +83,23 @@ public class DungeonManager {
         // 加载玩家数据
         loadPlayerData();
 
+        // 加载排行榜
+        leaderboardManager.loadLeaderboards(playerDataMap.values());
+
         // 加载冷却数据
         cooldownManager.loadCooldowns();
 
         // 启动自动保存任务
         startAutoSaveTask();
+
+        // 启动占位符快照刷新
+        placeholderCache.start(lifecycleScheduler);
+
+        // 启动预创建世界过期检查
+        levelProvisioner.start(lifecycleScheduler);
+
+        // 启动无人副本休眠检查
+        hibernationManager.start(lifecycleScheduler);
     }
 
     /**
@@ -66,11 +109,31 @@ public class DungeonManager {
      * @return 是否成功
      */
     public boolean createDungeon(Player player, String templateName) {
-        // 检查模板是否存在
-        if (!plugin.getConfigManager().getTemplateManager().hasTemplate(templateName)) {
-            return false;
-        }
+        return createDungeon(player, templateName, null);
+    }
 
+    /**
+     * 创建副本
+     * @param player 创建者
+     * @param templateName 模板名称
+     * @param onReady 副本世界创建完成并传送创建者后的回调，世界创建失败时参数为null，可为null
+     * @return 是否成功
+     */
+    public boolean createDungeon(Player player, String templateName, Consumer<DungeonInstance> onReady) {
+        return createDungeon(player, templateName, onReady, null);
+    }
+
+    /**
+     * 创建副本
+     * 提供预创建的世界时直接使用，不再复制世界，也不受负载调节与创建锁限制；
+     * 未提供时优先使用模板预创建池中的世界
+     * @param player 创建者
+     * @param templateName 模板名称
+     * @param onReady 副本世界创建完成并传送创建者后的回调，世界创建失败时参数为null，可为null
+     * @param prepared 预创建的关卡世界，可为null，创建失败时由调用者处理
+     * @return 是否成功
+     */
+    public boolean createDungeon(Player player, String templateName, Consumer<DungeonInstance> onReady, PreparedLevel prepared) {
         // 获取玩家数据
         PlayerData playerData = getPlayerData(player.getUniqueId());
 
@@ -79,28 +142,21 @@ public class DungeonManager {
             return false;
         }
 
-        // 检查冷却时间
-        int cooldownSeconds = plugin.getConfigManager().getCreationCooldown();
-        if (!cooldownManager.canCreateDungeon(player.getUniqueId(), cooldownSeconds)) {
-            return false;
-        }
-
-        // 检查是否有其他副本正在创建中
-        if (!plugin.getWorldManager().canCreate()) {
-            plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.creation.locked");
+        // 检查是否可以创建
+        if (!canCreateDungeon(player, templateName, prepared)) {
             return false;
         }
 
         // 获取模板
         DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(templateName);
 
-        // 检查创建条件
-        if (!checkCreationConditions(player, template)) {
-            return false;
+        // 优先使用模板预创建池中的世界
+        if (prepared == null) {
+            prepared = levelProvisioner.takePooled(templateName);
         }
 
-        // 生成副本ID
-        String dungeonId = generateDungeonId(templateName);
+        // 生成副本ID，预创建的世界已经分配了ID
+        String dungeonId = prepared != null ? prepared.getDungeonId() : generateDungeonId(templateName);
 
         // 创建副本实例
         DungeonInstance instance = new DungeonInstance(dungeonId, templateName, player.getUniqueId());
@@ -110,6 +166,13 @@ public class DungeonManager {
         // 保存玩家当前位置
         playerData.setLastLocation(player.getLocation());
 
+        // 使用预创建的世界
+        if (prepared != null) {
+            plugin.getPerfRegistry().increment(PerfCounter.LEVEL_PROVISION_HIT);
+            activateDungeon(player, instance, template, prepared.getWorld(), onReady);
+            return true;
+        }
+
         // 创建副本世界
         plugin.getWorldManager().createDungeonWorld(templateName, dungeonId, progress -> {
             // 进度回调
@@ -120,62 +183,136 @@ public class DungeonManager {
                 World world = Bukkit.getWorld(worldName);
 
                 if (world != null) {
-                    // 设置副本世界
-                    instance.setWorld(world);
+                    activateDungeon(player, instance, template, world, onReady);
+                    return;
+                }
+            }
 
-                    // 添加到活动副本列表
-                    activeDungeons.put(dungeonId, instance);
+            // 世界创建失败
+            if (onReady != null) {
+                onReady.accept(null);
+            }
+        });
 
-                    // 设置玩家当前副本
-                    playerData.setCurrentDungeonId(dungeonId);
+        return true;
+    }
 
-                    // 授予合法副本进入权限
-                    plugin.getDungeonSecurityManager().grantLegalAccess(player);
+    /**
+     * 检查玩家是否可以创建副本
+     * 不检查玩家是否在副本中，关卡跳转时在队伍离开当前副本前调用；
+     * 使用预创建的世界时不复制世界，不受负载调节与创建锁限制
+     * @param player 创建者
+     * @param templateName 模板名称
+     * @param prepared 预创建的关卡世界，可为null
+     * @return 是否可以创建
+     */
+    public boolean canCreateDungeon(Player player, String templateName, PreparedLevel prepared) {
+        // 检查模板是否存在
+        if (!plugin.getConfigManager().getTemplateManager().hasTemplate(templateName)) {
+            return false;
+        }
 
-                    // 更新玩家创建时间
-                    playerData.setLastCreationTime(System.currentTimeMillis());
-                    cooldownManager.setLastCreationTime(player.getUniqueId(), System.currentTimeMillis());
+        // 检查冷却时间
+        if (!cooldownManager.canCreateDungeon(player.getUniqueId(), templateName)) {
+            return false;
+        }
 
-                    // 更新玩家统计数据
-                    playerData.incrementTotalCreated();
+        if (prepared == null) {
+            // 服务器负载过高时拒绝创建新副本
+            if (plugin.getTickGovernor().isRejectingCreation()) {
+                plugin.getPerfRegistry().increment(PerfCounter.DUNGEON_REJECTED);
+                plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.create.server-busy");
+                return false;
+            }
 
-                    // 初始化副本刷怪点 - 延迟20tick执行，确保世界完全加载
-                    Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                        plugin.getMobSpawnerManager().initializeSpawners(dungeonId, templateName, world);
-                    }, 20L);
+            // 检查是否有其他副本正在创建中
+            if (!plugin.getWorldManager().canCreate() && !levelProvisioner.hasPooled(templateName)) {
+                plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.creation.locked");
+                return false;
+            }
+        }
 
-                    // 为副本实例创建独立的通关条件
-                    completionManager.createConditionsForDungeon(dungeonId, templateName);
+        // 检查创建条件
+        return checkCreationConditions(player, plugin.getConfigManager().getTemplateManager().getTemplate(templateName));
+    }
 
-                    // 传送玩家到副本
-                    Location spawnLocation;
+    /**
+     * 副本世界就绪后注册副本并传送创建者
+     * @param player 创建者
+     * @param instance 副本实例
+     * @param template 副本模板
+     * @param world 副本世界
+     * @param onReady 传送创建者后的回调，可为null
+     */
+    private void activateDungeon(Player player, DungeonInstance instance, DungeonTemplate template, World world,
+                                 Consumer<DungeonInstance> onReady) {
+        String dungeonId = instance.getId();
+        String templateName = instance.getTemplateName();
+        PlayerData playerData = getPlayerData(player.getUniqueId());
 
-                    // 检查模板是否有指定重生点
-                    if (template.hasSpawnLocation()) {
-                        // 使用模板中的重生点（不包含世界名）
-                        spawnLocation = cn.i7mc.sagadungeons.util.LocationUtil.stringToLocationWithoutWorld(template.getSpawnLocation(), world);
+        // 设置副本世界
+        instance.setWorld(world);
 
-                        // 如果重生点不可用，使用世界默认出生点
-                        if (spawnLocation == null) {
-                            spawnLocation = world.getSpawnLocation();
-                        }
-                    } else {
-                        // 使用世界默认出生点
-                        spawnLocation = world.getSpawnLocation();
-                    }
+        // 添加到活动副本列表
+        registry.register(instance);
+        plugin.getPerfRegistry().increment(PerfCounter.DUNGEON_CREATED);
 
-                    player.teleport(spawnLocation);
+        // 开始采样副本资源
+        resourceMonitor.startMonitoring(instance);
 
-                    // 设置游戏模式
-                    setPlayerGameMode(player, template);
+        // 设置玩家当前副本
+        playerData.setCurrentDungeonId(dungeonId);
 
-                    // 启动超时任务
-                    instance.startTimeoutTask();
-                }
+        // 授予合法副本进入权限
+        plugin.getDungeonSecurityManager().grantLegalAccess(player, instance);
+
+        // 更新玩家创建时间
+        playerData.setLastCreationTime(System.currentTimeMillis());
+        cooldownManager.startCreationCooldown(player.getUniqueId(), templateName);
+
+        // 更新玩家统计数据
+        playerData.incrementTotalCreated();
+        leaderboardManager.recordCreated(player.getUniqueId(), playerData);
+        instance.addParticipant(player.getUniqueId());
+
+        // 初始化副本刷怪点 - 延迟20tick执行，确保世界完全加载
+        plugin.getTaskScheduler().runAtLater(world.getSpawnLocation(), () -> {
+            plugin.getMobSpawnerManager().initializeSpawners(dungeonId, templateName, world);
+        }, 20L);
+
+        // 为副本实例创建独立的通关条件
+        completionManager.createConditionsForDungeon(dungeonId, templateName);
+
+        // 传送玩家到副本
+        Location spawnLocation;
+
+        // 检查模板是否有指定重生点
+        if (template.hasSpawnLocation()) {
+            // 使用模板中的重生点（不包含世界名）
+            spawnLocation = cn.i7mc.sagadungeons.util.LocationUtil.stringToLocationWithoutWorld(template.getSpawnLocation(), world);
+
+            // 如果重生点不可用，使用世界默认出生点
+            if (spawnLocation == null) {
+                spawnLocation = world.getSpawnLocation();
             }
-        });
+        } else {
+            // 使用世界默认出生点
+            spawnLocation = world.getSpawnLocation();
+        }
 
-        return true;
+        long teleportStart = plugin.getPerfRegistry().start();
+        player.teleport(spawnLocation);
+        plugin.getPerfRegistry().record(PerfTimer.TELEPORT, teleportStart);
+
+        // 设置游戏模式
+        setPlayerGameMode(player, template);
+
+        // 启动超时任务
+        instance.startTimeoutTask();
+
+        if (onReady != null) {
+            onReady.accept(instance);
+        }
     }
 
     /**
@@ -185,7 +322,7 @@ public class DungeonManager {
      */
     public boolean deleteDungeon(String dungeonId) {
         // 获取副本实例
-        DungeonInstance instance = activeDungeons.get(dungeonId);
+        DungeonInstance instance = registry.get(dungeonId);
         if (instance == null) {
             // 尝试直接删除世界文件，可能是副本实例已经被移除但世界文件仍然存在
             String worldName = plugin.getConfigManager().getWorldPrefix() + dungeonId;
@@ -196,8 +333,15 @@ public class DungeonManager {
             return true;
         }
 
+        // 记录运行结果，需要在状态变为正在删除之前
+        runAnalytics.recordRun(instance);
+
         // 设置副本状态为正在删除
         instance.setState(DungeonState.DELETING);
+        plugin.getPerfRegistry().increment(PerfCounter.DUNGEON_DELETED);
+
+        // 清理休眠记录，休眠副本的世界文件夹随副本一起删除
+        hibernationManager.cleanup(dungeonId);
 
         // 获取副本世界
         World world = instance.getWorld();
@@ -206,26 +350,40 @@ public class DungeonManager {
             String worldName = plugin.getConfigManager().getWorldPrefix() + dungeonId;
             plugin.getLogger().info("副本世界为空，尝试通过ID构建世界名称: " + worldName);
 
+            // 取消休眠期间的超时任务
+            instance.cancelLifecycleTasks();
+            triggerManager.cleanup(dungeonId);
+            levelProvisioner.release(dungeonId);
+
             // 从活动副本列表中移除
-            activeDungeons.remove(dungeonId);
+            registry.unregister(dungeonId);
 
             // 使用清理残留副本世界的方法删除
             cleanupDungeonWorld(worldName);
             return true;
         }
 
-        // 取消超时任务
-        instance.cancelTimeoutTask();
+        // 取消超时、倒计时与表现效果任务
+        instance.cancelLifecycleTasks();
 
         // 清理副本刷怪点
         plugin.getMobSpawnerManager().cleanupSpawners(dungeonId);
 
+        // 停止资源采样
+        resourceMonitor.stopMonitoring(dungeonId);
+
         // 清理副本通关条件
         completionManager.cleanupDungeonConditions(dungeonId);
 
         // 清理副本死亡次数记录
         deathManager.cleanupDungeonDeathCounts(dungeonId);
 
+        // 清理副本触发器进度
+        triggerManager.cleanup(dungeonId);
+
+        // 未使用的预创建关卡放回预创建池
+        levelProvisioner.release(dungeonId);
+
         // 将所有玩家传送出副本
         for (Player player : world.getPlayers()) {
             // 获取玩家数据
@@ -255,11 +413,11 @@ public class DungeonManager {
         }
 
         // 立即从活动副本列表中移除，防止玩家加入正在删除的副本
-        activeDungeons.remove(dungeonId);
+        registry.unregister(dungeonId);
 
         // 延迟10tick后删除世界
         final String worldName = world.getName();
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getTaskScheduler().runGlobalLater(() -> {
             // 使用清理残留副本世界的方法删除
             cleanupDungeonWorld(worldName);
         }, 10L);
@@ -294,22 +452,36 @@ public class DungeonManager {
 
     /**
      * 加入副本
+     * 休眠的副本先从休眠中恢复，恢复后再加入
      * @param player 玩家
      * @param dungeonId 副本ID
-     * @return 是否成功
+     * @return 是否成功，休眠的副本返回是否已开始恢复
      */
     public boolean joinDungeon(Player player, String dungeonId) {
+        return joinDungeon(player, dungeonId, null) != JoinResult.FAILED;
+    }
+
+    /**
+     * 加入副本
+     * 休眠的副本先从休眠中恢复，恢复后再加入并通过回调返回结果；
+     * 恢复失败或恢复后无法加入时会向玩家发送对应的消息
+     * @param player 玩家
+     * @param dungeonId 副本ID
+     * @param callback 休眠副本恢复后的加入结果回调，可为null
+     * @return 加入结果
+     */
+    public JoinResult joinDungeon(Player player, String dungeonId, Consumer<Boolean> callback) {
         // 获取副本实例
-        DungeonInstance instance = activeDungeons.get(dungeonId);
+        DungeonInstance instance = registry.get(dungeonId);
         if (instance == null) {
-            return false;
+            return JoinResult.FAILED;
         }
 
         // 检查副本状态
         if (instance.getState() == DungeonState.DELETING ||
             instance.getState() == DungeonState.COMPLETED ||
             instance.getState() == DungeonState.TIMEOUT) {
-            return false;
+            return JoinResult.FAILED;
         }
 
         // 获取玩家数据
@@ -317,18 +489,46 @@ public class DungeonManager {
 
         // 检查玩家是否已经在副本中
         if (playerData.isInDungeon()) {
-            return false;
+            return JoinResult.FAILED;
         }
 
         // 检查玩家是否有权限加入
         if (!instance.isPublic() && !instance.isAllowed(player.getUniqueId()) && !player.getUniqueId().equals(instance.getOwnerUUID())) {
-            return false;
+            return JoinResult.FAILED;
+        }
+
+        // 休眠的副本先恢复，恢复后重新加入
+        if (instance.isHibernated()) {
+            plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.hibernate.waking",
+                    MessageUtil.createPlaceholders("dungeon", instance.getDisplayName()));
+            hibernationManager.wake(instance, success -> {
+                if (!player.isOnline()) {
+                    return;
+                }
+
+                boolean joined = false;
+                if (!success) {
+                    plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.hibernate.failed",
+                            MessageUtil.createPlaceholders("dungeon", instance.getDisplayName()));
+                } else if (joinDungeon(player, dungeonId, null) == JoinResult.JOINED) {
+                    joined = true;
+                } else {
+                    // 副本已恢复，但玩家已在其他副本中或副本已满等原因无法加入
+                    plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.hibernate.rejoin-failed",
+                            MessageUtil.createPlaceholders("dungeon", instance.getDisplayName()));
+                }
+
+                if (callback != null) {
+                    callback.accept(joined);
+                }
+            });
+            return JoinResult.PENDING;
         }
 
         // 获取副本世界
         World world = instance.getWorld();
         if (world == null) {
-            return false;
+            return JoinResult.FAILED;
         }
 
         // 保存玩家当前位置
@@ -337,9 +537,16 @@ public class DungeonManager {
         // 设置玩家当前副本
         playerData.setCurrentDungeonId(dungeonId);
         playerData.incrementTotalJoined();
+        leaderboardManager.recordJoined(player.getUniqueId(), playerData);
+        instance.addParticipant(player.getUniqueId());
+
+        // 加入他人副本时开始队伍冷却
+        if (!player.getUniqueId().equals(instance.getOwnerUUID())) {
+            cooldownManager.startPartyCooldown(player.getUniqueId(), instance.getTemplateName());
+        }
 
         // 授予合法副本进入权限
-        plugin.getDungeonSecurityManager().grantLegalAccess(player);
+        plugin.getDungeonSecurityManager().grantLegalAccess(player, instance);
 
         // 传送玩家到副本
         Location spawnLocation;
@@ -361,12 +568,14 @@ public class DungeonManager {
             spawnLocation = world.getSpawnLocation();
         }
 
+        long teleportStart = plugin.getPerfRegistry().start();
         player.teleport(spawnLocation);
+        plugin.getPerfRegistry().record(PerfTimer.TELEPORT, teleportStart);
 
         // 设置游戏模式
         setPlayerGameMode(player, template);
 
-        return true;
+        return JoinResult.JOINED;
     }
 
     /**
@@ -408,9 +617,10 @@ public class DungeonManager {
         plugin.getDungeonSecurityManager().revokeLegalAccess(player);
 
         // 检查副本是否为空
-        DungeonInstance instance = activeDungeons.get(dungeonId);
-        if (instance != null && instance.getWorld() != null && instance.getWorld().getPlayers().isEmpty()) {
-            // 如果副本为空，删除副本
+        DungeonInstance instance = registry.get(dungeonId);
+        if (instance != null && instance.getWorld() != null && instance.getWorld().getPlayers().isEmpty()
+                && !hibernationManager.canHibernate(instance)) {
+            // 如果副本为空且不会休眠，删除副本
             deleteDungeon(dungeonId);
         }
 
@@ -448,7 +658,7 @@ public class DungeonManager {
      * @param templateName 模板名称
      * @return 副本ID
      */
-    private String generateDungeonId(String templateName) {
+    public String generateDungeonId(String templateName) {
         // 生成编号
         String number = String.format("%03d", nextDungeonNumber++);
 
@@ -466,21 +676,35 @@ public class DungeonManager {
         return playerDataMap.computeIfAbsent(playerUUID, uuid -> new PlayerData(uuid));
     }
 
+    /**
+     * 获取玩家数据中记录在某个副本中的玩家
+     * @return 玩家UUID列表副本
+     */
+    public List<UUID> getPlayersInDungeons() {
+        List<UUID> result = new ArrayList<>();
+        for (PlayerData playerData : playerDataMap.values()) {
+            if (playerData.isInDungeon()) {
+                result.add(playerData.getPlayerUUID());
+            }
+        }
+        return result;
+    }
+
     /**
      * 获取活动副本
      * @param dungeonId 副本ID
      * @return 副本实例
      */
     public DungeonInstance getDungeon(String dungeonId) {
-        return activeDungeons.get(dungeonId);
+        return registry.get(dungeonId);
     }
 
     /**
      * 获取所有活动副本
-     * @return 活动副本映射
+     * @return 活动副本的只读映射
      */
     public Map<String, DungeonInstance> getActiveDungeons() {
-        return activeDungeons;
+        return registry.asMap();
     }
 
     /**
@@ -488,7 +712,7 @@ public class DungeonManager {
      * @return 活动副本数量
      */
     public int getActiveDungeonCount() {
-        return activeDungeons.size();
+        return registry.size();
     }
 
     /**
@@ -534,6 +758,70 @@ public class DungeonManager {
         return triggerManager;
     }
 
+    /**
+     * 获取匹配管理器
+     * @return 匹配管理器
+     */
+    public MatchmakingManager getMatchmakingManager() {
+        return matchmakingManager;
+    }
+
+    /**
+     * 获取生命周期调度器
+     * @return 生命周期调度器
+     */
+    public LifecycleScheduler getLifecycleScheduler() {
+        return lifecycleScheduler;
+    }
+
+    /**
+     * 获取资源监视器
+     * @return 资源监视器
+     */
+    public ResourceMonitor getResourceMonitor() {
+        return resourceMonitor;
+    }
+
+    /**
+     * 获取占位符缓存
+     * @return 占位符缓存
+     */
+    public PlaceholderCache getPlaceholderCache() {
+        return placeholderCache;
+    }
+
+    /**
+     * 获取排行榜管理器
+     * @return 排行榜管理器
+     */
+    public LeaderboardManager getLeaderboardManager() {
+        return leaderboardManager;
+    }
+
+    /**
+     * 获取副本运行分析
+     * @return 副本运行分析
+     */
+    public RunAnalytics getRunAnalytics() {
+        return runAnalytics;
+    }
+
+    /**
+     * 获取下一关预创建器
+     * @return 下一关预创建器
+     */
+    public LevelProvisioner getLevelProvisioner() {
+        return levelProvisioner;
+    }
+
+    /**
+     * 获取副本休眠管理器
+     * @return 副本休眠管理器
+     */
+    public HibernationManager getHibernationManager() {
+        return hibernationManager;
+    }
+
     /**
      * 加载副本数据
      */
@@ -600,6 +888,8 @@ public class DungeonManager {
      * 保存所有数据
      */
     public void saveAllData() {
+        long start = plugin.getPerfRegistry().start();
+
         // 保存副本数据
         saveDungeonData();
 
@@ -608,6 +898,11 @@ public class DungeonManager {
 
         // 保存冷却数据
         cooldownManager.saveCooldowns();
+
+        // 保存排行榜
+        leaderboardManager.saveLeaderboards();
+
+        plugin.getPerfRegistry().record(PerfTimer.AUTOSAVE, start);
     }
 
     /**
@@ -627,7 +922,7 @@ public class DungeonManager {
         ConfigurationSection dungeonsSection = config.createSection("dungeons");
 
         // 保存所有副本数据
-        for (Map.Entry<String, DungeonInstance> entry : activeDungeons.entrySet()) {
+        for (Map.Entry<String, DungeonInstance> entry : registry.asMap().entrySet()) {
             // 获取副本ID和实例
             String dungeonId = entry.getKey();
             DungeonInstance instance = entry.getValue();
@@ -658,11 +953,8 @@ public class DungeonManager {
             }
         }
 
-        // 保存配置
-        try {
-            config.save(dungeonDataFile);
-        } catch (IOException e) {
-        }
+        // 保存配置，写入磁盘在持久化I/O通道执行
+        plugin.getIOManager().save(config, dungeonDataFile);
     }
 
     /**
@@ -691,19 +983,19 @@ public class DungeonManager {
             playerData.saveToConfig(playerSection);
         }
 
-        // 保存配置
-        try {
-            config.save(playerDataFile);
-        } catch (IOException e) {
-        }
+        // 保存配置，写入磁盘在持久化I/O通道执行
+        plugin.getIOManager().save(config, playerDataFile);
     }
 
     /**
      * 启动自动保存任务
      */
     private void startAutoSaveTask() {
-        // 每5分钟自动保存一次数据
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::saveAllData, 6000L, 6000L);
+        // 每5分钟自动保存一次数据，在调度线程生成快照，写入磁盘在持久化I/O通道执行
+        lifecycleScheduler.scheduleRepeating(LifecyclePhase.AUTOSAVE, 6000L, 6000L, () -> {
+            saveAllData();
+            return true;
+        });
     }
 
     /**
@@ -712,12 +1004,24 @@ public class DungeonManager {
      * @return 副本实例，如果找不到则返回null
      */
     public DungeonInstance findDungeonByWorldName(String worldName) {
-        for (DungeonInstance instance : activeDungeons.values()) {
-            if (instance.getWorld() != null && instance.getWorld().getName().equals(worldName)) {
-                return instance;
-            }
-        }
-        return null;
+        return registry.getByWorldName(worldName);
+    }
+
+    /**
+     * 根据世界查找对应的副本实例
+     * @param world 世界
+     * @return 副本实例，如果找不到则返回null
+     */
+    public DungeonInstance findDungeonByWorld(World world) {
+        return registry.getByWorld(world);
+    }
+
+    /**
+     * 获取副本实例注册表
+     * @return 副本实例注册表
+     */
+    public DungeonRegistry getRegistry() {
+        return registry;
     }
 
     /**
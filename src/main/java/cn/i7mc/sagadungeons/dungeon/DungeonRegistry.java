@@ -0,0 +1,274 @@
+package cn.i7mc.sagadungeons.dungeon;
+
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 副本实例注册表
+ * 维护 ID / 世界UID / 世界名称 / 创建者 / 模板 / 可加入公开副本 的索引。
+ * 所有索引保存在同一个不可变快照中，写入时在锁内重建并整体替换，
+ * 读取只需一次volatile读取，不加锁且各索引之间始终一致
+ */
+public class DungeonRegistry {
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * 注册副本实例
+     * @param instance 副本实例
+     */
+    public synchronized void register(DungeonInstance instance) {
+        Map<String, DungeonInstance> instances = new LinkedHashMap<>(snapshot.byId);
+        instances.put(instance.getId(), instance);
+        snapshot = Snapshot.build(instances);
+    }
+
+    /**
+     * 移除副本实例
+     * @param dungeonId 副本ID
+     * @return 被移除的副本实例，如果不存在则返回null
+     */
+    public synchronized DungeonInstance unregister(String dungeonId) {
+        if (!snapshot.byId.containsKey(dungeonId)) {
+            return null;
+        }
+
+        Map<String, DungeonInstance> instances = new LinkedHashMap<>(snapshot.byId);
+        DungeonInstance removed = instances.remove(dungeonId);
+        snapshot = Snapshot.build(instances);
+        return removed;
+    }
+
+    /**
+     * 副本的世界、公开状态或运行状态变化后更新索引
+     * 未注册的实例会被忽略
+     * @param instance 副本实例
+     */
+    public synchronized void update(DungeonInstance instance) {
+        if (snapshot.byId.get(instance.getId()) != instance) {
+            return;
+        }
+        snapshot = Snapshot.build(snapshot.byId);
+    }
+
+    /**
+     * 清空注册表
+     */
+    public synchronized void clear() {
+        snapshot = Snapshot.EMPTY;
+    }
+
+    /**
+     * 根据ID获取副本
+     * @param dungeonId 副本ID
+     * @return 副本实例，如果不存在则返回null
+     */
+    public DungeonInstance get(String dungeonId) {
+        return snapshot.byId.get(dungeonId);
+    }
+
+    /**
+     * 根据世界获取副本
+     * @param world 世界
+     * @return 副本实例，如果不存在则返回null
+     */
+    public DungeonInstance getByWorld(World world) {
+        return world == null ? null : snapshot.byWorldUid.get(world.getUID());
+    }
+
+    /**
+     * 根据世界UID获取副本
+     * @param worldUid 世界UID
+     * @return 副本实例，如果不存在则返回null
+     */
+    public DungeonInstance getByWorldUid(UUID worldUid) {
+        return snapshot.byWorldUid.get(worldUid);
+    }
+
+    /**
+     * 根据世界名称获取副本
+     * @param worldName 世界名称
+     * @return 副本实例，如果不存在则返回null
+     */
+    public DungeonInstance getByWorldName(String worldName) {
+        return snapshot.byWorldName.get(worldName);
+    }
+
+    /**
+     * 获取玩家创建的所有副本
+     * @param ownerUUID 创建者UUID
+     * @return 只读副本列表
+     */
+    public List<DungeonInstance> getByOwner(UUID ownerUUID) {
+        return snapshot.byOwner.getOrDefault(ownerUUID, Collections.emptyList());
+    }
+
+    /**
+     * 获取使用指定模板的所有副本
+     * @param templateName 模板名称
+     * @return 只读副本列表
+     */
+    public List<DungeonInstance> getByTemplate(String templateName) {
+        return snapshot.byTemplate.getOrDefault(templateName, Collections.emptyList());
+    }
+
+    /**
+     * 获取公开且正在运行、可以直接加入的副本
+     * @return 只读副本列表
+     */
+    public List<DungeonInstance> getJoinable() {
+        return snapshot.joinable;
+    }
+
+    /**
+     * 获取拥有副本的所有创建者
+     * @return 只读创建者集合
+     */
+    public Set<UUID> getOwners() {
+        return snapshot.byOwner.keySet();
+    }
+
+    /**
+     * 获取ID以指定前缀开头的副本ID(不区分大小写)
+     * 在排序后的ID数组上二分查找，只访问匹配的部分
+     * @param prefix 前缀
+     * @return 副本ID列表
+     */
+    public List<String> getIdsStartingWith(String prefix) {
+        Snapshot current = snapshot;
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+
+        int index = Arrays.binarySearch(current.sortedLowerIds, lowerPrefix);
+        if (index < 0) {
+            index = -index - 1;
+        }
+
+        List<String> result = new ArrayList<>();
+        while (index < current.sortedLowerIds.length && current.sortedLowerIds[index].startsWith(lowerPrefix)) {
+            result.add(current.sortedIds[index]);
+            index++;
+        }
+        return result;
+    }
+
+    /**
+     * 获取所有副本
+     * @return 只读副本集合
+     */
+    public Collection<DungeonInstance> getAll() {
+        return snapshot.byId.values();
+    }
+
+    /**
+     * 获取 ID -> 副本 的只读映射
+     * @return 只读映射
+     */
+    public Map<String, DungeonInstance> asMap() {
+        return snapshot.byId;
+    }
+
+    /**
+     * 获取副本数量
+     * @return 副本数量
+     */
+    public int size() {
+        return snapshot.byId.size();
+    }
+
+    /**
+     * 检查是否没有副本
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return snapshot.byId.isEmpty();
+    }
+
+    /**
+     * 索引快照
+     */
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = build(Collections.emptyMap());
+
+        private final Map<String, DungeonInstance> byId;
+        private final Map<UUID, DungeonInstance> byWorldUid;
+        private final Map<String, DungeonInstance> byWorldName;
+        private final Map<UUID, List<DungeonInstance>> byOwner;
+        private final Map<String, List<DungeonInstance>> byTemplate;
+        private final List<DungeonInstance> joinable;
+        private final String[] sortedIds;
+        private final String[] sortedLowerIds;
+
+        private Snapshot(Map<String, DungeonInstance> byId, Map<UUID, DungeonInstance> byWorldUid,
+                         Map<String, DungeonInstance> byWorldName, Map<UUID, List<DungeonInstance>> byOwner,
+                         Map<String, List<DungeonInstance>> byTemplate, List<DungeonInstance> joinable,
+                         String[] sortedIds, String[] sortedLowerIds) {
+            this.byId = byId;
+            this.byWorldUid = byWorldUid;
+            this.byWorldName = byWorldName;
+            this.byOwner = byOwner;
+            this.byTemplate = byTemplate;
+            this.joinable = joinable;
+            this.sortedIds = sortedIds;
+            this.sortedLowerIds = sortedLowerIds;
+        }
+
+        /**
+         * 根据副本映射重建全部索引
+         * @param instances ID -> 副本 映射
+         * @return 新快照
+         */
+        private static Snapshot build(Map<String, DungeonInstance> instances) {
+            Map<String, DungeonInstance> byId = new LinkedHashMap<>(instances);
+            Map<UUID, DungeonInstance> byWorldUid = new HashMap<>();
+            Map<String, DungeonInstance> byWorldName = new HashMap<>();
+            Map<UUID, List<DungeonInstance>> byOwner = new HashMap<>();
+            Map<String, List<DungeonInstance>> byTemplate = new HashMap<>();
+            List<DungeonInstance> joinable = new ArrayList<>();
+
+            for (DungeonInstance instance : byId.values()) {
+                World world = instance.getWorld();
+                if (world != null) {
+                    byWorldUid.put(world.getUID(), instance);
+                    byWorldName.put(world.getName(), instance);
+                }
+                byOwner.computeIfAbsent(instance.getOwnerUUID(), k -> new ArrayList<>()).add(instance);
+                byTemplate.computeIfAbsent(instance.getTemplateName(), k -> new ArrayList<>()).add(instance);
+                if (instance.isPublic() && instance.getState() == DungeonState.RUNNING) {
+                    joinable.add(instance);
+                }
+            }
+
+            // 按小写ID排序，用于前缀补全
+            String[] sortedIds = byId.keySet().toArray(new String[0]);
+            Arrays.sort(sortedIds, Comparator.comparing((String id) -> id.toLowerCase(Locale.ROOT)));
+            String[] sortedLowerIds = new String[sortedIds.length];
+            for (int i = 0; i < sortedIds.length; i++) {
+                sortedLowerIds[i] = sortedIds[i].toLowerCase(Locale.ROOT);
+            }
+
+            return new Snapshot(Collections.unmodifiableMap(byId), byWorldUid, byWorldName,
+                    freeze(byOwner), freeze(byTemplate), Collections.unmodifiableList(joinable),
+                    sortedIds, sortedLowerIds);
+        }
+
+        private static <K> Map<K, List<DungeonInstance>> freeze(Map<K, List<DungeonInstance>> index) {
+            for (Map.Entry<K, List<DungeonInstance>> entry : index.entrySet()) {
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(index);
+        }
+    }
+}
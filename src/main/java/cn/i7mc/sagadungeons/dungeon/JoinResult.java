@@ -0,0 +1,21 @@
+package cn.i7mc.sagadungeons.dungeon;
+
+/**
+ * 加入副本结果枚举
+ */
+public enum JoinResult {
+    /**
+     * 已加入副本
+     */
+    JOINED,
+
+    /**
+     * 副本正在从休眠中恢复，恢复后再加入，结果通过回调返回
+     */
+    PENDING,
+
+    /**
+     * 加入失败
+     */
+    FAILED
+}
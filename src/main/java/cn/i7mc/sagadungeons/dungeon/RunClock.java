@@ -0,0 +1,115 @@
+package cn.i7mc.sagadungeons.dungeon;
+
+/**
+ * 副本运行计时
+ * 记录副本创建、世界就绪、休眠与通关的时间；
+ * 通关用时从世界就绪开始计算并扣除休眠时间，不受世界复制耗时与玩家离开时长影响
+ */
+public class RunClock {
+
+    private final long creationTime;
+    private long readyTime;
+    private long completionTime;
+    private long hibernatedTime;
+    private long hibernatedMillis;
+
+    /**
+     * 构造函数
+     * @param creationTime 创建时间
+     */
+    public RunClock(long creationTime) {
+        this.creationTime = creationTime;
+    }
+
+    /**
+     * 记录世界就绪，只记录第一次
+     * @param now 当前时间
+     */
+    public void markReady(long now) {
+        if (readyTime == 0L) {
+            readyTime = now;
+        }
+    }
+
+    /**
+     * 记录通关，只记录第一次
+     * @param now 当前时间
+     */
+    public void markCompleted(long now) {
+        if (completionTime == 0L) {
+            completionTime = now;
+        }
+    }
+
+    /**
+     * 记录进入休眠
+     * @param now 当前时间
+     */
+    public void enterHibernation(long now) {
+        hibernatedTime = now;
+    }
+
+    /**
+     * 记录结束休眠，累计本次休眠时长
+     * @param now 当前时间
+     */
+    public void exitHibernation(long now) {
+        if (hibernatedTime != 0L) {
+            hibernatedMillis += Math.max(0L, now - hibernatedTime);
+            hibernatedTime = 0L;
+        }
+    }
+
+    /**
+     * 获取创建时间
+     * @return 创建时间
+     */
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    /**
+     * 获取世界就绪时间
+     * @return 世界就绪时间，世界尚未创建时为0
+     */
+    public long getReadyTime() {
+        return readyTime;
+    }
+
+    /**
+     * 获取通关时间
+     * @return 通关时间，尚未通关时为0
+     */
+    public long getCompletionTime() {
+        return completionTime;
+    }
+
+    /**
+     * 获取进入当前休眠的时间
+     * @return 时间戳，未休眠时为0
+     */
+    public long getHibernatedTime() {
+        return hibernatedTime;
+    }
+
+    /**
+     * 获取已结束的休眠累计时长
+     * @return 休眠时长(毫秒)
+     */
+    public long getHibernatedMillis() {
+        return hibernatedMillis;
+    }
+
+    /**
+     * 获取通关用时
+     * 从世界就绪开始计算，扣除休眠时间
+     * @return 通关用时(毫秒)，尚未通关时为0
+     */
+    public long getClearMillis() {
+        if (completionTime == 0L) {
+            return 0L;
+        }
+        long start = readyTime != 0L ? readyTime : creationTime;
+        return Math.max(0L, completionTime - start - hibernatedMillis);
+    }
+}
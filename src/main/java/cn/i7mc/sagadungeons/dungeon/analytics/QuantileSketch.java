@@ -0,0 +1,182 @@
+package cn.i7mc.sagadungeons.dungeon.analytics;
+
+import java.util.Arrays;
+
+/**
+ * 流式分位数草图
+ * 合并式t-digest：新值先写入缓冲区，缓冲区满时排序并与已有质心合并。
+ * 质心大小由反正弦刻度函数限制，两端分位数由小质心精确表示，中间分位数由大质心近似，
+ * 质心数量不超过压缩系数，与记录次数无关
+ */
+public class QuantileSketch {
+
+    private final double compression;
+    private final double[] buffer;
+    private int buffered;
+
+    // 按均值排序的质心
+    private double[] means = new double[0];
+    private double[] weights = new double[0];
+
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * 构造函数
+     * @param compression 压缩系数，越大越精确，也是质心数量的上限
+     */
+    public QuantileSketch(double compression) {
+        this.compression = Math.max(10.0, compression);
+        this.buffer = new double[(int) (this.compression * 2)];
+    }
+
+    /**
+     * 记录一个值
+     * @param value 值
+     */
+    public synchronized void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        buffer[buffered++] = value;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+
+        if (buffered == buffer.length) {
+            merge();
+        }
+    }
+
+    /**
+     * 计算分位数
+     * @param q 分位点，0到1之间
+     * @return 估计值，没有记录时返回NaN
+     */
+    public synchronized double quantile(double q) {
+        merge();
+        int size = means.length;
+        if (size == 0) {
+            return Double.NaN;
+        }
+        if (size == 1) {
+            return means[0];
+        }
+
+        // 每个质心的权重视为均匀分布在其均值两侧，相邻质心中点之间线性插值
+        double index = Math.max(0.0, Math.min(1.0, q)) * count;
+        double half = weights[0] / 2.0;
+        if (index <= half) {
+            return min + (means[0] - min) * (index / half);
+        }
+
+        double cumulative = half;
+        for (int i = 0; i < size - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2.0;
+            if (cumulative + step > index) {
+                return means[i] + (means[i + 1] - means[i]) * ((index - cumulative) / step);
+            }
+            cumulative += step;
+        }
+
+        double tail = weights[size - 1] / 2.0;
+        return means[size - 1] + (max - means[size - 1]) * Math.min(1.0, (index - cumulative) / tail);
+    }
+
+    /**
+     * 获取记录次数
+     * @return 记录次数
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * 获取最大值
+     * @return 最大值，没有记录时返回NaN
+     */
+    public synchronized double getMax() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    /**
+     * 获取质心数量
+     * @return 质心数量
+     */
+    public synchronized int getCentroidCount() {
+        merge();
+        return means.length;
+    }
+
+    /**
+     * 将缓冲区与已有质心合并
+     */
+    private void merge() {
+        if (buffered == 0) {
+            return;
+        }
+
+        Arrays.sort(buffer, 0, buffered);
+
+        int total = means.length + buffered;
+        double[] mergedMeans = new double[total];
+        double[] mergedWeights = new double[total];
+        double totalWeight = count;
+
+        // 已有质心与缓冲区都已排序，按均值归并
+        int centroid = 0;
+        int value = 0;
+        int size = 0;
+        double currentMean = 0.0;
+        double currentWeight = 0.0;
+        double cumulative = 0.0;
+        while (centroid < means.length || value < buffered) {
+            double nextMean;
+            double nextWeight;
+            if (value >= buffered || (centroid < means.length && means[centroid] <= buffer[value])) {
+                nextMean = means[centroid];
+                nextWeight = weights[centroid++];
+            } else {
+                nextMean = buffer[value++];
+                nextWeight = 1.0;
+            }
+
+            if (currentWeight == 0.0) {
+                currentMean = nextMean;
+                currentWeight = nextWeight;
+                continue;
+            }
+
+            double proposed = currentWeight + nextWeight;
+            if (scale(cumulative + proposed, totalWeight) - scale(cumulative, totalWeight) <= 1.0) {
+                currentMean += (nextMean - currentMean) * nextWeight / proposed;
+                currentWeight = proposed;
+            } else {
+                mergedMeans[size] = currentMean;
+                mergedWeights[size++] = currentWeight;
+                cumulative += currentWeight;
+                currentMean = nextMean;
+                currentWeight = nextWeight;
+            }
+        }
+        mergedMeans[size] = currentMean;
+        mergedWeights[size++] = currentWeight;
+
+        means = Arrays.copyOf(mergedMeans, size);
+        weights = Arrays.copyOf(mergedWeights, size);
+        buffered = 0;
+    }
+
+    /**
+     * 刻度函数k1，每个质心覆盖的刻度跨度不超过1
+     * @param weight 累计权重
+     * @param totalWeight 总权重
+     * @return 刻度
+     */
+    private double scale(double weight, double totalWeight) {
+        double q = Math.min(1.0, weight / totalWeight);
+        return compression / (2.0 * Math.PI) * Math.asin(2.0 * q - 1.0);
+    }
+}
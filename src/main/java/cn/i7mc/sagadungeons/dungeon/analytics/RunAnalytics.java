@@ -0,0 +1,238 @@
+package cn.i7mc.sagadungeons.dungeon.analytics;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.DungeonState;
+import cn.i7mc.sagadungeons.io.IOLane;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * 副本运行分析
+ * 副本结束时在主线程生成一条运行记录放入有界队列，队列满时丢弃并计数，不阻塞主线程。
+ * 后台I/O通道取出记录，更新每个模板的计数与分位数草图，
+ * 并按天追加写入NDJSON文件，超过保留天数的文件自动删除。
+ * 统计从服务器启动开始累计，完整历史保存在导出文件中
+ */
+public class RunAnalytics {
+
+    private static final String FILE_PREFIX = "runs-";
+    private static final String FILE_SUFFIX = ".ndjson";
+
+    private final SagaDungeons plugin;
+    private final BlockingQueue<RunRecord> queue;
+    private final Map<String, TemplateAnalytics> templates = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final File exportFolder;
+    private LocalDate lastExportDay;
+
+    /**
+     * 构造函数
+     * 队列容量在启动时读取，修改后需要重启生效
+     * @param plugin 插件实例
+     */
+    public RunAnalytics(SagaDungeons plugin) {
+        this.plugin = plugin;
+        this.queue = new ArrayBlockingQueue<>(plugin.getConfigManager().getAnalyticsQueueSize());
+        this.exportFolder = new File(plugin.getDataFolder(), "analytics");
+    }
+
+    /**
+     * 记录副本运行结果
+     * 在副本删除前调用，世界未创建成功的副本不计入
+     * @param instance 副本实例
+     */
+    public void recordRun(DungeonInstance instance) {
+        if (!plugin.getConfigManager().isAnalyticsEnabled() || instance.getReadyTime() == 0L
+                || instance.getState() == DungeonState.DELETING) {
+            return;
+        }
+
+        RunOutcome outcome;
+        switch (instance.getState()) {
+            case COMPLETED:
+                outcome = RunOutcome.COMPLETED;
+                break;
+            case TIMEOUT:
+                outcome = RunOutcome.TIMEOUT;
+                break;
+            default:
+                outcome = RunOutcome.ABANDONED;
+                break;
+        }
+
+        long now = System.currentTimeMillis();
+        long readyTime = instance.getReadyTime();
+        long completionTime = instance.getCompletionTime();
+        long activeEnd = completionTime > 0L ? completionTime : now;
+
+        submit(new RunRecord(instance.getId(), instance.getTemplateName(), outcome, now,
+                readyTime - instance.getCreationTime(), activeEnd - readyTime,
+                completionTime > 0L ? now - completionTime : 0L,
+                instance.getDeaths(), instance.getParticipantCount()));
+    }
+
+    /**
+     * 提交运行记录
+     * @param record 运行记录
+     */
+    public void submit(RunRecord record) {
+        if (!queue.offer(record)) {
+            plugin.getPerfRegistry().increment(PerfCounter.RUN_DROPPED);
+            return;
+        }
+        plugin.getPerfRegistry().increment(PerfCounter.RUN_RECORDED);
+        scheduleDrain();
+    }
+
+    /**
+     * 在后台通道安排一次处理，已有处理任务时跳过
+     * 通道已满时记录留在队列中，下次提交时重试
+     */
+    private void scheduleDrain() {
+        if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        if (!plugin.getIOManager().execute(IOLane.BACKGROUND, this::drain)) {
+            draining.set(false);
+        }
+    }
+
+    /**
+     * 后台处理任务
+     */
+    private void drain() {
+        try {
+            drainQueue();
+        } finally {
+            draining.set(false);
+        }
+        // 处理期间提交的记录
+        scheduleDrain();
+    }
+
+    /**
+     * 取出队列中的所有记录，更新统计并写入导出文件
+     */
+    private synchronized void drainQueue() {
+        List<RunRecord> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        double compression = plugin.getConfigManager().getAnalyticsCompression();
+        StringBuilder lines = new StringBuilder(batch.size() * 192);
+        for (RunRecord record : batch) {
+            templates.computeIfAbsent(record.getTemplateName(), name -> new TemplateAnalytics(name, compression))
+                    .record(record);
+            lines.append(record.toJson()).append('\n');
+        }
+
+        if (plugin.getConfigManager().isAnalyticsExportEnabled()) {
+            export(lines.toString());
+        }
+    }
+
+    /**
+     * 追加写入当天的导出文件，日期变化时删除过期文件
+     * @param lines NDJSON文本
+     */
+    private void export(String lines) {
+        LocalDate today = LocalDate.now();
+        Path path = new File(exportFolder, FILE_PREFIX + today + FILE_SUFFIX).toPath();
+        try {
+            Files.createDirectories(path.getParent());
+            Files.write(path, lines.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "写入副本运行记录失败: " + path, e);
+        }
+
+        if (!today.equals(lastExportDay)) {
+            lastExportDay = today;
+            pruneExports(today);
+        }
+    }
+
+    /**
+     * 删除超过保留天数的导出文件
+     * @param today 当前日期
+     */
+    private void pruneExports(LocalDate today) {
+        File[] files = exportFolder.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (files == null) {
+            return;
+        }
+
+        LocalDate oldest = today.minusDays(plugin.getConfigManager().getAnalyticsRetentionDays() - 1L);
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                LocalDate day = LocalDate.parse(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+                if (day.isBefore(oldest) && !file.delete()) {
+                    plugin.getLogger().warning("删除过期的副本运行记录失败: " + file.getPath());
+                }
+            } catch (DateTimeParseException ignored) {
+                // 不是本插件生成的文件
+            }
+        }
+    }
+
+    /**
+     * 获取模板统计
+     * @param templateName 模板名称
+     * @return 模板统计，没有运行记录时返回null
+     */
+    public TemplateAnalytics getTemplate(String templateName) {
+        return templates.get(templateName);
+    }
+
+    /**
+     * 获取有运行记录的模板名称
+     * @return 模板名称列表
+     */
+    public List<String> getTemplateNames() {
+        return new ArrayList<>(templates.keySet());
+    }
+
+    /**
+     * 获取队列中等待处理的记录数量
+     * @return 记录数量
+     */
+    public int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * 获取导出文件夹
+     * @return 导出文件夹
+     */
+    public File getExportFolder() {
+        return exportFolder;
+    }
+
+    /**
+     * 关闭分析
+     * 在调用线程处理队列中剩余的记录
+     */
+    public void shutdown() {
+        drainQueue();
+    }
+}
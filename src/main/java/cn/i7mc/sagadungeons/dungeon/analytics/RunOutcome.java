@@ -0,0 +1,36 @@
+package cn.i7mc.sagadungeons.dungeon.analytics;
+
+/**
+ * 副本运行结果
+ */
+public enum RunOutcome {
+
+    /**
+     * 达成通关条件
+     */
+    COMPLETED("completed"),
+
+    /**
+     * 到达时间限制
+     */
+    TIMEOUT("timeout"),
+
+    /**
+     * 未通关也未超时即被删除，例如玩家全部离开或被管理员关闭
+     */
+    ABANDONED("abandoned");
+
+    private final String key;
+
+    RunOutcome(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 获取名称，用于导出文件
+     * @return 名称
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,144 @@
+package cn.i7mc.sagadungeons.dungeon.analytics;
+
+/**
+ * 副本运行记录
+ * 副本结束时在主线程生成，之后只在分析线程读取
+ */
+public final class RunRecord {
+
+    private final String dungeonId;
+    private final String templateName;
+    private final RunOutcome outcome;
+    private final long endTime;
+    private final long setupMillis;
+    private final long activeMillis;
+    private final long wrapUpMillis;
+    private final int deaths;
+    private final int partySize;
+
+    /**
+     * 构造函数
+     * @param dungeonId 副本ID
+     * @param templateName 模板名称
+     * @param outcome 运行结果
+     * @param endTime 结束时间
+     * @param setupMillis 准备阶段耗时(创建到世界就绪)
+     * @param activeMillis 进行阶段耗时(世界就绪到通关或结束)
+     * @param wrapUpMillis 收尾阶段耗时(通关到删除)，未通关时为0
+     * @param deaths 玩家死亡总次数
+     * @param partySize 进入过副本的玩家数量
+     */
+    public RunRecord(String dungeonId, String templateName, RunOutcome outcome, long endTime,
+                     long setupMillis, long activeMillis, long wrapUpMillis, int deaths, int partySize) {
+        this.dungeonId = dungeonId;
+        this.templateName = templateName;
+        this.outcome = outcome;
+        this.endTime = endTime;
+        this.setupMillis = setupMillis;
+        this.activeMillis = activeMillis;
+        this.wrapUpMillis = wrapUpMillis;
+        this.deaths = deaths;
+        this.partySize = partySize;
+    }
+
+    /**
+     * 获取副本ID
+     * @return 副本ID
+     */
+    public String getDungeonId() {
+        return dungeonId;
+    }
+
+    /**
+     * 获取模板名称
+     * @return 模板名称
+     */
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    /**
+     * 获取运行结果
+     * @return 运行结果
+     */
+    public RunOutcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * 获取结束时间
+     * @return 结束时间
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * 获取准备阶段耗时
+     * @return 耗时(毫秒)
+     */
+    public long getSetupMillis() {
+        return setupMillis;
+    }
+
+    /**
+     * 获取进行阶段耗时
+     * @return 耗时(毫秒)
+     */
+    public long getActiveMillis() {
+        return activeMillis;
+    }
+
+    /**
+     * 获取收尾阶段耗时
+     * @return 耗时(毫秒)
+     */
+    public long getWrapUpMillis() {
+        return wrapUpMillis;
+    }
+
+    /**
+     * 获取玩家死亡总次数
+     * @return 死亡次数
+     */
+    public int getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * 获取进入过副本的玩家数量
+     * @return 玩家数量
+     */
+    public int getPartySize() {
+        return partySize;
+    }
+
+    /**
+     * 获取通关用时(创建到通关)
+     * @return 通关用时(毫秒)
+     */
+    public long getClearMillis() {
+        return setupMillis + activeMillis;
+    }
+
+    /**
+     * 生成一行NDJSON
+     * 副本ID与模板名称来自配置与内部编号，只需转义引号与反斜杠
+     * @return JSON文本，不含换行
+     */
+    public String toJson() {
+        return "{\"end\":" + endTime
+                + ",\"dungeon\":\"" + escape(dungeonId)
+                + "\",\"template\":\"" + escape(templateName)
+                + "\",\"outcome\":\"" + outcome.getKey()
+                + "\",\"setup_ms\":" + setupMillis
+                + ",\"active_ms\":" + activeMillis
+                + ",\"wrapup_ms\":" + wrapUpMillis
+                + ",\"deaths\":" + deaths
+                + ",\"party\":" + partySize + "}";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,130 @@
+package cn.i7mc.sagadungeons.dungeon.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 模板运行统计
+ * 按结果计数，并为通关用时、各阶段耗时、死亡次数与队伍人数维护分位数草图。
+ * 由分析线程写入，命令在主线程读取
+ */
+public class TemplateAnalytics {
+
+    private final String templateName;
+    private final AtomicLongArray outcomes = new AtomicLongArray(RunOutcome.values().length);
+    private final LongAdder deaths = new LongAdder();
+    private final QuantileSketch clearSeconds;
+    private final QuantileSketch setupSeconds;
+    private final QuantileSketch activeSeconds;
+    private final QuantileSketch runDeaths;
+    private final QuantileSketch partySize;
+
+    /**
+     * 构造函数
+     * @param templateName 模板名称
+     * @param compression 分位数草图压缩系数
+     */
+    public TemplateAnalytics(String templateName, double compression) {
+        this.templateName = templateName;
+        this.clearSeconds = new QuantileSketch(compression);
+        this.setupSeconds = new QuantileSketch(compression);
+        this.activeSeconds = new QuantileSketch(compression);
+        this.runDeaths = new QuantileSketch(compression);
+        this.partySize = new QuantileSketch(compression);
+    }
+
+    /**
+     * 计入一次运行
+     * 通关用时只统计通关的运行，其余指标统计所有运行
+     * @param record 运行记录
+     */
+    public void record(RunRecord record) {
+        outcomes.incrementAndGet(record.getOutcome().ordinal());
+        deaths.add(record.getDeaths());
+
+        if (record.getOutcome() == RunOutcome.COMPLETED) {
+            clearSeconds.add(record.getClearMillis() / 1000.0);
+        }
+        setupSeconds.add(record.getSetupMillis() / 1000.0);
+        activeSeconds.add(record.getActiveMillis() / 1000.0);
+        runDeaths.add(record.getDeaths());
+        partySize.add(record.getPartySize());
+    }
+
+    /**
+     * 获取模板名称
+     * @return 模板名称
+     */
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    /**
+     * 获取运行总次数
+     * @return 运行次数
+     */
+    public long getRuns() {
+        long runs = 0L;
+        for (int i = 0; i < outcomes.length(); i++) {
+            runs += outcomes.get(i);
+        }
+        return runs;
+    }
+
+    /**
+     * 获取指定结果的运行次数
+     * @param outcome 运行结果
+     * @return 运行次数
+     */
+    public long getCount(RunOutcome outcome) {
+        return outcomes.get(outcome.ordinal());
+    }
+
+    /**
+     * 获取玩家死亡总次数
+     * @return 死亡次数
+     */
+    public long getDeaths() {
+        return deaths.sum();
+    }
+
+    /**
+     * 获取通关用时(秒)草图
+     * @return 分位数草图
+     */
+    public QuantileSketch getClearSeconds() {
+        return clearSeconds;
+    }
+
+    /**
+     * 获取准备阶段耗时(秒)草图
+     * @return 分位数草图
+     */
+    public QuantileSketch getSetupSeconds() {
+        return setupSeconds;
+    }
+
+    /**
+     * 获取进行阶段耗时(秒)草图
+     * @return 分位数草图
+     */
+    public QuantileSketch getActiveSeconds() {
+        return activeSeconds;
+    }
+
+    /**
+     * 获取每次运行死亡次数草图
+     * @return 分位数草图
+     */
+    public QuantileSketch getRunDeaths() {
+        return runDeaths;
+    }
+
+    /**
+     * 获取队伍人数草图
+     * @return 分位数草图
+     */
+    public QuantileSketch getPartySize() {
+        return partySize;
+    }
+}
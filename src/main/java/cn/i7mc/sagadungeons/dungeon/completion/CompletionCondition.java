@@ -1,8 +1,13 @@
 package cn.i7mc.sagadungeons.dungeon.completion;
 
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+
 /**
  * 通关条件接口
  * 所有通关条件的基础接口
@@ -52,4 +57,27 @@ public interface CompletionCondition {
      * @param data 事件数据
      */
     void handleEvent(Player player, String event, Object data);
+    
+    /**
+     * 保存进度
+     * 副本休眠前调用
+     * @param section 配置部分
+     */
+    void saveState(ConfigurationSection section);
+    
+    /**
+     * 恢复进度
+     * 副本从休眠中恢复后调用
+     * @param section 配置部分
+     */
+    void restoreState(ConfigurationSection section);
+
+    /**
+     * 获取已计入进度的被击杀实体UUID
+     * 未启用休眠时副本世界不保存区块，区块重新加载后这些实体会以原来的UUID重新出现，需要移除
+     * @return 实体UUID集合
+     */
+    default Set<UUID> getKilledEntities() {
+        return Collections.emptySet();
+    }
 }
@@ -2,10 +2,12 @@ package cn.i7mc.sagadungeons.dungeon.completion;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.metrics.PerfTimer;
 import cn.i7mc.sagadungeons.model.DungeonTemplate;
 import cn.i7mc.sagadungeons.util.LocationUtil;
 import org.bukkit.Location;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
 import java.util.*;
@@ -174,6 +176,8 @@ public class CompletionManager {
             return;
         }
 
+        long start = plugin.getPerfRegistry().start();
+
         // 获取通关条件
         List<CompletionCondition> conditions = getCompletionConditions(dungeonId);
 
@@ -186,7 +190,41 @@ public class CompletionManager {
         if (checkCompletion(instance)) {
             // 设置副本状态为已完成
             instance.setState(cn.i7mc.sagadungeons.dungeon.DungeonState.COMPLETED);
+        } else {
+            // 接近通关时预创建下一关
+            plugin.getDungeonManager().getLevelProvisioner().onProgress(instance, conditions);
+        }
+
+        plugin.getPerfRegistry().record(PerfTimer.COMPLETION_EVENT, start);
+    }
+
+    /**
+     * 移除已被击杀后重新出现的实体
+     * 未启用休眠时副本世界不保存区块，区块重新加载后已击杀的模板怪物会以原来的UUID重新出现
+     * @param dungeonId 副本ID
+     * @param entities 加载的实体
+     * @return 移除的实体数量
+     */
+    public int removeKilledEntities(String dungeonId, Collection<? extends Entity> entities) {
+        List<CompletionCondition> conditions = dungeonInstanceConditions.get(dungeonId);
+        if (conditions == null || entities.isEmpty()) {
+            return 0;
         }
+
+        int removed = 0;
+        for (Entity entity : entities) {
+            if (entity instanceof Player) {
+                continue;
+            }
+            for (CompletionCondition condition : conditions) {
+                if (condition.getKilledEntities().contains(entity.getUniqueId())) {
+                    entity.remove();
+                    removed++;
+                    break;
+                }
+            }
+        }
+        return removed;
     }
 
     /**
@@ -208,4 +246,12 @@ public class CompletionManager {
     public void cleanupDungeonConditions(String dungeonId) {
         dungeonInstanceConditions.remove(dungeonId);
     }
+
+    /**
+     * 获取有通关条件的副本ID
+     * @return 副本ID列表副本
+     */
+    public List<String> getTrackedDungeonIds() {
+        return new ArrayList<>(dungeonInstanceConditions.keySet());
+    }
 }
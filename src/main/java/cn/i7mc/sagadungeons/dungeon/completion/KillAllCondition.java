@@ -3,11 +3,14 @@ package cn.i7mc.sagadungeons.dungeon.completion;
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
 import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Monster;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -85,6 +88,61 @@ public class KillAllCondition implements CompletionCondition {
         initialized = false;
     }
 
+    @Override
+    public void saveState(ConfigurationSection section) {
+        if (!initialized) {
+            return;
+        }
+        section.set("all", toStrings(allMonsters));
+        section.set("killed", toStrings(killedMonsters));
+    }
+
+    @Override
+    public void restoreState(ConfigurationSection section) {
+        if (!section.contains("all")) {
+            return;
+        }
+
+        // 世界重新加载后模板怪物保留原来的UUID，沿用休眠前的怪物列表，已击杀的怪物由通关条件管理器移除
+        reset();
+        fromStrings(section.getStringList("all"), allMonsters);
+        fromStrings(section.getStringList("killed"), killedMonsters);
+        initialized = true;
+    }
+
+    @Override
+    public Set<UUID> getKilledEntities() {
+        return killedMonsters;
+    }
+
+    /**
+     * 将UUID集合转换为文本列表
+     * @param uuids UUID集合
+     * @return 文本列表
+     */
+    private static List<String> toStrings(Set<UUID> uuids) {
+        List<String> result = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            result.add(uuid.toString());
+        }
+        return result;
+    }
+
+    /**
+     * 将文本列表解析为UUID并加入集合
+     * @param values 文本列表
+     * @param target 目标集合
+     */
+    private static void fromStrings(List<String> values, Set<UUID> target) {
+        for (String value : values) {
+            try {
+                target.add(UUID.fromString(value));
+            } catch (IllegalArgumentException ignored) {
+                // 跳过无效的UUID
+            }
+        }
+    }
+
     @Override
     public double getProgress() {
         if (allMonsters.isEmpty()) {
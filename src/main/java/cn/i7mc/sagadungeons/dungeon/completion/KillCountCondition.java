@@ -2,19 +2,27 @@ package cn.i7mc.sagadungeons.dungeon.completion;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Monster;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
 /**
  * 击杀数量条件
- * 需要击杀指定数量的怪物
+ * 需要击杀指定数量的怪物，同一个怪物只计数一次
  */
 public class KillCountCondition implements CompletionCondition {
 
     private final SagaDungeons plugin;
     private final int targetCount;
     private int currentCount = 0;
+    private final Set<UUID> killedMonsters = new HashSet<>();
 
     /**
      * 构造函数
@@ -45,6 +53,36 @@ public class KillCountCondition implements CompletionCondition {
     @Override
     public void reset() {
         currentCount = 0;
+        killedMonsters.clear();
+    }
+
+    @Override
+    public void saveState(ConfigurationSection section) {
+        section.set("current", currentCount);
+        List<String> killed = new ArrayList<>(killedMonsters.size());
+        for (UUID uuid : killedMonsters) {
+            killed.add(uuid.toString());
+        }
+        section.set("killed", killed);
+    }
+
+    @Override
+    public void restoreState(ConfigurationSection section) {
+        // 恢复已击杀的怪物，重新出现的模板怪物不会再次计数
+        currentCount = section.getInt("current", 0);
+        killedMonsters.clear();
+        for (String value : section.getStringList("killed")) {
+            try {
+                killedMonsters.add(UUID.fromString(value));
+            } catch (IllegalArgumentException ignored) {
+                // 跳过无效的UUID
+            }
+        }
+    }
+
+    @Override
+    public Set<UUID> getKilledEntities() {
+        return killedMonsters;
     }
 
     @Override
@@ -65,7 +103,7 @@ public class KillCountCondition implements CompletionCondition {
             Entity entity = (Entity) data;
             
             // 检查是否为怪物
-            if (entity instanceof Monster) {
+            if (entity instanceof Monster && killedMonsters.add(entity.getUniqueId())) {
                 // 增加击杀数量
                 currentCount++;
             }
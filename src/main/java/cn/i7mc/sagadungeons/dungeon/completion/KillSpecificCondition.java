@@ -2,10 +2,13 @@ package cn.i7mc.sagadungeons.dungeon.completion;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -57,6 +60,35 @@ public class KillSpecificCondition implements CompletionCondition {
         killedTargets.clear();
     }
 
+    @Override
+    public void saveState(ConfigurationSection section) {
+        section.set("current", currentCount);
+        List<String> killed = new ArrayList<>(killedTargets.size());
+        for (UUID uuid : killedTargets) {
+            killed.add(uuid.toString());
+        }
+        section.set("killed", killed);
+    }
+
+    @Override
+    public void restoreState(ConfigurationSection section) {
+        // 恢复已击杀的目标，重新出现的模板怪物不会再次计数
+        currentCount = section.getInt("current", 0);
+        killedTargets.clear();
+        for (String value : section.getStringList("killed")) {
+            try {
+                killedTargets.add(UUID.fromString(value));
+            } catch (IllegalArgumentException ignored) {
+                // 跳过无效的UUID
+            }
+        }
+    }
+
+    @Override
+    public Set<UUID> getKilledEntities() {
+        return killedTargets;
+    }
+
     @Override
     public double getProgress() {
         return Math.min(1.0, ((double) currentCount) / targetCount);
@@ -3,6 +3,7 @@ package cn.i7mc.sagadungeons.dungeon.completion;
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
 import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
 /**
@@ -90,6 +91,16 @@ public class ReachAreaCondition implements CompletionCondition {
         reached = false;
     }
 
+    @Override
+    public void saveState(ConfigurationSection section) {
+        section.set("reached", reached);
+    }
+
+    @Override
+    public void restoreState(ConfigurationSection section) {
+        reached = section.getBoolean("reached", false);
+    }
+
     @Override
     public double getProgress() {
         return reached ? 1.0 : 0.0;
@@ -1,23 +1,24 @@
 package cn.i7mc.sagadungeons.dungeon.cooldown;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.model.DungeonTemplate;
+import cn.i7mc.sagadungeons.util.DebugUtil;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
-import java.io.IOException;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 冷却管理器
  * 负责管理副本创建冷却时间
+ * 冷却按 玩家+模板 记录，另外支持全局冷却与队伍冷却
  */
 public class CooldownManager {
 
     private final SagaDungeons plugin;
-    private final Map<UUID, Long> lastCreationTimes = new ConcurrentHashMap<>();
+    private final CooldownTable cooldownTable = new CooldownTable(64);
     private final File cooldownFile;
 
     /**
@@ -27,95 +28,196 @@ public class CooldownManager {
     public CooldownManager(SagaDungeons plugin) {
         this.plugin = plugin;
         this.cooldownFile = new File(plugin.getDataFolder(), "player_cooldowns.yml");
+
+        // 每秒推进一次时间轮，回收到期的冷却记录
+        plugin.getTaskScheduler().runGlobalTimer(() -> cooldownTable.advance(System.currentTimeMillis()), 20L, 20L);
     }
 
     /**
      * 加载冷却数据
+     * 只恢复尚未到期的记录
      */
     public void loadCooldowns() {
         // 清空现有数据
-        lastCreationTimes.clear();
+        cooldownTable.clear();
+
+        if (!cooldownFile.exists()) {
+            return;
+        }
+
+        FileConfiguration config = YamlConfiguration.loadConfiguration(cooldownFile);
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+
+        for (String uuidString : config.getKeys(false)) {
+            ConfigurationSection playerSection = config.getConfigurationSection(uuidString);
+            if (playerSection == null) {
+                continue;
+            }
+
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(uuidString);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+
+            // 全局冷却
+            long globalExpire = playerSection.getLong(CooldownScope.GLOBAL.getKey(), 0L);
+            if (globalExpire > now) {
+                cooldownTable.put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), CooldownScope.GLOBAL, null, globalExpire);
+                loaded++;
+            }
+
+            // 模板冷却与队伍冷却
+            loaded += loadScope(playerSection, uuid, CooldownScope.TEMPLATE, now);
+            loaded += loadScope(playerSection, uuid, CooldownScope.PARTY, now);
+        }
 
-        // 删除旧的冷却文件
-        if (cooldownFile.exists()) {
-            cooldownFile.delete();
-            plugin.getLogger().info("已重置玩家冷却时间记录");
+        DebugUtil.debug("dungeon.cooldown.load", DebugUtil.createPlaceholders("count", String.valueOf(loaded)));
+    }
+
+    /**
+     * 加载某个作用域下的模板冷却
+     * @param playerSection 玩家配置节
+     * @param uuid 玩家UUID
+     * @param scope 作用域
+     * @param now 当前时间戳
+     * @return 加载的记录数量
+     */
+    private int loadScope(ConfigurationSection playerSection, UUID uuid, CooldownScope scope, long now) {
+        ConfigurationSection scopeSection = playerSection.getConfigurationSection(scope.getKey());
+        if (scopeSection == null) {
+            return 0;
         }
 
-        // 不需要加载旧的冷却数据，因为我们希望在服务器重启后重置所有冷却时间
+        int loaded = 0;
+        for (String templateName : scopeSection.getKeys(false)) {
+            long expire = scopeSection.getLong(templateName, 0L);
+            if (expire > now) {
+                cooldownTable.put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), scope, templateName.intern(), expire);
+                loaded++;
+            }
+        }
+        return loaded;
     }
 
     /**
      * 保存冷却数据
+     * 只写入尚未到期的记录
      */
     public void saveCooldowns() {
         // 创建配置
         FileConfiguration config = new YamlConfiguration();
 
-        // 保存所有玩家的冷却时间
-        for (Map.Entry<UUID, Long> entry : lastCreationTimes.entrySet()) {
-            config.set(entry.getKey().toString(), entry.getValue());
-        }
-
-        // 保存到文件
-        try {
-            config.save(cooldownFile);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // 保存所有生效中的冷却
+        cooldownTable.forEachActive(System.currentTimeMillis(), (most, least, scope, template, expireTime) -> {
+            String uuidString = new UUID(most, least).toString();
+            if (scope == CooldownScope.GLOBAL) {
+                config.set(uuidString + "." + scope.getKey(), expireTime);
+            } else {
+                config.set(uuidString + "." + scope.getKey() + "." + template, expireTime);
+            }
+        });
+
+        // 保存到文件，写入磁盘在持久化I/O通道执行
+        plugin.getIOManager().save(config, cooldownFile);
     }
 
     /**
-     * 设置玩家上次创建副本的时间
+     * 记录玩家创建副本，开始全局与模板冷却
      * @param playerUUID 玩家UUID
-     * @param time 时间戳
+     * @param templateName 模板名称
      */
-    public void setLastCreationTime(UUID playerUUID, long time) {
-        lastCreationTimes.put(playerUUID, time);
+    public void startCreationCooldown(UUID playerUUID, String templateName) {
+        long now = System.currentTimeMillis();
+        long most = playerUUID.getMostSignificantBits();
+        long least = playerUUID.getLeastSignificantBits();
+
+        // 模板冷却
+        int templateSeconds = getTemplateCooldownSeconds(templateName);
+        if (templateSeconds > 0) {
+            cooldownTable.put(most, least, CooldownScope.TEMPLATE, templateName, now + templateSeconds * 1000L);
+        }
+
+        // 全局冷却
+        int globalSeconds = plugin.getConfigManager().getGlobalCreationCooldown();
+        if (globalSeconds > 0) {
+            cooldownTable.put(most, least, CooldownScope.GLOBAL, null, now + globalSeconds * 1000L);
+        }
     }
 
     /**
-     * 获取玩家上次创建副本的时间
+     * 记录玩家加入他人副本，开始队伍冷却
      * @param playerUUID 玩家UUID
-     * @return 时间戳，如果没有记录则返回0
+     * @param templateName 模板名称
      */
-    public long getLastCreationTime(UUID playerUUID) {
-        return lastCreationTimes.getOrDefault(playerUUID, 0L);
+    public void startPartyCooldown(UUID playerUUID, String templateName) {
+        int partySeconds = plugin.getConfigManager().getPartyCreationCooldown();
+        if (partySeconds <= 0) {
+            return;
+        }
+
+        cooldownTable.put(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits(),
+                CooldownScope.PARTY, templateName, System.currentTimeMillis() + partySeconds * 1000L);
     }
 
     /**
      * 检查玩家是否可以创建副本
      * @param playerUUID 玩家UUID
-     * @param cooldownSeconds 冷却时间(秒)
+     * @param templateName 模板名称
      * @return 是否可以创建副本
      */
-    public boolean canCreateDungeon(UUID playerUUID, int cooldownSeconds) {
-        long lastTime = getLastCreationTime(playerUUID);
-        if (lastTime == 0) {
-            return true;
-        }
-
-        long cooldownMillis = cooldownSeconds * 1000L;
-        return System.currentTimeMillis() - lastTime >= cooldownMillis;
+    public boolean canCreateDungeon(UUID playerUUID, String templateName) {
+        return getCooldownExpireTime(playerUUID, templateName, System.currentTimeMillis()) == 0L;
     }
 
     /**
      * 获取玩家剩余冷却时间(秒)
      * @param playerUUID 玩家UUID
-     * @param cooldownSeconds 冷却时间(秒)
+     * @param templateName 模板名称
      * @return 剩余冷却时间(秒)
      */
-    public int getRemainingCooldown(UUID playerUUID, int cooldownSeconds) {
-        long lastTime = getLastCreationTime(playerUUID);
-        if (lastTime == 0) {
+    public int getRemainingCooldown(UUID playerUUID, String templateName) {
+        long now = System.currentTimeMillis();
+        long expire = getCooldownExpireTime(playerUUID, templateName, now);
+        if (expire == 0L) {
             return 0;
         }
 
-        long cooldownMillis = cooldownSeconds * 1000L;
-        long elapsedMillis = System.currentTimeMillis() - lastTime;
-        long remainingMillis = cooldownMillis - elapsedMillis;
+        // 向上取整，避免显示剩余0秒却仍无法创建
+        return (int) ((expire - now + 999L) / 1000L);
+    }
+
+    /**
+     * 获取对指定模板生效的最晚冷却到期时间
+     * @param playerUUID 玩家UUID
+     * @param templateName 模板名称
+     * @param now 当前时间戳
+     * @return 到期时间戳，如果没有冷却则返回0
+     */
+    private long getCooldownExpireTime(UUID playerUUID, String templateName, long now) {
+        long most = playerUUID.getMostSignificantBits();
+        long least = playerUUID.getLeastSignificantBits();
+
+        long expire = cooldownTable.get(most, least, CooldownScope.GLOBAL, null, now);
+        expire = Math.max(expire, cooldownTable.get(most, least, CooldownScope.TEMPLATE, templateName, now));
+        expire = Math.max(expire, cooldownTable.get(most, least, CooldownScope.PARTY, templateName, now));
+        return expire;
+    }
 
-        return remainingMillis > 0 ? (int) (remainingMillis / 1000) : 0;
+    /**
+     * 获取模板冷却时间(秒)
+     * 模板未单独配置时使用全局配置
+     * @param templateName 模板名称
+     * @return 冷却时间(秒)
+     */
+    private int getTemplateCooldownSeconds(String templateName) {
+        DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(templateName);
+        if (template != null && template.getCreationCooldown() >= 0) {
+            return template.getCreationCooldown();
+        }
+        return plugin.getConfigManager().getCreationCooldown();
     }
 
     /**
@@ -123,6 +225,26 @@ public class CooldownManager {
      * @param playerUUID 玩家UUID
      */
     public void resetCooldown(UUID playerUUID) {
-        lastCreationTimes.remove(playerUUID);
+        cooldownTable.removeAll(playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits());
+    }
+
+    /**
+     * 重置玩家指定模板的冷却时间
+     * @param playerUUID 玩家UUID
+     * @param templateName 模板名称
+     */
+    public void resetCooldown(UUID playerUUID, String templateName) {
+        long most = playerUUID.getMostSignificantBits();
+        long least = playerUUID.getLeastSignificantBits();
+        cooldownTable.remove(most, least, CooldownScope.TEMPLATE, templateName);
+        cooldownTable.remove(most, least, CooldownScope.PARTY, templateName);
+    }
+
+    /**
+     * 获取生效中的冷却记录数量
+     * @return 记录数量
+     */
+    public int getActiveCount() {
+        return cooldownTable.size();
     }
 }
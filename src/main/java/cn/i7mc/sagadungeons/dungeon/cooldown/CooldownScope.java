@@ -0,0 +1,37 @@
+package cn.i7mc.sagadungeons.dungeon.cooldown;
+
+/**
+ * 冷却作用域
+ * 决定一条冷却记录的生效范围
+ */
+public enum CooldownScope {
+
+    /**
+     * 全局冷却，对所有模板生效
+     */
+    GLOBAL("global"),
+
+    /**
+     * 模板冷却，仅对指定模板生效
+     */
+    TEMPLATE("template"),
+
+    /**
+     * 队伍冷却，加入他人副本的成员对该模板生效
+     */
+    PARTY("party");
+
+    private final String key;
+
+    CooldownScope(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 获取持久化使用的键名
+     * @return 键名
+     */
+    public String getKey() {
+        return key;
+    }
+}
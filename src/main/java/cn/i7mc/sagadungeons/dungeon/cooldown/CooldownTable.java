@@ -0,0 +1,335 @@
+package cn.i7mc.sagadungeons.dungeon.cooldown;
+
+import java.util.Arrays;
+
+/**
+ * 冷却表
+ * 以玩家UUID的两个long分量 + 作用域 + 模板名作为键的开放寻址哈希表，
+ * 并通过按秒划分的时间轮回收到期记录
+ * 查询过程不产生任何装箱对象
+ */
+public class CooldownTable {
+
+    private static final byte FREE = 0;
+    private static final byte USED = 1;
+    private static final byte DELETED = 2;
+    private static final int NONE = -1;
+    private static final CooldownScope[] SCOPES = CooldownScope.values();
+
+    // 时间轮槽位数量(秒)，必须为2的幂
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private long[] keyMost;
+    private long[] keyLeast;
+    private byte[] keyScope;
+    private String[] keyTemplate;
+    private long[] expireAt;
+    private byte[] states;
+
+    // 时间轮双向链表(按表下标串联)
+    private int[] wheelNext;
+    private int[] wheelPrev;
+    private int[] wheelSlot;
+    private final int[] wheelHeads = new int[WHEEL_SIZE];
+
+    private int mask;
+    private int size;
+    private int tombstones;
+    private long lastAdvancedSecond;
+
+    /**
+     * 构造函数
+     * @param initialCapacity 初始容量
+     */
+    public CooldownTable(int initialCapacity) {
+        int capacity = 16;
+        while (capacity < initialCapacity * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        this.lastAdvancedSecond = System.currentTimeMillis() / 1000L;
+    }
+
+    /**
+     * 设置冷却到期时间
+     * @param most UUID高位
+     * @param least UUID低位
+     * @param scope 作用域
+     * @param template 模板名称(全局作用域为null)
+     * @param expireTime 到期时间戳(毫秒)
+     */
+    public synchronized void put(long most, long least, CooldownScope scope, String template, long expireTime) {
+        int index = find(most, least, scope, template);
+        if (index >= 0) {
+            unlink(index);
+            expireAt[index] = expireTime;
+            link(index);
+            return;
+        }
+
+        // 装载因子超过一半时扩容(包含墓碑)
+        if ((size + tombstones + 1) * 2 > keyMost.length) {
+            rehash(size * 2 + 2 > keyMost.length ? keyMost.length << 1 : keyMost.length);
+        }
+
+        index = insertSlot(most, least, scope, template);
+        keyMost[index] = most;
+        keyLeast[index] = least;
+        keyScope[index] = (byte) scope.ordinal();
+        keyTemplate[index] = template;
+        expireAt[index] = expireTime;
+        states[index] = USED;
+        size++;
+        link(index);
+    }
+
+    /**
+     * 获取冷却到期时间
+     * @param most UUID高位
+     * @param least UUID低位
+     * @param scope 作用域
+     * @param template 模板名称(全局作用域为null)
+     * @param now 当前时间戳(毫秒)
+     * @return 到期时间戳，如果没有生效中的冷却则返回0
+     */
+    public synchronized long get(long most, long least, CooldownScope scope, String template, long now) {
+        int index = find(most, least, scope, template);
+        if (index < 0) {
+            return 0L;
+        }
+        long expire = expireAt[index];
+        // 已过期但尚未被时间轮回收的记录视为不存在
+        return expire > now ? expire : 0L;
+    }
+
+    /**
+     * 移除冷却记录
+     * @param most UUID高位
+     * @param least UUID低位
+     * @param scope 作用域
+     * @param template 模板名称(全局作用域为null)
+     */
+    public synchronized void remove(long most, long least, CooldownScope scope, String template) {
+        int index = find(most, least, scope, template);
+        if (index >= 0) {
+            removeAt(index);
+        }
+    }
+
+    /**
+     * 移除玩家的所有冷却记录
+     * @param most UUID高位
+     * @param least UUID低位
+     */
+    public synchronized void removeAll(long most, long least) {
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == USED && keyMost[i] == most && keyLeast[i] == least) {
+                removeAt(i);
+            }
+        }
+    }
+
+    /**
+     * 推进时间轮，回收所有已到期的记录
+     * @param now 当前时间戳(毫秒)
+     * @return 本次回收的记录数量
+     */
+    public synchronized int advance(long now) {
+        long nowSecond = now / 1000L;
+        if (nowSecond <= lastAdvancedSecond) {
+            return 0;
+        }
+
+        // 间隔超过一整圈时只需扫描每个槽位一次
+        long from = lastAdvancedSecond + 1;
+        if (nowSecond - from >= WHEEL_SIZE) {
+            from = nowSecond - WHEEL_SIZE + 1;
+        }
+
+        int removed = 0;
+        for (long second = from; second <= nowSecond; second++) {
+            int index = wheelHeads[(int) (second & WHEEL_MASK)];
+            while (index != NONE) {
+                int next = wheelNext[index];
+                // 跨越多圈的记录留在原槽位等待下一圈
+                if (expireAt[index] <= now) {
+                    removeAt(index);
+                    removed++;
+                }
+                index = next;
+            }
+        }
+
+        lastAdvancedSecond = nowSecond;
+        return removed;
+    }
+
+    /**
+     * 获取记录数量
+     * @return 记录数量
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 遍历所有生效中的记录
+     * @param now 当前时间戳(毫秒)
+     * @param visitor 访问器
+     */
+    public synchronized void forEachActive(long now, EntryVisitor visitor) {
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == USED && expireAt[i] > now) {
+                visitor.visit(keyMost[i], keyLeast[i], SCOPES[keyScope[i]], keyTemplate[i], expireAt[i]);
+            }
+        }
+    }
+
+    /**
+     * 清空所有记录
+     */
+    public synchronized void clear() {
+        allocate(keyMost.length);
+    }
+
+    /**
+     * 记录访问器
+     */
+    public interface EntryVisitor {
+
+        /**
+         * 访问一条记录
+         * @param most UUID高位
+         * @param least UUID低位
+         * @param scope 作用域
+         * @param template 模板名称
+         * @param expireTime 到期时间戳(毫秒)
+         */
+        void visit(long most, long least, CooldownScope scope, String template, long expireTime);
+    }
+
+    private void allocate(int capacity) {
+        keyMost = new long[capacity];
+        keyLeast = new long[capacity];
+        keyScope = new byte[capacity];
+        keyTemplate = new String[capacity];
+        expireAt = new long[capacity];
+        states = new byte[capacity];
+        wheelNext = new int[capacity];
+        wheelPrev = new int[capacity];
+        wheelSlot = new int[capacity];
+        Arrays.fill(wheelHeads, NONE);
+        mask = capacity - 1;
+        size = 0;
+        tombstones = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMost = keyMost;
+        long[] oldLeast = keyLeast;
+        byte[] oldScope = keyScope;
+        String[] oldTemplate = keyTemplate;
+        long[] oldExpire = expireAt;
+        byte[] oldStates = states;
+
+        allocate(capacity);
+
+        // 重新插入并重建时间轮链表
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] != USED) {
+                continue;
+            }
+            CooldownScope scope = SCOPES[oldScope[i]];
+            int index = insertSlot(oldMost[i], oldLeast[i], scope, oldTemplate[i]);
+            keyMost[index] = oldMost[i];
+            keyLeast[index] = oldLeast[i];
+            keyScope[index] = oldScope[i];
+            keyTemplate[index] = oldTemplate[i];
+            expireAt[index] = oldExpire[i];
+            states[index] = USED;
+            size++;
+            link(index);
+        }
+    }
+
+    private int find(long most, long least, CooldownScope scope, String template) {
+        int index = hash(most, least, scope, template) & mask;
+        byte scopeOrdinal = (byte) scope.ordinal();
+        while (states[index] != FREE) {
+            if (states[index] == USED
+                    && keyMost[index] == most
+                    && keyLeast[index] == least
+                    && keyScope[index] == scopeOrdinal
+                    && sameTemplate(keyTemplate[index], template)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return NONE;
+    }
+
+    private int insertSlot(long most, long least, CooldownScope scope, String template) {
+        int index = hash(most, least, scope, template) & mask;
+        while (states[index] == USED) {
+            index = (index + 1) & mask;
+        }
+        if (states[index] == DELETED) {
+            tombstones--;
+        }
+        return index;
+    }
+
+    private void removeAt(int index) {
+        unlink(index);
+        states[index] = DELETED;
+        keyTemplate[index] = null;
+        size--;
+        tombstones++;
+    }
+
+    private void link(int index) {
+        // 到期秒已被扫描过的记录放入下一个待扫描槽位
+        long second = Math.max(expireAt[index] / 1000L, lastAdvancedSecond + 1);
+        int slot = (int) (second & WHEEL_MASK);
+        wheelSlot[index] = slot;
+        int head = wheelHeads[slot];
+        wheelPrev[index] = NONE;
+        wheelNext[index] = head;
+        if (head != NONE) {
+            wheelPrev[head] = index;
+        }
+        wheelHeads[slot] = index;
+    }
+
+    private void unlink(int index) {
+        int prev = wheelPrev[index];
+        int next = wheelNext[index];
+        if (prev != NONE) {
+            wheelNext[prev] = next;
+        } else {
+            wheelHeads[wheelSlot[index]] = next;
+        }
+        if (next != NONE) {
+            wheelPrev[next] = prev;
+        }
+        wheelPrev[index] = NONE;
+        wheelNext[index] = NONE;
+    }
+
+    private static boolean sameTemplate(String a, String b) {
+        return a == b || (a != null && a.equals(b));
+    }
+
+    private static int hash(long most, long least, CooldownScope scope, String template) {
+        long h = most * 0x9E3779B97F4A7C15L ^ least;
+        h ^= scope.ordinal() * 0xC2B2AE3D27D4EB4FL;
+        if (template != null) {
+            h ^= template.hashCode() * 0x165667B19E3779F9L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
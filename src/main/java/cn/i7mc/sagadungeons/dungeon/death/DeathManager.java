@@ -4,17 +4,19 @@ import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
 import cn.i7mc.sagadungeons.model.DungeonTemplate;
 import cn.i7mc.sagadungeons.model.PlayerData;
-import cn.i7mc.sagadungeons.util.ItemStackUtil;
+import cn.i7mc.sagadungeons.util.ItemMatcher;
 import cn.i7mc.sagadungeons.util.LocationUtil;
 import cn.i7mc.sagadungeons.util.MessageUtil;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -59,6 +61,12 @@ public class DeathManager {
             return true;
         }
 
+        // 计入副本运行统计
+        instance.recordDeath();
+
+        // 分发死亡触发器
+        plugin.getDungeonManager().getTriggerManager().onPlayerDeath(instance, player);
+
         // 获取副本模板
         DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(instance.getTemplateName());
         if (template == null) {
@@ -88,9 +96,8 @@ public class DeathManager {
                 // 发送消息
                 if (template.hasSerializedReviveItem()) {
                     // 获取物品名称
-                    ItemStack item = ItemStackUtil.deserializeItemStack(template.getSerializedReviveItem());
-                    String itemName = item != null && item.hasItemMeta() && item.getItemMeta().hasDisplayName() ?
-                            item.getItemMeta().getDisplayName() : (item != null ? item.getType().name() : "未知物品");
+                    ItemMatcher matcher = template.getReviveItemMatcher();
+                    String itemName = matcher != null ? matcher.getDisplayName() : "未知物品";
 
                     MessageUtil.sendMessage(player, "dungeon.death.revive.item",
                             MessageUtil.createPlaceholders("item", itemName));
@@ -176,6 +183,50 @@ public class DeathManager {
         dungeonDeathCounts.remove(dungeonId);
     }
 
+    /**
+     * 保存指定副本的死亡次数
+     * 副本休眠前调用
+     * @param dungeonId 副本ID
+     * @param section 配置部分，以玩家UUID为键
+     */
+    public void saveDeathCounts(String dungeonId, ConfigurationSection section) {
+        Map<UUID, Integer> dungeonCounts = dungeonDeathCounts.get(dungeonId);
+        if (dungeonCounts == null) {
+            return;
+        }
+        for (Map.Entry<UUID, Integer> entry : dungeonCounts.entrySet()) {
+            section.set(entry.getKey().toString(), entry.getValue());
+        }
+    }
+
+    /**
+     * 恢复指定副本的死亡次数
+     * 副本从休眠中恢复后调用
+     * @param dungeonId 副本ID
+     * @param section 配置部分，以玩家UUID为键
+     */
+    public void restoreDeathCounts(String dungeonId, ConfigurationSection section) {
+        Map<UUID, Integer> dungeonCounts = new HashMap<>();
+        for (String key : section.getKeys(false)) {
+            try {
+                dungeonCounts.put(UUID.fromString(key), section.getInt(key));
+            } catch (IllegalArgumentException ignored) {
+                // 跳过无效的UUID
+            }
+        }
+        if (!dungeonCounts.isEmpty()) {
+            dungeonDeathCounts.put(dungeonId, dungeonCounts);
+        }
+    }
+
+    /**
+     * 获取有死亡次数记录的副本ID
+     * @return 副本ID列表副本
+     */
+    public List<String> getTrackedDungeonIds() {
+        return new ArrayList<>(dungeonDeathCounts.keySet());
+    }
+
     /**
      * 检查玩家是否有复活道具
      * @param player 玩家
@@ -185,7 +236,8 @@ public class DeathManager {
     private boolean checkReviveItem(Player player, DungeonTemplate template) {
         // 优先检查序列化复活道具
         if (template.hasSerializedReviveItem()) {
-            return ItemStackUtil.hasEnoughSerializedItem(player, template.getSerializedReviveItem(), 1);
+            ItemMatcher matcher = template.getReviveItemMatcher();
+            return matcher != null && matcher.hasEnough(player.getInventory(), 1);
         }
 
         // 如果没有序列化复活道具，则检查传统复活道具
@@ -232,7 +284,10 @@ public class DeathManager {
     private void consumeReviveItem(Player player, DungeonTemplate template) {
         // 优先检查序列化复活道具
         if (template.hasSerializedReviveItem()) {
-            ItemStackUtil.removeSerializedItem(player, template.getSerializedReviveItem(), 1);
+            ItemMatcher matcher = template.getReviveItemMatcher();
+            if (matcher != null) {
+                matcher.remove(player.getInventory(), 1);
+            }
             return;
         }
 
@@ -318,6 +373,6 @@ public class DeathManager {
         }
 
         // 传送玩家
-        Bukkit.getScheduler().runTask(plugin, () -> player.teleport(spawnLocation));
+        plugin.getTaskScheduler().runForEntity(player, () -> player.teleportAsync(spawnLocation));
     }
 }
@@ -0,0 +1,371 @@
+package cn.i7mc.sagadungeons.dungeon.hibernate;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.DungeonManager;
+import cn.i7mc.sagadungeons.dungeon.DungeonState;
+import cn.i7mc.sagadungeons.dungeon.completion.CompletionCondition;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleScheduler;
+import cn.i7mc.sagadungeons.io.IOLane;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+import cn.i7mc.sagadungeons.util.DebugUtil;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 副本休眠管理器
+ * 副本无人超过宽限期后保存通关进度、死亡次数与刷怪点状态，保存并卸载世界，保留世界文件夹；
+ * 允许的玩家重新加入时异步读取状态，重新加载世界并恢复状态。
+ * 启用休眠时副本世界的区块在卸载时保存，恢复后方块、模板怪物与已击杀的怪物都保持休眠前的状态；
+ * 刷怪点生成的怪物在休眠前移除，恢复时按存活数量在刷怪点重新生成
+ */
+public class HibernationManager {
+
+    private static final String SNAPSHOT_FILE = "sagadungeons-hibernate.yml";
+
+    private final SagaDungeons plugin;
+    private final Map<String, Long> idleSince = new HashMap<>();
+    private final Map<String, Hibernation> hibernations = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public HibernationManager(SagaDungeons plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 开始每秒检查无人的副本
+     * @param scheduler 生命周期调度器
+     */
+    public void start(LifecycleScheduler scheduler) {
+        scheduler.scheduleRepeating(LifecyclePhase.HIBERNATE, 20L, 20L, () -> {
+            tick();
+            return true;
+        });
+    }
+
+    /**
+     * 检查无人的副本与休眠超时的副本
+     */
+    private void tick() {
+        long now = System.currentTimeMillis();
+        long graceMillis = plugin.getConfigManager().getHibernateGracePeriod() * 1000L;
+        long maxMillis = plugin.getConfigManager().getHibernateMaxTime() * 1000L;
+        DungeonManager dungeonManager = plugin.getDungeonManager();
+
+        for (DungeonInstance instance : dungeonManager.getActiveDungeons().values()) {
+            String dungeonId = instance.getId();
+
+            // 休眠超时的副本直接删除
+            if (instance.isHibernated()) {
+                Hibernation hibernation = hibernations.get(dungeonId);
+                if ((hibernation == null || !hibernation.waking) && now - instance.getHibernatedTime() >= maxMillis) {
+                    dungeonManager.deleteDungeon(dungeonId);
+                }
+                continue;
+            }
+
+            if (!canHibernate(instance) || !instance.getWorld().getPlayers().isEmpty()) {
+                idleSince.remove(dungeonId);
+                continue;
+            }
+
+            long since = idleSince.computeIfAbsent(dungeonId, id -> now);
+            if (now - since >= graceMillis) {
+                idleSince.remove(dungeonId);
+                hibernate(instance);
+            }
+        }
+
+        // 移除已删除副本的无人记录
+        idleSince.keySet().removeIf(id -> dungeonManager.getDungeon(id) == null);
+    }
+
+    /**
+     * 检查副本是否可以休眠
+     * 启用休眠时，运行中的副本在无人时保留而不是立即删除
+     * @param instance 副本实例
+     * @return 是否可以休眠
+     */
+    public boolean canHibernate(DungeonInstance instance) {
+        return plugin.getConfigManager().isHibernateEnabled() && !instance.isHibernated()
+                && instance.getState() == DungeonState.RUNNING && instance.getWorld() != null;
+    }
+
+    /**
+     * 检查副本是否处于休眠
+     * @param dungeonId 副本ID
+     * @return 是否休眠
+     */
+    public boolean isHibernated(String dungeonId) {
+        return hibernations.containsKey(dungeonId);
+    }
+
+    /**
+     * 副本进入休眠
+     * @param instance 副本实例
+     */
+    private void hibernate(DungeonInstance instance) {
+        String dungeonId = instance.getId();
+        World world = instance.getWorld();
+        DungeonManager dungeonManager = plugin.getDungeonManager();
+
+        // 保存副本运行状态
+        YamlConfiguration snapshot = new YamlConfiguration();
+        snapshot.set("template", instance.getTemplateName());
+        List<CompletionCondition> conditions = dungeonManager.getCompletionManager().getCompletionConditions(dungeonId);
+        for (int i = 0; i < conditions.size(); i++) {
+            conditions.get(i).saveState(snapshot.createSection("completion." + i));
+        }
+        dungeonManager.getDeathManager().saveDeathCounts(dungeonId, snapshot.createSection("deaths"));
+        plugin.getMobSpawnerManager().saveSpawners(dungeonId, snapshot.createSection("spawners"));
+
+        // 释放副本运行状态，触发器进度与预创建的关卡保留在内存中
+        plugin.getMobSpawnerManager().cleanupSpawners(dungeonId);
+        dungeonManager.getResourceMonitor().stopMonitoring(dungeonId);
+        dungeonManager.getCompletionManager().cleanupDungeonConditions(dungeonId);
+        dungeonManager.getDeathManager().cleanupDungeonDeathCounts(dungeonId);
+
+        String text = snapshot.saveToString();
+        Hibernation hibernation = new Hibernation(world.getName(),
+                new File(world.getWorldFolder(), SNAPSHOT_FILE), text);
+        hibernations.put(dungeonId, hibernation);
+        instance.enterHibernation(plugin.getConfigManager().isHibernatePauseTimeout());
+
+        // 世界卸载失败时立即恢复
+        if (!plugin.getWorldManager().unloadDungeonWorld(world)) {
+            DebugUtil.debug("dungeon.hibernate.fail", "id", dungeonId, "reason", "unload");
+            hibernation.waking = true;
+            restore(instance, hibernation, text);
+            return;
+        }
+
+        plugin.getPerfRegistry().increment(PerfCounter.INSTANCE_HIBERNATED);
+        DebugUtil.debug("dungeon.hibernate.enter", "id", dungeonId,
+                "seconds", plugin.getConfigManager().getHibernateGracePeriod());
+
+        // 写入世界文件夹后释放内存中的状态，队列已满时保留在内存中
+        plugin.getIOManager().execute(IOLane.PERSISTENCE, () -> writeSnapshot(dungeonId, hibernation, text));
+    }
+
+    /**
+     * 将休眠状态写入世界文件夹
+     * @param dungeonId 副本ID
+     * @param hibernation 休眠记录
+     * @param text 状态文本
+     */
+    private void writeSnapshot(String dungeonId, Hibernation hibernation, String text) {
+        try {
+            Files.write(hibernation.file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+            hibernation.pending = null;
+        } catch (IOException e) {
+            // 副本已被删除时世界文件夹可能已不存在
+            if (hibernations.get(dungeonId) == hibernation) {
+                plugin.getLogger().warning("写入副本休眠状态失败，保留在内存中: " + hibernation.file);
+            }
+        }
+    }
+
+    /**
+     * 唤醒休眠的副本
+     * 在I/O通道读取休眠状态，在主线程重新加载世界并恢复状态；
+     * 多次调用时等待同一次恢复
+     * @param instance 副本实例
+     * @param callback 恢复结束后的回调，参数为是否成功
+     */
+    public void wake(DungeonInstance instance, Consumer<Boolean> callback) {
+        Hibernation hibernation = hibernations.get(instance.getId());
+        if (hibernation == null || !instance.isHibernated()) {
+            callback.accept(instance.getWorld() != null);
+            return;
+        }
+
+        hibernation.waiters.add(callback);
+        if (hibernation.waking) {
+            return;
+        }
+        hibernation.waking = true;
+
+        // 状态仍在内存中时不需要读取文件
+        String pending = hibernation.pending;
+        if (pending != null) {
+            restore(instance, hibernation, pending);
+            return;
+        }
+
+        boolean accepted = plugin.getIOManager().execute(IOLane.INTERACTIVE, () -> {
+            String text = readSnapshot(hibernation.file);
+            plugin.getTaskScheduler().runGlobal(() -> restore(instance, hibernation, text));
+        });
+
+        // I/O通道队列已满时在主线程读取
+        if (!accepted) {
+            restore(instance, hibernation, readSnapshot(hibernation.file));
+        }
+    }
+
+    /**
+     * 读取休眠状态文件
+     * @param file 文件
+     * @return 状态文本，读取失败时返回null
+     */
+    private String readSnapshot(File file) {
+        try {
+            return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 重新加载副本世界并恢复状态
+     * 在主线程中调用
+     * @param instance 副本实例
+     * @param hibernation 休眠记录
+     * @param text 状态文本，读取失败时为null
+     */
+    private void restore(DungeonInstance instance, Hibernation hibernation, String text) {
+        String dungeonId = instance.getId();
+        DungeonManager dungeonManager = plugin.getDungeonManager();
+
+        // 副本在读取状态期间被删除
+        if (!hibernations.remove(dungeonId, hibernation) || dungeonManager.getDungeon(dungeonId) != instance) {
+            finish(hibernation, false);
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        World world = plugin.getWorldManager().loadDungeonWorld(hibernation.worldName);
+        if (world == null) {
+            DebugUtil.debug("dungeon.hibernate.fail", "id", dungeonId, "reason", "load");
+            dungeonManager.deleteDungeon(dungeonId);
+            finish(hibernation, false);
+            return;
+        }
+
+        YamlConfiguration snapshot = new YamlConfiguration();
+        if (text == null) {
+            DebugUtil.debug("dungeon.hibernate.fail", "id", dungeonId, "reason", "snapshot");
+        } else {
+            try {
+                snapshot.loadFromString(text);
+            } catch (InvalidConfigurationException e) {
+                DebugUtil.debug("dungeon.hibernate.fail", "id", dungeonId, "reason", e.getMessage());
+            }
+        }
+
+        // 恢复世界与计时
+        instance.exitHibernation(world);
+        dungeonManager.getResourceMonitor().startMonitoring(instance);
+
+        // 恢复通关进度
+        String templateName = instance.getTemplateName();
+        dungeonManager.getCompletionManager().createConditionsForDungeon(dungeonId, templateName);
+        List<CompletionCondition> conditions = dungeonManager.getCompletionManager().getCompletionConditions(dungeonId);
+        for (int i = 0; i < conditions.size(); i++) {
+            ConfigurationSection section = snapshot.getConfigurationSection("completion." + i);
+            if (section != null) {
+                conditions.get(i).restoreState(section);
+            }
+        }
+
+        // 恢复死亡次数
+        ConfigurationSection deaths = snapshot.getConfigurationSection("deaths");
+        if (deaths != null) {
+            dungeonManager.getDeathManager().restoreDeathCounts(dungeonId, deaths);
+        }
+
+        // 恢复刷怪点 - 延迟20tick执行，确保世界完全加载
+        ConfigurationSection spawners = snapshot.getConfigurationSection("spawners");
+        plugin.getTaskScheduler().runAtLater(world.getSpawnLocation(), () -> {
+            if (instance.getWorld() != world) {
+                return;
+            }
+            plugin.getMobSpawnerManager().initializeSpawners(dungeonId, templateName, world);
+            if (spawners != null) {
+                plugin.getMobSpawnerManager().restoreSpawners(dungeonId, spawners);
+            }
+        }, 20L);
+
+        plugin.getPerfRegistry().increment(PerfCounter.INSTANCE_RESTORED);
+        DebugUtil.debug("dungeon.hibernate.restore", "id", dungeonId, "time", System.currentTimeMillis() - startTime);
+        finish(hibernation, true);
+    }
+
+    /**
+     * 通知等待恢复的调用者
+     * @param hibernation 休眠记录
+     * @param success 是否成功
+     */
+    private void finish(Hibernation hibernation, boolean success) {
+        List<Consumer<Boolean>> waiters = new ArrayList<>(hibernation.waiters);
+        hibernation.waiters.clear();
+        for (Consumer<Boolean> waiter : waiters) {
+            waiter.accept(success);
+        }
+    }
+
+    /**
+     * 清理副本的休眠记录
+     * 副本删除时调用，世界文件夹随副本一起删除
+     * @param dungeonId 副本ID
+     */
+    public void cleanup(String dungeonId) {
+        idleSince.remove(dungeonId);
+        hibernations.remove(dungeonId);
+    }
+
+    /**
+     * 获取有休眠记录或无人记录的副本ID
+     * @return 副本ID列表副本
+     */
+    public List<String> getTrackedDungeonIds() {
+        Set<String> ids = new HashSet<>(hibernations.keySet());
+        ids.addAll(idleSince.keySet());
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * 休眠中的副本
+     */
+    private static final class Hibernation {
+
+        private final String worldName;
+        private final File file;
+        private final List<Consumer<Boolean>> waiters = new ArrayList<>();
+
+        /**
+         * 尚未写入文件的状态文本，写入完成后释放
+         */
+        private volatile String pending;
+
+        /**
+         * 是否正在恢复
+         */
+        private boolean waking;
+
+        private Hibernation(String worldName, File file, String pending) {
+            this.worldName = worldName;
+            this.file = file;
+            this.pending = pending;
+        }
+    }
+}
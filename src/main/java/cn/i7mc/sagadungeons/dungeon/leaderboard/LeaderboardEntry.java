@@ -0,0 +1,38 @@
+package cn.i7mc.sagadungeons.dungeon.leaderboard;
+
+import java.util.UUID;
+
+/**
+ * 排行榜条目
+ */
+public final class LeaderboardEntry {
+
+    private final UUID playerUUID;
+    private final long value;
+
+    /**
+     * 构造函数
+     * @param playerUUID 玩家UUID
+     * @param value 统计值
+     */
+    public LeaderboardEntry(UUID playerUUID, long value) {
+        this.playerUUID = playerUUID;
+        this.value = value;
+    }
+
+    /**
+     * 获取玩家UUID
+     * @return 玩家UUID
+     */
+    public UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    /**
+     * 获取统计值
+     * @return 统计值
+     */
+    public long getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,236 @@
+package cn.i7mc.sagadungeons.dungeon.leaderboard;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.model.PlayerData;
+import cn.i7mc.sagadungeons.util.DebugUtil;
+import cn.i7mc.sagadungeons.util.TimeUtil;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 排行榜管理器
+ * 每个模板统计项每个模板一个有界排行榜，全局统计项一个排行榜。
+ * 通关、创建与加入时增量更新，读取时不遍历任何玩家数据。
+ * 每个排行榜在数据文件中保存为"UUID:统计值"字符串列表
+ */
+public class LeaderboardManager {
+
+    private static final TopKBoard EMPTY_BOARD = new TopKBoard(1, false);
+
+    private final SagaDungeons plugin;
+    private final File leaderboardFile;
+    private final int capacity;
+    private final Map<String, TopKBoard> boards = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    /**
+     * 构造函数
+     * 排行榜容量在启动时读取，修改后需要重启生效
+     * @param plugin 插件实例
+     */
+    public LeaderboardManager(SagaDungeons plugin) {
+        this.plugin = plugin;
+        this.leaderboardFile = new File(plugin.getDataFolder(), "leaderboards.yml");
+        this.capacity = plugin.getConfigManager().getLeaderboardSize();
+    }
+
+    /**
+     * 记录玩家通关
+     * @param playerUUID 玩家UUID
+     * @param playerData 已更新通关次数的玩家数据
+     * @param templateName 模板名称
+     * @param clearSeconds 通关用时(秒)
+     */
+    public void recordCompletion(UUID playerUUID, PlayerData playerData, String templateName, int clearSeconds) {
+        offer(LeaderboardStat.COMPLETIONS, templateName, playerUUID, playerData.getCompletedCount(templateName));
+        offer(LeaderboardStat.TOTAL_COMPLETED, LeaderboardStat.GLOBAL, playerUUID, playerData.getTotalCompleted());
+        if (clearSeconds > 0) {
+            offer(LeaderboardStat.FASTEST, templateName, playerUUID, clearSeconds);
+        }
+    }
+
+    /**
+     * 记录玩家创建副本
+     * @param playerUUID 玩家UUID
+     * @param playerData 已更新创建次数的玩家数据
+     */
+    public void recordCreated(UUID playerUUID, PlayerData playerData) {
+        offer(LeaderboardStat.CREATED, LeaderboardStat.GLOBAL, playerUUID, playerData.getTotalCreated());
+    }
+
+    /**
+     * 记录玩家加入副本
+     * @param playerUUID 玩家UUID
+     * @param playerData 已更新加入次数的玩家数据
+     */
+    public void recordJoined(UUID playerUUID, PlayerData playerData) {
+        offer(LeaderboardStat.JOINED, LeaderboardStat.GLOBAL, playerUUID, playerData.getTotalJoined());
+    }
+
+    /**
+     * 提交统计值
+     * @param stat 统计项
+     * @param templateName 模板名称，全局统计项为GLOBAL
+     * @param playerUUID 玩家UUID
+     * @param value 统计值
+     */
+    private void offer(LeaderboardStat stat, String templateName, UUID playerUUID, long value) {
+        TopKBoard board = boards.computeIfAbsent(boardKey(stat, templateName), key -> new TopKBoard(capacity, stat.isAscending()));
+        if (board.offer(playerUUID, value)) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * 获取排行榜
+     * @param stat 统计项
+     * @param templateName 模板名称，全局统计项忽略
+     * @return 排行榜，没有数据时返回空榜
+     */
+    public TopKBoard getBoard(LeaderboardStat stat, String templateName) {
+        TopKBoard board = boards.get(boardKey(stat, stat.isPerTemplate() ? templateName : LeaderboardStat.GLOBAL));
+        return board != null ? board : EMPTY_BOARD;
+    }
+
+    /**
+     * 获取排行榜容量
+     * @return 每个排行榜最多保存的名次数量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取名次对应玩家的名称
+     * @param entry 条目
+     * @return 玩家名称
+     */
+    public String getName(LeaderboardEntry entry) {
+        return plugin.getPlayerNameCache().getName(entry.getPlayerUUID());
+    }
+
+    /**
+     * 格式化统计值，通关时间显示为时间格式
+     * @param stat 统计项
+     * @param entry 条目
+     * @return 格式化后的统计值
+     */
+    public static String formatValue(LeaderboardStat stat, LeaderboardEntry entry) {
+        return stat == LeaderboardStat.FASTEST ? TimeUtil.formatTimeShort((int) entry.getValue()) : String.valueOf(entry.getValue());
+    }
+
+    /**
+     * 加载排行榜
+     * 数据文件不存在时从已加载的玩家数据生成一次次数排行榜，最快通关时间从此开始记录
+     * @param players 已加载的玩家数据
+     */
+    public void loadLeaderboards(Collection<PlayerData> players) {
+        boards.clear();
+
+        if (!leaderboardFile.exists()) {
+            seed(players);
+            return;
+        }
+
+        FileConfiguration config = YamlConfiguration.loadConfiguration(leaderboardFile);
+        int loaded = 0;
+        for (LeaderboardStat stat : LeaderboardStat.values()) {
+            ConfigurationSection statSection = config.getConfigurationSection(stat.getKey());
+            if (statSection == null) {
+                continue;
+            }
+            for (String templateName : statSection.getKeys(false)) {
+                List<LeaderboardEntry> entries = new ArrayList<>();
+                for (String line : statSection.getStringList(templateName)) {
+                    LeaderboardEntry entry = parseEntry(line);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+                TopKBoard board = new TopKBoard(capacity, stat.isAscending());
+                board.load(entries);
+                boards.put(boardKey(stat, templateName), board);
+                loaded++;
+            }
+        }
+
+        DebugUtil.debug("dungeon.leaderboard.load", "count", loaded);
+    }
+
+    /**
+     * 从玩家数据生成次数排行榜
+     * @param players 玩家数据
+     */
+    private void seed(Collection<PlayerData> players) {
+        for (PlayerData playerData : players) {
+            UUID playerUUID = playerData.getPlayerUUID();
+            for (Map.Entry<String, Integer> entry : playerData.getCompletedDungeons().entrySet()) {
+                offer(LeaderboardStat.COMPLETIONS, entry.getKey(), playerUUID, entry.getValue());
+            }
+            if (playerData.getTotalCompleted() > 0) {
+                offer(LeaderboardStat.TOTAL_COMPLETED, LeaderboardStat.GLOBAL, playerUUID, playerData.getTotalCompleted());
+            }
+            if (playerData.getTotalCreated() > 0) {
+                offer(LeaderboardStat.CREATED, LeaderboardStat.GLOBAL, playerUUID, playerData.getTotalCreated());
+            }
+            if (playerData.getTotalJoined() > 0) {
+                offer(LeaderboardStat.JOINED, LeaderboardStat.GLOBAL, playerUUID, playerData.getTotalJoined());
+            }
+        }
+
+        DebugUtil.debug("dungeon.leaderboard.seed", "count", players.size());
+    }
+
+    /**
+     * 保存排行榜
+     * 没有变化时跳过，写入磁盘在持久化I/O通道执行
+     */
+    public void saveLeaderboards() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        FileConfiguration config = new YamlConfiguration();
+        for (Map.Entry<String, TopKBoard> entry : boards.entrySet()) {
+            List<String> lines = new ArrayList<>();
+            for (LeaderboardEntry boardEntry : entry.getValue().getEntries()) {
+                lines.add(boardEntry.getPlayerUUID() + ":" + boardEntry.getValue());
+            }
+            config.set(entry.getKey(), lines);
+        }
+
+        plugin.getIOManager().save(config, leaderboardFile);
+    }
+
+    /**
+     * 解析数据文件中的条目
+     * @param line "UUID:统计值"
+     * @return 条目，格式错误时返回null
+     */
+    private static LeaderboardEntry parseEntry(String line) {
+        int separator = line.lastIndexOf(':');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return new LeaderboardEntry(UUID.fromString(line.substring(0, separator)),
+                    Long.parseLong(line.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String boardKey(LeaderboardStat stat, String templateName) {
+        return stat.getKey() + "." + templateName;
+    }
+}
@@ -0,0 +1,122 @@
+package cn.i7mc.sagadungeons.dungeon.leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 排行榜统计项
+ * 模板统计项每个模板一个排行榜，全局统计项只有一个排行榜
+ */
+public enum LeaderboardStat {
+
+    /**
+     * 模板通关次数
+     */
+    COMPLETIONS("completions", true, false),
+
+    /**
+     * 模板最快通关时间(秒)
+     */
+    FASTEST("fastest", true, true),
+
+    /**
+     * 总通关次数
+     */
+    TOTAL_COMPLETED("completed", false, false),
+
+    /**
+     * 总创建次数
+     */
+    CREATED("created", false, false),
+
+    /**
+     * 总加入次数
+     */
+    JOINED("joined", false, false);
+
+    /**
+     * 全局统计项使用的模板名称
+     */
+    public static final String GLOBAL = "global";
+
+    private final String key;
+    private final boolean perTemplate;
+    private final boolean ascending;
+
+    LeaderboardStat(String key, boolean perTemplate, boolean ascending) {
+        this.key = key;
+        this.perTemplate = perTemplate;
+        this.ascending = ascending;
+    }
+
+    /**
+     * 获取统计项名称，用于命令、占位符与数据文件
+     * @return 名称
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 检查是否为模板统计项
+     * @return 是否为模板统计项
+     */
+    public boolean isPerTemplate() {
+        return perTemplate;
+    }
+
+    /**
+     * 检查是否数值越小排名越高
+     * @return 是否升序
+     */
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * 检查统计项是否适用于模板或全局排行榜
+     * @param global 是否为全局排行榜
+     * @return 是否适用
+     */
+    public boolean appliesTo(boolean global) {
+        return perTemplate != global;
+    }
+
+    /**
+     * 获取模板或全局排行榜可用的统计项
+     * @param global 是否为全局排行榜
+     * @return 统计项列表
+     */
+    public static List<LeaderboardStat> getStats(boolean global) {
+        List<LeaderboardStat> stats = new ArrayList<>();
+        for (LeaderboardStat stat : values()) {
+            if (stat.appliesTo(global)) {
+                stats.add(stat);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 获取模板或全局排行榜的默认统计项
+     * @param global 是否为全局排行榜
+     * @return 默认统计项
+     */
+    public static LeaderboardStat getDefault(boolean global) {
+        return global ? TOTAL_COMPLETED : COMPLETIONS;
+    }
+
+    /**
+     * 根据名称获取统计项
+     * @param key 名称
+     * @return 统计项，不存在时返回null
+     */
+    public static LeaderboardStat fromKey(String key) {
+        for (LeaderboardStat stat : values()) {
+            if (stat.key.equalsIgnoreCase(key)) {
+                return stat;
+            }
+        }
+        return null;
+    }
+}
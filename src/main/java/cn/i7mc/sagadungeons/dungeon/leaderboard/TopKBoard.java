@@ -0,0 +1,124 @@
+package cn.i7mc.sagadungeons.dungeon.leaderboard;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 有界排行榜
+ * 只保存前K名，条目按排名存放在数组中。统计值只会向更好的方向变化(次数增加、通关时间缩短)，
+ * 因此榜外玩家只可能通过一次更新进入前K名，不需要保留榜外数据。
+ * 更新为O(K)，在写入时复制数组；按名次读取为O(1)且不加锁
+ */
+public class TopKBoard {
+
+    private static final LeaderboardEntry[] EMPTY = new LeaderboardEntry[0];
+
+    private final int capacity;
+    private final boolean ascending;
+    private volatile LeaderboardEntry[] entries = EMPTY;
+
+    /**
+     * 构造函数
+     * @param capacity 最多保存的名次数量
+     * @param ascending 是否数值越小排名越高
+     */
+    public TopKBoard(int capacity, boolean ascending) {
+        this.capacity = Math.max(1, capacity);
+        this.ascending = ascending;
+    }
+
+    /**
+     * 提交玩家的新统计值
+     * 值没有比玩家在榜上的旧值更好，或者榜已满且不优于最后一名时忽略
+     * @param playerUUID 玩家UUID
+     * @param value 统计值
+     * @return 排行榜是否发生变化
+     */
+    public synchronized boolean offer(UUID playerUUID, long value) {
+        LeaderboardEntry[] current = entries;
+
+        int existing = -1;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].getPlayerUUID().equals(playerUUID)) {
+                existing = i;
+                break;
+            }
+        }
+        if (existing >= 0 && !isBetter(value, current[existing].getValue())) {
+            return false;
+        }
+        if (existing < 0 && current.length >= capacity && !isBetter(value, current[current.length - 1].getValue())) {
+            return false;
+        }
+
+        // 相同统计值时先达到的玩家排名靠前
+        int insert = 0;
+        while (insert < current.length && (insert == existing || !isBetter(value, current[insert].getValue()))) {
+            insert++;
+        }
+
+        int size = existing >= 0 ? current.length : Math.min(capacity, current.length + 1);
+        LeaderboardEntry[] next = new LeaderboardEntry[size];
+        int target = 0;
+        for (int i = 0; i <= current.length && target < size; i++) {
+            if (i == insert) {
+                next[target++] = new LeaderboardEntry(playerUUID, value);
+            }
+            if (i < current.length && i != existing && target < size) {
+                next[target++] = current[i];
+            }
+        }
+        entries = next;
+        return true;
+    }
+
+    /**
+     * 直接设置排行榜内容，用于从数据文件加载
+     * 条目按统计值重新排序，超出容量的部分被丢弃
+     * @param loaded 条目
+     */
+    public synchronized void load(List<LeaderboardEntry> loaded) {
+        entries = EMPTY;
+        for (LeaderboardEntry entry : loaded) {
+            offer(entry.getPlayerUUID(), entry.getValue());
+        }
+    }
+
+    /**
+     * 获取指定名次的条目
+     * @param rank 名次，从1开始
+     * @return 条目，名次超出范围时返回null
+     */
+    public LeaderboardEntry get(int rank) {
+        LeaderboardEntry[] current = entries;
+        return rank >= 1 && rank <= current.length ? current[rank - 1] : null;
+    }
+
+    /**
+     * 获取所有条目
+     * @return 按名次排列的条目
+     */
+    public List<LeaderboardEntry> getEntries() {
+        return Collections.unmodifiableList(Arrays.asList(entries));
+    }
+
+    /**
+     * 获取条目数量
+     * @return 条目数量
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * 检查新值是否优于旧值
+     * @param value 新值
+     * @param other 旧值
+     * @return 是否更好
+     */
+    private boolean isBetter(long value, long other) {
+        return ascending ? value < other : value > other;
+    }
+}
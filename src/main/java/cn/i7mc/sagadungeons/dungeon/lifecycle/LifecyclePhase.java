@@ -0,0 +1,63 @@
+package cn.i7mc.sagadungeons.dungeon.lifecycle;
+
+/**
+ * 生命周期阶段
+ * 用于区分调度任务的类型并分别统计耗时
+ */
+public enum LifecyclePhase {
+
+    /**
+     * 副本超时
+     */
+    TIMEOUT,
+
+    /**
+     * 超时前警告
+     */
+    WARNING,
+
+    /**
+     * 通关后倒计时
+     */
+    COUNTDOWN,
+
+    /**
+     * 烟花等表现效果
+     */
+    COSMETIC,
+
+    /**
+     * 刷怪点检查
+     */
+    SPAWNER,
+
+    /**
+     * 数据自动保存
+     */
+    AUTOSAVE,
+
+    /**
+     * 副本资源采样
+     */
+    RESOURCE,
+
+    /**
+     * 占位符快照刷新
+     */
+    PLACEHOLDER,
+
+    /**
+     * 触发器动作
+     */
+    TRIGGER,
+
+    /**
+     * 预创建世界过期检查
+     */
+    PROVISION,
+
+    /**
+     * 无人副本休眠检查
+     */
+    HIBERNATE
+}
@@ -0,0 +1,347 @@
+package cn.i7mc.sagadungeons.dungeon.lifecycle;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.scheduler.TaskHandle;
+import cn.i7mc.sagadungeons.scheduler.TaskScheduler;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+
+/**
+ * 副本生命周期调度器
+ * 所有副本的超时、警告、倒计时、表现效果、刷怪与自动保存任务共用一个每tick执行的驱动任务，
+ * 任务按到期tick挂在哈希时间轮的槽位链表上：
+ * 每tick只访问一个槽位，添加与取消均为O(1)，超过一圈的任务留在槽位中等待下一圈。
+ * 时间轮只在驱动线程(主线程或Folia全局区域线程)中修改；
+ * 区域化服务端上，绑定副本世界的任务到期后交给拥有该世界出生点的区域线程执行，
+ * 其他线程发起的添加与取消先进入队列，在下一tick开始时处理
+ */
+public class LifecycleScheduler {
+
+    // 时间轮槽位数量(tick)，必须为2的幂
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final LifecyclePhase[] PHASES = LifecyclePhase.values();
+
+    private final SagaDungeons plugin;
+    private final TaskScheduler taskScheduler;
+    private final boolean regionized;
+    private final LifecycleTask[] wheel = new LifecycleTask[WHEEL_SIZE];
+    private final List<LifecycleTask> due = new ArrayList<>();
+    private final Queue<LifecycleTask> pendingLinks = new ConcurrentLinkedQueue<>();
+    private final Queue<LifecycleTask> pendingUnlinks = new ConcurrentLinkedQueue<>();
+    private final TaskHandle driver;
+
+    private volatile long currentTick;
+    private int pending;
+
+    // 各阶段累计耗时(纳秒)与执行次数，区域线程也会写入
+    private final LongAdder[] phaseNanos = new LongAdder[PHASES.length];
+    private final LongAdder[] phaseRuns = new LongAdder[PHASES.length];
+    private final int[] phasePending = new int[PHASES.length];
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public LifecycleScheduler(SagaDungeons plugin) {
+        this.plugin = plugin;
+        this.taskScheduler = plugin.getTaskScheduler();
+        this.regionized = taskScheduler.isRegionized();
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseNanos[i] = new LongAdder();
+            phaseRuns[i] = new LongAdder();
+        }
+        this.driver = taskScheduler.runGlobalTimer(this::tick, 1L, 1L);
+    }
+
+    /**
+     * 安排一次性全局任务
+     * @param phase 生命周期阶段
+     * @param delayTicks 延迟(tick)，至少为1
+     * @param action 任务动作
+     * @return 任务句柄
+     */
+    public LifecycleTask schedule(LifecyclePhase phase, long delayTicks, Runnable action) {
+        return schedule(phase, null, delayTicks, action);
+    }
+
+    /**
+     * 安排一次性副本任务
+     * @param phase 生命周期阶段
+     * @param world 副本世界，区域化服务端上任务在拥有该世界的区域执行；null表示全局任务
+     * @param delayTicks 延迟(tick)，至少为1
+     * @param action 任务动作
+     * @return 任务句柄
+     */
+    public LifecycleTask schedule(LifecyclePhase phase, World world, long delayTicks, Runnable action) {
+        return schedule(phase, world, delayTicks, 0L, () -> {
+            action.run();
+            return false;
+        });
+    }
+
+    /**
+     * 安排重复全局任务
+     * @param phase 生命周期阶段
+     * @param delayTicks 首次执行延迟(tick)，至少为1
+     * @param periodTicks 重复周期(tick)，至少为1
+     * @param action 任务动作，返回false时停止重复
+     * @return 任务句柄
+     */
+    public LifecycleTask scheduleRepeating(LifecyclePhase phase, long delayTicks, long periodTicks, BooleanSupplier action) {
+        return scheduleRepeating(phase, null, delayTicks, periodTicks, action);
+    }
+
+    /**
+     * 安排重复副本任务
+     * @param phase 生命周期阶段
+     * @param world 副本世界，区域化服务端上任务在拥有该世界的区域执行；null表示全局任务
+     * @param delayTicks 首次执行延迟(tick)，至少为1
+     * @param periodTicks 重复周期(tick)，至少为1
+     * @param action 任务动作，返回false时停止重复
+     * @return 任务句柄
+     */
+    public LifecycleTask scheduleRepeating(LifecyclePhase phase, World world, long delayTicks, long periodTicks,
+                                           BooleanSupplier action) {
+        return schedule(phase, world, delayTicks, Math.max(1L, periodTicks), action);
+    }
+
+    private LifecycleTask schedule(LifecyclePhase phase, World world, long delayTicks, long periodTicks,
+                                   BooleanSupplier action) {
+        LifecycleTask task = new LifecycleTask(this, phase, world, action, periodTicks);
+        task.deadline = Math.max(1L, delayTicks);
+        if (regionized) {
+            // 延迟从驱动线程处理队列时开始计算
+            pendingLinks.add(task);
+        } else {
+            link(task, currentTick + task.deadline);
+        }
+        return task;
+    }
+
+    /**
+     * 取消任务
+     * @param task 任务
+     */
+    void cancel(LifecycleTask task) {
+        if (task.cancelled) {
+            return;
+        }
+        task.cancelled = true;
+        if (regionized) {
+            pendingUnlinks.add(task);
+        } else if (task.linked) {
+            unlink(task);
+        }
+    }
+
+    /**
+     * 执行一个tick
+     */
+    private void tick() {
+        currentTick++;
+
+        // 处理其他线程发起的添加与取消
+        if (regionized) {
+            LifecycleTask task;
+            while ((task = pendingUnlinks.poll()) != null) {
+                if (task.linked) {
+                    unlink(task);
+                }
+            }
+            while ((task = pendingLinks.poll()) != null) {
+                if (!task.cancelled) {
+                    link(task, currentTick + task.deadline);
+                }
+            }
+        }
+
+        // 先摘出到期任务，执行任务时可以安全地添加或取消其他任务
+        int slot = (int) (currentTick & WHEEL_MASK);
+        for (LifecycleTask task = wheel[slot]; task != null; task = task.next) {
+            if (task.deadline <= currentTick) {
+                due.add(task);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        for (LifecycleTask task : due) {
+            unlink(task);
+        }
+
+        for (int i = 0; i < due.size(); i++) {
+            LifecycleTask task = due.get(i);
+            if (task.cancelled) {
+                continue;
+            }
+            if (regionized && task.getWorld() != null) {
+                dispatch(task);
+            } else {
+                complete(task, run(task));
+            }
+        }
+        due.clear();
+    }
+
+    /**
+     * 将副本任务交给拥有副本世界的区域线程执行
+     * 重复任务先按周期重新排入时间轮，动作返回false时再取消
+     * @param task 任务
+     */
+    private void dispatch(LifecycleTask task) {
+        if (task.getPeriod() > 0) {
+            link(task, currentTick + task.getPeriod());
+        }
+        taskScheduler.runAt(task.getWorld().getSpawnLocation(), () -> {
+            if (task.cancelled) {
+                return;
+            }
+            if (!run(task) || task.getPeriod() == 0) {
+                cancel(task);
+            }
+        });
+    }
+
+    /**
+     * 执行任务并统计耗时
+     * @param task 任务
+     * @return 是否继续重复
+     */
+    private boolean run(LifecycleTask task) {
+        int phase = task.getPhase().ordinal();
+        long start = System.nanoTime();
+        boolean repeat;
+        try {
+            repeat = task.getAction().getAsBoolean();
+        } catch (Throwable e) {
+            plugin.getLogger().log(Level.WARNING, "副本生命周期任务执行出错: " + task.getPhase(), e);
+            repeat = false;
+        }
+        long elapsed = System.nanoTime() - start;
+        phaseNanos[phase].add(elapsed);
+        phaseRuns[phase].increment();
+
+        // 绑定副本世界的任务耗时计入该副本
+        if (task.getWorld() != null) {
+            DungeonInstance instance = plugin.getDungeonManager().getRegistry().getByWorld(task.getWorld());
+            if (instance != null) {
+                instance.getResources().addTaskNanos(elapsed);
+            }
+        }
+        return repeat;
+    }
+
+    /**
+     * 在驱动线程执行完成后重新排入或结束任务
+     * @param task 任务
+     * @param repeat 是否继续重复
+     */
+    private void complete(LifecycleTask task, boolean repeat) {
+        if (task.cancelled) {
+            return;
+        }
+        if (repeat && task.getPeriod() > 0) {
+            link(task, currentTick + task.getPeriod());
+        } else {
+            task.cancelled = true;
+        }
+    }
+
+    private void link(LifecycleTask task, long deadline) {
+        int slot = (int) (deadline & WHEEL_MASK);
+        task.deadline = deadline;
+        task.prev = null;
+        task.next = wheel[slot];
+        if (task.next != null) {
+            task.next.prev = task;
+        }
+        wheel[slot] = task;
+        task.linked = true;
+        pending++;
+        phasePending[task.getPhase().ordinal()]++;
+    }
+
+    private void unlink(LifecycleTask task) {
+        if (task.prev != null) {
+            task.prev.next = task.next;
+        } else {
+            wheel[(int) (task.deadline & WHEEL_MASK)] = task.next;
+        }
+        if (task.next != null) {
+            task.next.prev = task.prev;
+        }
+        task.prev = null;
+        task.next = null;
+        task.linked = false;
+        pending--;
+        phasePending[task.getPhase().ordinal()]--;
+    }
+
+    /**
+     * 获取当前tick
+     * @return 调度器启动以来的tick数
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * 获取等待执行的任务数量
+     * @return 任务数量
+     */
+    public int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * 获取指定阶段等待执行的任务数量
+     * @param phase 生命周期阶段
+     * @return 任务数量
+     */
+    public int getPendingCount(LifecyclePhase phase) {
+        return phasePending[phase.ordinal()];
+    }
+
+    /**
+     * 获取指定阶段累计耗时
+     * @param phase 生命周期阶段
+     * @return 耗时(纳秒)
+     */
+    public long getPhaseNanos(LifecyclePhase phase) {
+        return phaseNanos[phase.ordinal()].sum();
+    }
+
+    /**
+     * 获取指定阶段累计执行次数
+     * @param phase 生命周期阶段
+     * @return 执行次数
+     */
+    public long getPhaseRuns(LifecyclePhase phase) {
+        return phaseRuns[phase.ordinal()].sum();
+    }
+
+    /**
+     * 停止调度器并丢弃所有任务
+     */
+    public void shutdown() {
+        driver.cancel();
+        pendingLinks.clear();
+        pendingUnlinks.clear();
+        for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+            while (wheel[slot] != null) {
+                LifecycleTask task = wheel[slot];
+                task.cancelled = true;
+                unlink(task);
+            }
+        }
+    }
+}
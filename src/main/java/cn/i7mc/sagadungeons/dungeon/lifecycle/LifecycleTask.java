@@ -0,0 +1,87 @@
+package cn.i7mc.sagadungeons.dungeon.lifecycle;
+
+import org.bukkit.World;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 生命周期任务
+ * 作为时间轮槽位双向链表中的节点，取消时直接从链表中摘除
+ */
+public final class LifecycleTask {
+
+    private final LifecycleScheduler scheduler;
+    private final LifecyclePhase phase;
+    private final World world;
+    private final BooleanSupplier action;
+    private final long period;
+
+    long deadline;
+    LifecycleTask prev;
+    LifecycleTask next;
+    boolean linked;
+    volatile boolean cancelled;
+
+    /**
+     * 构造函数
+     * @param scheduler 调度器
+     * @param phase 生命周期阶段
+     * @param world 绑定的副本世界，null表示全局任务
+     * @param action 任务动作，返回false表示不再重复
+     * @param period 重复周期(tick)，0表示只执行一次
+     */
+    LifecycleTask(LifecycleScheduler scheduler, LifecyclePhase phase, World world, BooleanSupplier action, long period) {
+        this.scheduler = scheduler;
+        this.phase = phase;
+        this.world = world;
+        this.action = action;
+        this.period = period;
+    }
+
+    /**
+     * 取消任务
+     */
+    public void cancel() {
+        scheduler.cancel(this);
+    }
+
+    /**
+     * 检查任务是否已取消
+     * @return 是否已取消
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 获取生命周期阶段
+     * @return 生命周期阶段
+     */
+    public LifecyclePhase getPhase() {
+        return phase;
+    }
+
+    /**
+     * 获取距离下次执行的tick数
+     * @return tick数，已取消时返回-1
+     */
+    public long getRemainingTicks() {
+        return cancelled ? -1L : Math.max(0L, deadline - scheduler.getCurrentTick());
+    }
+
+    /**
+     * 获取绑定的副本世界
+     * @return 副本世界，全局任务返回null
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    BooleanSupplier getAction() {
+        return action;
+    }
+
+    long getPeriod() {
+        return period;
+    }
+}
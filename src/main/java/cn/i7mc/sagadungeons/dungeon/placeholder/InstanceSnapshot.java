@@ -0,0 +1,102 @@
+package cn.i7mc.sagadungeons.dungeon.placeholder;
+
+/**
+ * 副本占位符快照
+ * 由占位符缓存每秒生成一次，所有值都已格式化，读取时不再访问副本、模板或玩家数据
+ */
+public final class InstanceSnapshot {
+
+    private final String id;
+    private final String templateName;
+    private final String displayName;
+    private final String ownerName;
+    private final String timeLeft;
+    private final String timeLeftFormatted;
+    private final String timeLeftShort;
+    private final String playerCount;
+    private final String isPublic;
+    private final String state;
+    private final String display;
+
+    /**
+     * 构造函数
+     * @param id 副本ID
+     * @param templateName 模板名称
+     * @param displayName 显示名称
+     * @param ownerName 创建者名称
+     * @param timeLeft 剩余秒数
+     * @param timeLeftFormatted 格式化的剩余时间
+     * @param timeLeftShort 简短格式的剩余时间
+     * @param playerCount 玩家数量
+     * @param isPublic 是否为公开副本
+     * @param state 副本状态
+     * @param display 已转换颜色代码的世界显示名称
+     */
+    InstanceSnapshot(String id, String templateName, String displayName, String ownerName, String timeLeft,
+                     String timeLeftFormatted, String timeLeftShort, String playerCount, String isPublic,
+                     String state, String display) {
+        this.id = id;
+        this.templateName = templateName;
+        this.displayName = displayName;
+        this.ownerName = ownerName;
+        this.timeLeft = timeLeft;
+        this.timeLeftFormatted = timeLeftFormatted;
+        this.timeLeftShort = timeLeftShort;
+        this.playerCount = playerCount;
+        this.isPublic = isPublic;
+        this.state = state;
+        this.display = display;
+    }
+
+    /**
+     * 获取占位符的值
+     * @param identifier 占位符标识符
+     * @return 值，未知标识符返回null
+     */
+    public String get(String identifier) {
+        switch (identifier) {
+            case "in_dungeon":
+                return "true";
+            case "dungeon_id":
+                return id;
+            case "dungeon_name":
+                return templateName;
+            case "dungeon_display_name":
+                return displayName;
+            case "dungeon_owner":
+                return ownerName;
+            case "dungeon_time_left":
+                return timeLeft;
+            case "dungeon_time_left_formatted":
+                return timeLeftFormatted;
+            case "dungeon_time_left_short":
+                return timeLeftShort;
+            case "dungeon_player_count":
+                return playerCount;
+            case "dungeon_is_public":
+                return isPublic;
+            case "dungeon_state":
+                return state;
+            case "display":
+                return display;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 获取副本ID
+     * @return 副本ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 获取创建者名称
+     * @return 创建者名称
+     */
+    public String getOwnerName() {
+        return ownerName;
+    }
+}
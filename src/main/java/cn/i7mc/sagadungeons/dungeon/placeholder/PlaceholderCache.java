@@ -0,0 +1,116 @@
+package cn.i7mc.sagadungeons.dungeon.placeholder;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.DungeonManager;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleScheduler;
+import cn.i7mc.sagadungeons.hook.HookManager;
+import cn.i7mc.sagadungeons.model.DungeonTemplate;
+import cn.i7mc.sagadungeons.util.TimeUtil;
+import org.bukkit.ChatColor;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 副本占位符缓存
+ * 计分板与TAB插件每秒会多次请求每个玩家的占位符，
+ * 因此由生命周期调度器每秒为每个副本生成一次快照，并按玩家建立索引，
+ * 占位符请求只需读取一次映射。快照最多落后一秒
+ */
+public class PlaceholderCache {
+
+    private final SagaDungeons plugin;
+    private volatile Map<String, InstanceSnapshot> byDungeon = Collections.emptyMap();
+    private volatile Map<UUID, InstanceSnapshot> byPlayer = Collections.emptyMap();
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public PlaceholderCache(SagaDungeons plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 开始每秒刷新快照
+     * @param scheduler 生命周期调度器
+     */
+    public void start(LifecycleScheduler scheduler) {
+        scheduler.scheduleRepeating(LifecyclePhase.PLACEHOLDER, 20L, 20L, () -> {
+            refresh();
+            return true;
+        });
+    }
+
+    /**
+     * 重新生成所有副本的快照与玩家索引
+     * 没有PlaceholderAPI时跳过
+     */
+    public void refresh() {
+        HookManager hookManager = plugin.getHookManager();
+        if (hookManager == null || !hookManager.isPlaceholderAPIAvailable()) {
+            return;
+        }
+
+        DungeonManager dungeonManager = plugin.getDungeonManager();
+        Map<String, InstanceSnapshot> dungeons = new HashMap<>();
+        for (DungeonInstance instance : dungeonManager.getRegistry().getAll()) {
+            dungeons.put(instance.getId(), createSnapshot(instance));
+        }
+
+        Map<UUID, InstanceSnapshot> players = new HashMap<>();
+        for (UUID playerUUID : dungeonManager.getPlayersInDungeons()) {
+            InstanceSnapshot snapshot = dungeons.get(dungeonManager.getPlayerData(playerUUID).getCurrentDungeonId());
+            if (snapshot != null) {
+                players.put(playerUUID, snapshot);
+            }
+        }
+
+        byDungeon = dungeons;
+        byPlayer = players;
+    }
+
+    /**
+     * 生成副本快照
+     * @param instance 副本实例
+     * @return 快照
+     */
+    private InstanceSnapshot createSnapshot(DungeonInstance instance) {
+        int remaining = instance.getRemainingTime();
+
+        // 获取模板的世界显示名称
+        String display = instance.getTemplateName();
+        DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(instance.getTemplateName());
+        if (template != null && template.getWorldDisplay() != null) {
+            display = ChatColor.translateAlternateColorCodes('&', template.getWorldDisplay());
+        }
+
+        return new InstanceSnapshot(instance.getId(), instance.getTemplateName(), instance.getDisplayName(),
+                plugin.getPlayerNameCache().getName(instance.getOwnerUUID()),
+                String.valueOf(remaining), TimeUtil.formatTime(remaining), TimeUtil.formatTimeShort(remaining),
+                String.valueOf(instance.getPlayerCount()), instance.isPublic() ? "true" : "false",
+                instance.getState().name(), display);
+    }
+
+    /**
+     * 获取玩家所在副本的快照
+     * @param playerUUID 玩家UUID
+     * @return 快照，玩家不在副本中时返回null
+     */
+    public InstanceSnapshot getByPlayer(UUID playerUUID) {
+        return byPlayer.get(playerUUID);
+    }
+
+    /**
+     * 获取副本快照
+     * @param dungeonId 副本ID
+     * @return 快照，不存在时返回null
+     */
+    public InstanceSnapshot getByDungeon(String dungeonId) {
+        return byDungeon.get(dungeonId);
+    }
+}
@@ -0,0 +1,364 @@
+package cn.i7mc.sagadungeons.dungeon.provision;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.DungeonManager;
+import cn.i7mc.sagadungeons.dungeon.completion.CompletionCondition;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleScheduler;
+import cn.i7mc.sagadungeons.dungeon.trigger.DungeonTrigger;
+import cn.i7mc.sagadungeons.dungeon.trigger.LevelJumpTrigger;
+import cn.i7mc.sagadungeons.dungeon.trigger.TriggerEvent;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+import cn.i7mc.sagadungeons.util.DebugUtil;
+import cn.i7mc.sagadungeons.util.MessageUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 下一关预创建器
+ * 副本带有通关跳转触发器时，通关进度达到阈值后在后台复制下一关的世界；
+ * 通关跳转时整支队伍进入预创建的世界，不再等待世界复制，也不会被创建锁拒绝。
+ * 没有被使用的世界放回模板的预创建池供新副本使用，池满或超时后删除
+ */
+public class LevelProvisioner {
+
+    private final SagaDungeons plugin;
+    private final Map<String, PreparedLevel> prepared = new HashMap<>();
+    private final Map<String, Deque<PreparedLevel>> pools = new HashMap<>();
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public LevelProvisioner(SagaDungeons plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 开始定期删除超时的预创建世界
+     * @param scheduler 生命周期调度器
+     */
+    public void start(LifecycleScheduler scheduler) {
+        scheduler.scheduleRepeating(LifecyclePhase.PROVISION, 600L, 600L, () -> {
+            evictExpired();
+            return true;
+        });
+    }
+
+    /**
+     * 通关进度变化时调用
+     * 只有模板带有通关跳转触发器且进度达到阈值时才开始复制下一关的世界
+     * @param instance 副本实例
+     * @param conditions 副本的通关条件
+     */
+    public void onProgress(DungeonInstance instance, List<CompletionCondition> conditions) {
+        if (!plugin.getConfigManager().isProvisionEnabled() || conditions.isEmpty()
+                || prepared.containsKey(instance.getId())) {
+            return;
+        }
+
+        String targetLevel = getCompletionTarget(instance.getTemplateName());
+        if (targetLevel == null) {
+            return;
+        }
+
+        // 所有条件的平均进度
+        double progress = 0.0;
+        for (CompletionCondition condition : conditions) {
+            progress += condition.getProgress();
+        }
+        if (progress / conditions.size() < plugin.getConfigManager().getProvisionThreshold()) {
+            return;
+        }
+
+        // 预创建池中已有可用世界时不再复制；其他关卡正在预创建或负载过高时等待下次进度变化
+        if (hasPooled(targetLevel) || !plugin.getWorldManager().canProvision()
+                || plugin.getTickGovernor().isRejectingCreation()) {
+            return;
+        }
+
+        provision(instance.getId(), targetLevel);
+    }
+
+    /**
+     * 获取模板通关时跳转的关卡
+     * @param templateName 模板名称
+     * @return 目标关卡，没有通关跳转触发器时返回null
+     */
+    private String getCompletionTarget(String templateName) {
+        for (DungeonTrigger trigger : plugin.getConfigManager().getTemplateManager().getTriggerManager()
+                .getTriggers(templateName, TriggerEvent.COMPLETION)) {
+            if (trigger instanceof LevelJumpTrigger) {
+                String targetLevel = ((LevelJumpTrigger) trigger).getTargetLevel();
+                if (plugin.getConfigManager().getTemplateManager().hasTemplate(targetLevel)) {
+                    return targetLevel;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 开始复制关卡世界
+     * @param sourceDungeonId 发起预创建的副本ID
+     * @param templateName 关卡模板名称
+     */
+    private void provision(String sourceDungeonId, String templateName) {
+        PreparedLevel level = new PreparedLevel(templateName,
+                plugin.getDungeonManager().generateDungeonId(templateName), sourceDungeonId);
+        prepared.put(sourceDungeonId, level);
+        plugin.getPerfRegistry().increment(PerfCounter.LEVEL_PROVISIONED);
+        DebugUtil.debug("dungeon.provision.start", "template", templateName, "source", sourceDungeonId);
+
+        // 使用独立的预创建锁与后台通道，不阻塞玩家创建副本
+        plugin.getWorldManager().provisionDungeonWorld(templateName, level.getDungeonId(),
+                success -> onWorldCreated(level, success));
+    }
+
+    /**
+     * 关卡世界复制结束
+     * @param level 预创建的关卡
+     * @param success 是否成功
+     */
+    private void onWorldCreated(PreparedLevel level, boolean success) {
+        World world = success ? Bukkit.getWorld(plugin.getConfigManager().getWorldPrefix() + level.getDungeonId()) : null;
+        if (world == null) {
+            prepared.remove(level.getSourceDungeonId(), level);
+        } else {
+            level.setWorld(world);
+            DebugUtil.debug("dungeon.provision.ready", "template", level.getTemplateName(), "world", world.getName());
+
+            // 发起的副本已经结束，放回预创建池
+            if (level.isReleased()) {
+                pool(level);
+            }
+        }
+
+        // 继续等待中的跳转
+        Runnable waiter = level.takeWaiter();
+        if (waiter != null) {
+            waiter.run();
+        }
+    }
+
+    /**
+     * 队伍一起跳转到目标关卡
+     * 优先使用发起副本预创建的世界，其次使用预创建池，都没有时正常创建副本。
+     * 第一名玩家作为创建者，其余玩家在副本就绪后一起加入；
+     * 创建者无法创建目标关卡时队伍留在当前副本
+     * @param sourceDungeonId 当前副本ID
+     * @param targetLevel 目标关卡
+     * @param playerUUIDs 跳转的玩家
+     */
+    public void jumpParty(String sourceDungeonId, String targetLevel, List<UUID> playerUUIDs) {
+        PreparedLevel level = prepared.get(sourceDungeonId);
+        if (level != null && level.getTemplateName().equals(targetLevel)) {
+            // 世界仍在复制中，复制结束后再跳转
+            if (!level.isReady()) {
+                level.setWaiter(() -> jumpParty(sourceDungeonId, targetLevel, playerUUIDs));
+                return;
+            }
+            prepared.remove(sourceDungeonId);
+        } else {
+            level = takePooled(targetLevel);
+        }
+
+        List<Player> party = new ArrayList<>();
+        for (UUID uuid : playerUUIDs) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null && player.isOnline()) {
+                party.add(player);
+            }
+        }
+        if (party.isEmpty()) {
+            if (level != null) {
+                pool(level);
+            }
+            return;
+        }
+
+        // 离开当前副本前检查创建者能否创建目标关卡，不能创建时队伍留在当前副本
+        DungeonManager dungeonManager = plugin.getDungeonManager();
+        Player leader = party.get(0);
+        if (!dungeonManager.canCreateDungeon(leader, targetLevel, level)) {
+            if (level != null) {
+                pool(level);
+            }
+            notifyJumpFailed(party, targetLevel);
+            return;
+        }
+
+        // 先离开当前副本，再进入下一关
+        for (Player player : party) {
+            if (dungeonManager.getPlayerData(player.getUniqueId()).isInDungeon()) {
+                dungeonManager.leaveDungeon(player);
+            }
+        }
+
+        List<Player> members = party.subList(1, party.size());
+        Consumer<DungeonInstance> onReady = instance -> {
+            if (instance == null) {
+                notifyJumpFailed(party, targetLevel);
+                return;
+            }
+            joinMembers(instance, members);
+        };
+
+        if (level == null) {
+            if (!dungeonManager.createDungeon(leader, targetLevel, onReady)) {
+                notifyJumpFailed(party, targetLevel);
+            }
+            return;
+        }
+
+        if (!dungeonManager.createDungeon(leader, targetLevel, onReady, level)) {
+            pool(level);
+            notifyJumpFailed(party, targetLevel);
+        }
+    }
+
+    /**
+     * 通知队伍无法进入目标关卡
+     * @param party 队伍
+     * @param targetLevel 目标关卡
+     */
+    private void notifyJumpFailed(List<Player> party, String targetLevel) {
+        for (Player player : party) {
+            if (player.isOnline()) {
+                plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.level-jump.failed",
+                        MessageUtil.createPlaceholders("level", targetLevel));
+            }
+        }
+    }
+
+    /**
+     * 将其余队员带入新副本
+     * @param instance 副本实例
+     * @param members 队员
+     */
+    private void joinMembers(DungeonInstance instance, List<Player> members) {
+        DungeonManager dungeonManager = plugin.getDungeonManager();
+        for (Player player : members) {
+            if (!player.isOnline() || dungeonManager.getPlayerData(player.getUniqueId()).isInDungeon()) {
+                continue;
+            }
+
+            instance.addAllowedPlayer(player.getUniqueId());
+            dungeonManager.joinDungeon(player, instance.getId());
+        }
+    }
+
+    /**
+     * 从预创建池中取出可用的世界
+     * 新建副本时调用
+     * @param templateName 模板名称
+     * @return 预创建的关卡，没有时返回null
+     */
+    public PreparedLevel takePooled(String templateName) {
+        Deque<PreparedLevel> pool = pools.get(templateName);
+        if (pool == null) {
+            return null;
+        }
+
+        PreparedLevel level;
+        while ((level = pool.pollFirst()) != null) {
+            // 世界可能已被其他操作卸载
+            if (Bukkit.getWorld(level.getWorld().getUID()) != null) {
+                DebugUtil.debug("dungeon.provision.reuse", "template", templateName, "world", level.getWorld().getName());
+                return level;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 检查预创建池中是否有可用的世界
+     * @param templateName 模板名称
+     * @return 是否有
+     */
+    public boolean hasPooled(String templateName) {
+        Deque<PreparedLevel> pool = pools.get(templateName);
+        return pool != null && !pool.isEmpty();
+    }
+
+    /**
+     * 将未使用的世界放回预创建池，池已满或未启用时删除
+     * @param level 预创建的关卡
+     */
+    public void pool(PreparedLevel level) {
+        if (!level.isReady()) {
+            return;
+        }
+
+        Deque<PreparedLevel> pool = pools.computeIfAbsent(level.getTemplateName(), name -> new ArrayDeque<>());
+        if (!plugin.getConfigManager().isProvisionEnabled() || pool.size() >= plugin.getConfigManager().getProvisionPoolSize()) {
+            discard(level);
+            return;
+        }
+
+        level.setPooledTime(System.currentTimeMillis());
+        pool.addLast(level);
+    }
+
+    /**
+     * 删除预创建的世界
+     * @param level 预创建的关卡
+     */
+    private void discard(PreparedLevel level) {
+        plugin.getPerfRegistry().increment(PerfCounter.LEVEL_PROVISION_DISCARDED);
+        DebugUtil.debug("dungeon.provision.discard", "template", level.getTemplateName(), "world", level.getWorld().getName());
+        plugin.getWorldManager().deleteDungeonWorld(level.getWorld().getName(), null);
+    }
+
+    /**
+     * 删除在预创建池中超时的世界
+     */
+    private void evictExpired() {
+        long expireBefore = System.currentTimeMillis() - plugin.getConfigManager().getProvisionPoolTtl() * 1000L;
+        for (Deque<PreparedLevel> pool : pools.values()) {
+            Iterator<PreparedLevel> iterator = pool.iterator();
+            while (iterator.hasNext()) {
+                PreparedLevel level = iterator.next();
+                if (level.getPooledTime() < expireBefore) {
+                    iterator.remove();
+                    discard(level);
+                }
+            }
+        }
+    }
+
+    /**
+     * 发起预创建的副本结束时调用
+     * 已复制完成的世界放回预创建池，仍在复制的世界在完成后放回
+     * @param dungeonId 副本ID
+     */
+    public void release(String dungeonId) {
+        PreparedLevel level = prepared.remove(dungeonId);
+        if (level == null) {
+            return;
+        }
+
+        level.release();
+        pool(level);
+    }
+
+    /**
+     * 获取正在预创建下一关的副本ID
+     * @return 副本ID列表副本
+     */
+    public List<String> getTrackedDungeonIds() {
+        return new ArrayList<>(prepared.keySet());
+    }
+}
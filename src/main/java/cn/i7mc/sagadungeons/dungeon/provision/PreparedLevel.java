@@ -0,0 +1,127 @@
+package cn.i7mc.sagadungeons.dungeon.provision;
+
+import org.bukkit.World;
+
+/**
+ * 预创建的关卡世界
+ * 世界复制完成前处于等待状态，完成后由跳转的队伍使用，或放回模板的预创建池
+ */
+public class PreparedLevel {
+
+    private final String templateName;
+    private final String dungeonId;
+    private final String sourceDungeonId;
+    private World world;
+    private boolean released;
+    private long pooledTime;
+    private Runnable waiter;
+
+    /**
+     * 构造函数
+     * @param templateName 关卡模板名称
+     * @param dungeonId 预分配的副本ID
+     * @param sourceDungeonId 发起预创建的副本ID
+     */
+    public PreparedLevel(String templateName, String dungeonId, String sourceDungeonId) {
+        this.templateName = templateName;
+        this.dungeonId = dungeonId;
+        this.sourceDungeonId = sourceDungeonId;
+    }
+
+    /**
+     * 获取关卡模板名称
+     * @return 模板名称
+     */
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    /**
+     * 获取预分配的副本ID
+     * @return 副本ID
+     */
+    public String getDungeonId() {
+        return dungeonId;
+    }
+
+    /**
+     * 获取发起预创建的副本ID
+     * @return 副本ID
+     */
+    public String getSourceDungeonId() {
+        return sourceDungeonId;
+    }
+
+    /**
+     * 获取关卡世界
+     * @return 世界，复制完成前为null
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * 设置关卡世界
+     * @param world 世界
+     */
+    public void setWorld(World world) {
+        this.world = world;
+    }
+
+    /**
+     * 检查世界是否已复制完成
+     * @return 是否完成
+     */
+    public boolean isReady() {
+        return world != null;
+    }
+
+    /**
+     * 检查发起预创建的副本是否已经结束
+     * @return 是否已结束
+     */
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * 标记发起预创建的副本已经结束
+     */
+    public void release() {
+        this.released = true;
+    }
+
+    /**
+     * 获取放入预创建池的时间
+     * @return 时间戳
+     */
+    public long getPooledTime() {
+        return pooledTime;
+    }
+
+    /**
+     * 设置放入预创建池的时间
+     * @param pooledTime 时间戳
+     */
+    public void setPooledTime(long pooledTime) {
+        this.pooledTime = pooledTime;
+    }
+
+    /**
+     * 设置世界复制结束后执行的跳转
+     * @param waiter 跳转动作
+     */
+    public void setWaiter(Runnable waiter) {
+        this.waiter = waiter;
+    }
+
+    /**
+     * 取出等待中的跳转
+     * @return 跳转动作，没有时返回null
+     */
+    public Runnable takeWaiter() {
+        Runnable result = waiter;
+        waiter = null;
+        return result;
+    }
+}
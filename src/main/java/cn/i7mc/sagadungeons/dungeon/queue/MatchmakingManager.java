@@ -0,0 +1,350 @@
+package cn.i7mc.sagadungeons.dungeon.queue;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.config.ConfigManager;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.DungeonManager;
+import cn.i7mc.sagadungeons.dungeon.DungeonState;
+import cn.i7mc.sagadungeons.util.DebugUtil;
+import cn.i7mc.sagadungeons.util.MessageUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 匹配管理器
+ * 玩家按模板排队，定时把队列中的玩家分批组成队伍：
+ * 优先填入该模板下仍有空位的公开副本，否则每批只创建一个新副本，
+ * 多个单人玩家共用一个副本世界，减少世界创建次数
+ */
+public class MatchmakingManager {
+
+    private final SagaDungeons plugin;
+    private final DungeonManager dungeonManager;
+    private final Map<String, TemplateQueue> queues = new ConcurrentHashMap<>();
+    private final Map<UUID, String> playerQueues = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     * @param dungeonManager 副本管理器
+     */
+    public MatchmakingManager(SagaDungeons plugin, DungeonManager dungeonManager) {
+        this.plugin = plugin;
+        this.dungeonManager = dungeonManager;
+
+        // 定时执行匹配
+        long interval = Math.max(1L, plugin.getConfigManager().getMatchmakingInterval());
+        plugin.getTaskScheduler().runGlobalTimer(this::tick, interval, interval);
+    }
+
+    /**
+     * 加入匹配队列
+     * @param player 玩家
+     * @param templateName 模板名称
+     * @return 是否加入成功，已在任意队列中时返回false
+     */
+    public boolean enqueue(Player player, String templateName) {
+        UUID playerUUID = player.getUniqueId();
+        if (playerQueues.putIfAbsent(playerUUID, templateName) != null) {
+            return false;
+        }
+
+        TemplateQueue queue = queues.computeIfAbsent(templateName, TemplateQueue::new);
+        queue.add(playerUUID, System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * 离开匹配队列
+     * @param playerUUID 玩家UUID
+     * @return 是否在队列中
+     */
+    public boolean dequeue(UUID playerUUID) {
+        String templateName = playerQueues.remove(playerUUID);
+        if (templateName == null) {
+            return false;
+        }
+
+        // 已匹配但副本尚未就绪的队员不在模板队列中
+        TemplateQueue queue = queues.get(templateName);
+        if (queue != null) {
+            queue.remove(playerUUID);
+        }
+        return true;
+    }
+
+    /**
+     * 获取玩家正在排队的模板
+     * @param playerUUID 玩家UUID
+     * @return 模板名称，不在队列中时返回null
+     */
+    public String getQueuedTemplate(UUID playerUUID) {
+        return playerQueues.get(playerUUID);
+    }
+
+    /**
+     * 获取玩家在队列中的位置
+     * @param playerUUID 玩家UUID
+     * @return 从1开始的位置，不在队列中时返回0
+     */
+    public int getPosition(UUID playerUUID) {
+        TemplateQueue queue = getPlayerQueue(playerUUID);
+        return queue == null ? 0 : queue.getPosition(playerUUID);
+    }
+
+    /**
+     * 获取玩家已等待的时间(秒)
+     * @param playerUUID 玩家UUID
+     * @return 等待时间，不在队列中时返回0
+     */
+    public int getWaitedSeconds(UUID playerUUID) {
+        TemplateQueue queue = getPlayerQueue(playerUUID);
+        return queue == null ? 0 : (int) (queue.getWaited(playerUUID, System.currentTimeMillis()) / 1000L);
+    }
+
+    /**
+     * 获取模板队列长度
+     * @param templateName 模板名称
+     * @return 队列长度
+     */
+    public int getQueueSize(String templateName) {
+        TemplateQueue queue = queues.get(templateName);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * 获取模板队列中最长的等待时间(秒)
+     * @param templateName 模板名称
+     * @return 最长等待时间
+     */
+    public int getLongestWaitSeconds(String templateName) {
+        TemplateQueue queue = queues.get(templateName);
+        return queue == null ? 0 : (int) (queue.getLongestWait(System.currentTimeMillis()) / 1000L);
+    }
+
+    /**
+     * 获取模板已匹配玩家的平均等待时间(秒)
+     * @param templateName 模板名称
+     * @return 平均等待时间
+     */
+    public int getAverageWaitSeconds(String templateName) {
+        TemplateQueue queue = queues.get(templateName);
+        return queue == null ? 0 : (int) (queue.getAverageWait() / 1000L);
+    }
+
+    /**
+     * 获取模板累计匹配成功的玩家数量
+     * @param templateName 模板名称
+     * @return 匹配数量
+     */
+    public long getMatchedCount(String templateName) {
+        TemplateQueue queue = queues.get(templateName);
+        return queue == null ? 0L : queue.getMatchedCount();
+    }
+
+    /**
+     * 获取所有队列中的玩家总数
+     * @return 玩家总数
+     */
+    public int getTotalQueued() {
+        return playerQueues.size();
+    }
+
+    private TemplateQueue getPlayerQueue(UUID playerUUID) {
+        String templateName = playerQueues.get(playerUUID);
+        return templateName == null ? null : queues.get(templateName);
+    }
+
+    /**
+     * 执行一轮匹配
+     */
+    private void tick() {
+        ConfigManager config = plugin.getConfigManager();
+        if (!config.isMatchmakingEnabled() || playerQueues.isEmpty()) {
+            return;
+        }
+
+        for (TemplateQueue queue : queues.values()) {
+            if (queue.size() == 0) {
+                continue;
+            }
+
+            // 模板已被删除时清空队列
+            if (!config.getTemplateManager().hasTemplate(queue.getTemplateName())) {
+                for (TemplateQueue.QueueEntry entry : queue.poll(queue.size())) {
+                    playerQueues.remove(entry.playerUUID);
+                }
+                continue;
+            }
+
+            fillOpenDungeons(queue, config.getMatchmakingMaxPlayers());
+            formParties(queue, config.getMatchmakingPartySize(), config.getMatchmakingMaxWait() * 1000L);
+        }
+    }
+
+    /**
+     * 将排队玩家填入该模板下仍有空位的公开副本
+     * @param queue 模板队列
+     * @param maxPlayers 单个副本的最大人数
+     */
+    private void fillOpenDungeons(TemplateQueue queue, int maxPlayers) {
+        for (DungeonInstance instance : dungeonManager.getRegistry().getByTemplate(queue.getTemplateName())) {
+            if (!instance.isPublic() || instance.getState() != DungeonState.RUNNING || instance.getWorld() == null) {
+                continue;
+            }
+
+            int freeSlots = maxPlayers - instance.getPlayerCount();
+            while (freeSlots > 0 && queue.size() > 0) {
+                List<TemplateQueue.QueueEntry> batch = queue.poll(1);
+                TemplateQueue.QueueEntry entry = batch.get(0);
+                Player player = takeReadyPlayer(entry);
+                if (player == null) {
+                    continue;
+                }
+
+                if (dungeonManager.joinDungeon(player, instance.getId())) {
+                    queue.recordMatched(entry, System.currentTimeMillis());
+                    MessageUtil.sendMessage(player, "command.queue.matched-join", "id", instance.getId());
+                    freeSlots--;
+                } else {
+                    MessageUtil.sendMessage(player, "command.queue.match-failed");
+                }
+            }
+
+            if (queue.size() == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 将排队玩家分批组成队伍，每批创建一个新副本
+     * 人数不足一队时，队首玩家等待超过最长等待时间后也会开始
+     * @param queue 模板队列
+     * @param partySize 队伍人数
+     * @param maxWaitMillis 最长等待时间(毫秒)
+     */
+    private void formParties(TemplateQueue queue, int partySize, long maxWaitMillis) {
+        while (queue.size() >= partySize
+                || (queue.size() > 0 && queue.getLongestWait(System.currentTimeMillis()) >= maxWaitMillis)) {
+            // 同一时间只能创建一个副本世界
+            if (!plugin.getWorldManager().canCreate()) {
+                return;
+            }
+
+            List<TemplateQueue.QueueEntry> batch = queue.poll(partySize);
+
+            // 选择一名冷却已结束的玩家作为创建者
+            TemplateQueue.QueueEntry leaderEntry = null;
+            for (TemplateQueue.QueueEntry entry : batch) {
+                if (dungeonManager.getCooldownManager().canCreateDungeon(entry.playerUUID, queue.getTemplateName())) {
+                    leaderEntry = entry;
+                    break;
+                }
+            }
+            if (leaderEntry == null) {
+                // 全部处于冷却中，等待空位或冷却结束
+                queue.returnToFront(batch);
+                return;
+            }
+
+            batch.remove(leaderEntry);
+            Player leader = takeReadyPlayer(leaderEntry);
+            if (leader == null) {
+                queue.returnToFront(batch);
+                continue;
+            }
+
+            // 队员在副本就绪前仍保留在玩家索引中，期间离开队列或下线的队员不会被带入
+            List<TemplateQueue.QueueEntry> members = batch;
+            boolean success = dungeonManager.createDungeon(leader, queue.getTemplateName(),
+                    instance -> onPartyDungeonReady(queue, leader, instance, members));
+
+            if (success) {
+                queue.recordMatched(leaderEntry, System.currentTimeMillis());
+                MessageUtil.sendMessage(leader, "command.queue.matched-create", "template", queue.getTemplateName());
+                DebugUtil.debug("dungeon.queue.party", "template", queue.getTemplateName(),
+                        "count", members.size() + 1);
+            } else {
+                MessageUtil.sendMessage(leader, "command.queue.create-failed");
+                queue.returnToFront(members);
+            }
+        }
+    }
+
+    /**
+     * 队伍副本创建完成后，带入其余队员并开放剩余空位
+     * 副本世界创建失败时将仍在等待的队员放回队首
+     * @param queue 模板队列
+     * @param leader 创建者
+     * @param instance 副本实例，世界创建失败时为null
+     * @param members 队员
+     */
+    private void onPartyDungeonReady(TemplateQueue queue, Player leader, DungeonInstance instance,
+                                     List<TemplateQueue.QueueEntry> members) {
+        // 只处理仍在等待的队员
+        List<TemplateQueue.QueueEntry> pending = new ArrayList<>(members.size());
+        for (TemplateQueue.QueueEntry member : members) {
+            if (queue.getTemplateName().equals(playerQueues.get(member.playerUUID))) {
+                pending.add(member);
+            }
+        }
+
+        if (instance == null) {
+            if (leader.isOnline()) {
+                MessageUtil.sendMessage(leader, "command.queue.create-failed");
+            }
+            queue.returnToFront(pending);
+            for (TemplateQueue.QueueEntry member : pending) {
+                Player player = Bukkit.getPlayer(member.playerUUID);
+                if (player != null && player.isOnline()) {
+                    MessageUtil.sendMessage(player, "command.queue.requeued", "template", queue.getTemplateName());
+                }
+            }
+            return;
+        }
+
+        // 公开副本，后续排队玩家可以补位
+        instance.setPublic(true);
+
+        for (TemplateQueue.QueueEntry member : pending) {
+            playerQueues.remove(member.playerUUID);
+            Player player = Bukkit.getPlayer(member.playerUUID);
+            if (player == null || !player.isOnline() || dungeonManager.getPlayerData(member.playerUUID).isInDungeon()) {
+                continue;
+            }
+
+            instance.addAllowedPlayer(member.playerUUID);
+            if (dungeonManager.joinDungeon(player, instance.getId())) {
+                queue.recordMatched(member, System.currentTimeMillis());
+                MessageUtil.sendMessage(player, "command.queue.matched-join", "id", instance.getId());
+            } else {
+                MessageUtil.sendMessage(player, "command.queue.match-failed");
+            }
+        }
+    }
+
+    /**
+     * 将出队玩家从玩家索引中移除，并检查玩家是否仍可匹配
+     * @param entry 队列条目
+     * @return 在线且不在副本中的玩家，否则返回null
+     */
+    private Player takeReadyPlayer(TemplateQueue.QueueEntry entry) {
+        playerQueues.remove(entry.playerUUID);
+
+        Player player = Bukkit.getPlayer(entry.playerUUID);
+        if (player == null || !player.isOnline()) {
+            return null;
+        }
+        if (dungeonManager.getPlayerData(entry.playerUUID).isInDungeon()) {
+            return null;
+        }
+        return player;
+    }
+}
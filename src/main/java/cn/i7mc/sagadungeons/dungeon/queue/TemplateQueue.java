@@ -0,0 +1,191 @@
+package cn.i7mc.sagadungeons.dungeon.queue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 单个模板的匹配队列
+ * 按加入顺序排队，同时记录等待时间统计
+ * 匹配任务在主线程操作队列，占位符可能在异步线程读取统计，因此方法均加锁
+ */
+class TemplateQueue {
+
+    // 平均等待时间的平滑系数
+    private static final double WAIT_SMOOTHING = 0.2D;
+
+    private final String templateName;
+    private final Deque<QueueEntry> entries = new ArrayDeque<>();
+    private final Map<UUID, QueueEntry> index = new HashMap<>();
+
+    private long matchedCount;
+    private double averageWaitMillis;
+
+    /**
+     * 构造函数
+     * @param templateName 模板名称
+     */
+    TemplateQueue(String templateName) {
+        this.templateName = templateName;
+    }
+
+    /**
+     * 获取模板名称
+     * @return 模板名称
+     */
+    String getTemplateName() {
+        return templateName;
+    }
+
+    /**
+     * 加入队列
+     * @param playerUUID 玩家UUID
+     * @param now 当前时间戳
+     * @return 是否加入成功，已在队列中时返回false
+     */
+    synchronized boolean add(UUID playerUUID, long now) {
+        if (index.containsKey(playerUUID)) {
+            return false;
+        }
+        QueueEntry entry = new QueueEntry(playerUUID, now);
+        entries.addLast(entry);
+        index.put(playerUUID, entry);
+        return true;
+    }
+
+    /**
+     * 离开队列
+     * @param playerUUID 玩家UUID
+     * @return 是否在队列中
+     */
+    synchronized boolean remove(UUID playerUUID) {
+        QueueEntry entry = index.remove(playerUUID);
+        if (entry == null) {
+            return false;
+        }
+        entries.remove(entry);
+        return true;
+    }
+
+    /**
+     * 从队首取出若干玩家
+     * @param count 数量
+     * @return 取出的队列条目
+     */
+    synchronized List<QueueEntry> poll(int count) {
+        List<QueueEntry> batch = new ArrayList<>(Math.min(count, entries.size()));
+        while (batch.size() < count && !entries.isEmpty()) {
+            QueueEntry entry = entries.pollFirst();
+            index.remove(entry.playerUUID);
+            batch.add(entry);
+        }
+        return batch;
+    }
+
+    /**
+     * 将未能匹配的玩家按原顺序放回队首
+     * @param batch 队列条目
+     */
+    synchronized void returnToFront(List<QueueEntry> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            QueueEntry entry = batch.get(i);
+            if (!index.containsKey(entry.playerUUID)) {
+                entries.addFirst(entry);
+                index.put(entry.playerUUID, entry);
+            }
+        }
+    }
+
+    /**
+     * 记录玩家匹配成功，更新平均等待时间
+     * @param entry 队列条目
+     * @param now 当前时间戳
+     */
+    synchronized void recordMatched(QueueEntry entry, long now) {
+        long waited = now - entry.enqueueTime;
+        averageWaitMillis = matchedCount == 0 ? waited
+                : averageWaitMillis + WAIT_SMOOTHING * (waited - averageWaitMillis);
+        matchedCount++;
+    }
+
+    /**
+     * 获取队列长度
+     * @return 队列长度
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 获取玩家在队列中的位置
+     * @param playerUUID 玩家UUID
+     * @return 从1开始的位置，不在队列中时返回0
+     */
+    synchronized int getPosition(UUID playerUUID) {
+        if (!index.containsKey(playerUUID)) {
+            return 0;
+        }
+        int position = 1;
+        for (QueueEntry entry : entries) {
+            if (entry.playerUUID.equals(playerUUID)) {
+                return position;
+            }
+            position++;
+        }
+        return 0;
+    }
+
+    /**
+     * 获取玩家已等待的时间
+     * @param playerUUID 玩家UUID
+     * @param now 当前时间戳
+     * @return 等待时间(毫秒)，不在队列中时返回0
+     */
+    synchronized long getWaited(UUID playerUUID, long now) {
+        QueueEntry entry = index.get(playerUUID);
+        return entry == null ? 0L : now - entry.enqueueTime;
+    }
+
+    /**
+     * 获取队首玩家已等待的时间
+     * @param now 当前时间戳
+     * @return 最长等待时间(毫秒)，队列为空时返回0
+     */
+    synchronized long getLongestWait(long now) {
+        QueueEntry first = entries.peekFirst();
+        return first == null ? 0L : now - first.enqueueTime;
+    }
+
+    /**
+     * 获取已匹配玩家的平均等待时间
+     * @return 平均等待时间(毫秒)
+     */
+    synchronized long getAverageWait() {
+        return (long) averageWaitMillis;
+    }
+
+    /**
+     * 获取累计匹配成功的玩家数量
+     * @return 匹配数量
+     */
+    synchronized long getMatchedCount() {
+        return matchedCount;
+    }
+
+    /**
+     * 队列条目
+     */
+    static final class QueueEntry {
+        final UUID playerUUID;
+        final long enqueueTime;
+
+        QueueEntry(UUID playerUUID, long enqueueTime) {
+            this.playerUUID = playerUUID;
+            this.enqueueTime = enqueueTime;
+        }
+    }
+}
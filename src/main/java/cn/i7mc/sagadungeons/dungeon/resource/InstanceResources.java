@@ -0,0 +1,188 @@
+package cn.i7mc.sagadungeons.dungeon.resource;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 副本实例资源统计
+ * 实体、区块与玩家数量由资源监视器定时采样；
+ * 任务耗时由生命周期调度器在执行绑定副本世界的任务(超时、倒计时、表现效果、刷怪与资源采样)后累加，
+ * 采样时换算为最近一个采样周期内每tick的平均耗时
+ */
+public class InstanceResources {
+
+    private final LongAdder taskNanos = new LongAdder();
+    private final LongAdder spawnedMobs = new LongAdder();
+
+    private volatile int entities;
+    private volatile int chunks;
+    private volatile int players;
+    private volatile int aliveMobs;
+    private volatile int peakEntities;
+    private volatile int peakChunks;
+    private volatile double msPerTick;
+    private volatile long lastSampleTime;
+    private volatile int breaches;
+
+    // 只在采样线程读写
+    private long lastTaskNanos;
+    private long lastSampleTick = -1L;
+    private boolean entitiesOverQuota;
+    private boolean chunksOverQuota;
+
+    /**
+     * 累加任务耗时
+     * @param nanos 耗时(纳秒)
+     */
+    public void addTaskNanos(long nanos) {
+        taskNanos.add(nanos);
+    }
+
+    /**
+     * 累加刷怪点生成的怪物数量
+     * @param amount 数量
+     */
+    public void addSpawnedMobs(int amount) {
+        spawnedMobs.add(amount);
+    }
+
+    /**
+     * 记录一次采样
+     * @param entities 实体数量
+     * @param chunks 已加载区块数量
+     * @param players 玩家数量
+     * @param aliveMobs 刷怪点生成且存活的怪物数量
+     * @param currentTick 生命周期调度器当前tick
+     */
+    void update(int entities, int chunks, int players, int aliveMobs, long currentTick) {
+        this.entities = entities;
+        this.chunks = chunks;
+        this.players = players;
+        this.aliveMobs = aliveMobs;
+        this.peakEntities = Math.max(peakEntities, entities);
+        this.peakChunks = Math.max(peakChunks, chunks);
+
+        long nanos = taskNanos.sum();
+        if (lastSampleTick >= 0 && currentTick > lastSampleTick) {
+            msPerTick = (nanos - lastTaskNanos) / 1_000_000.0 / (currentTick - lastSampleTick);
+        }
+        lastTaskNanos = nanos;
+        lastSampleTick = currentTick;
+        lastSampleTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 更新实体配额状态
+     * @param over 是否超出
+     * @return 是否刚刚开始超出
+     */
+    boolean markEntitiesOverQuota(boolean over) {
+        boolean started = over && !entitiesOverQuota;
+        entitiesOverQuota = over;
+        if (started) {
+            breaches++;
+        }
+        return started;
+    }
+
+    /**
+     * 更新区块配额状态
+     * @param over 是否超出
+     * @return 是否刚刚开始超出
+     */
+    boolean markChunksOverQuota(boolean over) {
+        boolean started = over && !chunksOverQuota;
+        chunksOverQuota = over;
+        if (started) {
+            breaches++;
+        }
+        return started;
+    }
+
+    /**
+     * 获取实体数量
+     * @return 实体数量
+     */
+    public int getEntities() {
+        return entities;
+    }
+
+    /**
+     * 获取已加载区块数量
+     * @return 区块数量
+     */
+    public int getChunks() {
+        return chunks;
+    }
+
+    /**
+     * 获取玩家数量
+     * @return 玩家数量
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * 获取刷怪点生成且存活的怪物数量
+     * @return 怪物数量
+     */
+    public int getAliveMobs() {
+        return aliveMobs;
+    }
+
+    /**
+     * 获取刷怪点累计生成的怪物数量
+     * @return 怪物数量
+     */
+    public long getSpawnedMobs() {
+        return spawnedMobs.sum();
+    }
+
+    /**
+     * 获取实体数量峰值
+     * @return 峰值
+     */
+    public int getPeakEntities() {
+        return peakEntities;
+    }
+
+    /**
+     * 获取已加载区块数量峰值
+     * @return 峰值
+     */
+    public int getPeakChunks() {
+        return peakChunks;
+    }
+
+    /**
+     * 获取最近一个采样周期内每tick的平均任务耗时
+     * @return 耗时(毫秒)
+     */
+    public double getMsPerTick() {
+        return msPerTick;
+    }
+
+    /**
+     * 获取累计任务耗时
+     * @return 耗时(纳秒)
+     */
+    public long getTaskNanos() {
+        return taskNanos.sum();
+    }
+
+    /**
+     * 获取最近一次采样时间
+     * @return 时间戳，尚未采样时为0
+     */
+    public long getLastSampleTime() {
+        return lastSampleTime;
+    }
+
+    /**
+     * 获取超出配额的次数
+     * @return 次数，持续超出只计一次
+     */
+    public int getBreaches() {
+        return breaches;
+    }
+}
@@ -0,0 +1,50 @@
+package cn.i7mc.sagadungeons.dungeon.resource;
+
+/**
+ * 超出资源配额时执行的动作
+ */
+public enum QuotaAction {
+
+    /**
+     * 移除离玩家最远的多余怪物
+     */
+    DESPAWN("despawn"),
+
+    /**
+     * 卸载远离玩家的区块
+     */
+    UNLOAD("unload"),
+
+    /**
+     * 通知在线管理员与控制台
+     */
+    WARN("warn");
+
+    private final String key;
+
+    QuotaAction(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 获取动作名称，用于模板配置
+     * @return 名称
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 根据名称获取动作
+     * @param key 名称
+     * @return 动作，不存在时返回null
+     */
+    public static QuotaAction fromKey(String key) {
+        for (QuotaAction action : values()) {
+            if (action.key.equalsIgnoreCase(key)) {
+                return action;
+            }
+        }
+        return null;
+    }
+}
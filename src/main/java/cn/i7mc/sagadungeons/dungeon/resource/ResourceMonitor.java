@@ -0,0 +1,297 @@
+package cn.i7mc.sagadungeons.dungeon.resource;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleTask;
+import cn.i7mc.sagadungeons.model.DungeonTemplate;
+import cn.i7mc.sagadungeons.util.DebugUtil;
+import cn.i7mc.sagadungeons.util.MessageUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Mob;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 副本资源监视器
+ * 每个副本一个绑定副本世界的采样任务，读取实体、区块与玩家数量，
+ * 并按模板配额执行移除多余怪物、卸载远处区块或通知管理员等动作
+ */
+public class ResourceMonitor {
+
+    private final SagaDungeons plugin;
+    private final Map<String, LifecycleTask> sampleTasks = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public ResourceMonitor(SagaDungeons plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 开始监视副本
+     * @param instance 副本实例
+     */
+    public void startMonitoring(DungeonInstance instance) {
+        stopMonitoring(instance.getId());
+        if (!plugin.getConfigManager().isResourceMonitorEnabled() || instance.getWorld() == null) {
+            return;
+        }
+
+        long interval = plugin.getConfigManager().getResourceSampleInterval();
+        LifecycleTask task = plugin.getDungeonManager().getLifecycleScheduler().scheduleRepeating(
+                LifecyclePhase.RESOURCE, instance.getWorld(), interval, interval, () -> sample(instance));
+        sampleTasks.put(instance.getId(), task);
+    }
+
+    /**
+     * 停止监视副本
+     * @param dungeonId 副本ID
+     */
+    public void stopMonitoring(String dungeonId) {
+        LifecycleTask task = sampleTasks.remove(dungeonId);
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * 获取正在采样的副本ID
+     * @return 副本ID列表副本
+     */
+    public List<String> getMonitoredDungeonIds() {
+        return new ArrayList<>(sampleTasks.keySet());
+    }
+
+    /**
+     * 采样一次并检查配额
+     * @param instance 副本实例
+     * @return 是否继续采样
+     */
+    private boolean sample(DungeonInstance instance) {
+        World world = instance.getWorld();
+        if (world == null || plugin.getDungeonManager().getDungeon(instance.getId()) != instance) {
+            sampleTasks.remove(instance.getId());
+            return false;
+        }
+
+        InstanceResources resources = instance.getResources();
+        resources.update(world.getEntityCount(), world.getChunkCount(), world.getPlayerCount(),
+                plugin.getMobSpawnerManager().getAliveMobCount(instance.getId()),
+                plugin.getDungeonManager().getLifecycleScheduler().getCurrentTick());
+
+        DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(instance.getTemplateName());
+        if (template != null && template.getResourceQuota().isLimited()) {
+            enforce(instance, world, template.getResourceQuota());
+        }
+        return true;
+    }
+
+    /**
+     * 按配额执行动作
+     * 移除怪物与卸载区块在每次超出时执行，通知只在开始超出时发送一次
+     * @param instance 副本实例
+     * @param world 副本世界
+     * @param quota 资源配额
+     */
+    private void enforce(DungeonInstance instance, World world, ResourceQuota quota) {
+        InstanceResources resources = instance.getResources();
+
+        int maxEntities = quota.getMaxEntities();
+        boolean entitiesOver = maxEntities > 0 && resources.getEntities() > maxEntities;
+        if (resources.markEntitiesOverQuota(entitiesOver) && quota.getEntityActions().contains(QuotaAction.WARN)) {
+            warnAdmins("dungeon.resource.quota-entities", instance, resources.getEntities(), maxEntities);
+        }
+        if (entitiesOver && quota.getEntityActions().contains(QuotaAction.DESPAWN)) {
+            // 刷怪点生成的怪物数量由刷怪点控制，移除后会被重新生成，只移除其他怪物
+            int removed = despawnSurplusMobs(instance.getId(), world,
+                    resources.getEntities() - resources.getAliveMobs() - maxEntities);
+            DebugUtil.debug("dungeon.resource.despawn", "id", instance.getId(), "count", removed);
+        }
+
+        int maxChunks = quota.getMaxChunks();
+        boolean chunksOver = maxChunks > 0 && resources.getChunks() > maxChunks;
+        if (resources.markChunksOverQuota(chunksOver) && quota.getChunkActions().contains(QuotaAction.WARN)) {
+            warnAdmins("dungeon.resource.quota-chunks", instance, resources.getChunks(), maxChunks);
+        }
+        if (chunksOver && quota.getChunkActions().contains(QuotaAction.UNLOAD)) {
+            int unloaded = unloadDistantChunks(world, resources.getChunks() - maxChunks);
+            DebugUtil.debug("dungeon.resource.unload", "id", instance.getId(), "count", unloaded);
+        }
+    }
+
+    /**
+     * 移除离玩家最远的多余怪物
+     * 带自定义名称的怪物(通常是首领或剧情怪物)与刷怪点生成的怪物不会被移除
+     * @param dungeonId 副本ID
+     * @param world 副本世界
+     * @param surplus 需要移除的数量
+     * @return 实际移除的数量
+     */
+    private int despawnSurplusMobs(String dungeonId, World world, int surplus) {
+        if (surplus <= 0) {
+            return 0;
+        }
+
+        Set<UUID> spawnerMobs = plugin.getMobSpawnerManager().getAliveMobIds(dungeonId);
+        List<Player> players = world.getPlayers();
+        List<Mob> candidates = new ArrayList<>();
+        for (Mob mob : world.getEntitiesByClass(Mob.class)) {
+            if (mob.getCustomName() == null && !mob.isDead() && !spawnerMobs.contains(mob.getUniqueId())) {
+                candidates.add(mob);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble((Mob mob) -> nearestPlayerDistanceSquared(mob.getLocation(), players)).reversed());
+
+        int removed = 0;
+        for (Mob mob : candidates) {
+            if (removed >= surplus) {
+                break;
+            }
+            mob.remove();
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * 卸载远离所有玩家的区块
+     * @param world 副本世界
+     * @param surplus 需要卸载的数量
+     * @return 实际卸载的数量
+     */
+    private int unloadDistantChunks(World world, int surplus) {
+        int keepRadius = plugin.getConfigManager().getResourceChunkKeepRadius();
+        List<Player> players = world.getPlayers();
+
+        int unloaded = 0;
+        for (Chunk chunk : world.getLoadedChunks()) {
+            if (unloaded >= surplus) {
+                break;
+            }
+            if (chunk.isForceLoaded() || isNearPlayer(chunk, players, keepRadius)) {
+                continue;
+            }
+            if (chunk.unload(true)) {
+                unloaded++;
+            }
+        }
+        return unloaded;
+    }
+
+    /**
+     * 检查区块是否在任一玩家的保留半径内
+     * @param chunk 区块
+     * @param players 玩家列表
+     * @param radius 保留半径(区块)
+     * @return 是否在半径内
+     */
+    private static boolean isNearPlayer(Chunk chunk, List<Player> players, int radius) {
+        for (Player player : players) {
+            Location location = player.getLocation();
+            if (Math.abs((location.getBlockX() >> 4) - chunk.getX()) <= radius
+                    && Math.abs((location.getBlockZ() >> 4) - chunk.getZ()) <= radius) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 计算位置到最近玩家的距离平方
+     * @param location 位置
+     * @param players 玩家列表
+     * @return 距离平方，没有玩家时为Double.MAX_VALUE
+     */
+    private static double nearestPlayerDistanceSquared(Location location, List<Player> players) {
+        double nearest = Double.MAX_VALUE;
+        for (Player player : players) {
+            nearest = Math.min(nearest, player.getLocation().distanceSquared(location));
+        }
+        return nearest;
+    }
+
+    /**
+     * 通知在线管理员与控制台
+     * @param path 消息路径
+     * @param instance 副本实例
+     * @param value 当前数量
+     * @param max 配额上限
+     */
+    private void warnAdmins(String path, DungeonInstance instance, int value, int max) {
+        Map<String, String> placeholders = MessageUtil.createPlaceholders("id", instance.getId(),
+                "template", instance.getTemplateName(), "value", String.valueOf(value), "max", String.valueOf(max));
+
+        MessageUtil.sendMessage(Bukkit.getConsoleSender(), path, placeholders);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (player.hasPermission("sagadungeons.admin")) {
+                MessageUtil.sendMessage(player, path, placeholders);
+            }
+        }
+    }
+
+    /**
+     * 将所有副本的资源统计导出为CSV文件，供容量规划使用
+     * 文本在调用线程生成，写入在持久化I/O通道执行
+     * @param instances 副本实例
+     * @return 导出文件
+     */
+    public File export(Collection<DungeonInstance> instances) {
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File file = new File(new File(plugin.getDataFolder(), "exports"), "resources-" + timestamp + ".csv");
+        plugin.getIOManager().write(file, renderCsv(instances));
+        return file;
+    }
+
+    /**
+     * 生成CSV格式的资源统计
+     * @param instances 副本实例
+     * @return CSV文本
+     */
+    public String renderCsv(Collection<DungeonInstance> instances) {
+        StringBuilder builder = new StringBuilder(256 + instances.size() * 128);
+        builder.append("id,template,age_seconds,players,entities,peak_entities,max_entities,chunks,peak_chunks,max_chunks,")
+                .append("alive_mobs,spawned_mobs,ms_per_tick,task_ms_total,quota_breaches\n");
+
+        long now = System.currentTimeMillis();
+        for (DungeonInstance instance : instances) {
+            InstanceResources resources = instance.getResources();
+            DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(instance.getTemplateName());
+            ResourceQuota quota = template != null ? template.getResourceQuota() : ResourceQuota.UNLIMITED;
+
+            builder.append(instance.getId()).append(',')
+                    .append(instance.getTemplateName()).append(',')
+                    .append((now - instance.getCreationTime()) / 1000L).append(',')
+                    .append(resources.getPlayers()).append(',')
+                    .append(resources.getEntities()).append(',')
+                    .append(resources.getPeakEntities()).append(',')
+                    .append(quota.getMaxEntities()).append(',')
+                    .append(resources.getChunks()).append(',')
+                    .append(resources.getPeakChunks()).append(',')
+                    .append(quota.getMaxChunks()).append(',')
+                    .append(resources.getAliveMobs()).append(',')
+                    .append(resources.getSpawnedMobs()).append(',')
+                    .append(String.format(Locale.ROOT, "%.4f", resources.getMsPerTick())).append(',')
+                    .append(String.format(Locale.ROOT, "%.2f", resources.getTaskNanos() / 1_000_000.0)).append(',')
+                    .append(resources.getBreaches()).append('\n');
+        }
+        return builder.toString();
+    }
+}
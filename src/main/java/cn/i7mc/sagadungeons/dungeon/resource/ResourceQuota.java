@@ -0,0 +1,88 @@
+package cn.i7mc.sagadungeons.dungeon.resource;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 副本资源配额
+ * 由模板配置的quota节点加载，上限为0表示不限制
+ */
+public class ResourceQuota {
+
+    /**
+     * 不限制任何资源的配额
+     */
+    public static final ResourceQuota UNLIMITED = new ResourceQuota(0, EnumSet.noneOf(QuotaAction.class),
+            0, EnumSet.noneOf(QuotaAction.class));
+
+    private final int maxEntities;
+    private final Set<QuotaAction> entityActions;
+    private final int maxChunks;
+    private final Set<QuotaAction> chunkActions;
+
+    /**
+     * 构造函数
+     * @param maxEntities 实体数量上限，0表示不限制
+     * @param entityActions 实体超出上限时的动作
+     * @param maxChunks 已加载区块数量上限，0表示不限制
+     * @param chunkActions 区块超出上限时的动作
+     */
+    public ResourceQuota(int maxEntities, Set<QuotaAction> entityActions, int maxChunks, Set<QuotaAction> chunkActions) {
+        this.maxEntities = Math.max(0, maxEntities);
+        this.entityActions = Collections.unmodifiableSet(entityActions.isEmpty()
+                ? EnumSet.noneOf(QuotaAction.class) : EnumSet.copyOf(entityActions));
+        this.maxChunks = Math.max(0, maxChunks);
+        this.chunkActions = Collections.unmodifiableSet(chunkActions.isEmpty()
+                ? EnumSet.noneOf(QuotaAction.class) : EnumSet.copyOf(chunkActions));
+    }
+
+    /**
+     * 获取实体数量上限
+     * @return 上限，0表示不限制
+     */
+    public int getMaxEntities() {
+        return maxEntities;
+    }
+
+    /**
+     * 获取实体超出上限时的动作
+     * @return 动作集合
+     */
+    public Set<QuotaAction> getEntityActions() {
+        return entityActions;
+    }
+
+    /**
+     * 获取已加载区块数量上限
+     * @return 上限，0表示不限制
+     */
+    public int getMaxChunks() {
+        return maxChunks;
+    }
+
+    /**
+     * 获取区块超出上限时的动作
+     * @return 动作集合
+     */
+    public Set<QuotaAction> getChunkActions() {
+        return chunkActions;
+    }
+
+    /**
+     * 检查是否设置了任何上限
+     * @return 是否有上限
+     */
+    public boolean isLimited() {
+        return maxEntities > 0 || maxChunks > 0;
+    }
+
+    /**
+     * 格式化上限，不限制时显示为"-"
+     * @param limit 上限
+     * @return 格式化后的字符串
+     */
+    public static String formatLimit(int limit) {
+        return limit > 0 ? String.valueOf(limit) : "-";
+    }
+}
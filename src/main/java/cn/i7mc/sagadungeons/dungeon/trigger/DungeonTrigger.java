@@ -4,6 +4,8 @@ import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import java.util.List;
+
 /**
  * 副本触发器接口
  * 用于定义触发器的基本行为
@@ -22,6 +24,12 @@ public interface DungeonTrigger {
      */
     String getType();
     
+    /**
+     * 获取编译后的触发条件
+     * @return 触发条件
+     */
+    TriggerCondition getCondition();
+    
     /**
      * 检查触发条件
      * @param instance 副本实例
@@ -37,6 +45,18 @@ public interface DungeonTrigger {
      */
     void execute(DungeonInstance instance, Player player);
     
+    /**
+     * 对副本中的多名玩家执行触发器
+     * 副本级事件调用，默认逐个执行
+     * @param instance 副本实例
+     * @param players 满足条件的玩家
+     */
+    default void execute(DungeonInstance instance, List<Player> players) {
+        for (Player player : players) {
+            execute(instance, player);
+        }
+    }
+    
     /**
      * 获取触发器配置
      * @return 触发器配置
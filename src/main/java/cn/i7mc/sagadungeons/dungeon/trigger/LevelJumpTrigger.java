@@ -3,111 +3,156 @@ package cn.i7mc.sagadungeons.dungeon.trigger;
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
 import cn.i7mc.sagadungeons.dungeon.DungeonState;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
 import cn.i7mc.sagadungeons.util.MessageUtil;
 import org.bukkit.entity.Player;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * 关卡跳转触发器
  * 用于实现关卡之间的自动跳转
  */
 public class LevelJumpTrigger implements DungeonTrigger {
-    
+
     private final String id;
     private final String targetLevel;
-    private final String condition;
+    private final TriggerCondition condition;
     private final ConfigurationSection config;
     private final int delay;
     private final String message;
-    
+    private final String type;
+
     /**
      * 构造函数
      * @param id 触发器ID
      * @param targetLevel 目标关卡
-     * @param condition 触发条件
+     * @param condition 编译后的触发条件
      * @param config 配置部分
      */
-    public LevelJumpTrigger(String id, String targetLevel, String condition, ConfigurationSection config) {
+    public LevelJumpTrigger(String id, String targetLevel, TriggerCondition condition, ConfigurationSection config) {
         this.id = id;
         this.targetLevel = targetLevel;
         this.condition = condition;
         this.config = config;
-        
+
         // 从配置中读取参数
-        this.delay = config.getInt("delay", 0);
-        this.message = config.getString("message", "");
+        this.delay = config != null ? Math.max(0, config.getInt("delay", 0)) : 0;
+        this.message = config != null ? config.getString("message", "") : "";
+        this.type = config != null ? config.getString("type", "LEVEL_JUMP") : "LEVEL_JUMP";
     }
-    
+
     @Override
     public String getId() {
         return id;
     }
-    
+
     @Override
     public String getType() {
-        return config.getString("type", "LEVEL_JUMP");
+        return type;
     }
-    
+
+    @Override
+    public TriggerCondition getCondition() {
+        return condition;
+    }
+
     @Override
     public boolean checkCondition(DungeonInstance instance, Player player) {
-        // 根据条件类型检查
-        switch (condition.toUpperCase()) {
-            case "COMPLETION":
+        if (!player.isOnline()) {
+            return false;
+        }
+
+        // 副本状态事件需要副本仍处于对应状态，其余事件的条件已由触发器管理器检查
+        switch (condition.getEvent()) {
+            case COMPLETION:
                 return instance.getState() == DungeonState.COMPLETED;
-            case "DEATH":
+            case TIMEOUT:
+                return instance.getState() == DungeonState.TIMEOUT;
+            case DELETING:
                 return instance.getState() == DungeonState.DELETING;
             default:
-                return false;
+                return true;
         }
     }
-    
+
     @Override
     public void execute(DungeonInstance instance, Player player) {
+        execute(instance, Collections.singletonList(player));
+    }
+
+    @Override
+    public void execute(DungeonInstance instance, List<Player> players) {
         // 获取插件实例
         SagaDungeons plugin = SagaDungeons.getInstance();
-        
-        // 发送跳转消息
-        if (!message.isEmpty()) {
-            MessageUtil.sendMessage(player, message);
-        }
-        
-        // 如果有延迟，使用延迟任务
-        if (delay > 0) {
-            BukkitTask task = plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                createNewDungeon(player);
-            }, delay * 20L); // 转换为tick
-        } else {
-            // 立即创建新副本
-            createNewDungeon(player);
+
+        // 发送跳转消息，副本创建者排在第一位作为新副本的创建者
+        List<UUID> party = new ArrayList<>(players.size());
+        for (Player player : players) {
+            if (!message.isEmpty()) {
+                player.sendMessage(MessageUtil.colorize(message));
+            }
+            if (player.getUniqueId().equals(instance.getOwnerUUID())) {
+                party.add(0, player.getUniqueId());
+            } else {
+                party.add(player.getUniqueId());
+            }
         }
+
+        // 跳转动作统一交给生命周期调度器，没有延迟时在下一tick执行，避免在事件处理中途切换副本
+        String sourceDungeonId = instance.getId();
+        plugin.getDungeonManager().getLifecycleScheduler().schedule(LifecyclePhase.TRIGGER, Math.max(1L, delay * 20L),
+                () -> plugin.getDungeonManager().getLevelProvisioner().jumpParty(sourceDungeonId, targetLevel, party));
     }
-    
+
     /**
-     * 创建新的副本
-     * @param player 玩家
+     * 获取目标关卡
+     * @return 目标关卡模板名称
      */
-    private void createNewDungeon(Player player) {
-        SagaDungeons plugin = SagaDungeons.getInstance();
-        plugin.getDungeonManager().createDungeon(player, targetLevel);
+    public String getTargetLevel() {
+        return targetLevel;
     }
-    
+
     @Override
     public ConfigurationSection getConfig() {
         return config;
     }
-    
+
     /**
-     * 从配置部分创建触发器
+     * 从旧版配置部分创建触发器
+     * 格式为 id、targetLevel、condition 与 config(delay、message、type)
      * @param section 配置部分
-     * @return 触发器实例
+     * @return 触发器实例，条件或目标关卡无效时返回null
      */
     public static LevelJumpTrigger fromConfig(ConfigurationSection section) {
-        String id = section.getString("id");
+        String id = section.getString("id", section.getName());
+        String targetLevel = section.getString("targetLevel");
+        TriggerCondition condition = TriggerCondition.compile(section.getString("condition", "COMPLETION"), section);
+        if (targetLevel == null || targetLevel.isEmpty() || condition == null) {
+            return null;
+        }
+
+        return new LevelJumpTrigger(id, targetLevel, condition, section.getConfigurationSection("config"));
+    }
+
+    /**
+     * 从触发器列表中的一项创建触发器
+     * 参数直接写在该项中，条件名称可以写作 condition 或 event
+     * @param section 配置部分
+     * @return 触发器实例，条件或目标关卡无效时返回null
+     */
+    public static LevelJumpTrigger fromEntry(ConfigurationSection section) {
         String targetLevel = section.getString("targetLevel");
-        String condition = section.getString("condition", "COMPLETION");
-        ConfigurationSection config = section.getConfigurationSection("config");
-        
-        return new LevelJumpTrigger(id, targetLevel, condition, config);
+        String conditionName = section.getString("condition", section.getString("event", "COMPLETION"));
+        TriggerCondition condition = TriggerCondition.compile(conditionName, section);
+        if (targetLevel == null || targetLevel.isEmpty() || condition == null) {
+            return null;
+        }
+
+        return new LevelJumpTrigger(section.getName(), targetLevel, condition, section);
     }
-} 
\ No newline at end of file
+}
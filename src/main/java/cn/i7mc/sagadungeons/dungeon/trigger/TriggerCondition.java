@@ -0,0 +1,106 @@
+package cn.i7mc.sagadungeons.dungeon.trigger;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * 触发条件
+ * 加载时从配置编译一次，事件分发时只做数值比较
+ */
+public final class TriggerCondition {
+
+    private final TriggerEvent event;
+    private final boolean hasArea;
+    private final double areaX;
+    private final double areaY;
+    private final double areaZ;
+    private final double rangeSquared;
+    private final String mobName;
+    private final int killCount;
+
+    private TriggerCondition(TriggerEvent event, boolean hasArea, double areaX, double areaY, double areaZ,
+                             double range, String mobName, int killCount) {
+        this.event = event;
+        this.hasArea = hasArea;
+        this.areaX = areaX;
+        this.areaY = areaY;
+        this.areaZ = areaZ;
+        this.rangeSquared = range * range;
+        this.mobName = mobName;
+        this.killCount = killCount;
+    }
+
+    /**
+     * 编译触发条件
+     * 区域条件读取 area.x/y/z/range，击杀条件读取 mob(可选，省略时统计所有怪物)与 count
+     * @param conditionName 条件名称
+     * @param section 触发器配置，可为null
+     * @return 触发条件，条件名称无法识别或区域触发器缺少区域时返回null
+     */
+    public static TriggerCondition compile(String conditionName, ConfigurationSection section) {
+        TriggerEvent event = TriggerEvent.fromKey(conditionName);
+        if (event == null) {
+            return null;
+        }
+
+        ConfigurationSection area = section != null ? section.getConfigurationSection("area") : null;
+        if (event == TriggerEvent.AREA_ENTER && area == null) {
+            return null;
+        }
+
+        String mobName = section != null ? section.getString("mob") : null;
+        int killCount = section != null ? Math.max(1, section.getInt("count", 1)) : 1;
+
+        if (area == null) {
+            return new TriggerCondition(event, false, 0, 0, 0, 0, mobName, killCount);
+        }
+        return new TriggerCondition(event, true, area.getDouble("x"), area.getDouble("y"), area.getDouble("z"),
+                Math.max(0.0, area.getDouble("range", 5.0)), mobName, killCount);
+    }
+
+    /**
+     * 获取事件类型
+     * @return 事件类型
+     */
+    public TriggerEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * 检查位置是否满足区域限制
+     * 没有配置区域时任何位置都满足
+     * @param location 位置
+     * @return 是否满足
+     */
+    public boolean matchesLocation(Location location) {
+        if (!hasArea) {
+            return true;
+        }
+        if (location == null) {
+            return false;
+        }
+        double dx = location.getX() - areaX;
+        double dy = location.getY() - areaY;
+        double dz = location.getZ() - areaZ;
+        return dx * dx + dy * dy + dz * dz <= rangeSquared;
+    }
+
+    /**
+     * 检查被击杀的怪物是否计入
+     * @param mythicType MythicMobs怪物类型，可为null
+     * @param name 实体名称
+     * @param customName 自定义名称，可为null
+     * @return 是否计入
+     */
+    public boolean matchesMob(String mythicType, String name, String customName) {
+        return mobName == null || mobName.equals(mythicType) || mobName.equals(name) || mobName.equals(customName);
+    }
+
+    /**
+     * 获取需要的击杀数量
+     * @return 击杀数量
+     */
+    public int getKillCount() {
+        return killCount;
+    }
+}
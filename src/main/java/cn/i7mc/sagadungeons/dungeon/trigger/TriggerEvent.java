@@ -0,0 +1,68 @@
+package cn.i7mc.sagadungeons.dungeon.trigger;
+
+import java.util.Locale;
+
+/**
+ * 触发器事件类型
+ * 触发器按事件类型建立索引，事件发生时只检查该类型的触发器
+ */
+public enum TriggerEvent {
+
+    /**
+     * 副本通关，对副本内所有玩家触发
+     */
+    COMPLETION("COMPLETION", "COMPLETED"),
+
+    /**
+     * 副本超时，对副本内所有玩家触发
+     */
+    TIMEOUT("TIMEOUT"),
+
+    /**
+     * 副本即将删除，在玩家被传送出副本前对所有玩家触发
+     */
+    DELETING("DELETING", "DELETE", "CLOSE"),
+
+    /**
+     * 玩家在副本中死亡
+     */
+    PLAYER_DEATH("PLAYER_DEATH", "DEATH"),
+
+    /**
+     * 玩家进入指定区域，每个玩家在每个副本中只触发一次
+     */
+    AREA_ENTER("AREA_ENTER", "ENTER_AREA", "AREA"),
+
+    /**
+     * 副本内击杀数量达到要求，每个副本只触发一次
+     */
+    KILL_COUNT("KILL_COUNT", "KILL", "KILLS");
+
+    private final String[] aliases;
+
+    TriggerEvent(String... aliases) {
+        this.aliases = aliases;
+    }
+
+    /**
+     * 根据配置中的条件名称获取事件类型
+     * 只在加载触发器时调用一次
+     * @param key 条件名称，不区分大小写
+     * @return 事件类型，无法识别时返回null
+     */
+    public static TriggerEvent fromKey(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        String normalized = key.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        for (TriggerEvent event : values()) {
+            for (String alias : event.aliases) {
+                if (alias.equals(normalized)) {
+                    return event;
+                }
+            }
+        }
+        return null;
+    }
+}
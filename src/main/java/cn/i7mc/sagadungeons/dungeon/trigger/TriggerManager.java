@@ -2,23 +2,37 @@ package cn.i7mc.sagadungeons.dungeon.trigger;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.model.PlayerData;
+import cn.i7mc.sagadungeons.util.DebugUtil;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 触发器管理器
- * 负责管理所有触发器
+ * 负责管理所有触发器。
+ * 触发器在模板加载时编译条件并按事件类型建立索引，事件发生时只检查该类型的触发器；
+ * 区域与击杀触发器的进度按副本保存，副本删除时清理
  */
 public class TriggerManager {
-    
+
     private final SagaDungeons plugin;
     private final Map<String, List<DungeonTrigger>> dungeonTriggers = new HashMap<>();
-    
+    private final Map<String, Map<TriggerEvent, List<DungeonTrigger>>> eventIndex = new HashMap<>();
+    private final Map<String, TriggerState> instanceStates = new ConcurrentHashMap<>();
+
     /**
      * 构造函数
      * @param plugin 插件实例
@@ -26,54 +40,269 @@ public class TriggerManager {
     public TriggerManager(SagaDungeons plugin) {
         this.plugin = plugin;
     }
-    
+
     /**
      * 加载触发器配置
+     * 支持旧版的 levelJump、levelback 配置，以及其余以触发器ID为键的配置项
      * @param templateName 模板名称
      * @param section 配置部分
      */
     public void loadTriggers(String templateName, ConfigurationSection section) {
         List<DungeonTrigger> triggers = new ArrayList<>();
-        
+
         // 加载所有触发器
         if (section != null) {
-            // 加载关卡跳转触发器
-            ConfigurationSection levelJumpSection = section.getConfigurationSection("levelJump");
-            if (levelJumpSection != null) {
-                DungeonTrigger trigger = LevelJumpTrigger.fromConfig(levelJumpSection);
-                triggers.add(trigger);
-            }
-            
-            // 加载关卡返回触发器
-            ConfigurationSection levelBackSection = section.getConfigurationSection("levelback");
-            if (levelBackSection != null) {
-                DungeonTrigger trigger = LevelJumpTrigger.fromConfig(levelBackSection);
+            for (String key : section.getKeys(false)) {
+                ConfigurationSection triggerSection = section.getConfigurationSection(key);
+                if (triggerSection == null) {
+                    continue;
+                }
+
+                // 旧版关卡跳转与关卡返回触发器，参数写在config子配置中
+                boolean legacy = key.equals("levelJump") || key.equals("levelback");
+                DungeonTrigger trigger = legacy
+                        ? LevelJumpTrigger.fromConfig(triggerSection)
+                        : LevelJumpTrigger.fromEntry(triggerSection);
+                if (trigger == null) {
+                    plugin.getLogger().warning("无效的触发器配置: " + key + " 在模板 " + templateName + " 中");
+                    continue;
+                }
                 triggers.add(trigger);
             }
         }
-        
-        // 保存触发器列表
-        dungeonTriggers.put(templateName, triggers);
+
+        // 保存触发器列表并按事件类型建立索引
+        Map<TriggerEvent, List<DungeonTrigger>> index = new EnumMap<>(TriggerEvent.class);
+        for (DungeonTrigger trigger : triggers) {
+            index.computeIfAbsent(trigger.getCondition().getEvent(), event -> new ArrayList<>()).add(trigger);
+        }
+
+        if (triggers.isEmpty()) {
+            dungeonTriggers.remove(templateName);
+            eventIndex.remove(templateName);
+        } else {
+            dungeonTriggers.put(templateName, triggers);
+            eventIndex.put(templateName, index);
+            DebugUtil.debug("dungeon.trigger.load", "template", templateName, "count", triggers.size());
+        }
     }
-    
+
+    /**
+     * 清除所有模板的触发器
+     * 重新加载全部模板前调用
+     */
+    public void clear() {
+        dungeonTriggers.clear();
+        eventIndex.clear();
+    }
+
+    /**
+     * 获取模板中指定事件类型的触发器
+     * @param templateName 模板名称
+     * @param event 事件类型
+     * @return 触发器列表，没有时返回空列表
+     */
+    public List<DungeonTrigger> getTriggers(String templateName, TriggerEvent event) {
+        Map<TriggerEvent, List<DungeonTrigger>> index = eventIndex.get(templateName);
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        List<DungeonTrigger> triggers = index.get(event);
+        return triggers != null ? triggers : Collections.emptyList();
+    }
+
     /**
      * 检查并执行触发器
+     * 按副本当前状态对应的事件类型分发
      * @param instance 副本实例
      * @param player 触发玩家
      */
     public void checkAndExecuteTriggers(DungeonInstance instance, Player player) {
-        String templateName = instance.getTemplateName();
-        List<DungeonTrigger> triggers = dungeonTriggers.get(templateName);
-        
-        if (triggers != null) {
-            for (DungeonTrigger trigger : triggers) {
+        TriggerEvent event;
+        switch (instance.getState()) {
+            case COMPLETED:
+                event = TriggerEvent.COMPLETION;
+                break;
+            case TIMEOUT:
+                event = TriggerEvent.TIMEOUT;
+                break;
+            case DELETING:
+                event = TriggerEvent.DELETING;
+                break;
+            default:
+                return;
+        }
+
+        for (DungeonTrigger trigger : getTriggers(instance.getTemplateName(), event)) {
+            execute(trigger, instance, player);
+        }
+    }
+
+    /**
+     * 分发副本级事件
+     * 对副本世界中的所有玩家执行该事件类型的触发器
+     * @param instance 副本实例
+     * @param event 事件类型
+     */
+    public void fireInstanceEvent(DungeonInstance instance, TriggerEvent event) {
+        List<DungeonTrigger> triggers = getTriggers(instance.getTemplateName(), event);
+        if (!triggers.isEmpty()) {
+            executeForPlayers(triggers, instance);
+        }
+    }
+
+    /**
+     * 处理玩家在副本中死亡
+     * @param instance 副本实例
+     * @param player 死亡的玩家
+     */
+    public void onPlayerDeath(DungeonInstance instance, Player player) {
+        for (DungeonTrigger trigger : getTriggers(instance.getTemplateName(), TriggerEvent.PLAYER_DEATH)) {
+            execute(trigger, instance, player);
+        }
+    }
+
+    /**
+     * 处理玩家在副本中移动到新的方块
+     * 模板没有区域触发器时直接返回
+     * @param player 玩家
+     * @param to 目标位置
+     */
+    public void onPlayerMove(Player player, Location to) {
+        DungeonInstance instance = getInstance(player);
+        if (instance == null) {
+            return;
+        }
+
+        List<DungeonTrigger> triggers = getTriggers(instance.getTemplateName(), TriggerEvent.AREA_ENTER);
+        if (triggers.isEmpty()) {
+            return;
+        }
+
+        for (DungeonTrigger trigger : triggers) {
+            if (!trigger.getCondition().matchesLocation(to)) {
+                continue;
+            }
+
+            // 每个玩家在每个副本中只触发一次
+            TriggerState state = instanceStates.computeIfAbsent(instance.getId(), id -> new TriggerState());
+            if (state.fired.add(trigger.getId() + ":" + player.getUniqueId())) {
+                execute(trigger, instance, player);
+            }
+        }
+    }
+
+    /**
+     * 处理副本中的怪物被玩家击杀
+     * 模板没有击杀触发器时直接返回
+     * @param killer 击杀者
+     * @param entity 被击杀的实体
+     */
+    public void onMobKill(Player killer, Entity entity) {
+        DungeonInstance instance = getInstance(killer);
+        if (instance == null) {
+            return;
+        }
+
+        List<DungeonTrigger> triggers = getTriggers(instance.getTemplateName(), TriggerEvent.KILL_COUNT);
+        if (triggers.isEmpty()) {
+            return;
+        }
+
+        // 只查询一次怪物类型
+        String mythicType = null;
+        if (plugin.getHookManager().isMythicMobsAvailable()) {
+            mythicType = plugin.getHookManager().getMythicMobsHook().getMythicMobType(entity);
+        }
+        String name = entity.getName();
+        String customName = entity.getCustomName();
+
+        TriggerState state = instanceStates.computeIfAbsent(instance.getId(), id -> new TriggerState());
+        for (DungeonTrigger trigger : triggers) {
+            TriggerCondition condition = trigger.getCondition();
+            if (!condition.matchesMob(mythicType, name, customName) || state.fired.contains(trigger.getId())) {
+                continue;
+            }
+
+            // 每个副本只触发一次
+            int kills = state.kills.merge(trigger.getId(), 1, Integer::sum);
+            if (kills >= condition.getKillCount()) {
+                state.fired.add(trigger.getId());
+                executeForPlayers(Collections.singletonList(trigger), instance);
+            }
+        }
+    }
+
+    /**
+     * 对副本世界中的所有玩家执行触发器
+     * 满足条件的玩家作为一支队伍交给触发器
+     * @param triggers 触发器列表
+     * @param instance 副本实例
+     */
+    private void executeForPlayers(List<DungeonTrigger> triggers, DungeonInstance instance) {
+        World world = instance.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        // 每个触发器对满足条件的玩家一起执行
+        for (DungeonTrigger trigger : triggers) {
+            List<Player> players = new ArrayList<>();
+            for (Player player : world.getPlayers()) {
                 if (trigger.checkCondition(instance, player)) {
-                    trigger.execute(instance, player);
+                    players.add(player);
                 }
             }
+
+            if (!players.isEmpty()) {
+                DebugUtil.debug("dungeon.trigger.fire-party", "trigger", trigger.getId(), "count", players.size());
+                trigger.execute(instance, players);
+            }
         }
     }
-    
+
+    /**
+     * 检查条件并执行触发器
+     * @param trigger 触发器
+     * @param instance 副本实例
+     * @param player 玩家
+     */
+    private void execute(DungeonTrigger trigger, DungeonInstance instance, Player player) {
+        if (trigger.checkCondition(instance, player)) {
+            DebugUtil.debug("dungeon.trigger.fire", "trigger", trigger.getId(), "player", player.getName());
+            trigger.execute(instance, player);
+        }
+    }
+
+    /**
+     * 获取玩家所在的副本实例
+     * @param player 玩家
+     * @return 副本实例，不在副本中时返回null
+     */
+    private DungeonInstance getInstance(Player player) {
+        PlayerData playerData = plugin.getDungeonManager().getPlayerData(player.getUniqueId());
+        if (!playerData.isInDungeon()) {
+            return null;
+        }
+        return plugin.getDungeonManager().getDungeon(playerData.getCurrentDungeonId());
+    }
+
+    /**
+     * 清理副本的触发器进度
+     * @param dungeonId 副本ID
+     */
+    public void cleanup(String dungeonId) {
+        instanceStates.remove(dungeonId);
+    }
+
+    /**
+     * 获取有触发器进度的副本ID
+     * @return 副本ID列表副本
+     */
+    public List<String> getTrackedDungeonIds() {
+        return new ArrayList<>(instanceStates.keySet());
+    }
+
     /**
      * 获取触发器的配置
      * @param templateName 模板名称
@@ -84,7 +313,7 @@ public class TriggerManager {
         if (triggers == null || triggers.isEmpty()) {
             return null;
         }
-        
+
         // 创建一个新的配置部分来存储所有触发器的配置
         ConfigurationSection config = plugin.getConfig().createSection(templateName + "_triggers");
         for (DungeonTrigger trigger : triggers) {
@@ -92,4 +321,20 @@ public class TriggerManager {
         }
         return config;
     }
-} 
\ No newline at end of file
+
+    /**
+     * 副本的触发器进度
+     */
+    private static class TriggerState {
+
+        /**
+         * 已触发的一次性触发器，区域触发器按玩家区分
+         */
+        private final Set<String> fired = new HashSet<>();
+
+        /**
+         * 每个击杀触发器的计数
+         */
+        private final Map<String, Integer> kills = new HashMap<>();
+    }
+}
@@ -44,6 +44,9 @@ public class CompletionListener extends AbstractListener {
 
         // 处理击杀事件
         plugin.getDungeonManager().getCompletionManager().handleEvent(killer, "kill", event.getEntity());
+
+        // 分发击杀触发器
+        plugin.getDungeonManager().getTriggerManager().onMobKill(killer, event.getEntity());
     }
 
     /**
@@ -72,5 +75,8 @@ public class CompletionListener extends AbstractListener {
 
         // 处理移动事件
         plugin.getDungeonManager().getCompletionManager().handleEvent(player, "move", to);
+
+        // 分发区域触发器
+        plugin.getDungeonManager().getTriggerManager().onPlayerMove(player, to);
     }
 }
@@ -2,9 +2,13 @@ package cn.i7mc.sagadungeons.event;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+import cn.i7mc.sagadungeons.metrics.PerfTimer;
 import cn.i7mc.sagadungeons.model.DungeonTemplate;
 import cn.i7mc.sagadungeons.model.PlayerData;
-import org.bukkit.Bukkit;
+import cn.i7mc.sagadungeons.util.LocationUtil;
+import cn.i7mc.sagadungeons.util.MessageUtil;
+import cn.i7mc.sagadungeons.util.TimeUtil;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
@@ -38,11 +42,14 @@ public class PlayerListener extends AbstractListener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
 
+        // 记录玩家名称，供占位符等读取
+        plugin.getPlayerNameCache().remember(player);
+
         // 加载玩家数据
         PlayerData playerData = plugin.getDungeonManager().getPlayerData(player.getUniqueId());
 
         // 延迟1tick检查玩家状态，确保玩家完全加载
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getTaskScheduler().runForEntityLater(player, () -> {
             handlePlayerReconnection(player, playerData);
         }, 1L);
     }
@@ -57,6 +64,10 @@ public class PlayerListener extends AbstractListener {
 
         // 检查玩家是否在副本世界
         if (!plugin.getWorldManager().isDungeonWorld(currentWorldName)) {
+            // 副本休眠或已结束时世界已卸载，玩家会出现在其他世界
+            if (playerData.isInDungeon()) {
+                handleReturningPlayer(player, playerData);
+            }
             return; // 不在副本世界，无需处理
         }
 
@@ -97,6 +108,80 @@ public class PlayerListener extends AbstractListener {
         }
     }
 
+    /**
+     * 处理离线期间副本世界已卸载的玩家
+     * 副本休眠时唤醒副本并将玩家传送回副本，副本已结束时将玩家传送回进入副本前的位置
+     * @param player 玩家
+     * @param playerData 玩家数据
+     */
+    private void handleReturningPlayer(Player player, PlayerData playerData) {
+        DungeonInstance instance = plugin.getDungeonManager().getDungeon(playerData.getCurrentDungeonId());
+        if (instance == null) {
+            handleExpiredDungeon(player, playerData);
+            return;
+        }
+        if (!instance.isHibernated()) {
+            return;
+        }
+
+        plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.hibernate.waking",
+                MessageUtil.createPlaceholders("dungeon", instance.getDisplayName()));
+        plugin.getDungeonManager().getHibernationManager().wake(instance, success -> {
+            if (!player.isOnline()) {
+                return;
+            }
+
+            World world = instance.getWorld();
+            if (!success || world == null) {
+                plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.hibernate.failed",
+                        MessageUtil.createPlaceholders("dungeon", instance.getDisplayName()));
+                handleExpiredDungeon(player, playerData);
+                return;
+            }
+
+            // 授予合法副本进入权限并传送回副本
+            plugin.getDungeonSecurityManager().grantLegalAccess(player, instance);
+            DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(instance.getTemplateName());
+            player.teleport(template != null ? getSpawnLocation(template, world) : world.getSpawnLocation());
+            if (template != null) {
+                plugin.getDungeonManager().setPlayerGameMode(player, template);
+            }
+
+            plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.hibernate.restored",
+                    MessageUtil.createPlaceholders(
+                            "dungeon", instance.getDisplayName(),
+                            "time", TimeUtil.formatTime(instance.getRemainingTime())
+                    ));
+        });
+    }
+
+    /**
+     * 处理离线期间副本已结束的玩家
+     * @param player 玩家
+     * @param playerData 玩家数据
+     */
+    private void handleExpiredDungeon(Player player, PlayerData playerData) {
+        // 清理玩家副本状态
+        playerData.setCurrentDungeonId(null);
+
+        // 撤销合法副本进入权限
+        plugin.getDungeonSecurityManager().revokeLegalAccess(player);
+
+        // 恢复玩家游戏模式
+        plugin.getDungeonManager().restorePlayerGameMode(player);
+
+        // 清除床重生位置
+        player.setBedSpawnLocation(null, true);
+
+        // 传送玩家回上次位置
+        Location lastLocation = playerData.getLastLocation();
+        if (lastLocation != null && lastLocation.getWorld() != null) {
+            player.teleport(lastLocation);
+        }
+
+        plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.hibernate.expired");
+    }
+
     /**
      * 恢复玩家的副本状态
      * 当玩家重新连接到已存在的副本时调用
@@ -106,7 +191,7 @@ public class PlayerListener extends AbstractListener {
      */
     private void restorePlayerDungeonState(Player player, PlayerData playerData, DungeonInstance instance) {
         // 授予合法副本进入权限
-        plugin.getDungeonSecurityManager().grantLegalAccess(player);
+        plugin.getDungeonSecurityManager().grantLegalAccess(player, instance);
 
         // 获取副本模板并设置游戏模式
         DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(instance.getTemplateName());
@@ -116,7 +201,7 @@ public class PlayerListener extends AbstractListener {
 
         // 发送重新连接消息
         plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.reconnect.restored",
-                cn.i7mc.sagadungeons.util.MessageUtil.createPlaceholders(
+                MessageUtil.createPlaceholders(
                         "dungeon", instance.getDisplayName(),
                         "id", instance.getId()
                 ));
@@ -134,7 +219,7 @@ public class PlayerListener extends AbstractListener {
         playerData.setCurrentDungeonId(instance.getId());
 
         // 授予合法副本进入权限
-        plugin.getDungeonSecurityManager().grantLegalAccess(player);
+        plugin.getDungeonSecurityManager().grantLegalAccess(player, instance);
 
         // 获取副本模板并设置游戏模式
         DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(instance.getTemplateName());
@@ -144,7 +229,7 @@ public class PlayerListener extends AbstractListener {
 
         // 发送重新连接消息
         plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.reconnect.rejoined",
-                cn.i7mc.sagadungeons.util.MessageUtil.createPlaceholders(
+                MessageUtil.createPlaceholders(
                         "dungeon", instance.getDisplayName(),
                         "id", instance.getId()
                 ));
@@ -188,7 +273,7 @@ public class PlayerListener extends AbstractListener {
 
         // 发送消息
         plugin.getConfigManager().getMessageManager().sendMessage(player, "dungeon.reconnect.orphaned",
-                cn.i7mc.sagadungeons.util.MessageUtil.createPlaceholders("world", worldName));
+                MessageUtil.createPlaceholders("world", worldName));
     }
 
     /**
@@ -199,11 +284,20 @@ public class PlayerListener extends AbstractListener {
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
 
+        // 离开匹配队列
+        plugin.getDungeonManager().getMatchmakingManager().dequeue(player.getUniqueId());
+
         // 获取玩家数据
         PlayerData playerData = plugin.getDungeonManager().getPlayerData(player.getUniqueId());
 
         // 检查玩家是否在副本中
         if (playerData.isInDungeon()) {
+            // 副本会休眠时保留玩家的副本状态，重新上线时回到副本
+            DungeonInstance instance = plugin.getDungeonManager().getDungeon(playerData.getCurrentDungeonId());
+            if (instance != null && plugin.getDungeonManager().getHibernationManager().canHibernate(instance)) {
+                return;
+            }
+
             // 离开副本
             plugin.getDungeonManager().leaveDungeon(player);
         } else {
@@ -244,7 +338,10 @@ public class PlayerListener extends AbstractListener {
             }
 
             // 使用死亡管理器处理死亡
+            long start = plugin.getPerfRegistry().start();
             plugin.getDungeonManager().getDeathManager().handleDeath(player);
+            plugin.getPerfRegistry().record(PerfTimer.DEATH, start);
+            plugin.getPerfRegistry().increment(PerfCounter.PLAYER_DEATH);
         }
     }
 
@@ -290,7 +387,7 @@ public class PlayerListener extends AbstractListener {
         // 检查模板是否有指定重生点
         if (template.hasSpawnLocation()) {
             // 使用模板中的重生点（不包含世界名）
-            Location spawnLocation = cn.i7mc.sagadungeons.util.LocationUtil.stringToLocationWithoutWorld(template.getSpawnLocation(), world);
+            Location spawnLocation = LocationUtil.stringToLocationWithoutWorld(template.getSpawnLocation(), world);
 
             // 如果重生点可用，返回该位置
             if (spawnLocation != null) {
@@ -313,12 +410,12 @@ public class PlayerListener extends AbstractListener {
         World toWorld = player.getWorld();
 
         // 检查玩家是否从副本世界离开
-        if (plugin.getWorldManager().isDungeonWorld(fromWorld.getName())) {
+        if (plugin.getWorldManager().isDungeonWorld(fromWorld)) {
             // 获取玩家数据
             PlayerData playerData = plugin.getDungeonManager().getPlayerData(player.getUniqueId());
 
             // 检查玩家是否在副本中且目标世界不是副本世界
-            if (playerData.isInDungeon() && !plugin.getWorldManager().isDungeonWorld(toWorld.getName())) {
+            if (playerData.isInDungeon() && !plugin.getWorldManager().isDungeonWorld(toWorld)) {
                 // 玩家通过其他方式离开了副本世界，自动清理副本状态
                 String dungeonId = playerData.getCurrentDungeonId();
 
@@ -337,8 +434,9 @@ public class PlayerListener extends AbstractListener {
                 // 检查副本是否为空，如果为空则删除副本
                 if (dungeonId != null) {
                     cn.i7mc.sagadungeons.dungeon.DungeonInstance instance = plugin.getDungeonManager().getDungeon(dungeonId);
-                    if (instance != null && instance.getWorld() != null && instance.getWorld().getPlayers().isEmpty()) {
-                        // 如果副本为空，删除副本
+                    if (instance != null && instance.getWorld() != null && instance.getWorld().getPlayers().isEmpty()
+                            && !plugin.getDungeonManager().getHibernationManager().canHibernate(instance)) {
+                        // 如果副本为空且不会休眠，删除副本
                         plugin.getDungeonManager().deleteDungeon(dungeonId);
                     }
                 }
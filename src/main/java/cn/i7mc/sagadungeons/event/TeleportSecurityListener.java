@@ -2,6 +2,7 @@ package cn.i7mc.sagadungeons.event;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -11,6 +12,7 @@ import org.bukkit.event.player.PlayerTeleportEvent;
 /**
  * 传送安全监听器
  * 负责监听玩家传送事件，阻止非法传送进入副本
+ * 服务器上的每次传送都会经过这里，非副本世界只需一次世界UID集合查询即可返回
  */
 public class TeleportSecurityListener extends AbstractListener {
 
@@ -28,21 +30,22 @@ public class TeleportSecurityListener extends AbstractListener {
      */
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerTeleport(PlayerTeleportEvent event) {
-        Player player = event.getPlayer();
         Location to = event.getTo();
         
         // 检查目标位置是否有效
-        if (to == null || to.getWorld() == null) {
+        if (to == null) {
             return;
         }
 
-        String targetWorldName = to.getWorld().getName();
+        World targetWorld = to.getWorld();
         
         // 检查是否为副本世界
-        if (!plugin.getWorldManager().isDungeonWorld(targetWorldName)) {
+        if (!plugin.getWorldManager().isDungeonWorld(targetWorld)) {
             return; // 不是副本世界，不需要检查
         }
 
+        Player player = event.getPlayer();
+
         // 获取传送原因
         PlayerTeleportEvent.TeleportCause cause = event.getCause();
         
@@ -52,12 +55,12 @@ public class TeleportSecurityListener extends AbstractListener {
         }
 
         // 检查是否为合法传送
-        if (!plugin.getDungeonSecurityManager().isLegalDungeonTeleport(player, targetWorldName)) {
+        if (!plugin.getDungeonSecurityManager().isLegalDungeonTeleport(player, targetWorld)) {
             // 阻止非法传送
             event.setCancelled(true);
             
             // 处理非法传送尝试
-            plugin.getDungeonSecurityManager().handleIllegalTeleport(player, targetWorldName);
+            plugin.getDungeonSecurityManager().handleIllegalTeleport(player, targetWorld.getName());
             
             return;
         }
@@ -67,7 +70,7 @@ public class TeleportSecurityListener extends AbstractListener {
             cn.i7mc.sagadungeons.util.DebugUtil.debug("dungeon.security.teleport.allowed-debug",
                     cn.i7mc.sagadungeons.util.MessageUtil.createPlaceholders(
                             "player", player.getName(),
-                            "world", targetWorldName,
+                            "world", targetWorld.getName(),
                             "cause", cause.name(),
                             "hasAccess", String.valueOf(plugin.getDungeonSecurityManager().hasLegalAccess(player))
                     ));
@@ -82,17 +85,17 @@ public class TeleportSecurityListener extends AbstractListener {
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
         Player player = event.getPlayer();
-        String currentWorldName = player.getWorld().getName();
+        World currentWorld = player.getWorld();
 
         // 检查是否进入副本世界
-        if (!plugin.getWorldManager().isDungeonWorld(currentWorldName)) {
+        if (!plugin.getWorldManager().isDungeonWorld(currentWorld)) {
             return; // 不是副本世界，不需要检查
         }
 
         // 检查是否为合法进入
-        if (!plugin.getDungeonSecurityManager().isLegalDungeonTeleport(player, currentWorldName)) {
+        if (!plugin.getDungeonSecurityManager().isLegalDungeonTeleport(player, currentWorld)) {
             // 处理非法进入副本
-            plugin.getDungeonSecurityManager().handleIllegalDungeonEntry(player, currentWorldName);
+            plugin.getDungeonSecurityManager().handleIllegalDungeonEntry(player, currentWorld.getName());
         }
     }
 }
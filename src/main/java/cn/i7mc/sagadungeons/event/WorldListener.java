@@ -1,10 +1,12 @@
 package cn.i7mc.sagadungeons.event;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
 import org.bukkit.event.world.WorldInitEvent;
 import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
@@ -46,18 +48,22 @@ public class WorldListener extends AbstractListener {
     public void onWorldLoad(WorldLoadEvent event) {
         World world = event.getWorld();
 
+        // 记录副本世界UID
+        plugin.getWorldManager().trackWorld(world);
+
         // 检查是否为副本世界
-        if (plugin.getWorldManager().isDungeonWorld(world.getName())) {
+        if (plugin.getWorldManager().isDungeonWorld(world)) {
             // 设置世界属性
             world.setAutoSave(false);
 
             // 获取副本ID
             String dungeonId = plugin.getWorldManager().getDungeonIdFromWorldName(world.getName());
             if (dungeonId != null) {
-                // 获取副本实例
-                if (plugin.getDungeonManager().getDungeon(dungeonId) != null) {
+                // 获取副本实例，休眠的副本由休眠管理器在恢复状态时设置世界
+                DungeonInstance instance = plugin.getDungeonManager().getDungeon(dungeonId);
+                if (instance != null && !instance.isHibernated()) {
                     // 设置副本世界
-                    plugin.getDungeonManager().getDungeon(dungeonId).setWorld(world);
+                    instance.setWorld(world);
                 }
             }
         }
@@ -98,8 +104,18 @@ public class WorldListener extends AbstractListener {
         }
     }
 
+    /**
+     * 世界确认卸载后移除副本世界记录
+     * @param event 世界卸载事件
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnloaded(WorldUnloadEvent event) {
+        plugin.getWorldManager().untrackWorld(event.getWorld());
+    }
+
     /**
      * 处理区块卸载事件
+     * 启用休眠时副本世界需要在恢复后保持原来的状态，区块照常保存
      * @param event 区块卸载事件
      */
     @EventHandler
@@ -107,9 +123,27 @@ public class WorldListener extends AbstractListener {
         World world = event.getWorld();
 
         // 检查是否为副本世界
-        if (plugin.getWorldManager().isDungeonWorld(world.getName())) {
+        if (plugin.getWorldManager().isDungeonWorld(world) && !plugin.getConfigManager().isHibernateEnabled()) {
             // 设置不保存
             event.setSaveChunk(false);
         }
     }
+
+    /**
+     * 处理实体加载事件
+     * 未启用休眠时副本世界不保存区块，移除区块重新加载后再次出现的已击杀怪物
+     * @param event 实体加载事件
+     */
+    @EventHandler
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        World world = event.getWorld();
+
+        // 检查是否为副本世界
+        if (plugin.getWorldManager().isDungeonWorld(world)) {
+            String dungeonId = plugin.getWorldManager().getDungeonIdFromWorldName(world.getName());
+            if (dungeonId != null) {
+                plugin.getDungeonManager().getCompletionManager().removeKilledEntities(dungeonId, event.getEntities());
+            }
+        }
+    }
 }
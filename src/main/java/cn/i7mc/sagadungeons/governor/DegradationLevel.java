@@ -0,0 +1,71 @@
+package cn.i7mc.sagadungeons.governor;
+
+/**
+ * 降级等级
+ * 等级越高，暂停或限制的副本工作越多，高等级包含低等级的所有限制
+ */
+public enum DegradationLevel {
+
+    /**
+     * 正常运行
+     */
+    NORMAL("normal", 0.0, 0.0),
+
+    /**
+     * 暂停烟花等表现效果
+     */
+    COSMETIC("cosmetic", 45.0, 40.0),
+
+    /**
+     * 降低刷怪点检查频率，拉长通关倒计时提示间隔
+     */
+    THROTTLE("throttle", 50.0, 45.0),
+
+    /**
+     * 拒绝创建新副本
+     */
+    REJECT("reject", 70.0, 60.0);
+
+    private final String key;
+    private final double defaultEnterMspt;
+    private final double defaultExitMspt;
+
+    DegradationLevel(String key, double defaultEnterMspt, double defaultExitMspt) {
+        this.key = key;
+        this.defaultEnterMspt = defaultEnterMspt;
+        this.defaultExitMspt = defaultExitMspt;
+    }
+
+    /**
+     * 获取等级名称，用于配置、命令与变量
+     * @return 名称
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 获取默认的进入阈值
+     * @return 平均tick耗时(毫秒)
+     */
+    public double getDefaultEnterMspt() {
+        return defaultEnterMspt;
+    }
+
+    /**
+     * 获取默认的退出阈值
+     * @return 平均tick耗时(毫秒)
+     */
+    public double getDefaultExitMspt() {
+        return defaultExitMspt;
+    }
+
+    /**
+     * 检查是否达到指定等级
+     * @param other 指定等级
+     * @return 是否达到
+     */
+    public boolean isAtLeast(DegradationLevel other) {
+        return ordinal() >= other.ordinal();
+    }
+}
@@ -0,0 +1,340 @@
+package cn.i7mc.sagadungeons.governor;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.config.ConfigManager;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleScheduler;
+import cn.i7mc.sagadungeons.scheduler.TaskHandle;
+import org.bukkit.Bukkit;
+
+import java.util.Locale;
+
+/**
+ * tick预算调节器
+ * 定时读取服务端的平均tick耗时与TPS，以及生命周期调度器中插件自身每tick的耗时，
+ * 在服务器落后时逐级降级副本工作。每个等级有独立的进入与退出阈值，
+ * 升级可以一次跨越多级，降级每次采样只降一级，避免在阈值附近来回切换
+ */
+public class TickGovernor {
+
+    private static final DegradationLevel[] LEVELS = DegradationLevel.values();
+    // 未降级时通关倒计时每5秒提示一次
+    private static final int DEFAULT_COUNTDOWN_INTERVAL = 5;
+
+    private final SagaDungeons plugin;
+    private final long[] lastPhaseNanos = new long[LifecyclePhase.values().length];
+    private volatile DegradationLevel level = DegradationLevel.NORMAL;
+    private volatile double averageTickTime = -1.0;
+    private volatile double tps = -1.0;
+    private volatile double pluginMspt;
+    private volatile LifecyclePhase heaviestPhase;
+    private boolean serverTimesAvailable = true;
+    private long lastSampleTick = -1L;
+    private TaskHandle sampleTask;
+
+    // 配置缓存，热路径不读取YAML
+    private volatile boolean enabled;
+    private double pluginBudget;
+    private final double[] enterMspt = new double[LEVELS.length];
+    private final double[] exitMspt = new double[LEVELS.length];
+    private volatile int spawnerInterval;
+    private volatile int countdownInterval;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public TickGovernor(SagaDungeons plugin) {
+        this.plugin = plugin;
+        configure();
+    }
+
+    /**
+     * 读取配置并重新安排采样任务
+     */
+    public void configure() {
+        ConfigManager config = plugin.getConfigManager();
+        enabled = config.isGovernorEnabled();
+        pluginBudget = config.getGovernorPluginBudget();
+        for (DegradationLevel candidate : LEVELS) {
+            if (candidate != DegradationLevel.NORMAL) {
+                enterMspt[candidate.ordinal()] = config.getGovernorEnterMspt(candidate);
+                exitMspt[candidate.ordinal()] = config.getGovernorExitMspt(candidate);
+            }
+        }
+        spawnerInterval = config.getGovernorSpawnerInterval();
+        countdownInterval = config.getGovernorCountdownInterval();
+
+        if (sampleTask != null) {
+            sampleTask.cancel();
+            sampleTask = null;
+        }
+        lastSampleTick = -1L;
+        if (enabled) {
+            long interval = config.getGovernorCheckInterval();
+            sampleTask = plugin.getTaskScheduler().runGlobalTimer(this::sample, interval, interval);
+        } else {
+            changeLevel(DegradationLevel.NORMAL);
+        }
+    }
+
+    /**
+     * 停止采样任务
+     */
+    public void shutdown() {
+        if (sampleTask != null) {
+            sampleTask.cancel();
+            sampleTask = null;
+        }
+    }
+
+    /**
+     * 采样一次并调整降级等级
+     */
+    private void sample() {
+        averageTickTime = readAverageTickTime();
+        tps = readTps();
+        samplePluginCost();
+
+        DegradationLevel next = evaluate(averageTickTime, pluginMspt);
+        if (next != level) {
+            changeLevel(next);
+        }
+    }
+
+    /**
+     * 根据阈值计算下一个等级
+     * @param mspt 服务端平均tick耗时，不可用时为负数
+     * @param pluginCost 插件每tick耗时
+     * @return 下一个等级
+     */
+    private DegradationLevel evaluate(double mspt, double pluginCost) {
+        DegradationLevel current = level;
+        DegradationLevel next = current;
+
+        if (mspt >= 0) {
+            // 升级到进入阈值已被超过的最高等级
+            for (int i = LEVELS.length - 1; i > current.ordinal(); i--) {
+                if (mspt >= enterMspt[i]) {
+                    next = LEVELS[i];
+                    break;
+                }
+            }
+
+            // 低于当前等级的退出阈值时降一级
+            if (next == current && current != DegradationLevel.NORMAL && mspt < exitMspt[current.ordinal()]) {
+                next = LEVELS[current.ordinal() - 1];
+            }
+        } else if (current != DegradationLevel.NORMAL && pluginCost <= pluginBudget) {
+            // 没有服务端tick耗时时只由插件耗时决定
+            next = LEVELS[current.ordinal() - 1];
+        }
+
+        // 插件自身耗时超出预算时至少暂停表现效果
+        if (pluginCost > pluginBudget && !next.isAtLeast(DegradationLevel.COSMETIC)) {
+            next = DegradationLevel.COSMETIC;
+        }
+        return next;
+    }
+
+    /**
+     * 切换降级等级
+     * @param next 新等级
+     */
+    private void changeLevel(DegradationLevel next) {
+        DegradationLevel previous = level;
+        if (previous == next) {
+            return;
+        }
+        level = next;
+
+        String detail = String.format(Locale.ROOT, "%s -> %s (平均tick耗时: %sms, 插件耗时: %.2fms/tick)",
+                previous.getKey(), next.getKey(), formatValue(averageTickTime), pluginMspt);
+        if (next.ordinal() > previous.ordinal()) {
+            plugin.getLogger().warning("服务器负载过高，副本降级: " + detail);
+        } else {
+            plugin.getLogger().info("服务器负载下降，副本恢复: " + detail);
+        }
+    }
+
+    /**
+     * 读取服务端最近100个tick的平均耗时
+     * @return 平均耗时(毫秒)，不可用时返回-1
+     */
+    private double readAverageTickTime() {
+        if (!serverTimesAvailable) {
+            return -1.0;
+        }
+        try {
+            return Bukkit.getAverageTickTime();
+        } catch (UnsupportedOperationException | NoSuchMethodError e) {
+            // Folia等服务端没有全局tick耗时
+            serverTimesAvailable = false;
+            plugin.getLogger().warning("服务端不提供tick耗时，负载调节仅根据插件自身耗时降级");
+            return -1.0;
+        }
+    }
+
+    /**
+     * 读取服务端最近1分钟的TPS
+     * @return TPS，不可用时返回-1
+     */
+    private double readTps() {
+        if (!serverTimesAvailable) {
+            return -1.0;
+        }
+        try {
+            return Bukkit.getTPS()[0];
+        } catch (UnsupportedOperationException | NoSuchMethodError e) {
+            return -1.0;
+        }
+    }
+
+    /**
+     * 统计上次采样以来生命周期调度器各阶段每tick的平均耗时
+     */
+    private void samplePluginCost() {
+        LifecycleScheduler scheduler = plugin.getDungeonManager().getLifecycleScheduler();
+        long currentTick = scheduler.getCurrentTick();
+        long elapsedTicks = lastSampleTick < 0 ? 0L : currentTick - lastSampleTick;
+        lastSampleTick = currentTick;
+
+        long totalNanos = 0L;
+        long heaviestNanos = 0L;
+        LifecyclePhase heaviest = null;
+        for (LifecyclePhase phase : LifecyclePhase.values()) {
+            long nanos = scheduler.getPhaseNanos(phase);
+            long delta = Math.max(0L, nanos - lastPhaseNanos[phase.ordinal()]);
+            lastPhaseNanos[phase.ordinal()] = nanos;
+            totalNanos += delta;
+            if (delta > heaviestNanos) {
+                heaviestNanos = delta;
+                heaviest = phase;
+            }
+        }
+
+        if (elapsedTicks > 0) {
+            pluginMspt = totalNanos / 1_000_000.0 / elapsedTicks;
+            heaviestPhase = heaviest;
+        }
+    }
+
+    /**
+     * 检查是否暂停烟花等表现效果
+     * @return 是否暂停
+     */
+    public boolean isCosmeticPaused() {
+        return level.isAtLeast(DegradationLevel.COSMETIC);
+    }
+
+    /**
+     * 检查本次是否执行副本的刷怪点检查
+     * 限流时每个副本每spawner-interval次只检查一次，并按副本ID错开，避免所有副本在同一秒补怪
+     * @param dungeonId 副本ID
+     * @return 是否执行
+     */
+    public boolean shouldTickSpawners(String dungeonId) {
+        if (!level.isAtLeast(DegradationLevel.THROTTLE)) {
+            return true;
+        }
+        long second = plugin.getDungeonManager().getLifecycleScheduler().getCurrentTick() / 20L;
+        return Math.floorMod(second + dungeonId.hashCode(), spawnerInterval) == 0;
+    }
+
+    /**
+     * 检查通关倒计时在剩余指定秒数时是否提示
+     * 最后3秒总是提示，其余时间正常每5秒提示一次，限流时按countdown-interval提示
+     * @param remainingSeconds 剩余秒数
+     * @return 是否提示
+     */
+    public boolean shouldAnnounceCountdown(int remainingSeconds) {
+        if (remainingSeconds <= 3) {
+            return true;
+        }
+        int interval = level.isAtLeast(DegradationLevel.THROTTLE) ? countdownInterval : DEFAULT_COUNTDOWN_INTERVAL;
+        return remainingSeconds % interval == 0;
+    }
+
+    /**
+     * 检查是否拒绝创建新副本
+     * @return 是否拒绝
+     */
+    public boolean isRejectingCreation() {
+        return level.isAtLeast(DegradationLevel.REJECT);
+    }
+
+    /**
+     * 检查是否启用
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 获取当前降级等级
+     * @return 降级等级
+     */
+    public DegradationLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * 获取最近一次采样的服务端平均tick耗时
+     * @return 平均耗时(毫秒)，不可用时返回-1
+     */
+    public double getAverageTickTime() {
+        return averageTickTime;
+    }
+
+    /**
+     * 获取最近一次采样的服务端TPS
+     * @return TPS，不可用时返回-1
+     */
+    public double getTps() {
+        return tps;
+    }
+
+    /**
+     * 获取最近一个采样周期内插件生命周期任务每tick的平均耗时
+     * @return 耗时(毫秒)
+     */
+    public double getPluginMspt() {
+        return pluginMspt;
+    }
+
+    /**
+     * 获取最近一个采样周期内耗时最多的生命周期阶段
+     * @return 生命周期阶段，没有任务执行时返回null
+     */
+    public LifecyclePhase getHeaviestPhase() {
+        return heaviestPhase;
+    }
+
+    /**
+     * 获取进入指定等级的阈值
+     * @param target 降级等级
+     * @return 平均tick耗时(毫秒)
+     */
+    public double getEnterMspt(DegradationLevel target) {
+        return enterMspt[target.ordinal()];
+    }
+
+    /**
+     * 获取退出指定等级的阈值
+     * @param target 降级等级
+     * @return 平均tick耗时(毫秒)
+     */
+    public double getExitMspt(DegradationLevel target) {
+        return exitMspt[target.ordinal()];
+    }
+
+    /**
+     * 格式化耗时或TPS，不可用(负数)时显示为"-"
+     * @param value 数值
+     * @return 格式化后的字符串
+     */
+    public static String formatValue(double value) {
+        return value < 0 ? "-" : String.format(Locale.ROOT, "%.2f", value);
+    }
+}
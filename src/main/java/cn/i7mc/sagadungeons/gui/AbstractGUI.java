@@ -2,16 +2,22 @@ package cn.i7mc.sagadungeons.gui;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.config.GUILanguageManager;
+import cn.i7mc.sagadungeons.metrics.PerfTimer;
 import cn.i7mc.sagadungeons.util.MessageUtil;
 import org.bukkit.Bukkit;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * GUI抽象基类
@@ -26,6 +32,10 @@ public abstract class AbstractGUI implements InventoryHolder {
     protected String title;
     protected int size;
 
+    // 上一次渲染到各槽位的物品，用于差异刷新
+    private ItemStack[] lastRender;
+    private BukkitTask refreshTask;
+
     /**
      * 构造函数
      * @param plugin 插件实例
@@ -56,14 +66,116 @@ public abstract class AbstractGUI implements InventoryHolder {
      * 打开界面
      */
     public void open() {
+        long start = plugin.getPerfRegistry().start();
+
         // 创建物品栏
         inventory = Bukkit.createInventory(this, size, title);
-        
+        lastRender = new ItemStack[size];
+
         // 初始化界面
         init();
-        
+
         // 打开界面
         player.openInventory(inventory);
+        plugin.getPerfRegistry().record(PerfTimer.GUI_OPEN, start);
+
+        // 启动定时刷新
+        long interval = getRefreshInterval();
+        if (interval > 0 && refreshTask == null) {
+            refreshTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+                // 玩家已关闭界面时停止刷新
+                if (player.getOpenInventory().getTopInventory().getHolder() != this) {
+                    refreshTask.cancel();
+                    refreshTask = null;
+                    return;
+                }
+                refresh();
+            }, interval, interval);
+        }
+    }
+
+    /**
+     * 刷新界面
+     * 重新执行渲染，只有内容发生变化的槽位才会被更新
+     */
+    public void refresh() {
+        if (inventory == null) {
+            return;
+        }
+        init();
+    }
+
+    /**
+     * 获取定时刷新间隔(tick)
+     * 子类返回大于0的值即可在界面打开期间定时刷新
+     * @return 刷新间隔，0表示不刷新
+     */
+    protected long getRefreshInterval() {
+        return 0L;
+    }
+
+    /**
+     * 设置槽位物品
+     * 与上一次渲染结果相同时跳过，避免重复发送物品栏更新
+     * @param slot 槽位
+     * @param item 物品
+     */
+    protected void setSlot(int slot, ItemStack item) {
+        if (lastRender == null) {
+            inventory.setItem(slot, item);
+            return;
+        }
+        if (Objects.equals(lastRender[slot], item)) {
+            return;
+        }
+        lastRender[slot] = item;
+        inventory.setItem(slot, item);
+    }
+
+    /**
+     * 获取缓存的物品
+     * @param key 物品键
+     * @param factory 缓存不存在时的物品工厂
+     * @return 物品
+     */
+    protected ItemStack cachedItem(String key, Supplier<ItemStack> factory) {
+        return plugin.getGUIManager().getItemCache().get(guiLang.getLanguage(), key, factory);
+    }
+
+    /**
+     * 获取边框物品
+     * @return 边框物品
+     */
+    protected ItemStack borderItem() {
+        return cachedItem("common.border",
+                () -> new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
+    }
+
+    /**
+     * 获取关闭按钮
+     * @return 关闭按钮
+     */
+    protected ItemStack closeItem() {
+        return cachedItem("common.close",
+                () -> new ItemBuilder(Material.BARRIER).setName(getGUIText("common.close")).build());
+    }
+
+    /**
+     * 使用边框物品填充界面四周
+     */
+    protected void fillBorder() {
+        int rows = size / 9;
+        ItemStack border = borderItem();
+
+        for (int i = 0; i < 9; i++) {
+            setSlot(i, border);
+            setSlot((rows - 1) * 9 + i, border);
+        }
+
+        for (int i = 1; i < rows - 1; i++) {
+            setSlot(i * 9, border);
+            setSlot(i * 9 + 8, border);
+        }
     }
 
     /**
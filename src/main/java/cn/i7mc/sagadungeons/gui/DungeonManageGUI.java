@@ -43,40 +43,45 @@ public class DungeonManageGUI extends AbstractGUI {
      */
     @Override
     public void init() {
-        // 检查副本是否存在
-        if (dungeon == null) {
+        // 检查副本是否存在(定时刷新时副本可能已被删除)
+        if (dungeon == null || plugin.getDungeonManager().getDungeon(dungeonId) == null) {
             close();
             MessageUtil.sendMessage(player, "dungeon.not-found");
             return;
         }
         
         // 填充边框
-        for (int i = 0; i < 9; i++) {
-            inventory.setItem(i, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-            inventory.setItem(27 + i, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-        }
+        fillBorder();
+
+        // 添加副本信息，只有内容变化时才会更新槽位
+        setSlot(4, createDungeonInfoItem());
 
-        for (int i = 0; i < 3; i++) {
-            inventory.setItem(i * 9, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-            inventory.setItem(i * 9 + 8, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-        }
-        
-        // 添加副本信息
-        inventory.setItem(4, createDungeonInfoItem());
-        
         // 添加功能按钮
-        inventory.setItem(11, new ItemBuilder(Material.ENDER_PEARL).setName(getGUIText("dungeon-manage.teleport-to-dungeon")).build());
-        inventory.setItem(13, new ItemBuilder(Material.PLAYER_HEAD).setName(getGUIText("dungeon-manage.invite-player")).build());
+        setSlot(11, cachedItem("dungeon-manage.teleport-to-dungeon",
+                () -> new ItemBuilder(Material.ENDER_PEARL).setName(getGUIText("dungeon-manage.teleport-to-dungeon")).build()));
+        setSlot(13, cachedItem("dungeon-manage.invite-player",
+                () -> new ItemBuilder(Material.PLAYER_HEAD).setName(getGUIText("dungeon-manage.invite-player")).build()));
 
         // 添加公开/私有切换按钮
         if (dungeon.isPublic()) {
-            inventory.setItem(15, new ItemBuilder(Material.REDSTONE_TORCH).setName(getGUIText("dungeon-manage.set-private")).build());
+            setSlot(15, cachedItem("dungeon-manage.set-private",
+                    () -> new ItemBuilder(Material.REDSTONE_TORCH).setName(getGUIText("dungeon-manage.set-private")).build()));
         } else {
-            inventory.setItem(15, new ItemBuilder(Material.TORCH).setName(getGUIText("dungeon-manage.set-public")).build());
+            setSlot(15, cachedItem("dungeon-manage.set-public",
+                    () -> new ItemBuilder(Material.TORCH).setName(getGUIText("dungeon-manage.set-public")).build()));
         }
 
         // 添加关闭按钮
-        inventory.setItem(31, new ItemBuilder(Material.BARRIER).setName(getGUIText("common.close")).build());
+        setSlot(31, closeItem());
+    }
+
+    /**
+     * 每秒刷新一次，更新剩余时间与玩家数量
+     * @return 刷新间隔(tick)
+     */
+    @Override
+    protected long getRefreshInterval() {
+        return 20L;
     }
 
     /**
@@ -136,8 +141,7 @@ public class DungeonManageGUI extends AbstractGUI {
             }
             
             // 刷新界面
-            close();
-            plugin.getGUIManager().openDungeonManageGUI(player, dungeonId);
+            refresh();
         }
     }
 
@@ -0,0 +1,78 @@
+package cn.i7mc.sagadungeons.gui;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * GUI物品缓存
+ * 按 语言 + 物品键 缓存构建好的物品原型，使用时返回克隆，
+ * 避免每次打开界面都重新查询语言文本并构建物品
+ * 在 /sd reload 或模板变更时失效
+ */
+public class GUIItemCache {
+
+    /**
+     * 模板物品键前缀
+     */
+    public static final String TEMPLATE_KEY_PREFIX = "template:";
+
+    private final Map<String, Map<String, ItemStack>> prototypes = new ConcurrentHashMap<>();
+
+    /**
+     * 获取缓存物品
+     * 缓存中不存在时使用工厂构建并保存原型
+     * @param language 语言
+     * @param key 物品键
+     * @param factory 物品工厂
+     * @return 物品原型的克隆
+     */
+    public ItemStack get(String language, String key, Supplier<ItemStack> factory) {
+        Map<String, ItemStack> languageItems = prototypes.computeIfAbsent(language, k -> new ConcurrentHashMap<>());
+        ItemStack prototype = languageItems.get(key);
+        if (prototype == null) {
+            prototype = factory.get();
+            languageItems.put(key, prototype);
+        }
+        return prototype.clone();
+    }
+
+    /**
+     * 使某个物品键在所有语言下失效
+     * @param key 物品键
+     */
+    public void invalidate(String key) {
+        for (Map<String, ItemStack> languageItems : prototypes.values()) {
+            languageItems.remove(key);
+        }
+    }
+
+    /**
+     * 使某个模板的物品失效
+     * @param templateName 模板名称
+     */
+    public void invalidateTemplate(String templateName) {
+        invalidate(TEMPLATE_KEY_PREFIX + templateName);
+    }
+
+    /**
+     * 清空所有缓存
+     */
+    public void invalidateAll() {
+        prototypes.clear();
+    }
+
+    /**
+     * 获取缓存的原型数量
+     * @return 原型数量
+     */
+    public int size() {
+        int count = 0;
+        for (Map<String, ItemStack> languageItems : prototypes.values()) {
+            count += languageItems.size();
+        }
+        return count;
+    }
+}
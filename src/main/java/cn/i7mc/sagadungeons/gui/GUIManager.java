@@ -1,6 +1,7 @@
 package cn.i7mc.sagadungeons.gui;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardStat;
 import org.bukkit.entity.Player;
 
 /**
@@ -10,6 +11,7 @@ import org.bukkit.entity.Player;
 public class GUIManager {
 
     private final SagaDungeons plugin;
+    private final GUIItemCache itemCache = new GUIItemCache();
 
     /**
      * 构造函数
@@ -19,6 +21,14 @@ public class GUIManager {
         this.plugin = plugin;
     }
 
+    /**
+     * 获取GUI物品缓存
+     * @return GUI物品缓存
+     */
+    public GUIItemCache getItemCache() {
+        return itemCache;
+    }
+
     /**
      * 打开模板选择界面
      * @param player 玩家
@@ -99,6 +109,17 @@ public class GUIManager {
         gui.open();
     }
 
+    /**
+     * 打开排行榜界面
+     * @param player 玩家
+     * @param templateName 模板名称，全局排行榜为LeaderboardStat.GLOBAL
+     * @param stat 统计项
+     */
+    public void openLeaderboardGUI(Player player, String templateName, LeaderboardStat stat) {
+        LeaderboardGUI gui = new LeaderboardGUI(plugin, player, templateName, stat);
+        gui.open();
+    }
+
     // 物品奖励管理已移除
 
     // 命令奖励管理已移除
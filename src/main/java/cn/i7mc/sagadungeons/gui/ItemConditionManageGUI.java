@@ -200,7 +200,7 @@ public class ItemConditionManageGUI extends AbstractGUI {
                 return;
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection conditionsSection = config.getConfigurationSection("creationConditions");
             
             if (conditionsSection == null) {
@@ -442,7 +442,7 @@ public class ItemConditionManageGUI extends AbstractGUI {
         try {
             File templateDir = plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName);
             File configFile = new File(templateDir, "config.yml");
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
 
             // 清空现有物品条件
             config.set("creationConditions.items", null);
@@ -469,7 +469,7 @@ public class ItemConditionManageGUI extends AbstractGUI {
                 }
             }
 
-            config.save(configFile);
+            plugin.getConfigManager().getTemplateManager().saveTemplateConfig(config, configFile);
             MessageUtil.sendMessage(player, "command.admin.edit.save-success",
                     MessageUtil.createPlaceholders("template", templateName));
         } catch (Exception e) {
@@ -0,0 +1,125 @@
+package cn.i7mc.sagadungeons.gui;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardEntry;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardManager;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardStat;
+import cn.i7mc.sagadungeons.util.MessageUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 排行榜界面
+ * 条目直接取自有界排行榜，按名次排列
+ */
+public class LeaderboardGUI extends PagedListGUI<LeaderboardEntry> {
+
+    private static final int TEMPLATE_SLOT = 45;
+    private static final int STAT_SLOT = 53;
+
+    private final LeaderboardManager leaderboardManager;
+    private String templateName;
+    private LeaderboardStat stat;
+    private List<LeaderboardEntry> board = new ArrayList<>();
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     * @param player 玩家
+     * @param templateName 模板名称，全局排行榜为LeaderboardStat.GLOBAL
+     * @param stat 统计项
+     */
+    public LeaderboardGUI(SagaDungeons plugin, Player player, String templateName, LeaderboardStat stat) {
+        super(plugin, player, plugin.getConfigManager().getGUILanguageManager().getGUIText("leaderboard.title"));
+        this.leaderboardManager = plugin.getDungeonManager().getLeaderboardManager();
+        this.templateName = templateName;
+        this.stat = stat;
+    }
+
+    @Override
+    protected Collection<LeaderboardEntry> loadEntries() {
+        board = leaderboardManager.getBoard(stat, templateName).getEntries();
+        return board;
+    }
+
+    @Override
+    protected String getSearchText(LeaderboardEntry entry) {
+        return leaderboardManager.getName(entry);
+    }
+
+    @Override
+    protected ItemStack createEntryItem(LeaderboardEntry entry) {
+        String name = leaderboardManager.getName(entry);
+
+        // 使用已知名称创建头颅资料，避免读取离线玩家数据
+        ItemStack skull = new ItemStack(Material.PLAYER_HEAD);
+        SkullMeta meta = (SkullMeta) skull.getItemMeta();
+        meta.setOwnerProfile(Bukkit.createPlayerProfile(entry.getPlayerUUID(), name));
+        meta.setDisplayName(MessageUtil.colorize(getGUIText("leaderboard.entry-name",
+                MessageUtil.createPlaceholders("rank", String.valueOf(board.indexOf(entry) + 1), "name", name))));
+
+        List<String> lore = new ArrayList<>();
+        lore.add(getGUIText("leaderboard.entry-value",
+                MessageUtil.createPlaceholders("stat", stat.getKey(),
+                        "value", LeaderboardManager.formatValue(stat, entry))));
+
+        meta.setLore(MessageUtil.colorize(lore));
+        skull.setItemMeta(meta);
+        return skull;
+    }
+
+    @Override
+    protected void handleEntryClick(LeaderboardEntry entry, InventoryClickEvent event) {
+        // 排行榜条目仅用于展示
+    }
+
+    @Override
+    protected void renderControls() {
+        // 切换排行榜按钮
+        setSlot(TEMPLATE_SLOT, new ItemBuilder(Material.BOOK)
+                .setName(getGUIText("leaderboard.switch-template"))
+                .setLore(getGUIText("leaderboard.current", createPlaceholder("name", templateName)),
+                        getGUIText("leaderboard.switch-lore"))
+                .build());
+
+        // 切换统计项按钮
+        setSlot(STAT_SLOT, new ItemBuilder(Material.CLOCK)
+                .setName(getGUIText("leaderboard.switch-stat"))
+                .setLore(getGUIText("leaderboard.current", createPlaceholder("name", stat.getKey())),
+                        getGUIText("leaderboard.switch-lore"))
+                .build());
+    }
+
+    @Override
+    protected void handleControlClick(int slot, InventoryClickEvent event) {
+        if (slot == TEMPLATE_SLOT) {
+            // 按全局、模板名称的顺序切换
+            List<String> names = new ArrayList<>();
+            names.add(LeaderboardStat.GLOBAL);
+            List<String> templates = new ArrayList<>(plugin.getConfigManager().getTemplateManager().getTemplates().keySet());
+            templates.sort(String.CASE_INSENSITIVE_ORDER);
+            names.addAll(templates);
+
+            templateName = names.get((names.indexOf(templateName) + 1) % names.size());
+            boolean global = LeaderboardStat.GLOBAL.equals(templateName);
+            if (!stat.appliesTo(global)) {
+                stat = LeaderboardStat.getDefault(global);
+            }
+            setFilter(null);
+            reloadEntries();
+        } else if (slot == STAT_SLOT) {
+            List<LeaderboardStat> stats = LeaderboardStat.getStats(LeaderboardStat.GLOBAL.equals(templateName));
+            stat = stats.get((stats.indexOf(stat) + 1) % stats.size());
+            setFilter(null);
+            reloadEntries();
+        }
+    }
+}
@@ -11,6 +11,8 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,11 +21,10 @@ import java.util.Map;
  * 怪物刷怪点编辑界面
  * 用于编辑怪物刷怪点
  */
-public class MobSpawnerGUI extends AbstractGUI {
+public class MobSpawnerGUI extends PagedListGUI<String> {
 
     private final MythicMobsHook mythicMobsHook;
     private final List<String> mobTypes = new ArrayList<>();
-    private int page = 0;
 
     /**
      * 构造函数
@@ -31,7 +32,7 @@ public class MobSpawnerGUI extends AbstractGUI {
      * @param player 玩家
      */
     public MobSpawnerGUI(SagaDungeons plugin, Player player) {
-        super(plugin, player, plugin.getConfigManager().getGUILanguageManager().getGUIText("mob-spawner.title"), 54);
+        super(plugin, player, plugin.getConfigManager().getGUILanguageManager().getGUIText("mob-spawner.title"));
         this.mythicMobsHook = plugin.getHookManager().getMythicMobsHook();
 
         // 检查MythicMobs是否可用
@@ -58,117 +59,55 @@ public class MobSpawnerGUI extends AbstractGUI {
             return;
         }
 
-        // 填充边框
-        for (int i = 0; i < 9; i++) {
-            inventory.setItem(i, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-            inventory.setItem(45 + i, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-        }
-
-        for (int i = 0; i < 5; i++) {
-            inventory.setItem(i * 9, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-            inventory.setItem(i * 9 + 8, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-        }
-
-        // 添加怪物类型
-        int startIndex = page * 28;
-        int endIndex = Math.min(startIndex + 28, mobTypes.size());
-
-        int slot = 10;
-        for (int i = startIndex; i < endIndex; i++) {
-            String mobType = mobTypes.get(i);
-
-            // 创建物品
-            Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("mob", mobType);
-            ItemStack item = new ItemBuilder(Material.ZOMBIE_SPAWN_EGG)
-                    .setName(getGUIText("mob-spawner.mob-info", placeholders))
-                    .setLore(getGUIText("mob-spawner.click-to-select"))
-                    .build();
-
-            // 添加到界面
-            inventory.setItem(slot, item);
-
-            // 更新槽位
-            slot++;
-            if (slot % 9 == 8) {
-                slot += 2;
-            }
-        }
-
-        // 添加翻页按钮
-        if (page > 0) {
-            inventory.setItem(48, new ItemBuilder(Material.ARROW).setName(getGUIText("mob-spawner.previous-page")).build());
-        }
+        super.init();
+    }
 
-        if (endIndex < mobTypes.size()) {
-            inventory.setItem(50, new ItemBuilder(Material.ARROW).setName(getGUIText("mob-spawner.next-page")).build());
-        }
+    @Override
+    protected Collection<String> loadEntries() {
+        return mobTypes;
+    }
 
-        // 添加页面信息和关闭按钮
-        int totalPages = (mobTypes.size() + 27) / 28;
-        Map<String, String> pageInfo = new HashMap<>();
-        pageInfo.put("current", String.valueOf(page + 1));
-        pageInfo.put("total", String.valueOf(totalPages));
-        inventory.setItem(49, new ItemBuilder(Material.BOOK)
-                .setName(getGUIText("mob-spawner.page-info", pageInfo))
-                .setLore(getGUIText("common.close"))
-                .build());
+    @Override
+    protected Comparator<String> getComparator() {
+        return String.CASE_INSENSITIVE_ORDER;
     }
 
-    /**
-     * 处理点击事件
-     * @param event 点击事件
-     */
     @Override
-    public void handleClick(InventoryClickEvent event) {
-        event.setCancelled(true);
+    protected String getSearchText(String mobType) {
+        return mobType;
+    }
 
-        // 获取点击的物品
-        ItemStack item = event.getCurrentItem();
-        if (item == null || item.getType() == Material.AIR || item.getType() == Material.BLACK_STAINED_GLASS_PANE) {
-            return;
-        }
+    @Override
+    protected ItemStack createEntryItem(String mobType) {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("mob", mobType);
+        return new ItemBuilder(Material.ZOMBIE_SPAWN_EGG)
+                .setName(getGUIText("mob-spawner.mob-info", placeholders))
+                .setLore(getGUIText("mob-spawner.click-to-select"))
+                .build();
+    }
 
-        // 获取点击的槽位
-        int slot = event.getRawSlot();
+    @Override
+    protected void renderControls() {
+        // 添加关闭按钮
+        setSlot(49, closeItem());
+    }
 
+    @Override
+    protected void handleControlClick(int slot, InventoryClickEvent event) {
         // 处理关闭按钮
         if (slot == 49) {
             close();
-            return;
-        }
-
-        // 处理上一页按钮
-        if (slot == 48 && page > 0) {
-            page--;
-            init();
-            return;
-        }
-
-        // 处理下一页按钮
-        if (slot == 50 && (page + 1) * 28 < mobTypes.size()) {
-            page++;
-            init();
-            return;
         }
+    }
 
-        // 处理怪物类型
-        if (slot >= 10 && slot < 45 && slot % 9 != 0 && slot % 9 != 8) {
-            // 获取物品元数据
-            if (!item.hasItemMeta() || !item.getItemMeta().hasDisplayName()) {
-                return;
-            }
-
-            // 获取怪物类型
-            String displayName = item.getItemMeta().getDisplayName();
-            String mobType = MessageUtil.colorize(displayName).substring(2);
-
-            // 关闭界面
-            close();
+    @Override
+    protected void handleEntryClick(String mobType, InventoryClickEvent event) {
+        // 关闭界面
+        close();
 
-            // 创建刷怪点
-            createSpawner(mobType);
-        }
+        // 创建刷怪点
+        createSpawner(mobType);
     }
 
     /**
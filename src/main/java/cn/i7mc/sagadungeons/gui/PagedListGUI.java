@@ -0,0 +1,377 @@
+package cn.i7mc.sagadungeons.gui;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.util.MessageUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 分页列表界面基类
+ * 数据源经过排序与搜索过滤后只渲染当前页的物品，
+ * 并在下一刻预先构建下一页的物品，翻页时直接使用
+ * @param <T> 列表条目类型
+ */
+public abstract class PagedListGUI<T> extends AbstractGUI {
+
+    /**
+     * 内容槽位(边框内的4行7列)
+     */
+    protected static final int[] CONTENT_SLOTS = {
+            10, 11, 12, 13, 14, 15, 16,
+            19, 20, 21, 22, 23, 24, 25,
+            28, 29, 30, 31, 32, 33, 34,
+            37, 38, 39, 40, 41, 42, 43
+    };
+
+    /**
+     * 每页条目数量
+     */
+    protected static final int PAGE_SIZE = CONTENT_SLOTS.length;
+
+    protected static final int SEARCH_SLOT = 47;
+    protected static final int PREVIOUS_SLOT = 48;
+    protected static final int NEXT_SLOT = 50;
+    protected static final int CLEAR_SEARCH_SLOT = 51;
+
+    // 槽位 -> 页内序号，非内容槽位为-1
+    private static final int[] SLOT_INDEX = new int[54];
+
+    static {
+        Arrays.fill(SLOT_INDEX, -1);
+        for (int i = 0; i < CONTENT_SLOTS.length; i++) {
+            SLOT_INDEX[CONTENT_SLOTS[i]] = i;
+        }
+    }
+
+    // 排序并过滤后的条目
+    private List<T> entries = Collections.emptyList();
+    private boolean dirty = true;
+    private int page;
+    private String filter;
+
+    // 当前页显示的条目，用于点击时直接定位
+    private final Object[] visible = new Object[PAGE_SIZE];
+
+    // 预取的下一页物品
+    private int prefetchedPage = -1;
+    private ItemStack[] prefetchedItems;
+    private BukkitTask prefetchTask;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     * @param player 玩家
+     * @param title 标题
+     */
+    protected PagedListGUI(SagaDungeons plugin, Player player, String title) {
+        super(plugin, player, title, 54);
+    }
+
+    /**
+     * 加载数据源中的全部条目
+     * @return 条目集合
+     */
+    protected abstract Collection<T> loadEntries();
+
+    /**
+     * 获取条目的搜索文本
+     * @param entry 条目
+     * @return 搜索文本，可包含颜色代码
+     */
+    protected abstract String getSearchText(T entry);
+
+    /**
+     * 创建条目物品，只会为可见页或预取页调用
+     * @param entry 条目
+     * @return 物品
+     */
+    protected abstract ItemStack createEntryItem(T entry);
+
+    /**
+     * 处理条目点击
+     * @param entry 条目
+     * @param event 点击事件
+     */
+    protected abstract void handleEntryClick(T entry, InventoryClickEvent event);
+
+    /**
+     * 获取条目排序规则
+     * @return 排序规则，null表示保持数据源顺序
+     */
+    protected Comparator<T> getComparator() {
+        return null;
+    }
+
+    /**
+     * 渲染子类的功能按钮
+     */
+    protected void renderControls() {
+    }
+
+    /**
+     * 处理子类功能按钮的点击
+     * @param slot 槽位
+     * @param event 点击事件
+     */
+    protected void handleControlClick(int slot, InventoryClickEvent event) {
+    }
+
+    /**
+     * 初始化界面
+     */
+    @Override
+    public void init() {
+        if (dirty) {
+            rebuildEntries();
+        }
+
+        int pageCount = getPageCount();
+        if (page >= pageCount) {
+            page = pageCount - 1;
+        }
+
+        // 填充边框
+        fillBorder();
+
+        // 优先使用预取的物品
+        ItemStack[] items = prefetchedPage == page ? prefetchedItems : null;
+        prefetchedPage = -1;
+        prefetchedItems = null;
+
+        // 只渲染当前页
+        int start = page * PAGE_SIZE;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            int index = start + i;
+            if (index < entries.size()) {
+                T entry = entries.get(index);
+                visible[i] = entry;
+                setSlot(CONTENT_SLOTS[i], items != null && items[i] != null ? items[i] : createEntryItem(entry));
+            } else {
+                visible[i] = null;
+                setSlot(CONTENT_SLOTS[i], null);
+            }
+        }
+
+        // 翻页与搜索按钮
+        setSlot(PREVIOUS_SLOT, page > 0 ? cachedItem("common.previous-page",
+                () -> new ItemBuilder(Material.ARROW).setName(getGUIText("common.previous-page")).build()) : borderItem());
+        setSlot(NEXT_SLOT, page + 1 < pageCount ? cachedItem("common.next-page",
+                () -> new ItemBuilder(Material.ARROW).setName(getGUIText("common.next-page")).build()) : borderItem());
+        setSlot(SEARCH_SLOT, createSearchItem(pageCount));
+        setSlot(CLEAR_SEARCH_SLOT, filter != null ? cachedItem("common.clear-search",
+                () -> new ItemBuilder(Material.BARRIER).setName(getGUIText("common.clear-search")).build()) : borderItem());
+
+        renderControls();
+
+        // 预取下一页
+        schedulePrefetch();
+    }
+
+    /**
+     * 处理点击事件
+     * @param event 点击事件
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void handleClick(InventoryClickEvent event) {
+        event.setCancelled(true);
+
+        int slot = event.getRawSlot();
+        if (slot < 0 || slot >= size) {
+            return;
+        }
+
+        // 处理条目点击
+        int index = SLOT_INDEX[slot];
+        if (index >= 0) {
+            Object entry = visible[index];
+            if (entry != null) {
+                handleEntryClick((T) entry, event);
+            }
+            return;
+        }
+
+        switch (slot) {
+            case PREVIOUS_SLOT:
+                if (page > 0) {
+                    page--;
+                    init();
+                }
+                return;
+            case NEXT_SLOT:
+                if (page + 1 < getPageCount()) {
+                    page++;
+                    init();
+                }
+                return;
+            case SEARCH_SLOT:
+                requestSearch();
+                return;
+            case CLEAR_SEARCH_SLOT:
+                if (filter != null) {
+                    setFilter(null);
+                    init();
+                }
+                return;
+            default:
+                handleControlClick(slot, event);
+        }
+    }
+
+    /**
+     * 重新加载数据源并刷新界面
+     * 用于条目内容发生变化后
+     */
+    public void reloadEntries() {
+        dirty = true;
+        refresh();
+    }
+
+    /**
+     * 设置搜索关键字
+     * @param keyword 关键字，null表示清除搜索
+     */
+    public void setFilter(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            filter = null;
+        } else {
+            filter = ChatColor.stripColor(MessageUtil.colorize(keyword.trim())).toLowerCase(Locale.ROOT);
+        }
+        page = 0;
+        dirty = true;
+    }
+
+    /**
+     * 获取过滤后的条目数量
+     * @return 条目数量
+     */
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * 获取总页数
+     * @return 总页数，至少为1
+     */
+    public int getPageCount() {
+        return Math.max(1, (entries.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    /**
+     * 重新加载、过滤并排序条目
+     */
+    private void rebuildEntries() {
+        List<T> result = new ArrayList<>();
+        for (T entry : loadEntries()) {
+            if (matchesFilter(entry)) {
+                result.add(entry);
+            }
+        }
+
+        Comparator<T> comparator = getComparator();
+        if (comparator != null) {
+            result.sort(comparator);
+        }
+
+        entries = result;
+        dirty = false;
+
+        // 条目变化后预取结果失效
+        prefetchedPage = -1;
+        prefetchedItems = null;
+    }
+
+    /**
+     * 检查条目是否匹配搜索关键字
+     * @param entry 条目
+     * @return 是否匹配
+     */
+    private boolean matchesFilter(T entry) {
+        if (filter == null) {
+            return true;
+        }
+        String text = getSearchText(entry);
+        return text != null && ChatColor.stripColor(MessageUtil.colorize(text)).toLowerCase(Locale.ROOT).contains(filter);
+    }
+
+    /**
+     * 创建搜索按钮
+     * @param pageCount 总页数
+     * @return 物品
+     */
+    private ItemStack createSearchItem(int pageCount) {
+        Map<String, String> pageInfo = new HashMap<>();
+        pageInfo.put("current", String.valueOf(page + 1));
+        pageInfo.put("total", String.valueOf(pageCount));
+
+        List<String> lore = new ArrayList<>();
+        lore.add(getGUIText("common.page-info", pageInfo));
+        if (filter != null) {
+            lore.add(getGUIText("common.search-current", createPlaceholder("keyword", filter)));
+        }
+        lore.add("");
+        lore.add(getGUIText("common.search-lore"));
+
+        return new ItemBuilder(Material.COMPASS)
+                .setName(getGUIText("common.search"))
+                .setLore(lore)
+                .build();
+    }
+
+    /**
+     * 通过聊天输入请求搜索关键字
+     */
+    private void requestSearch() {
+        close();
+        plugin.getChatInputListener().requestTextInput(player, "general.search-input", input -> {
+            // 使用BukkitScheduler确保在主线程中执行
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                setFilter(input);
+                open();
+            });
+        });
+    }
+
+    /**
+     * 安排在下一刻预取下一页物品
+     */
+    private void schedulePrefetch() {
+        if (prefetchTask != null || page + 1 >= getPageCount()) {
+            return;
+        }
+
+        prefetchTask = Bukkit.getScheduler().runTask(plugin, () -> {
+            prefetchTask = null;
+
+            // 玩家已关闭界面或已经预取过
+            int target = page + 1;
+            if (player.getOpenInventory().getTopInventory().getHolder() != this
+                    || dirty || target >= getPageCount() || prefetchedPage == target) {
+                return;
+            }
+
+            ItemStack[] items = new ItemStack[PAGE_SIZE];
+            int start = target * PAGE_SIZE;
+            for (int i = 0; i < PAGE_SIZE && start + i < entries.size(); i++) {
+                items[i] = createEntryItem(entries.get(start + i));
+            }
+            prefetchedPage = target;
+            prefetchedItems = items;
+        });
+    }
+}
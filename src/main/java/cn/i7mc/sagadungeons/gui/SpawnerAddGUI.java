@@ -447,7 +447,7 @@ public class SpawnerAddGUI extends AbstractGUI {
             File templateDir = plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName);
             File configFile = new File(templateDir, "config.yml");
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
 
             if (spawnersSection == null) {
@@ -460,7 +460,7 @@ public class SpawnerAddGUI extends AbstractGUI {
             spawnerSection.set("cooldown", cooldown);
             spawnerSection.set("amount", amount);
 
-            config.save(configFile);
+            plugin.getConfigManager().getTemplateManager().saveTemplateConfig(config, configFile);
 
         } catch (Exception e) {
             plugin.getLogger().warning("保存刷怪点配置失败: " + e.getMessage());
@@ -304,7 +304,7 @@ public class SpawnerEditGUI extends AbstractGUI {
                 return spawner.getMobType();
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
 
             if (spawnersSection != null) {
@@ -314,7 +314,7 @@ public class SpawnerEditGUI extends AbstractGUI {
                 }
             }
         } catch (Exception e) {
-            DebugUtil.debug("dungeon.spawner.read-mobtype-fail", DebugUtil.createPlaceholders("message", e.getMessage()));
+            DebugUtil.debug("dungeon.spawner.read-mobtype-fail", "message", e.getMessage());
         }
         return spawner.getMobType();
     }
@@ -331,7 +331,7 @@ public class SpawnerEditGUI extends AbstractGUI {
                 return spawner.getLocation();
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
 
             if (spawnersSection != null) {
@@ -341,7 +341,7 @@ public class SpawnerEditGUI extends AbstractGUI {
                 }
             }
         } catch (Exception e) {
-            DebugUtil.debug("dungeon.spawner.read-location-fail", DebugUtil.createPlaceholders("message", e.getMessage()));
+            DebugUtil.debug("dungeon.spawner.read-location-fail", "message", e.getMessage());
         }
         return spawner.getLocation();
     }
@@ -358,7 +358,7 @@ public class SpawnerEditGUI extends AbstractGUI {
                 return spawner.getAmount();
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
 
             if (spawnersSection != null) {
@@ -368,7 +368,7 @@ public class SpawnerEditGUI extends AbstractGUI {
                 }
             }
         } catch (Exception e) {
-            DebugUtil.debug("dungeon.spawner.read-amount-fail", DebugUtil.createPlaceholders("message", e.getMessage()));
+            DebugUtil.debug("dungeon.spawner.read-amount-fail", "message", e.getMessage());
         }
         return spawner.getAmount();
     }
@@ -385,7 +385,7 @@ public class SpawnerEditGUI extends AbstractGUI {
                 return spawner.getCooldown();
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
 
             if (spawnersSection != null) {
@@ -395,7 +395,7 @@ public class SpawnerEditGUI extends AbstractGUI {
                 }
             }
         } catch (Exception e) {
-            DebugUtil.debug("dungeon.spawner.read-cooldown-fail", DebugUtil.createPlaceholders("message", e.getMessage()));
+            DebugUtil.debug("dungeon.spawner.read-cooldown-fail", "message", e.getMessage());
         }
         return spawner.getCooldown();
     }
@@ -557,7 +557,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             File templateDir = plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName);
             File configFile = new File(templateDir, "config.yml");
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
 
             if (spawnersSection == null) {
@@ -570,7 +570,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             }
 
             spawnerSection.set("mobType", mobType);
-            config.save(configFile);
+            plugin.getConfigManager().getTemplateManager().saveTemplateConfig(config, configFile);
 
             // 更新内存中的数据
             spawner = new MobSpawner(spawnerName, mobType, spawner.getLocation());
@@ -581,7 +581,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             MessageUtil.sendMessage(player, "command.admin.edit.spawner.mobtype-updated",
                     MessageUtil.createPlaceholders("mobtype", mobType));
         } catch (Exception e) {
-            DebugUtil.debug("dungeon.spawner.update-mobtype-fail", DebugUtil.createPlaceholders("message", e.getMessage()));
+            DebugUtil.debug("dungeon.spawner.update-mobtype-fail", "message", e.getMessage());
             MessageUtil.sendMessage(player, "command.admin.edit.spawner.update-failed");
         }
     }
@@ -594,7 +594,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             File templateDir = plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName);
             File configFile = new File(templateDir, "config.yml");
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
 
             if (spawnersSection == null) {
@@ -607,7 +607,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             }
 
             spawnerSection.set("amount", amount);
-            config.save(configFile);
+            plugin.getConfigManager().getTemplateManager().saveTemplateConfig(config, configFile);
 
             // 更新内存中的数据
             spawner.setAmount(amount);
@@ -615,7 +615,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             MessageUtil.sendMessage(player, "command.admin.edit.spawner.amount-updated",
                     MessageUtil.createPlaceholders("amount", String.valueOf(amount)));
         } catch (Exception e) {
-            DebugUtil.debug("dungeon.spawner.update-amount-fail", DebugUtil.createPlaceholders("message", e.getMessage()));
+            DebugUtil.debug("dungeon.spawner.update-amount-fail", "message", e.getMessage());
             MessageUtil.sendMessage(player, "command.admin.edit.spawner.update-failed");
         }
     }
@@ -628,7 +628,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             File templateDir = plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName);
             File configFile = new File(templateDir, "config.yml");
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
 
             if (spawnersSection == null) {
@@ -641,7 +641,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             }
 
             spawnerSection.set("cooldown", cooldown);
-            config.save(configFile);
+            plugin.getConfigManager().getTemplateManager().saveTemplateConfig(config, configFile);
 
             // 更新内存中的数据
             spawner.setCooldown(cooldown);
@@ -649,7 +649,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             MessageUtil.sendMessage(player, "command.admin.edit.spawner.cooldown-updated",
                     MessageUtil.createPlaceholders("cooldown", String.valueOf(cooldown)));
         } catch (Exception e) {
-            DebugUtil.debug("dungeon.spawner.update-cooldown-fail", DebugUtil.createPlaceholders("message", e.getMessage()));
+            DebugUtil.debug("dungeon.spawner.update-cooldown-fail", "message", e.getMessage());
             MessageUtil.sendMessage(player, "command.admin.edit.spawner.update-failed");
         }
     }
@@ -662,7 +662,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             File templateDir = plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName);
             File configFile = new File(templateDir, "config.yml");
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
 
             if (spawnersSection == null) {
@@ -675,7 +675,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             }
 
             spawnerSection.set("location", location);
-            config.save(configFile);
+            plugin.getConfigManager().getTemplateManager().saveTemplateConfig(config, configFile);
 
             // 更新内存中的数据
             spawner = new MobSpawner(spawnerName, spawner.getMobType(), location);
@@ -684,7 +684,7 @@ public class SpawnerEditGUI extends AbstractGUI {
             template.getMobSpawners().put(spawnerName, spawner);
 
         } catch (Exception e) {
-            DebugUtil.debug("dungeon.spawner.update-location-fail", DebugUtil.createPlaceholders("message", e.getMessage()));
+            DebugUtil.debug("dungeon.spawner.update-location-fail", "message", e.getMessage());
             MessageUtil.sendMessage(player, "command.admin.edit.spawner.update-failed");
         }
     }
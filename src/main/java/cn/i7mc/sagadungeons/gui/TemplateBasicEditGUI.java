@@ -572,7 +572,7 @@ public class TemplateBasicEditGUI extends AbstractGUI {
         }
 
         try {
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection completionSection = config.getConfigurationSection("completion");
 
             if (completionSection == null) {
@@ -629,7 +629,7 @@ public class TemplateBasicEditGUI extends AbstractGUI {
                 return true; // 默认值
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             return config.getBoolean("forceGameMode", true);
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to read force game mode setting: " + e.getMessage());
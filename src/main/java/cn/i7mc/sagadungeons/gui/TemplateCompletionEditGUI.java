@@ -193,7 +193,7 @@ public class TemplateCompletionEditGUI extends AbstractGUI {
                 return getGUIText("template-completion-edit.status-not-configured");
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection completionSection = config.getConfigurationSection("completion");
 
             if (completionSection == null) {
@@ -250,7 +250,7 @@ public class TemplateCompletionEditGUI extends AbstractGUI {
                 return 0;
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection completionSection = config.getConfigurationSection("completion");
 
             if (completionSection == null) {
@@ -280,7 +280,7 @@ public class TemplateCompletionEditGUI extends AbstractGUI {
                 return getGUIText("template-completion-edit.not-set");
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection completionSection = config.getConfigurationSection("completion");
 
             if (completionSection == null) {
@@ -316,7 +316,7 @@ public class TemplateCompletionEditGUI extends AbstractGUI {
                 return getGUIText("template-completion-edit.not-set");
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection completionSection = config.getConfigurationSection("completion");
 
             if (completionSection == null) {
@@ -349,7 +349,7 @@ public class TemplateCompletionEditGUI extends AbstractGUI {
                 return 3.0;
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection completionSection = config.getConfigurationSection("completion");
 
             if (completionSection == null) {
@@ -617,7 +617,7 @@ public class TemplateCompletionEditGUI extends AbstractGUI {
                 configFile.createNewFile();
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
 
             // 获取或创建completion节点
             ConfigurationSection completionSection = config.getConfigurationSection("completion");
@@ -642,7 +642,7 @@ public class TemplateCompletionEditGUI extends AbstractGUI {
             }
 
             // 保存配置文件
-            config.save(configFile);
+            plugin.getConfigManager().getTemplateManager().saveTemplateConfig(config, configFile);
 
         } catch (Exception e) {
             plugin.getLogger().warning("保存到达区域位置配置时发生错误: " + e.getMessage());
@@ -665,7 +665,7 @@ public class TemplateCompletionEditGUI extends AbstractGUI {
                 configFile.createNewFile();
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
 
             // 获取或创建completion节点
             ConfigurationSection completionSection = config.getConfigurationSection("completion");
@@ -683,7 +683,7 @@ public class TemplateCompletionEditGUI extends AbstractGUI {
             reachAreaSection.set("range", range);
 
             // 保存配置文件
-            config.save(configFile);
+            plugin.getConfigManager().getTemplateManager().saveTemplateConfig(config, configFile);
 
         } catch (Exception e) {
             plugin.getLogger().warning("保存到达区域范围配置时发生错误: " + e.getMessage());
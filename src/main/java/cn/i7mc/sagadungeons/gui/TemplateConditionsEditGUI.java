@@ -280,7 +280,7 @@ public class TemplateConditionsEditGUI extends AbstractGUI {
                 return 0;
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection conditionsSection = config.getConfigurationSection("creationConditions");
 
             if (conditionsSection != null && conditionsSection.contains("level")) {
@@ -307,7 +307,7 @@ public class TemplateConditionsEditGUI extends AbstractGUI {
                 return true;
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection conditionsSection = config.getConfigurationSection("creationConditions");
 
             if (conditionsSection != null && conditionsSection.contains("levelEnabled")) {
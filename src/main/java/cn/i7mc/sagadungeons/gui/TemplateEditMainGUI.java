@@ -9,6 +9,8 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,9 +19,7 @@ import java.util.Map;
  * 模板编辑主界面
  * 显示所有模板，允许选择进入编辑
  */
-public class TemplateEditMainGUI extends AbstractGUI {
-
-    private final Map<String, DungeonTemplate> templates;
+public class TemplateEditMainGUI extends PagedListGUI<DungeonTemplate> {
 
     /**
      * 构造函数
@@ -27,71 +27,37 @@ public class TemplateEditMainGUI extends AbstractGUI {
      * @param player 玩家
      */
     public TemplateEditMainGUI(SagaDungeons plugin, Player player) {
-        super(plugin, player, plugin.getConfigManager().getGUILanguageManager().getGUIText("template-edit-main.title"), 54);
-        this.templates = plugin.getConfigManager().getTemplateManager().getTemplates();
+        super(plugin, player, plugin.getConfigManager().getGUILanguageManager().getGUIText("template-edit-main.title"));
     }
 
+    /**
+     * 编辑界面使用灰色边框
+     * @return 边框物品
+     */
     @Override
-    public void init() {
-        // 清空界面
-        inventory.clear();
-
-        // 添加装饰边框
-        addBorder();
-
-        // 添加模板物品
-        addTemplateItems();
-
-        // 添加功能按钮
-        addFunctionButtons();
+    protected ItemStack borderItem() {
+        return cachedItem("template-edit-main.border",
+                () -> new ItemBuilder(Material.GRAY_STAINED_GLASS_PANE).setName("&7").build());
     }
 
-    /**
-     * 添加装饰边框
-     */
-    private void addBorder() {
-        ItemStack borderItem = new ItemBuilder(Material.GRAY_STAINED_GLASS_PANE)
-                .setName("&7")
-                .build();
+    @Override
+    protected Collection<DungeonTemplate> loadEntries() {
+        return plugin.getConfigManager().getTemplateManager().getTemplates().values();
+    }
 
-        // 上下边框
-        for (int i = 0; i < 9; i++) {
-            inventory.setItem(i, borderItem);
-            inventory.setItem(45 + i, borderItem);
-        }
+    @Override
+    protected Comparator<DungeonTemplate> getComparator() {
+        return Comparator.comparing(DungeonTemplate::getName, String.CASE_INSENSITIVE_ORDER);
+    }
 
-        // 左右边框
-        for (int i = 1; i < 5; i++) {
-            inventory.setItem(i * 9, borderItem);
-            inventory.setItem(i * 9 + 8, borderItem);
-        }
+    @Override
+    protected String getSearchText(DungeonTemplate template) {
+        return template.getName() + " " + template.getDisplayName();
     }
 
-    /**
-     * 添加模板物品
-     */
-    private void addTemplateItems() {
-        int slot = 10;
-        int row = 1;
-
-        for (DungeonTemplate template : templates.values()) {
-            // 检查是否需要换行
-            if (slot % 9 == 8) {
-                row++;
-                slot = row * 9 + 1;
-            }
-
-            // 检查是否超出界面范围
-            if (slot >= 44) {
-                break;
-            }
-
-            // 创建模板物品
-            ItemStack templateItem = createTemplateItem(template);
-            inventory.setItem(slot, templateItem);
-
-            slot++;
-        }
+    @Override
+    protected ItemStack createEntryItem(DungeonTemplate template) {
+        return createTemplateItem(template);
     }
 
     /**
@@ -131,45 +97,33 @@ public class TemplateEditMainGUI extends AbstractGUI {
     /**
      * 添加功能按钮
      */
-    private void addFunctionButtons() {
+    @Override
+    protected void renderControls() {
         // 创建新模板按钮
-        ItemStack createButton = new ItemBuilder(Material.EMERALD)
+        setSlot(49, cachedItem("template-edit-main.create-new", () -> new ItemBuilder(Material.EMERALD)
                 .setName(getGUIText("template-edit-main.create-new"))
                 .setLore(
                         getGUIText("template-edit-main.create-new-lore"),
                         "",
                         getGUIText("common.left-click")
                 )
-                .build();
-        inventory.setItem(49, createButton);
+                .build()));
 
         // 返回按钮
-        ItemStack backButton = new ItemBuilder(Material.BARRIER)
+        setSlot(53, cachedItem("template-edit-main.back", () -> new ItemBuilder(Material.BARRIER)
                 .setName(getGUIText("common.back"))
                 .setLore(getGUIText("template-edit-main.back-lore"))
-                .build();
-        inventory.setItem(53, backButton);
+                .build()));
 
         // 刷新按钮
-        ItemStack refreshButton = new ItemBuilder(Material.LIME_DYE)
+        setSlot(45, cachedItem("template-edit-main.refresh-list", () -> new ItemBuilder(Material.LIME_DYE)
                 .setName(getGUIText("template-edit-main.refresh-list"))
                 .setLore(getGUIText("common.refresh-lore"))
-                .build();
-        inventory.setItem(45, refreshButton);
+                .build()));
     }
 
     @Override
-    public void handleClick(InventoryClickEvent event) {
-        event.setCancelled(true);
-
-        ItemStack item = event.getCurrentItem();
-        if (item == null || item.getType() == Material.AIR) {
-            return;
-        }
-
-        int slot = event.getSlot();
-
-        // 处理功能按钮
+    protected void handleControlClick(int slot, InventoryClickEvent event) {
         if (slot == 49) {
             // 创建新模板
             handleCreateTemplate();
@@ -184,38 +138,18 @@ public class TemplateEditMainGUI extends AbstractGUI {
 
         if (slot == 45) {
             // 刷新
-            init();
-            return;
-        }
-
-        // 处理模板选择
-        if (slot >= 10 && slot < 45 && slot % 9 != 0 && slot % 9 != 8) {
-            handleTemplateClick(event, item);
+            reloadEntries();
         }
     }
 
     /**
      * 处理模板点击
+     * @param template 模板
      * @param event 点击事件
-     * @param item 物品
      */
-    private void handleTemplateClick(InventoryClickEvent event, ItemStack item) {
-        if (!item.hasItemMeta() || !item.getItemMeta().hasDisplayName()) {
-            return;
-        }
-
-        // 获取模板名称
-        String templateName = null;
-        for (DungeonTemplate template : templates.values()) {
-            if (MessageUtil.colorize(template.getDisplayName()).equals(item.getItemMeta().getDisplayName())) {
-                templateName = template.getName();
-                break;
-            }
-        }
-
-        if (templateName == null) {
-            return;
-        }
+    @Override
+    protected void handleEntryClick(DungeonTemplate template, InventoryClickEvent event) {
+        String templateName = template.getName();
 
         // 根据点击类型处理
         if (event.isLeftClick()) {
@@ -9,6 +9,8 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,9 +19,7 @@ import java.util.Map;
  * 模板选择界面
  * 用于选择副本模板
  */
-public class TemplateSelectGUI extends AbstractGUI {
-
-    private final Map<String, DungeonTemplate> templates;
+public class TemplateSelectGUI extends PagedListGUI<DungeonTemplate> {
 
     /**
      * 构造函数
@@ -27,107 +27,65 @@ public class TemplateSelectGUI extends AbstractGUI {
      * @param player 玩家
      */
     public TemplateSelectGUI(SagaDungeons plugin, Player player) {
-        super(plugin, player, plugin.getConfigManager().getGUILanguageManager().getGUIText("template-select.title"), 54);
-        this.templates = plugin.getConfigManager().getTemplateManager().getTemplates();
+        super(plugin, player, plugin.getConfigManager().getGUILanguageManager().getGUIText("template-select.title"));
     }
 
-    /**
-     * 初始化界面
-     */
     @Override
-    public void init() {
-        // 填充边框
-        for (int i = 0; i < 9; i++) {
-            inventory.setItem(i, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-            inventory.setItem(45 + i, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-        }
-
-        for (int i = 0; i < 5; i++) {
-            inventory.setItem(i * 9, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-            inventory.setItem(i * 9 + 8, new ItemBuilder(Material.BLACK_STAINED_GLASS_PANE).setName(getGUIText("common.border")).build());
-        }
-
-        // 添加模板物品
-        int slot = 10;
-        for (DungeonTemplate template : templates.values()) {
-            // 创建物品
-            ItemStack item = createTemplateItem(template);
-
-            // 添加到界面
-            inventory.setItem(slot, item);
-
-            // 更新槽位
-            slot++;
-            if (slot % 9 == 8) {
-                slot += 2;
-            }
-
-            // 检查是否超出界面
-            if (slot >= 45) {
-                break;
-            }
-        }
+    protected Collection<DungeonTemplate> loadEntries() {
+        return plugin.getConfigManager().getTemplateManager().getTemplates().values();
+    }
 
-        // 添加关闭按钮
-        inventory.setItem(49, new ItemBuilder(Material.BARRIER).setName(getGUIText("common.close")).build());
+    @Override
+    protected Comparator<DungeonTemplate> getComparator() {
+        return Comparator.comparing(DungeonTemplate::getName, String.CASE_INSENSITIVE_ORDER);
     }
 
-    /**
-     * 处理点击事件
-     * @param event 点击事件
-     */
     @Override
-    public void handleClick(InventoryClickEvent event) {
-        event.setCancelled(true);
+    protected String getSearchText(DungeonTemplate template) {
+        return template.getName() + " " + template.getDisplayName();
+    }
 
-        // 获取点击的物品
-        ItemStack item = event.getCurrentItem();
-        if (item == null || item.getType() == Material.AIR || item.getType() == Material.BLACK_STAINED_GLASS_PANE) {
-            return;
-        }
+    @Override
+    protected ItemStack createEntryItem(DungeonTemplate template) {
+        // 从缓存获取物品
+        return cachedItem(GUIItemCache.TEMPLATE_KEY_PREFIX + template.getName(), () -> createTemplateItem(template));
+    }
 
-        // 获取点击的槽位
-        int slot = event.getRawSlot();
+    @Override
+    protected void renderControls() {
+        // 添加关闭按钮
+        setSlot(49, closeItem());
+    }
 
+    @Override
+    protected void handleControlClick(int slot, InventoryClickEvent event) {
         // 处理关闭按钮
         if (slot == 49) {
             close();
-            return;
         }
+    }
 
-        // 处理模板选择
-        if (slot >= 10 && slot < 45 && slot % 9 != 0 && slot % 9 != 8) {
-            // 获取物品元数据
-            if (!item.hasItemMeta() || !item.getItemMeta().hasDisplayName()) {
-                return;
-            }
-
-            // 获取模板名称
-            String templateName = null;
-            for (DungeonTemplate template : templates.values()) {
-                if (MessageUtil.colorize(template.getDisplayName()).equals(item.getItemMeta().getDisplayName())) {
-                    templateName = template.getName();
-                    break;
-                }
-            }
-
-            if (templateName == null) {
-                return;
-            }
-
-            // 关闭界面
-            close();
+    /**
+     * 处理模板选择
+     * @param template 模板
+     * @param event 点击事件
+     */
+    @Override
+    protected void handleEntryClick(DungeonTemplate template, InventoryClickEvent event) {
+        String templateName = template.getName();
+
+        // 关闭界面
+        close();
 
-            // 创建副本
-            boolean success = plugin.getDungeonManager().createDungeon(player, templateName);
+        // 创建副本
+        boolean success = plugin.getDungeonManager().createDungeon(player, templateName);
 
-            // 发送消息
-            if (success) {
-                MessageUtil.sendMessage(player, "command.create.success",
-                        MessageUtil.createPlaceholders("template", templateName));
-            } else {
-                MessageUtil.sendMessage(player, "command.create.fail");
-            }
+        // 发送消息
+        if (success) {
+            MessageUtil.sendMessage(player, "command.create.success",
+                    MessageUtil.createPlaceholders("template", templateName));
+        } else {
+            MessageUtil.sendMessage(player, "command.create.fail");
         }
     }
 
@@ -13,6 +13,8 @@ import org.bukkit.inventory.ItemStack;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,12 +23,10 @@ import java.util.Map;
  * 模板刷怪点管理界面
  * 用于管理模板的刷怪点
  */
-public class TemplateSpawnersEditGUI extends AbstractGUI {
+public class TemplateSpawnersEditGUI extends PagedListGUI<MobSpawner> {
 
     private final String templateName;
     private final DungeonTemplate template;
-    private int currentPage = 0;
-    private final int itemsPerPage = 28; // 7x4 区域
 
     /**
      * 构造函数
@@ -35,7 +35,7 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
      * @param templateName 模板名称
      */
     public TemplateSpawnersEditGUI(SagaDungeons plugin, Player player, String templateName) {
-        super(plugin, player, plugin.getConfigManager().getGUILanguageManager().getGUIText("spawners-manage.title", createPlaceholderMap("template", templateName)), 54);
+        super(plugin, player, plugin.getConfigManager().getGUILanguageManager().getGUIText("spawners-manage.title", createPlaceholderMap("template", templateName)));
         this.templateName = templateName;
         this.template = plugin.getConfigManager().getTemplateManager().getTemplates().get(templateName);
     }
@@ -49,16 +49,6 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
         return placeholders;
     }
 
-    /**
-     * 创建多个占位符映射的静态方法
-     */
-    private static Map<String, String> createPlaceholderMap(String key1, String value1, String key2, String value2) {
-        Map<String, String> placeholders = new HashMap<>();
-        placeholders.put(key1, value1);
-        placeholders.put(key2, value2);
-        return placeholders;
-    }
-
     @Override
     public void init() {
         // 检查模板是否存在
@@ -69,78 +59,25 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
             return;
         }
 
-        // 清空界面
-        inventory.clear();
-
-        // 添加装饰边框
-        addBorder();
-
-        // 添加刷怪点列表
-        addSpawnersList();
-
-        // 添加功能按钮
-        addFunctionButtons();
+        super.init();
     }
 
-    /**
-     * 添加装饰边框
-     */
-    private void addBorder() {
-        ItemStack borderItem = new ItemBuilder(Material.ORANGE_STAINED_GLASS_PANE)
-                .setName("&7")
-                .build();
-
-        // 上下边框
-        for (int i = 0; i < 9; i++) {
-            inventory.setItem(i, borderItem);
-            inventory.setItem(45 + i, borderItem);
-        }
-
-        // 左右边框
-        for (int i = 1; i < 5; i++) {
-            inventory.setItem(i * 9, borderItem);
-            inventory.setItem(i * 9 + 8, borderItem);
-        }
+    @Override
+    protected Collection<MobSpawner> loadEntries() {
+        return template == null ? Collections.emptyList() : template.getMobSpawners().values();
     }
 
-    /**
-     * 添加刷怪点列表
-     */
-    private void addSpawnersList() {
-        Map<String, MobSpawner> spawners = template.getMobSpawners();
-        List<MobSpawner> spawnerList = new ArrayList<>(spawners.values());
-
-        // 计算分页
-        int totalPages = (int) Math.ceil((double) spawnerList.size() / itemsPerPage);
-        int startIndex = currentPage * itemsPerPage;
-        int endIndex = Math.min(startIndex + itemsPerPage, spawnerList.size());
-
-        // 显示当前页的刷怪点
-        int slot = 10; // 从第二行第二列开始
-        for (int i = startIndex; i < endIndex; i++) {
-            MobSpawner spawner = spawnerList.get(i);
-            
-            ItemStack spawnerItem = new ItemBuilder(Material.SPAWNER)
-                    .setName(getGUIText("spawners-manage.spawner-item-name", createPlaceholder("id", spawner.getId())))
-                    .setLore(createSpawnerLore(spawner))
-                    .build();
-            
-            inventory.setItem(slot, spawnerItem);
-            
-            // 计算下一个位置
-            slot++;
-            if (slot % 9 == 8) { // 到达右边界
-                slot += 2; // 跳到下一行的第二列
-            }
-            if (slot >= 45) { // 超出显示区域
-                break;
-            }
-        }
+    @Override
+    protected String getSearchText(MobSpawner spawner) {
+        return spawner.getId() + " " + spawner.getMobType();
+    }
 
-        // 添加分页信息
-        if (totalPages > 1) {
-            addPaginationInfo(currentPage + 1, totalPages);
-        }
+    @Override
+    protected ItemStack createEntryItem(MobSpawner spawner) {
+        return new ItemBuilder(Material.SPAWNER)
+                .setName(getGUIText("spawners-manage.spawner-item-name", createPlaceholder("id", spawner.getId())))
+                .setLore(createSpawnerLore(spawner))
+                .build();
     }
 
     /**
@@ -150,10 +87,11 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
         List<String> lore = new ArrayList<>();
 
         // 从配置文件读取实际数据
-        String actualMobType = getSpawnerMobTypeFromConfig(spawner.getId());
-        String actualLocation = getSpawnerLocationFromConfig(spawner.getId());
-        int actualAmount = getSpawnerAmountFromConfig(spawner.getId());
-        int actualCooldown = getSpawnerCooldownFromConfig(spawner.getId());
+        ConfigurationSection spawnerSection = getSpawnerSectionFromConfig(spawner.getId());
+        String actualMobType = spawnerSection != null ? spawnerSection.getString("mobType") : null;
+        String actualLocation = spawnerSection != null ? spawnerSection.getString("location") : null;
+        int actualAmount = spawnerSection != null ? spawnerSection.getInt("amount", 1) : 1;
+        int actualCooldown = spawnerSection != null ? spawnerSection.getInt("cooldown", 30) : 30;
 
         lore.add(getGUIText("spawners-manage.spawner-mob-type", createPlaceholder("type", actualMobType != null ? actualMobType : spawner.getMobType())));
         lore.add(getGUIText("spawners-manage.spawner-location", createPlaceholder("location", formatLocation(actualLocation != null ? actualLocation : spawner.getLocation()))));
@@ -190,43 +128,8 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
         return location;
     }
 
-    /**
-     * 添加分页信息
-     */
-    private void addPaginationInfo(int currentPage, int totalPages) {
-        // 上一页按钮
-        if (currentPage > 1) {
-            ItemStack prevButton = new ItemBuilder(Material.ARROW)
-                    .setName(getGUIText("mob-spawner.previous-page"))
-                    .setLore(getGUIText("mob-spawner.page-info", createPlaceholder("current", String.valueOf(currentPage - 1))))
-                    .build();
-            inventory.setItem(48, prevButton);
-        }
-
-        // 页面信息
-        ItemStack pageInfo = new ItemBuilder(Material.PAPER)
-                .setName(getGUIText("spawners-manage.page-info-title"))
-                .setLore(
-                        getGUIText("spawners-manage.page-current", createPlaceholderMap("current", String.valueOf(currentPage), "total", String.valueOf(totalPages))),
-                        getGUIText("spawners-manage.spawners-total", createPlaceholder("count", String.valueOf(template.getMobSpawners().size())))
-                )
-                .build();
-        inventory.setItem(49, pageInfo);
-
-        // 下一页按钮
-        if (currentPage < totalPages) {
-            ItemStack nextButton = new ItemBuilder(Material.ARROW)
-                    .setName(getGUIText("mob-spawner.next-page"))
-                    .setLore(getGUIText("mob-spawner.page-info", createPlaceholder("current", String.valueOf(currentPage + 1))))
-                    .build();
-            inventory.setItem(50, nextButton);
-        }
-    }
-
-    /**
-     * 添加功能按钮
-     */
-    private void addFunctionButtons() {
+    @Override
+    protected void renderControls() {
         // 添加刷怪点按钮
         ItemStack addButton = new ItemBuilder(Material.LIME_DYE)
                 .setName(getGUIText("spawners-manage.add-spawner"))
@@ -236,14 +139,14 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
                         getGUIText("spawners-manage.add-spawner-click")
                 )
                 .build();
-        inventory.setItem(46, addButton);
+        setSlot(46, addButton);
 
         // 返回按钮
         ItemStack backButton = new ItemBuilder(Material.BARRIER)
                 .setName(getGUIText("common.back"))
                 .setLore(getGUIText("template-basic-edit.back-to-main"))
                 .build();
-        inventory.setItem(45, backButton);
+        setSlot(45, backButton);
 
         // 保存按钮
         ItemStack saveButton = new ItemBuilder(Material.EMERALD)
@@ -254,14 +157,14 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
                         getGUIText("spawners-manage.save-changes-click")
                 )
                 .build();
-        inventory.setItem(53, saveButton);
+        setSlot(53, saveButton);
 
         // 刷新按钮
         ItemStack refreshButton = new ItemBuilder(Material.CYAN_DYE)
                 .setName(getGUIText("common.refresh"))
                 .setLore(getGUIText("common.refresh-lore"))
                 .build();
-        inventory.setItem(52, refreshButton);
+        setSlot(52, refreshButton);
 
         // 帮助按钮
         ItemStack helpButton = new ItemBuilder(Material.BOOK)
@@ -272,23 +175,16 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
                         getGUIText("spawners-manage.help-teleport"),
                         getGUIText("spawners-manage.help-delete"),
                         getGUIText("spawners-manage.help-add"),
-                        getGUIText("spawners-manage.help-mythic")
+                        getGUIText("spawners-manage.help-mythic"),
+                        "",
+                        getGUIText("spawners-manage.spawners-total", createPlaceholder("count", String.valueOf(template.getMobSpawners().size())))
                 )
                 .build();
-        inventory.setItem(47, helpButton);
+        setSlot(49, helpButton);
     }
 
     @Override
-    public void handleClick(InventoryClickEvent event) {
-        event.setCancelled(true);
-
-        ItemStack item = event.getCurrentItem();
-        if (item == null || item.getType() == Material.AIR) {
-            return;
-        }
-
-        int slot = event.getSlot();
-
+    protected void handleControlClick(int slot, InventoryClickEvent event) {
         // 处理功能按钮
         switch (slot) {
             case 45: // 返回
@@ -297,45 +193,18 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
             case 46: // 添加刷怪点
                 handleAddSpawner();
                 return;
-            case 47: // 帮助
-                // 帮助按钮不需要处理
-                return;
-            case 48: // 上一页
-                handlePreviousPage();
-                return;
-            case 49: // 页面信息
-                // 页面信息不需要处理
-                return;
-            case 50: // 下一页
-                handleNextPage();
-                return;
             case 52: // 刷新
-                init();
+                reloadEntries();
                 return;
             case 53: // 保存
                 handleSave();
                 return;
         }
-
-        // 处理刷怪点点击
-        if (item.getType() == Material.SPAWNER) {
-            handleSpawnerClick(event, slot);
-        }
     }
 
-    /**
-     * 处理刷怪点点击
-     */
-    private void handleSpawnerClick(InventoryClickEvent event, int slot) {
-        String spawnerName = getSpawnerNameFromSlot(slot);
-        if (spawnerName == null) {
-            return;
-        }
-
-        MobSpawner spawner = template.getMobSpawners().get(spawnerName);
-        if (spawner == null) {
-            return;
-        }
+    @Override
+    protected void handleEntryClick(MobSpawner spawner, InventoryClickEvent event) {
+        String spawnerName = spawner.getId();
 
         if (event.isLeftClick()) {
             // 编辑刷怪点
@@ -349,47 +218,8 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
             template.removeMobSpawner(spawnerName);
             MessageUtil.sendMessage(player, "command.admin.edit.spawner.removed",
                     MessageUtil.createPlaceholders("spawner", spawnerName));
-            init(); // 刷新界面
-        }
-    }
-
-    /**
-     * 从槽位获取刷怪点名称
-     */
-    private String getSpawnerNameFromSlot(int slot) {
-        // 计算在当前页面中的索引
-        int relativeSlot = getRelativeSlotIndex(slot);
-        if (relativeSlot == -1) {
-            return null;
-        }
-
-        List<MobSpawner> spawnerList = new ArrayList<>(template.getMobSpawners().values());
-        int actualIndex = currentPage * itemsPerPage + relativeSlot;
-        
-        if (actualIndex >= 0 && actualIndex < spawnerList.size()) {
-            return spawnerList.get(actualIndex).getId();
+            reloadEntries(); // 刷新界面
         }
-        
-        return null;
-    }
-
-    /**
-     * 获取相对槽位索引
-     */
-    private int getRelativeSlotIndex(int slot) {
-        // 将槽位转换为相对索引
-        if (slot < 10 || slot >= 45) {
-            return -1;
-        }
-        
-        int row = slot / 9 - 1; // 减去第一行
-        int col = slot % 9 - 1; // 减去第一列
-        
-        if (col < 0 || col >= 7) { // 超出有效列范围
-            return -1;
-        }
-        
-        return row * 7 + col;
     }
 
     /**
@@ -447,29 +277,6 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
         close();
     }
 
-    /**
-     * 处理上一页
-     */
-    private void handlePreviousPage() {
-        if (currentPage > 0) {
-            currentPage--;
-            init();
-        }
-    }
-
-    /**
-     * 处理下一页
-     */
-    private void handleNextPage() {
-        Map<String, MobSpawner> spawners = template.getMobSpawners();
-        int totalPages = (int) Math.ceil((double) spawners.size() / itemsPerPage);
-        
-        if (currentPage < totalPages - 1) {
-            currentPage++;
-            init();
-        }
-    }
-
     /**
      * 处理保存
      */
@@ -486,30 +293,27 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
     // ==================== 配置读取方法 ====================
 
     /**
-     * 从配置文件读取刷怪点怪物类型
+     * 从配置文件读取刷怪点配置
      * @param spawnerId 刷怪点ID
-     * @return 怪物类型，如果读取失败返回null
+     * @return 刷怪点配置，如果读取失败返回null
      */
-    private String getSpawnerMobTypeFromConfig(String spawnerId) {
+    private ConfigurationSection getSpawnerSectionFromConfig(String spawnerId) {
         try {
             File templateDir = plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName);
             File configFile = new File(templateDir, "config.yml");
 
-            if (!configFile.exists()) {
+            if (!plugin.getConfigManager().getTemplateManager().hasTemplateConfig(configFile)) {
                 return null;
             }
 
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+            YamlConfiguration config = plugin.getConfigManager().getTemplateManager().loadTemplateConfig(configFile);
             ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
 
             if (spawnersSection != null) {
-                ConfigurationSection spawnerSection = spawnersSection.getConfigurationSection(spawnerId);
-                if (spawnerSection != null) {
-                    return spawnerSection.getString("mobType");
-                }
+                return spawnersSection.getConfigurationSection(spawnerId);
             }
         } catch (Exception e) {
-            plugin.getLogger().warning("读取刷怪点怪物类型失败: " + e.getMessage());
+            plugin.getLogger().warning("读取刷怪点配置失败: " + e.getMessage());
         }
         return null;
     }
@@ -520,84 +324,7 @@ public class TemplateSpawnersEditGUI extends AbstractGUI {
      * @return 位置字符串，如果读取失败返回null
      */
     private String getSpawnerLocationFromConfig(String spawnerId) {
-        try {
-            File templateDir = plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName);
-            File configFile = new File(templateDir, "config.yml");
-
-            if (!configFile.exists()) {
-                return null;
-            }
-
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-            ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
-
-            if (spawnersSection != null) {
-                ConfigurationSection spawnerSection = spawnersSection.getConfigurationSection(spawnerId);
-                if (spawnerSection != null) {
-                    return spawnerSection.getString("location");
-                }
-            }
-        } catch (Exception e) {
-            plugin.getLogger().warning("读取刷怪点位置失败: " + e.getMessage());
-        }
-        return null;
-    }
-
-    /**
-     * 从配置文件读取刷怪点生成数量
-     * @param spawnerId 刷怪点ID
-     * @return 生成数量，如果读取失败返回默认值1
-     */
-    private int getSpawnerAmountFromConfig(String spawnerId) {
-        try {
-            File templateDir = plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName);
-            File configFile = new File(templateDir, "config.yml");
-
-            if (!configFile.exists()) {
-                return 1; // 默认值
-            }
-
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-            ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
-
-            if (spawnersSection != null) {
-                ConfigurationSection spawnerSection = spawnersSection.getConfigurationSection(spawnerId);
-                if (spawnerSection != null) {
-                    return spawnerSection.getInt("amount", 1);
-                }
-            }
-        } catch (Exception e) {
-            plugin.getLogger().warning("读取刷怪点生成数量失败: " + e.getMessage());
-        }
-        return 1; // 默认值
-    }
-
-    /**
-     * 从配置文件读取刷怪点冷却时间
-     * @param spawnerId 刷怪点ID
-     * @return 冷却时间，如果读取失败返回默认值30
-     */
-    private int getSpawnerCooldownFromConfig(String spawnerId) {
-        try {
-            File templateDir = plugin.getConfigManager().getTemplateManager().getTemplateDirectory(templateName);
-            File configFile = new File(templateDir, "config.yml");
-
-            if (!configFile.exists()) {
-                return 30; // 默认值
-            }
-
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-            ConfigurationSection spawnersSection = config.getConfigurationSection("mythicMobsSpawners");
-
-            if (spawnersSection != null) {
-                ConfigurationSection spawnerSection = spawnersSection.getConfigurationSection(spawnerId);
-                if (spawnerSection != null) {
-                    return spawnerSection.getInt("cooldown", 30);
-                }
-            }
-        } catch (Exception e) {
-            plugin.getLogger().warning("读取刷怪点冷却时间失败: " + e.getMessage());
-        }
-        return 30; // 默认值
+        ConfigurationSection spawnerSection = getSpawnerSectionFromConfig(spawnerId);
+        return spawnerSection != null ? spawnerSection.getString("location") : null;
     }
 }
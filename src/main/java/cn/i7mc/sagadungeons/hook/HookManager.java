@@ -61,6 +61,9 @@ public class HookManager {
         // 初始化PlaceholderAPI集成
         placeholderAPIHook = new PlaceholderAPIHook(plugin);
         placeholderAPIHook.register();
+
+        // 立即生成一次快照，不必等待第一次定时刷新
+        plugin.getDungeonManager().getPlaceholderCache().refresh();
     }
 
 
@@ -11,9 +11,7 @@ import org.bukkit.plugin.Plugin;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * MythicMobs集成
@@ -178,9 +176,7 @@ public class MythicMobsHook {
 
             return true;
         } catch (Exception e) {
-            Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("name", name);
-            DebugUtil.debug("hook.mythicmobs.setup-spawner-error", placeholders);
+            DebugUtil.debug("hook.mythicmobs.setup-spawner-error", "name", name);
             return false;
         }
     }
@@ -1,13 +1,16 @@
 package cn.i7mc.sagadungeons.hook;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
-import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
-import cn.i7mc.sagadungeons.model.DungeonTemplate;
-import cn.i7mc.sagadungeons.model.PlayerData;
-import cn.i7mc.sagadungeons.util.TimeUtil;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardEntry;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardManager;
+import cn.i7mc.sagadungeons.dungeon.leaderboard.LeaderboardStat;
+import cn.i7mc.sagadungeons.dungeon.placeholder.InstanceSnapshot;
+import cn.i7mc.sagadungeons.dungeon.queue.MatchmakingManager;
+import cn.i7mc.sagadungeons.metrics.LatencyHistogram;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+import cn.i7mc.sagadungeons.metrics.PerfRegistry;
+import cn.i7mc.sagadungeons.metrics.PerfTimer;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
 
 /**
@@ -79,62 +82,188 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
      */
     @Override
     public String onRequest(OfflinePlayer player, String identifier) {
+        // 匹配队列占位符
+        if (identifier.startsWith("queue_")) {
+            return onQueueRequest(player, identifier);
+        }
+        // 匹配性能指标占位符
+        if (identifier.startsWith("perf_")) {
+            return onPerfRequest(identifier);
+        }
+        // 匹配排行榜占位符
+        if (identifier.startsWith("top_")) {
+            return onTopRequest(identifier);
+        }
+
         if (player == null) {
             return "";
         }
-        
-        // 获取玩家数据
-        PlayerData playerData = plugin.getDungeonManager().getPlayerData(player.getUniqueId());
-        
-        // 检查玩家是否在副本中
-        if (!playerData.isInDungeon()) {
+
+        // 副本占位符读取每秒刷新的快照
+        InstanceSnapshot snapshot = plugin.getDungeonManager().getPlaceholderCache().getByPlayer(player.getUniqueId());
+        if (snapshot == null) {
             // 不在副本中的占位符
             if (identifier.equals("in_dungeon")) {
                 return "false";
             }
             return "";
         }
-        
-        // 获取玩家当前副本
-        String dungeonId = playerData.getCurrentDungeonId();
-        DungeonInstance dungeon = plugin.getDungeonManager().getDungeon(dungeonId);
-        
-        if (dungeon == null) {
-            return "";
+        return snapshot.get(identifier);
+    }
+
+    /**
+     * 处理匹配队列占位符
+     * 模板统计: queue_size_<模板>、queue_wait_<模板>、queue_longest_<模板>、queue_matched_<模板>
+     * 玩家状态: queue_template、queue_position、queue_waited，以及全局的 queue_total
+     * @param player 玩家
+     * @param identifier 标识符
+     * @return 替换后的值
+     */
+    private String onQueueRequest(OfflinePlayer player, String identifier) {
+        MatchmakingManager matchmakingManager = plugin.getDungeonManager().getMatchmakingManager();
+
+        // 模板统计
+        if (identifier.startsWith("queue_size_")) {
+            return String.valueOf(matchmakingManager.getQueueSize(identifier.substring("queue_size_".length())));
         }
-        
-        // 处理各种占位符
+        if (identifier.startsWith("queue_wait_")) {
+            return String.valueOf(matchmakingManager.getAverageWaitSeconds(identifier.substring("queue_wait_".length())));
+        }
+        if (identifier.startsWith("queue_longest_")) {
+            return String.valueOf(matchmakingManager.getLongestWaitSeconds(identifier.substring("queue_longest_".length())));
+        }
+        if (identifier.startsWith("queue_matched_")) {
+            return String.valueOf(matchmakingManager.getMatchedCount(identifier.substring("queue_matched_".length())));
+        }
+
         switch (identifier) {
-            case "in_dungeon":
-                return "true";
-            case "dungeon_id":
-                return dungeon.getId();
-            case "dungeon_name":
-                return dungeon.getTemplateName();
-            case "dungeon_display_name":
-                return dungeon.getDisplayName();
-            case "dungeon_owner":
-                OfflinePlayer owner = Bukkit.getOfflinePlayer(dungeon.getOwnerUUID());
-                return owner.getName() != null ? owner.getName() : "Unknown";
-            case "dungeon_time_left":
-                return String.valueOf(dungeon.getRemainingTime());
-            case "dungeon_time_left_formatted":
-                return TimeUtil.formatTime(dungeon.getRemainingTime());
-            case "dungeon_time_left_short":
-                return TimeUtil.formatTimeShort(dungeon.getRemainingTime());
-            case "dungeon_player_count":
-                return String.valueOf(dungeon.getPlayerCount());
-            case "dungeon_is_public":
-                return dungeon.isPublic() ? "true" : "false";
-            case "dungeon_state":
-                return dungeon.getState().name();
-            case "display":
-                // 获取模板的世界显示名称
-                DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(dungeon.getTemplateName());
-                if (template != null && template.getWorldDisplay() != null) {
-                    return ChatColor.translateAlternateColorCodes('&', template.getWorldDisplay());
+            case "queue_total":
+                return String.valueOf(matchmakingManager.getTotalQueued());
+            case "queue_template":
+                if (player == null) {
+                    return "";
                 }
-                return dungeon.getTemplateName();
+                String template = matchmakingManager.getQueuedTemplate(player.getUniqueId());
+                return template != null ? template : "";
+            case "queue_position":
+                return player == null ? "0" : String.valueOf(matchmakingManager.getPosition(player.getUniqueId()));
+            case "queue_waited":
+                return player == null ? "0" : String.valueOf(matchmakingManager.getWaitedSeconds(player.getUniqueId()));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 处理排行榜占位符
+     * 格式: top_<模板>[_<统计项>]_<名次>_<name|value>，模板为global时读取全局排行榜
+     * 例如 top_example_3_name、top_example_fastest_1_value、top_global_joined_1_name
+     * @param identifier 标识符
+     * @return 替换后的值，名次没有数据时返回空字符串
+     */
+    private String onTopRequest(String identifier) {
+        // 模板名称可能含有下划线，从末尾依次拆出字段、名次与统计项
+        String body = identifier.substring("top_".length());
+        int fieldIndex = body.lastIndexOf('_');
+        int rankIndex = fieldIndex > 0 ? body.lastIndexOf('_', fieldIndex - 1) : -1;
+        if (rankIndex <= 0) {
+            return null;
+        }
+
+        String field = body.substring(fieldIndex + 1);
+        int rank;
+        try {
+            rank = Integer.parseInt(body.substring(rankIndex + 1, fieldIndex));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        String templateName = body.substring(0, rankIndex);
+        LeaderboardStat stat = null;
+        int statIndex = templateName.lastIndexOf('_');
+        if (statIndex > 0) {
+            stat = LeaderboardStat.fromKey(templateName.substring(statIndex + 1));
+            String candidate = templateName.substring(0, statIndex);
+            if (stat != null && stat.appliesTo(candidate.equalsIgnoreCase(LeaderboardStat.GLOBAL))) {
+                templateName = candidate;
+            } else {
+                stat = null;
+            }
+        }
+        boolean global = templateName.equalsIgnoreCase(LeaderboardStat.GLOBAL);
+        if (stat == null) {
+            stat = LeaderboardStat.getDefault(global);
+        }
+
+        LeaderboardManager leaderboardManager = plugin.getDungeonManager().getLeaderboardManager();
+        LeaderboardEntry entry = leaderboardManager.getBoard(stat, templateName).get(rank);
+        switch (field) {
+            case "name":
+                return entry != null ? leaderboardManager.getName(entry) : "";
+            case "value":
+                return entry != null ? LeaderboardManager.formatValue(stat, entry) : "";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 处理性能指标占位符
+     * 耗时: perf_<计时项>_<p50|p90|p95|p99|max|count>_<1m|5m|15m>，耗时单位为毫秒
+     * 计数: perf_counter_<计数项>
+     * @param identifier 标识符
+     * @return 替换后的值
+     */
+    private String onPerfRequest(String identifier) {
+        PerfRegistry registry = plugin.getPerfRegistry();
+
+        if (identifier.startsWith("perf_counter_")) {
+            PerfCounter counter = PerfCounter.fromKey(identifier.substring("perf_counter_".length()));
+            return counter != null ? String.valueOf(registry.getCount(counter)) : null;
+        }
+
+        // 计时项名称本身含有下划线，从末尾拆出统计项与窗口
+        String body = identifier.substring("perf_".length());
+        int windowIndex = body.lastIndexOf('_');
+        int statIndex = windowIndex > 0 ? body.lastIndexOf('_', windowIndex - 1) : -1;
+        if (statIndex <= 0) {
+            return null;
+        }
+
+        PerfTimer timer = PerfTimer.fromKey(body.substring(0, statIndex));
+        String stat = body.substring(statIndex + 1, windowIndex);
+        int minutes;
+        switch (body.substring(windowIndex + 1)) {
+            case "1m":
+                minutes = 1;
+                break;
+            case "5m":
+                minutes = 5;
+                break;
+            case "15m":
+                minutes = 15;
+                break;
+            default:
+                return null;
+        }
+        if (timer == null) {
+            return null;
+        }
+
+        LatencyHistogram.Snapshot snapshot = registry.getSnapshot(timer, minutes);
+        switch (stat) {
+            case "p50":
+                return PerfRegistry.formatMillis(snapshot.getQuantileNanos(0.5));
+            case "p90":
+                return PerfRegistry.formatMillis(snapshot.getQuantileNanos(0.9));
+            case "p95":
+                return PerfRegistry.formatMillis(snapshot.getQuantileNanos(0.95));
+            case "p99":
+                return PerfRegistry.formatMillis(snapshot.getQuantileNanos(0.99));
+            case "max":
+                return PerfRegistry.formatMillis(snapshot.getMaxNanos());
+            case "count":
+                return String.valueOf(snapshot.getCount());
             default:
                 return null;
         }
@@ -0,0 +1,57 @@
+package cn.i7mc.sagadungeons.io;
+
+/**
+ * I/O通道
+ * 不同类型的文件操作使用独立的线程与有界队列，互不阻塞
+ */
+public enum IOLane {
+
+    /**
+     * 交互通道，玩家正在等待结果的操作，例如复制副本世界
+     */
+    INTERACTIVE("interactive", 2, 16),
+
+    /**
+     * 后台通道，没有玩家等待的操作，例如删除副本世界文件夹
+     */
+    BACKGROUND("background", 1, 256),
+
+    /**
+     * 持久化通道，写入数据文件与模板配置
+     */
+    PERSISTENCE("persistence", 1, 256);
+
+    private final String key;
+    private final int defaultThreads;
+    private final int defaultQueueSize;
+
+    IOLane(String key, int defaultThreads, int defaultQueueSize) {
+        this.key = key;
+        this.defaultThreads = defaultThreads;
+        this.defaultQueueSize = defaultQueueSize;
+    }
+
+    /**
+     * 获取配置键
+     * @return 配置键
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 获取默认线程数
+     * @return 默认线程数
+     */
+    public int getDefaultThreads() {
+        return defaultThreads;
+    }
+
+    /**
+     * 获取默认队列容量
+     * @return 默认队列容量
+     */
+    public int getDefaultQueueSize() {
+        return defaultQueueSize;
+    }
+}
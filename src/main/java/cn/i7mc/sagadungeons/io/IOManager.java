@@ -0,0 +1,286 @@
+package cn.i7mc.sagadungeons.io;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.config.ConfigManager;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * I/O管理器
+ * 为世界复制、文件删除与数据保存提供独立的执行通道，
+ * 每个通道有固定的并行度和有界队列。Java 21及以上版本可使用虚拟线程。
+ * 数据文件写入在调用线程序列化，在持久化通道写入磁盘；
+ * 同一文件同时只有一个写入任务，写入期间的新内容合并为下一次写入
+ */
+public class IOManager {
+
+    private final SagaDungeons plugin;
+    private final Map<IOLane, LaneExecutor> lanes = new EnumMap<>(IOLane.class);
+    private final Map<Path, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final boolean virtualThreads;
+    private volatile boolean running = true;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public IOManager(SagaDungeons plugin) {
+        this.plugin = plugin;
+
+        ConfigManager config = plugin.getConfigManager();
+        boolean useVirtual = config.isIOVirtualThreads();
+        boolean virtualCreated = false;
+        for (IOLane lane : IOLane.values()) {
+            String threadName = "SagaDungeons-IO-" + lane.getKey() + "-";
+            ThreadFactory threadFactory = useVirtual ? createVirtualThreadFactory(threadName) : null;
+            if (threadFactory == null) {
+                threadFactory = createPlatformThreadFactory(threadName);
+            } else {
+                virtualCreated = true;
+            }
+
+            lanes.put(lane, new LaneExecutor(lane, config.getIOThreads(lane), config.getIOQueueSize(lane),
+                    threadFactory, plugin.getLogger()));
+        }
+        this.virtualThreads = virtualCreated;
+    }
+
+    /**
+     * 在指定通道执行任务
+     * @param lane I/O通道
+     * @param task 任务
+     * @return 是否接受，队列已满或已关闭时返回false
+     */
+    public boolean execute(IOLane lane, Runnable task) {
+        return running && lanes.get(lane).execute(task);
+    }
+
+    /**
+     * 保存配置文件
+     * 在调用线程序列化配置，在持久化通道写入磁盘
+     * @param config 配置
+     * @param file 文件
+     */
+    public void save(FileConfiguration config, File file) {
+        write(file, config.saveToString());
+    }
+
+    /**
+     * 写入文本文件
+     * 持久化通道已满或已关闭时在调用线程直接写入，保证数据不丢失
+     * @param file 文件
+     * @param content 文件内容
+     */
+    public void write(File file, String content) {
+        Path path = file.toPath().toAbsolutePath();
+        PendingWrite write = pendingWrites.computeIfAbsent(path, PendingWrite::new);
+
+        boolean schedule;
+        synchronized (write) {
+            write.content = content;
+            schedule = !write.scheduled;
+            write.scheduled = true;
+        }
+
+        if (schedule && !execute(IOLane.PERSISTENCE, () -> flush(write))) {
+            flush(write);
+        }
+    }
+
+    /**
+     * 获取文件尚未写入磁盘的最新内容
+     * 包括正在写入的内容，读取刚保存的文件时应优先使用
+     * @param file 文件
+     * @return 文件内容，没有待写入的内容时返回null
+     */
+    public String getPendingContent(File file) {
+        PendingWrite write = pendingWrites.get(file.toPath().toAbsolutePath());
+        if (write == null) {
+            return null;
+        }
+        synchronized (write) {
+            return write.content != null ? write.content : write.writing;
+        }
+    }
+
+    /**
+     * 写出文件的最新内容，直到没有新的内容为止
+     * 同一文件同时只有一个线程写入，按取出内容的顺序写入磁盘；
+     * 关闭时被中断的写入会放回内容，由关闭流程在调用线程补写
+     * @param write 待写入内容
+     */
+    private void flush(PendingWrite write) {
+        while (true) {
+            synchronized (write.fileLock) {
+                String content;
+                synchronized (write) {
+                    content = write.content;
+                    write.content = null;
+                    write.writing = content;
+                    if (content == null) {
+                        write.scheduled = false;
+                        return;
+                    }
+                }
+
+                try {
+                    writeAtomically(write.path, content);
+                } catch (ClosedByInterruptException e) {
+                    synchronized (write) {
+                        if (write.content == null) {
+                            write.content = content;
+                        }
+                        write.writing = null;
+                        write.scheduled = false;
+                    }
+                    return;
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.SEVERE, "写入文件失败: " + write.path, e);
+                }
+
+                synchronized (write) {
+                    write.writing = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 先写入临时文件再替换目标文件，避免写入中途关服留下不完整的文件
+     * @param path 目标文件
+     * @param content 文件内容
+     * @throws IOException 写入失败时抛出
+     */
+    private static void writeAtomically(Path path, String content) throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 关闭所有通道
+     * 停止接受新任务，在超时时间内等待已排队的任务完成，超时后丢弃剩余任务并中断正在执行的任务；
+     * 被丢弃或被中断的文件写入在调用线程补写，补写会等待同一文件正在进行的写入完成
+     */
+    public void shutdown() {
+        running = false;
+        for (LaneExecutor executor : lanes.values()) {
+            executor.shutdown();
+        }
+
+        long deadline = System.nanoTime() + plugin.getConfigManager().getIODrainTimeout() * 1_000_000_000L;
+        boolean interrupted = false;
+        for (LaneExecutor executor : lanes.values()) {
+            try {
+                if (!executor.awaitTermination(deadline - System.nanoTime())) {
+                    int dropped = executor.shutdownNow();
+                    plugin.getLogger().warning("I/O通道 " + executor.getLane().getKey()
+                            + " 未能在超时时间内完成，丢弃 " + dropped + " 个任务");
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                interrupted = true;
+            }
+        }
+
+        // 补写完成后再恢复中断状态，否则调用线程的写入也会被中断
+        for (PendingWrite write : pendingWrites.values()) {
+            flush(write);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 获取通道执行器
+     * @param lane I/O通道
+     * @return 通道执行器
+     */
+    public LaneExecutor getLane(IOLane lane) {
+        return lanes.get(lane);
+    }
+
+    /**
+     * 检查是否使用虚拟线程
+     * @return 是否使用虚拟线程
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * 创建普通线程工厂
+     * @param prefix 线程名前缀
+     * @return 线程工厂
+     */
+    private static ThreadFactory createPlatformThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 创建虚拟线程工厂
+     * 插件按Java 17编译，通过反射调用Java 21的Thread.ofVirtual()
+     * @param prefix 线程名前缀
+     * @return 线程工厂，运行环境不支持时返回null
+     */
+    private static ThreadFactory createVirtualThreadFactory(String prefix) {
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = ofVirtual.invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 文件的待写入内容
+     */
+    private static class PendingWrite {
+        private final Path path;
+        private final Object fileLock = new Object();
+        private String content;
+        private String writing;
+        private boolean scheduled;
+
+        PendingWrite(Path path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package cn.i7mc.sagadungeons.io;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * I/O通道执行器
+ * 固定并行度的线程池加有界队列，队列已满时拒绝任务而不是阻塞调用线程，
+ * 并记录排队深度、等待时间与执行时间
+ */
+public class LaneExecutor {
+
+    private final IOLane lane;
+    private final int threads;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final Logger logger;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * 构造函数
+     * @param lane I/O通道
+     * @param threads 并行度
+     * @param queueCapacity 队列容量
+     * @param threadFactory 线程工厂
+     * @param logger 日志记录器
+     */
+    LaneExecutor(IOLane lane, int threads, int queueCapacity, ThreadFactory threadFactory, Logger logger) {
+        this.lane = lane;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.logger = logger;
+        this.executor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 提交任务
+     * @param task 任务
+     * @return 是否接受，队列已满或已关闭时返回false
+     */
+    boolean execute(Runnable task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(task, enqueuedAt));
+            submitted.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /**
+     * 执行任务并统计耗时
+     * @param task 任务
+     * @param enqueuedAt 入队时间(纳秒)
+     */
+    private void run(Runnable task, long enqueuedAt) {
+        long start = System.nanoTime();
+        long waited = start - enqueuedAt;
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        try {
+            task.run();
+        } catch (Throwable e) {
+            failed.increment();
+            logger.log(Level.WARNING, "I/O任务执行出错: " + lane.getKey(), e);
+        } finally {
+            runNanos.add(System.nanoTime() - start);
+            completed.increment();
+        }
+    }
+
+    /**
+     * 停止接受新任务，已排队的任务继续执行
+     */
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 等待已排队的任务执行完毕
+     * @param timeoutNanos 超时时间(纳秒)
+     * @return 是否全部完成
+     * @throws InterruptedException 等待被中断时抛出
+     */
+    boolean awaitTermination(long timeoutNanos) throws InterruptedException {
+        return executor.awaitTermination(Math.max(0L, timeoutNanos), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 立即停止并丢弃未执行的任务
+     * @return 被丢弃的任务数量
+     */
+    int shutdownNow() {
+        return executor.shutdownNow().size();
+    }
+
+    /**
+     * 获取I/O通道
+     * @return I/O通道
+     */
+    public IOLane getLane() {
+        return lane;
+    }
+
+    /**
+     * 获取并行度
+     * @return 线程数
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * 获取队列容量
+     * @return 队列容量
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * 获取当前排队的任务数量
+     * @return 排队数量
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 获取正在执行的任务数量
+     * @return 执行中数量
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * 获取累计接受的任务数量
+     * @return 任务数量
+     */
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /**
+     * 获取累计完成的任务数量(包括失败)
+     * @return 任务数量
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * 获取累计失败的任务数量
+     * @return 任务数量
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * 获取累计被拒绝的任务数量
+     * @return 任务数量
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * 获取累计排队等待时间
+     * @return 等待时间(纳秒)
+     */
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    /**
+     * 获取最长排队等待时间
+     * @return 等待时间(纳秒)
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    /**
+     * 获取累计执行时间
+     * @return 执行时间(纳秒)
+     */
+    public long getRunNanos() {
+        return runNanos.sum();
+    }
+}
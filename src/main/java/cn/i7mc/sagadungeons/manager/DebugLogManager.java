@@ -0,0 +1,356 @@
+package cn.i7mc.sagadungeons.manager;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.config.DebugMessageManager;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 调试日志管理器
+ * 调用线程只负责把调试事件放入有界环形缓冲区，
+ * 由单独的写入线程解析消息、输出控制台并写入滚动的调试日志文件
+ */
+public class DebugLogManager {
+
+    private final SagaDungeons plugin;
+    private final DebugMessageManager debugMessageManager;
+    private final File logDirectory;
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private BlockingQueue<DebugEvent> buffer;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    // 以下设置在重载时整体替换，写入线程与调用线程均只读取
+    private volatile boolean enabled;
+    private volatile boolean console = true;
+    private volatile boolean fileOutput = true;
+    private volatile long maxFileSize = 5120L * 1024L;
+    private volatile int maxFiles = 3;
+    private volatile String[] disabledCategories = new String[0];
+
+    // 仅写入线程访问
+    private BufferedWriter writer;
+    private File currentFile;
+    private long currentSize;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public DebugLogManager(SagaDungeons plugin) {
+        this.plugin = plugin;
+        this.debugMessageManager = new DebugMessageManager(plugin);
+        this.logDirectory = new File(plugin.getDataFolder(), "logs");
+    }
+
+    /**
+     * 从主配置读取调试设置
+     * 缓冲区容量只在首次启动写入线程时生效
+     * @param config 主配置
+     */
+    public void configure(FileConfiguration config) {
+        console = config.getBoolean("debug-log.console", true);
+        fileOutput = config.getBoolean("debug-log.file", true);
+        maxFileSize = Math.max(64, config.getLong("debug-log.max-size-kb", 5120L)) * 1024L;
+        maxFiles = Math.max(1, config.getInt("debug-log.max-files", 3));
+
+        // 读取被关闭的子系统分类
+        List<String> disabled = new ArrayList<>();
+        ConfigurationSection categories = config.getConfigurationSection("debug-log.categories");
+        if (categories != null) {
+            for (String category : categories.getKeys(false)) {
+                if (!categories.getBoolean(category, true)) {
+                    disabled.add(category);
+                }
+            }
+        }
+        disabledCategories = disabled.toArray(new String[0]);
+
+        // 重新加载调试消息目录
+        debugMessageManager.loadDebugMessages();
+
+        boolean debug = config.getBoolean("debug", false);
+        if (debug && writerThread == null) {
+            start(Math.max(64, config.getInt("debug-log.buffer-size", 4096)));
+        }
+        enabled = debug;
+    }
+
+    /**
+     * 启动写入线程
+     * @param capacity 缓冲区容量
+     */
+    private void start(int capacity) {
+        buffer = new ArrayBlockingQueue<>(capacity);
+        running = true;
+        writerThread = new Thread(this::runWriter, "SagaDungeons-DebugWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 关闭写入线程，写出缓冲区中剩余的事件
+     */
+    public void shutdown() {
+        enabled = false;
+        running = false;
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+
+        thread.interrupt();
+        try {
+            thread.join(2000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+    }
+
+    /**
+     * 检查指定路径的调试消息是否需要记录
+     * 不产生任何对象分配，调试关闭时只有一次volatile读取
+     * @param path 消息路径
+     * @return 是否需要记录
+     */
+    public boolean isEnabled(String path) {
+        if (!enabled) {
+            return false;
+        }
+
+        for (String category : disabledCategories) {
+            if (path.startsWith(category)
+                    && (path.length() == category.length() || path.charAt(category.length()) == '.')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 提交调试事件
+     * 缓冲区已满时丢弃事件并计数，不阻塞调用线程
+     * @param path 消息路径
+     * @param fields 结构化字段，可为null
+     */
+    public void log(String path, Map<String, String> fields) {
+        BlockingQueue<DebugEvent> queue = buffer;
+        if (queue == null) {
+            return;
+        }
+
+        DebugEvent event = new DebugEvent(System.currentTimeMillis(), Thread.currentThread().getName(), path,
+                fields == null ? Collections.emptyMap() : fields);
+        if (!queue.offer(event)) {
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * 获取调试消息管理器
+     * @return 调试消息管理器
+     */
+    public DebugMessageManager getDebugMessageManager() {
+        return debugMessageManager;
+    }
+
+    /**
+     * 获取因缓冲区已满而丢弃的事件数量
+     * @return 丢弃数量
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * 写入线程主循环
+     */
+    private void runWriter() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        List<DebugEvent> batch = new ArrayList<>(256);
+        long reportedDropped = 0;
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                DebugEvent first = buffer.poll(500L, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // 关闭时被中断，继续写出剩余事件
+                if (running) {
+                    continue;
+                }
+            }
+            buffer.drainTo(batch, 255);
+
+            // 报告丢弃的事件
+            long dropped = droppedEvents.get();
+            if (dropped != reportedDropped) {
+                plugin.getLogger().warning("[Debug] 调试缓冲区已满，丢弃了 " + (dropped - reportedDropped) + " 条调试消息");
+                reportedDropped = dropped;
+            }
+
+            for (DebugEvent event : batch) {
+                write(event, dateFormat);
+            }
+            batch.clear();
+            flush();
+        }
+
+        closeWriter();
+    }
+
+    /**
+     * 格式化并输出单个事件
+     * @param event 调试事件
+     * @param dateFormat 时间格式
+     */
+    private void write(DebugEvent event, SimpleDateFormat dateFormat) {
+        String message = debugMessageManager.getMessage(event.path, event.fields);
+
+        if (console) {
+            plugin.getLogger().info("[Debug] " + message);
+        }
+
+        if (!fileOutput) {
+            return;
+        }
+
+        // 文件行格式: 时间 [分类] [线程] 消息 | key=value ...
+        StringBuilder line = new StringBuilder(128);
+        line.append(dateFormat.format(new Date(event.time)))
+                .append(" [").append(getCategory(event.path)).append("] [")
+                .append(event.thread).append("] ")
+                .append(message)
+                .append(" | path=").append(event.path);
+        for (Map.Entry<String, String> field : event.fields.entrySet()) {
+            line.append(' ').append(field.getKey()).append('=').append(field.getValue());
+        }
+        line.append(System.lineSeparator());
+
+        try {
+            ensureWriter();
+            String text = line.toString();
+            writer.write(text);
+            currentSize += text.getBytes(StandardCharsets.UTF_8).length;
+            if (currentSize >= maxFileSize) {
+                rotate();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("[Debug] 写入调试日志失败: " + e.getMessage());
+            closeWriter();
+        }
+    }
+
+    /**
+     * 确保日志文件已打开
+     */
+    private void ensureWriter() throws IOException {
+        if (writer != null) {
+            return;
+        }
+
+        if (!logDirectory.exists()) {
+            logDirectory.mkdirs();
+        }
+        currentFile = new File(logDirectory, "debug.log");
+        currentSize = currentFile.length();
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(currentFile, true), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 滚动日志文件: debug.log -> debug.1.log -> debug.2.log ...
+     */
+    private void rotate() {
+        closeWriter();
+
+        File oldest = new File(logDirectory, "debug." + maxFiles + ".log");
+        if (oldest.exists()) {
+            oldest.delete();
+        }
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            File file = new File(logDirectory, "debug." + i + ".log");
+            if (file.exists()) {
+                file.renameTo(new File(logDirectory, "debug." + (i + 1) + ".log"));
+            }
+        }
+        currentFile.renameTo(new File(logDirectory, "debug.1.log"));
+    }
+
+    /**
+     * 刷新日志文件
+     */
+    private void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            closeWriter();
+        }
+    }
+
+    /**
+     * 关闭日志文件
+     */
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+            // 关闭失败时忽略
+        }
+        writer = null;
+    }
+
+    /**
+     * 获取消息路径所属的子系统分类
+     * @param path 消息路径
+     * @return 分类名称
+     */
+    private static String getCategory(String path) {
+        int dot = path.indexOf('.');
+        return dot < 0 ? path : path.substring(0, dot);
+    }
+
+    /**
+     * 调试事件
+     */
+    private static class DebugEvent {
+        private final long time;
+        private final String thread;
+        private final String path;
+        private final Map<String, String> fields;
+
+        private DebugEvent(long time, String thread, String path, Map<String, String> fields) {
+            this.time = time;
+            this.thread = thread;
+            this.path = path;
+            this.fields = fields;
+        }
+    }
+}
@@ -1,21 +1,28 @@
 package cn.i7mc.sagadungeons.manager;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
-import cn.i7mc.sagadungeons.model.PlayerData;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 副本安全管理器
  * 负责管理副本的安全进入控制
+ * 玩家通过合法方式进入副本时获得一个访问令牌，令牌记录目标副本的世界UID，
+ * 传送检查只需比较世界UID，不需要任何字符串处理
  */
 public class DungeonSecurityManager {
 
     private final SagaDungeons plugin;
+    private final Map<UUID, AccessToken> accessTokens = new ConcurrentHashMap<>();
 
     /**
      * 构造函数
@@ -29,10 +36,11 @@ public class DungeonSecurityManager {
      * 授予玩家合法副本进入权限
      * 当玩家通过合法方式（如sd create、sd join、邀请等）进入副本时调用
      * @param player 玩家
+     * @param instance 目标副本
      */
-    public void grantLegalAccess(Player player) {
-        PlayerData playerData = plugin.getDungeonManager().getPlayerData(player.getUniqueId());
-        playerData.setLegalDungeonAccess(true);
+    public void grantLegalAccess(Player player, DungeonInstance instance) {
+        World world = instance.getWorld();
+        accessTokens.put(player.getUniqueId(), new AccessToken(instance.getId(), world != null ? world.getUID() : null));
         
         // 如果启用调试模式，输出调试信息
         if (plugin.getConfigManager().isDebugEnabled()) {
@@ -47,8 +55,7 @@ public class DungeonSecurityManager {
      * @param player 玩家
      */
     public void revokeLegalAccess(Player player) {
-        PlayerData playerData = plugin.getDungeonManager().getPlayerData(player.getUniqueId());
-        playerData.setLegalDungeonAccess(false);
+        accessTokens.remove(player.getUniqueId());
         
         // 如果启用调试模式，输出调试信息
         if (plugin.getConfigManager().isDebugEnabled()) {
@@ -63,8 +70,7 @@ public class DungeonSecurityManager {
      * @return 是否拥有合法权限
      */
     public boolean hasLegalAccess(Player player) {
-        PlayerData playerData = plugin.getDungeonManager().getPlayerData(player.getUniqueId());
-        return playerData.hasLegalDungeonAccess();
+        return accessTokens.containsKey(player.getUniqueId());
     }
 
     /**
@@ -73,24 +79,24 @@ public class DungeonSecurityManager {
      * @return 是否拥有合法权限
      */
     public boolean hasLegalAccess(UUID playerUUID) {
-        PlayerData playerData = plugin.getDungeonManager().getPlayerData(playerUUID);
-        return playerData.hasLegalDungeonAccess();
+        return accessTokens.containsKey(playerUUID);
     }
 
     /**
      * 检查传送是否为合法的副本进入
      * @param player 玩家
-     * @param targetWorldName 目标世界名称
+     * @param targetWorld 目标世界
      * @return 是否为合法传送
      */
-    public boolean isLegalDungeonTeleport(Player player, String targetWorldName) {
+    public boolean isLegalDungeonTeleport(Player player, World targetWorld) {
         // 检查目标世界是否为副本世界
-        if (!plugin.getWorldManager().isDungeonWorld(targetWorldName)) {
+        if (!plugin.getWorldManager().isDungeonWorld(targetWorld)) {
             return true; // 不是副本世界，允许传送
         }
 
-        // 检查玩家是否拥有合法进入权限
-        if (hasLegalAccess(player)) {
+        // 检查玩家的访问令牌是否指向目标副本
+        AccessToken token = accessTokens.get(player.getUniqueId());
+        if (token != null && token.allows(targetWorld)) {
             return true; // 拥有合法权限，允许传送
         }
 
@@ -197,7 +203,57 @@ public class DungeonSecurityManager {
      * @param playerUUID 玩家UUID
      */
     public void cleanupPlayerSecurity(UUID playerUUID) {
-        PlayerData playerData = plugin.getDungeonManager().getPlayerData(playerUUID);
-        playerData.setLegalDungeonAccess(false);
+        accessTokens.remove(playerUUID);
+    }
+
+    /**
+     * 获取持有访问令牌的玩家
+     * @return 玩家UUID列表副本
+     */
+    public List<UUID> getTokenHolders() {
+        return new ArrayList<>(accessTokens.keySet());
+    }
+
+    /**
+     * 获取玩家访问令牌对应的副本ID
+     * @param playerUUID 玩家UUID
+     * @return 副本ID，没有令牌时返回null
+     */
+    public String getAccessDungeonId(UUID playerUUID) {
+        AccessToken token = accessTokens.get(playerUUID);
+        return token != null ? token.dungeonId : null;
+    }
+
+    /**
+     * 副本访问令牌
+     * 记录玩家被允许进入的副本
+     */
+    private final class AccessToken {
+        private final String dungeonId;
+        private volatile UUID worldUid;
+
+        private AccessToken(String dungeonId, UUID worldUid) {
+            this.dungeonId = dungeonId;
+            this.worldUid = worldUid;
+        }
+
+        /**
+         * 检查令牌是否允许进入指定世界
+         * 授予令牌时副本世界尚未加载的，首次检查时通过注册表解析并缓存世界UID
+         * @param world 目标世界
+         * @return 是否允许
+         */
+        private boolean allows(World world) {
+            UUID uid = worldUid;
+            if (uid == null) {
+                DungeonInstance instance = plugin.getDungeonManager().findDungeonByWorld(world);
+                if (instance == null || !instance.getId().equals(dungeonId)) {
+                    return false;
+                }
+                uid = world.getUID();
+                worldUid = uid;
+            }
+            return uid.equals(world.getUID());
+        }
     }
 }
@@ -2,20 +2,27 @@ package cn.i7mc.sagadungeons.manager;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
 import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleTask;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+import cn.i7mc.sagadungeons.metrics.PerfTimer;
 import cn.i7mc.sagadungeons.model.DungeonTemplate;
 import cn.i7mc.sagadungeons.model.MobSpawner;
 import cn.i7mc.sagadungeons.util.LocationUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * 怪物生成管理器
@@ -25,7 +32,7 @@ public class MobSpawnerManager {
 
     private final SagaDungeons plugin;
     private final Map<String, Map<String, SpawnerData>> dungeonSpawners = new HashMap<>();
-    private final Map<String, BukkitTask> spawnerTasks = new HashMap<>();
+    private final Map<String, LifecycleTask> spawnerTasks = new HashMap<>();
 
     /**
      * 构造函数
@@ -97,102 +104,161 @@ public class MobSpawnerManager {
         dungeonSpawners.put(dungeonId, spawners);
 
         // 启动刷怪任务
-        startSpawnerTask(dungeonId);
+        startSpawnerTask(dungeonId, world);
     }
 
     /**
      * 启动刷怪任务
      * @param dungeonId 副本ID
+     * @param world 副本世界
      */
-    private void startSpawnerTask(String dungeonId) {
+    private void startSpawnerTask(String dungeonId, World world) {
         // 取消已有的任务
         stopSpawnerTask(dungeonId);
 
         // 创建新任务
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            // 获取副本实例
-            DungeonInstance dungeon = plugin.getDungeonManager().getDungeon(dungeonId);
-            if (dungeon == null || dungeon.getWorld() == null) {
-                plugin.getLogger().warning("副本实例或世界不存在，停止刷怪任务: " + dungeonId);
-                stopSpawnerTask(dungeonId);
-                return;
+        LifecycleTask task = plugin.getDungeonManager().getLifecycleScheduler().scheduleRepeating(LifecyclePhase.SPAWNER, world, 20L, 20L, () -> {
+            // 服务器负载过高时降低刷怪点检查频率
+            if (!plugin.getTickGovernor().shouldTickSpawners(dungeonId)) {
+                return true;
             }
 
-            // 获取刷怪点数据
-            Map<String, SpawnerData> spawners = dungeonSpawners.get(dungeonId);
-            if (spawners == null) {
-                plugin.getLogger().warning("找不到副本的刷怪点数据: " + dungeonId);
-                return;
-            }
+            long start = plugin.getPerfRegistry().start();
+            boolean keepRunning = tickSpawners(dungeonId);
+            plugin.getPerfRegistry().record(PerfTimer.SPAWNER_TICK, start);
+            return keepRunning;
+        });
 
-            // 检查每个刷怪点
-            for (SpawnerData spawner : spawners.values()) {
-                try {
-                    // 检查冷却时间
-                    if (spawner.isOnCooldown()) {
-                        continue;
-                    }
+        // 保存任务
+        spawnerTasks.put(dungeonId, task);
+    }
 
-                    // 检查是否有玩家在附近
-                    boolean playerNearby = false;
-                    World world = dungeon.getWorld();
+    /**
+     * 执行一次刷怪检查
+     * @param dungeonId 副本ID
+     * @return 是否继续刷怪任务
+     */
+    private boolean tickSpawners(String dungeonId) {
+        // 获取副本实例
+        DungeonInstance dungeon = plugin.getDungeonManager().getDungeon(dungeonId);
+        if (dungeon == null || dungeon.getWorld() == null) {
+            plugin.getLogger().warning("副本实例或世界不存在，停止刷怪任务: " + dungeonId);
+            stopSpawnerTask(dungeonId);
+            return false;
+        }
 
-                    // 首先检查副本创建者
-                    Player owner = Bukkit.getPlayer(dungeon.getOwnerUUID());
-                    if (owner != null && owner.isOnline() &&
-                        owner.getWorld().equals(world) &&
-                        owner.getLocation().distance(spawner.getLocation()) <= 40) {
-                        playerNearby = true;
-                    }
+        // 获取刷怪点数据
+        Map<String, SpawnerData> spawners = dungeonSpawners.get(dungeonId);
+        if (spawners == null) {
+            plugin.getLogger().warning("找不到副本的刷怪点数据: " + dungeonId);
+            return true;
+        }
 
-                    // 然后检查其他允许的玩家
-                    if (!playerNearby) {
-                        for (Player player : world.getPlayers()) {
-                            if (player.getLocation().distance(spawner.getLocation()) <= 40) {
-                                playerNearby = true;
-                                break;
-                            }
-                        }
-                    }
+        // 检查每个刷怪点
+        for (SpawnerData spawner : spawners.values()) {
+            try {
+                // 检查冷却时间
+                if (spawner.isOnCooldown()) {
+                    continue;
+                }
 
-                    if (!playerNearby) {
-                        continue;
-                    }
-                } catch (Exception e) {
+                // 检查是否有玩家在附近
+                Player owner = Bukkit.getPlayer(dungeon.getOwnerUUID());
+                if (!isPlayerNearby(owner, dungeon.getWorld(), spawner.getLocation())) {
                     continue;
                 }
+            } catch (Exception e) {
+                continue;
+            }
 
-                // 检查当前怪物数量并生成缺失的怪物
-                if (plugin.getHookManager().isMythicMobsAvailable()) {
-                    // 清理已死亡的实体并获取当前存活数量
-                    int currentAliveCount = spawner.getCurrentAliveCount();
-                    int maxAmount = spawner.getAmount();
-
-                    // 计算需要生成的数量
-                    int needToSpawn = maxAmount - currentAliveCount;
-
-                    // 只有在需要补充怪物时才生成
-                    if (needToSpawn > 0) {
-                        List<LivingEntity> entities = plugin.getHookManager().getMythicMobsHook().spawnMob(
-                                spawner.getMobType(),
-                                spawner.getLocation(),
-                                needToSpawn
-                        );
-
-                        if (!entities.isEmpty()) {
-                            // 记录生成的实体
-                            spawner.addSpawnedEntities(entities);
-                        }
-
-                        // 设置冷却时间
-                        spawner.startCooldown();
+            // 检查当前怪物数量并生成缺失的怪物
+            if (plugin.getHookManager().isMythicMobsAvailable()) {
+                // 清理已死亡的实体并获取当前存活数量
+                int currentAliveCount = spawner.getCurrentAliveCount();
+                int maxAmount = spawner.getAmount();
+
+                // 计算需要生成的数量
+                int needToSpawn = maxAmount - currentAliveCount;
+
+                // 只有在需要补充怪物时才生成
+                if (needToSpawn > 0) {
+                    List<LivingEntity> entities = plugin.getHookManager().getMythicMobsHook().spawnMob(
+                            spawner.getMobType(),
+                            spawner.getLocation(),
+                            needToSpawn
+                    );
+
+                    if (!entities.isEmpty()) {
+                        // 记录生成的实体
+                        spawner.addSpawnedEntities(entities);
+                        dungeon.getResources().addSpawnedMobs(entities.size());
+                        plugin.getPerfRegistry().add(PerfCounter.MOB_SPAWNED, entities.size());
                     }
+
+                    // 设置冷却时间
+                    spawner.startCooldown();
                 }
             }
-        }, 20L, 20L);
+        }
+        return true;
+    }
 
-        // 保存任务
-        spawnerTasks.put(dungeonId, task);
+    /**
+     * 检查刷怪点附近是否有玩家
+     * @param owner 副本创建者，不在线时为null
+     * @param dungeonWorld 副本世界
+     * @param location 刷怪点位置
+     * @return 是否有玩家在40格范围内
+     */
+    static boolean isPlayerNearby(Player owner, World dungeonWorld, Location location) {
+        // 首先检查副本创建者
+        if (owner != null && owner.isOnline() &&
+            owner.getWorld().equals(dungeonWorld) &&
+            owner.getLocation().distance(location) <= 40) {
+            return true;
+        }
+
+        // 然后检查其他允许的玩家
+        for (Player player : dungeonWorld.getPlayers()) {
+            if (player.getLocation().distance(location) <= 40) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取副本中刷怪点生成且存活的怪物数量
+     * @param dungeonId 副本ID
+     * @return 怪物数量
+     */
+    public int getAliveMobCount(String dungeonId) {
+        Map<String, SpawnerData> spawners = dungeonSpawners.get(dungeonId);
+        if (spawners == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (SpawnerData spawner : spawners.values()) {
+            count += spawner.getCurrentAliveCount();
+        }
+        return count;
+    }
+
+    /**
+     * 获取副本中刷怪点生成且存活的怪物UUID
+     * @param dungeonId 副本ID
+     * @return UUID集合
+     */
+    public Set<UUID> getAliveMobIds(String dungeonId) {
+        Set<UUID> ids = new HashSet<>();
+        Map<String, SpawnerData> spawners = dungeonSpawners.get(dungeonId);
+        if (spawners != null) {
+            for (SpawnerData spawner : spawners.values()) {
+                spawner.collectAliveEntityIds(ids);
+            }
+        }
+        return ids;
     }
 
     /**
@@ -200,7 +266,7 @@ public class MobSpawnerManager {
      * @param dungeonId 副本ID
      */
     public void stopSpawnerTask(String dungeonId) {
-        BukkitTask task = spawnerTasks.remove(dungeonId);
+        LifecycleTask task = spawnerTasks.remove(dungeonId);
         if (task != null) {
             task.cancel();
         }
@@ -224,6 +290,74 @@ public class MobSpawnerManager {
         }
     }
 
+    /**
+     * 保存副本刷怪点的存活数量与剩余冷却时间
+     * 副本休眠前调用
+     * @param dungeonId 副本ID
+     * @param section 配置部分，以刷怪点ID为键
+     */
+    public void saveSpawners(String dungeonId, ConfigurationSection section) {
+        Map<String, SpawnerData> spawners = dungeonSpawners.get(dungeonId);
+        if (spawners == null) {
+            return;
+        }
+
+        for (SpawnerData spawner : spawners.values()) {
+            ConfigurationSection spawnerSection = section.createSection(spawner.getId());
+            spawnerSection.set("alive", spawner.getCurrentAliveCount());
+            spawnerSection.set("spawned", spawner.hasSpawned());
+            spawnerSection.set("cooldown", spawner.getCooldownRemaining());
+        }
+    }
+
+    /**
+     * 恢复副本刷怪点的存活数量与剩余冷却时间
+     * 副本从休眠中恢复并初始化刷怪点后调用，休眠前存活的怪物重新生成
+     * @param dungeonId 副本ID
+     * @param section 配置部分，以刷怪点ID为键
+     */
+    public void restoreSpawners(String dungeonId, ConfigurationSection section) {
+        Map<String, SpawnerData> spawners = dungeonSpawners.get(dungeonId);
+        DungeonInstance dungeon = plugin.getDungeonManager().getDungeon(dungeonId);
+        if (spawners == null || dungeon == null) {
+            return;
+        }
+
+        for (SpawnerData spawner : spawners.values()) {
+            ConfigurationSection spawnerSection = section.getConfigurationSection(spawner.getId());
+            if (spawnerSection == null) {
+                continue;
+            }
+
+            // 重新生成休眠前存活的怪物
+            int alive = Math.min(spawnerSection.getInt("alive", 0), spawner.getAmount());
+            if (alive > 0 && plugin.getHookManager().isMythicMobsAvailable()) {
+                List<LivingEntity> entities = plugin.getHookManager().getMythicMobsHook().spawnMob(
+                        spawner.getMobType(),
+                        spawner.getLocation(),
+                        alive
+                );
+                if (!entities.isEmpty()) {
+                    spawner.addSpawnedEntities(entities);
+                    dungeon.getResources().addSpawnedMobs(entities.size());
+                }
+            }
+
+            spawner.restoreCooldown(spawnerSection.getBoolean("spawned", false),
+                    spawnerSection.getLong("cooldown", 0L));
+        }
+    }
+
+    /**
+     * 获取有刷怪点数据或刷怪任务的副本ID
+     * @return 副本ID列表副本
+     */
+    public List<String> getTrackedDungeonIds() {
+        Set<String> ids = new HashSet<>(dungeonSpawners.keySet());
+        ids.addAll(spawnerTasks.keySet());
+        return new ArrayList<>(ids);
+    }
+
     /**
      * 刷怪点数据类
      */
@@ -234,6 +368,7 @@ public class MobSpawnerManager {
         private final int amount;
         private final int cooldown;
         private long lastSpawnTime;
+        private boolean exhausted;
         private final List<LivingEntity> spawnedEntities = new ArrayList<>();
 
         /**
@@ -296,7 +431,7 @@ public class MobSpawnerManager {
         public boolean isOnCooldown() {
             // 如果冷却时间为0，表示一次性刷怪点，只有在没有生成过实体时才能生成
             if (cooldown == 0) {
-                return !spawnedEntities.isEmpty();
+                return exhausted || !spawnedEntities.isEmpty();
             }
 
             // 检查冷却时间
@@ -310,6 +445,39 @@ public class MobSpawnerManager {
             lastSpawnTime = System.currentTimeMillis();
         }
 
+        /**
+         * 检查是否生成过怪物
+         * @return 是否生成过
+         */
+        public boolean hasSpawned() {
+            return lastSpawnTime > 0;
+        }
+
+        /**
+         * 获取剩余冷却时间
+         * @return 剩余毫秒数，不在冷却中时为0
+         */
+        public long getCooldownRemaining() {
+            if (lastSpawnTime == 0 || cooldown == 0) {
+                return 0L;
+            }
+            return Math.max(0L, lastSpawnTime + cooldown * 1000L - System.currentTimeMillis());
+        }
+
+        /**
+         * 恢复冷却状态
+         * 一次性刷怪点生成过怪物后不再生成
+         * @param spawned 休眠前是否生成过怪物
+         * @param remaining 剩余冷却毫秒数
+         */
+        public void restoreCooldown(boolean spawned, long remaining) {
+            if (!spawned) {
+                return;
+            }
+            exhausted = cooldown == 0;
+            lastSpawnTime = System.currentTimeMillis() - Math.max(0L, cooldown * 1000L - remaining);
+        }
+
         /**
          * 添加生成的实体
          * @param entities 实体列表
@@ -340,6 +508,18 @@ public class MobSpawnerManager {
             return spawnedEntities.size();
         }
 
+        /**
+         * 收集存活实体的UUID
+         * @param ids 目标集合
+         */
+        public void collectAliveEntityIds(Set<UUID> ids) {
+            // 清理已死亡的实体
+            cleanupDeadEntities();
+            for (LivingEntity entity : spawnedEntities) {
+                ids.add(entity.getUniqueId());
+            }
+        }
+
         /**
          * 移除所有实体
          */
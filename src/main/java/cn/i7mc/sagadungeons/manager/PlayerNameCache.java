@@ -0,0 +1,64 @@
+package cn.i7mc.sagadungeons.manager;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 玩家名称缓存
+ * 玩家加入时记录名称，占位符与排行榜等高频读取不需要调用可能读取磁盘的Bukkit.getOfflinePlayer
+ */
+public class PlayerNameCache {
+
+    private static final String UNKNOWN = "Unknown";
+
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * 插件重载时记录已在线的玩家
+     */
+    public PlayerNameCache() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            remember(player);
+        }
+    }
+
+    /**
+     * 记录玩家名称
+     * @param player 玩家
+     */
+    public void remember(Player player) {
+        names.put(player.getUniqueId(), player.getName());
+    }
+
+    /**
+     * 获取玩家名称
+     * 未记录的玩家只查询一次离线玩家数据，结果写入缓存，之后玩家加入时会被覆盖
+     * @param playerUUID 玩家UUID
+     * @return 玩家名称，无法获取时返回"Unknown"
+     */
+    public String getName(UUID playerUUID) {
+        String name = names.get(playerUUID);
+        if (name != null) {
+            return name;
+        }
+
+        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerUUID);
+        name = offlinePlayer.getName() != null ? offlinePlayer.getName() : UNKNOWN;
+        names.putIfAbsent(playerUUID, name);
+        return name;
+    }
+
+    /**
+     * 获取已缓存的名称数量
+     * @return 数量
+     */
+    public int size() {
+        return names.size();
+    }
+}
@@ -1,6 +1,9 @@
 package cn.i7mc.sagadungeons.manager;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.io.IOLane;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+import cn.i7mc.sagadungeons.metrics.PerfTimer;
 import cn.i7mc.sagadungeons.model.DungeonTemplate;
 import cn.i7mc.sagadungeons.model.PlayerData;
 import cn.i7mc.sagadungeons.util.BukkitFileUtil;
@@ -19,6 +22,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
@@ -30,11 +35,18 @@ public class WorldManager {
     private final SagaDungeons plugin;
     private final String worldPrefix;
     private boolean createLock = false; // 创建锁，防止并发创建副本
+    private boolean provisionLock = false; // 预创建锁，防止并发预创建关卡，与创建锁互不影响
     private final Set<String> unloadTracker = new HashSet<>(); // 世界卸载跟踪器，防止递归卸载
+    private final Set<UUID> dungeonWorldIds = ConcurrentHashMap.newKeySet(); // 已加载副本世界的UID，用于事件中的快速判断
 
     public WorldManager(SagaDungeons plugin) {
         this.plugin = plugin;
         this.worldPrefix = plugin.getConfigManager().getWorldPrefix();
+
+        // 记录插件启用前已加载的副本世界
+        for (World world : Bukkit.getWorlds()) {
+            trackWorld(world);
+        }
     }
 
     /**
@@ -45,6 +57,14 @@ public class WorldManager {
         return !createLock;
     }
 
+    /**
+     * 检查是否可以预创建关卡世界
+     * @return 是否可以预创建
+     */
+    public boolean canProvision() {
+        return !provisionLock;
+    }
+
     /**
      * 创建副本世界
      * @param templateName 模板名称
@@ -65,8 +85,48 @@ public class WorldManager {
         // 设置创建锁
         createLock = true;
 
-        // 在异步线程中执行世界复制操作
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+        // 在交互I/O通道中复制世界
+        copyDungeonWorld(templateName, dungeonId, IOLane.INTERACTIVE, progressCallback, completionCallback,
+                () -> createLock = false);
+    }
+
+    /**
+     * 预创建关卡世界
+     * 使用独立的预创建锁并在后台I/O通道复制，不占用玩家创建副本的创建锁与交互通道
+     * @param templateName 模板名称
+     * @param dungeonId 副本ID
+     * @param completionCallback 完成回调
+     */
+    public void provisionDungeonWorld(String templateName, String dungeonId, Consumer<Boolean> completionCallback) {
+        // 检查预创建锁
+        if (provisionLock) {
+            if (completionCallback != null) {
+                completionCallback.accept(false);
+            }
+            return;
+        }
+
+        // 设置预创建锁
+        provisionLock = true;
+
+        copyDungeonWorld(templateName, dungeonId, IOLane.BACKGROUND, progress -> {
+            // 进度回调
+        }, completionCallback, () -> provisionLock = false);
+    }
+
+    /**
+     * 复制并加载副本世界
+     * 在指定的I/O通道复制世界文件，在主线程加载世界，结束后在主线程释放锁
+     * @param templateName 模板名称
+     * @param dungeonId 副本ID
+     * @param lane I/O通道
+     * @param progressCallback 进度回调
+     * @param completionCallback 完成回调
+     * @param unlock 释放锁
+     */
+    private void copyDungeonWorld(String templateName, String dungeonId, IOLane lane, Consumer<Double> progressCallback,
+                                  Consumer<Boolean> completionCallback, Runnable unlock) {
+        boolean accepted = plugin.getIOManager().execute(lane, () -> {
             try {
                 // 获取模板
                 DungeonTemplate template = plugin.getConfigManager().getTemplateManager().getTemplate(templateName);
@@ -74,11 +134,11 @@ public class WorldManager {
                     plugin.getLogger().warning("找不到模板: " + templateName);
                     if (completionCallback != null) {
                         Bukkit.getScheduler().runTask(plugin, () -> {
-                            createLock = false;
+                            unlock.run();
                             completionCallback.accept(false);
                         });
                     } else {
-                        Bukkit.getScheduler().runTask(plugin, () -> createLock = false);
+                        Bukkit.getScheduler().runTask(plugin, unlock);
                     }
                     return;
                 }
@@ -98,11 +158,11 @@ public class WorldManager {
                     plugin.getLogger().warning("模板目录不存在: " + templateDir.getAbsolutePath());
                     if (completionCallback != null) {
                         Bukkit.getScheduler().runTask(plugin, () -> {
-                            createLock = false;
+                            unlock.run();
                             completionCallback.accept(false);
                         });
                     } else {
-                        Bukkit.getScheduler().runTask(plugin, () -> createLock = false);
+                        Bukkit.getScheduler().runTask(plugin, unlock);
                     }
                     return;
                 }
@@ -134,47 +194,46 @@ public class WorldManager {
                         plugin.getLogger().warning("找不到有效的世界目录: " + templateDir.getAbsolutePath());
                         if (completionCallback != null) {
                             Bukkit.getScheduler().runTask(plugin, () -> {
-                                createLock = false;
+                                unlock.run();
                                 completionCallback.accept(false);
                             });
                         } else {
-                            Bukkit.getScheduler().runTask(plugin, () -> createLock = false);
+                            Bukkit.getScheduler().runTask(plugin, unlock);
                         }
                         return;
                     }
                 }
 
-                Map<String, String> placeholders = new HashMap<>();
-                placeholders.put("source", sourceDir.getAbsolutePath());
-                placeholders.put("target", worldsDir.getAbsolutePath());
-                DebugUtil.debug("world.copy.file-copy-start", placeholders);
+                DebugUtil.debug("world.copy.file-copy-start", "source", sourceDir.getAbsolutePath(), "target", worldsDir.getAbsolutePath());
 
                 // 复制文件
                 final long startTime = System.currentTimeMillis();
+                final long copyStart = plugin.getPerfRegistry().start();
                 boolean success = BukkitFileUtil.copyDirectory(sourceDir, worldsDir, progressCallback);
                 final long copyTime = System.currentTimeMillis() - startTime;
+                plugin.getPerfRegistry().record(PerfTimer.WORLD_COPY, copyStart);
 
                 if (!success) {
                     DebugUtil.debug("world.copy.file-copy-fail");
+                    plugin.getPerfRegistry().increment(PerfCounter.WORLD_COPY_FAILED);
                     if (completionCallback != null) {
                         Bukkit.getScheduler().runTask(plugin, () -> {
-                            createLock = false;
+                            unlock.run();
                             completionCallback.accept(false);
                         });
                     } else {
-                        Bukkit.getScheduler().runTask(plugin, () -> createLock = false);
+                        Bukkit.getScheduler().runTask(plugin, unlock);
                     }
                     return;
                 }
 
-                placeholders.clear();
-                placeholders.put("time", String.valueOf(copyTime));
-                DebugUtil.debug("world.copy.file-copy-complete", placeholders);
+                DebugUtil.debug("world.copy.file-copy-complete", "time", copyTime);
 
                 // 文件复制完成后，切换到主线程创建世界
                 Bukkit.getScheduler().runTask(plugin, () -> {
                     try {
                         final long loadStartTime = System.currentTimeMillis();
+                        final long loadStart = plugin.getPerfRegistry().start();
 
                         // 创建并加载世界
                         WorldCreator creator = new WorldCreator(worldName);
@@ -184,6 +243,7 @@ public class WorldManager {
                         World world = creator.createWorld();
 
                         final long loadTime = System.currentTimeMillis() - loadStartTime;
+                        plugin.getPerfRegistry().record(PerfTimer.WORLD_LOAD, loadStart);
                         Map<String, String> loadPlaceholders = new HashMap<>();
                         loadPlaceholders.put("time", String.valueOf(loadTime));
                         loadPlaceholders.put("world", worldName);
@@ -191,18 +251,11 @@ public class WorldManager {
                         if (world != null) {
                             DebugUtil.debug("world.load.complete", loadPlaceholders);
 
-                            // 设置世界属性
-                            world.setAutoSave(false);
-                            world.setKeepSpawnInMemory(false);
+                            // 记录副本世界UID
+                            trackWorld(world);
 
-                            // 设置游戏规则
-                            world.setGameRule(GameRule.KEEP_INVENTORY, true);
-                            world.setGameRule(GameRule.DO_MOB_SPAWNING, false);
-                            world.setGameRule(GameRule.DO_WEATHER_CYCLE, false);
-                            world.setGameRule(GameRule.DO_DAYLIGHT_CYCLE, false);
-                            world.setGameRule(GameRule.DO_FIRE_TICK, false);
-                            world.setGameRule(GameRule.RANDOM_TICK_SPEED, 0);
-                            world.setGameRule(GameRule.DO_ENTITY_DROPS, false);
+                            // 设置世界属性与游戏规则
+                            applyDungeonRules(world);
 
                             // 调用完成回调
                             if (completionCallback != null) {
@@ -215,34 +268,113 @@ public class WorldManager {
                             }
                         }
                     } catch (Exception worldCreateException) {
-                        Map<String, String> worldErrorPlaceholders = new HashMap<>();
-                        worldErrorPlaceholders.put("message", worldCreateException.getMessage());
-                        DebugUtil.debug("world.error.create", worldErrorPlaceholders);
+                        DebugUtil.debug("world.error.create", "message", worldCreateException.getMessage());
                         worldCreateException.printStackTrace();
 
                         if (completionCallback != null) {
                             completionCallback.accept(false);
                         }
                     } finally {
-                        // 释放创建锁
-                        createLock = false;
+                        // 释放锁
+                        unlock.run();
                     }
                 });
             } catch (Exception e) {
-                Map<String, String> errorPlaceholders = new HashMap<>();
-                errorPlaceholders.put("message", e.getMessage());
-                DebugUtil.debug("world.error.create", errorPlaceholders);
+                DebugUtil.debug("world.error.create", "message", e.getMessage());
                 e.printStackTrace();
 
-                // 释放创建锁并调用完成回调
+                // 释放锁并调用完成回调
                 Bukkit.getScheduler().runTask(plugin, () -> {
-                    createLock = false;
+                    unlock.run();
                     if (completionCallback != null) {
                         completionCallback.accept(false);
                     }
                 });
             }
         });
+
+        // I/O通道队列已满，释放锁并报告失败
+        if (!accepted) {
+            DebugUtil.debug("file.io.rejected", "lane", lane.getKey());
+            unlock.run();
+            if (completionCallback != null) {
+                completionCallback.accept(false);
+            }
+        }
+    }
+
+    /**
+     * 设置副本世界的属性与游戏规则
+     * @param world 副本世界
+     */
+    private void applyDungeonRules(World world) {
+        // 设置世界属性
+        world.setAutoSave(false);
+        world.setKeepSpawnInMemory(false);
+
+        // 设置游戏规则
+        world.setGameRule(GameRule.KEEP_INVENTORY, true);
+        world.setGameRule(GameRule.DO_MOB_SPAWNING, false);
+        world.setGameRule(GameRule.DO_WEATHER_CYCLE, false);
+        world.setGameRule(GameRule.DO_DAYLIGHT_CYCLE, false);
+        world.setGameRule(GameRule.DO_FIRE_TICK, false);
+        world.setGameRule(GameRule.RANDOM_TICK_SPEED, 0);
+        world.setGameRule(GameRule.DO_ENTITY_DROPS, false);
+    }
+
+    /**
+     * 保存并卸载副本世界，保留世界文件夹
+     * 副本休眠时调用，世界中不能有玩家；重新加载后方块与实体保持卸载前的状态
+     * @param world 副本世界
+     * @return 是否卸载成功
+     */
+    public boolean unloadDungeonWorld(World world) {
+        String worldName = world.getName();
+        if (unloadTracker.contains(worldName) || !world.getPlayers().isEmpty()) {
+            return false;
+        }
+
+        // 添加到卸载跟踪器，允许卸载副本世界
+        unloadTracker.add(worldName);
+        try {
+            // 保存仍加载的区块，其余区块在卸载时已保存
+            boolean unloaded = Bukkit.unloadWorld(world, true);
+            DebugUtil.debug(unloaded ? "world.unload.keep" : "world.unload.fail", "world", worldName);
+            return unloaded;
+        } finally {
+            unloadTracker.remove(worldName);
+        }
+    }
+
+    /**
+     * 重新加载保留了世界文件夹的副本世界
+     * 必须在主线程中调用
+     * @param worldName 世界名称
+     * @return 副本世界，世界文件夹不存在或加载失败时返回null
+     */
+    public World loadDungeonWorld(String worldName) {
+        World loaded = Bukkit.getWorld(worldName);
+        if (loaded != null) {
+            return loaded;
+        }
+
+        File worldFolder = new File(Bukkit.getWorldContainer(), worldName);
+        if (!worldFolder.isDirectory()) {
+            return null;
+        }
+
+        long loadStart = plugin.getPerfRegistry().start();
+        WorldCreator creator = new WorldCreator(worldName);
+        creator.generateStructures(false);
+        creator.environment(World.Environment.NORMAL);
+        World world = creator.createWorld();
+        plugin.getPerfRegistry().record(PerfTimer.WORLD_LOAD, loadStart);
+
+        if (world != null) {
+            trackWorld(world);
+            applyDungeonRules(world);
+        }
+        return world;
     }
 
     /**
@@ -308,9 +440,7 @@ public class WorldManager {
             return;
         }
 
-        Map<String, String> unloadPlaceholders = new HashMap<>();
-        unloadPlaceholders.put("world", worldName);
-        DebugUtil.debug("world.unload.start", unloadPlaceholders);
+        DebugUtil.debug("world.unload.start", "world", worldName);
 
         // 1. 将所有玩家传送出世界
         teleportPlayersOutOfWorld(world);
@@ -413,9 +543,7 @@ public class WorldManager {
 
         // 检查文件夹是否存在
         if (!worldDir.exists()) {
-            Map<String, String> notExistPlaceholders = new HashMap<>();
-            notExistPlaceholders.put("world", worldName);
-            DebugUtil.debug("world.delete.not-exist", notExistPlaceholders);
+            DebugUtil.debug("world.delete.not-exist", "world", worldName);
             unloadTracker.remove(worldName);
             if (completionCallback != null) {
                 completionCallback.accept(true);
@@ -426,9 +554,7 @@ public class WorldManager {
         // 检查是否有世界正在使用该文件夹
         World world = Bukkit.getWorld(worldName);
         if (world != null) {
-            Map<String, String> inUsePlaceholders = new HashMap<>();
-            inUsePlaceholders.put("world", worldName);
-            DebugUtil.debug("world.delete.in-use", inUsePlaceholders);
+            DebugUtil.debug("world.delete.in-use", "world", worldName);
 
             // 将所有玩家传送出世界
             teleportPlayersOutOfWorld(world);
@@ -553,9 +679,7 @@ public class WorldManager {
 
             // 检查是否为副本世界
             if (worldName.startsWith(worldPrefix)) {
-                Map<String, String> unloadPlaceholders = new HashMap<>();
-                unloadPlaceholders.put("world", worldName);
-                DebugUtil.debug("world.unload.start", unloadPlaceholders);
+                DebugUtil.debug("world.unload.start", "world", worldName);
 
                 // 使用deleteDungeonWorld方法卸载和删除世界
                 deleteDungeonWorld(worldName, success -> {
@@ -605,9 +729,7 @@ public class WorldManager {
 
             // 检查是否为副本世界
             if (worldName.startsWith(worldPrefix)) {
-                Map<String, String> cleanupPlaceholders = new HashMap<>();
-                cleanupPlaceholders.put("world", worldName);
-                DebugUtil.debug("world.cleanup.found", cleanupPlaceholders);
+                DebugUtil.debug("world.cleanup.found", "world", worldName);
                 // 卸载并删除世界
                 deleteDungeonWorld(worldName, null);
             }
@@ -647,18 +769,14 @@ public class WorldManager {
                 continue; // 已加载的世界由cleanupLoadedDungeonWorlds处理
             }
 
-            Map<String, String> cleanupPlaceholders = new HashMap<>();
-            cleanupPlaceholders.put("world", worldName);
-            DebugUtil.debug("world.cleanup.found", cleanupPlaceholders);
+            DebugUtil.debug("world.cleanup.found", "world", worldName);
 
             // 直接删除世界文件夹，不尝试加载
             deleteWorldFolder(worldName, file);
             count++;
         }
 
-        Map<String, String> completePlaceholders = new HashMap<>();
-        completePlaceholders.put("count", String.valueOf(count));
-        DebugUtil.debug("world.cleanup.complete", completePlaceholders);
+        DebugUtil.debug("world.cleanup.complete", "count", count);
     }
 
 
@@ -685,9 +803,7 @@ public class WorldManager {
 
         // 检查文件夹是否存在
         if (!worldFolder.exists()) {
-            Map<String, String> notExistPlaceholders = new HashMap<>();
-            notExistPlaceholders.put("world", worldName);
-            DebugUtil.debug("world.delete.not-exist", notExistPlaceholders);
+            DebugUtil.debug("world.delete.not-exist", "world", worldName);
             unloadTracker.remove(worldName);
             return;
         }
@@ -695,9 +811,7 @@ public class WorldManager {
         // 检查是否有世界正在使用该文件夹
         World world = Bukkit.getWorld(worldName);
         if (world != null) {
-            Map<String, String> inUsePlaceholders = new HashMap<>();
-            inUsePlaceholders.put("world", worldName);
-            DebugUtil.debug("world.delete.in-use", inUsePlaceholders);
+            DebugUtil.debug("world.delete.in-use", "world", worldName);
 
             // 将所有玩家传送出世界
             teleportPlayersOutOfWorld(world);
@@ -796,6 +910,67 @@ public class WorldManager {
         return worldName != null && worldName.startsWith(worldPrefix);
     }
 
+    /**
+     * 检查已加载的世界是否为副本世界
+     * 只查询世界UID集合，不做字符串处理，用于传送、区块卸载等高频事件
+     * @param world 世界
+     * @return 是否为副本世界
+     */
+    public boolean isDungeonWorld(World world) {
+        return world != null && dungeonWorldIds.contains(world.getUID());
+    }
+
+    /**
+     * 记录已加载的副本世界
+     * 世界名称不带副本前缀时忽略
+     * @param world 世界
+     */
+    public void trackWorld(World world) {
+        if (isDungeonWorld(world.getName())) {
+            dungeonWorldIds.add(world.getUID());
+        }
+    }
+
+    /**
+     * 移除已卸载的副本世界记录
+     * @param world 世界
+     */
+    public void untrackWorld(World world) {
+        untrackWorld(world.getUID());
+    }
+
+    /**
+     * 移除副本世界记录
+     * @param worldUid 世界UID
+     */
+    public void untrackWorld(UUID worldUid) {
+        dungeonWorldIds.remove(worldUid);
+    }
+
+    /**
+     * 获取已记录的副本世界UID
+     * @return 世界UID列表副本
+     */
+    public List<UUID> getTrackedWorldIds() {
+        return new ArrayList<>(dungeonWorldIds);
+    }
+
+    /**
+     * 获取正在卸载中的世界名称
+     * @return 世界名称列表副本
+     */
+    public List<String> getUnloadingWorlds() {
+        return new ArrayList<>(unloadTracker);
+    }
+
+    /**
+     * 清除世界的卸载中标记
+     * @param worldName 世界名称
+     */
+    public void clearUnloading(String worldName) {
+        unloadTracker.remove(worldName);
+    }
+
     /**
      * 检查世界是否正在卸载中
      * @param worldName 世界名称
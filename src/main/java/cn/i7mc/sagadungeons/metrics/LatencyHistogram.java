@@ -0,0 +1,238 @@
+package cn.i7mc.sagadungeons.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 延迟直方图
+ * 以微秒为单位按对数-线性方式分桶(类似HDR直方图)：
+ * 小于16微秒的值精确记录，之后每个2的幂区间分为8个子桶，相对误差不超过12.5%。
+ * 记录按分钟写入环形窗口，可合并最近1/5/15分钟计算分位数；
+ * 另外保留启动以来的总次数与总耗时，供Prometheus导出
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    // 最大记录约2^40微秒(约12天)，更大的值计入最后一个桶
+    private static final int MAX_EXPONENT = 39;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - 3) * SUB_BUCKETS;
+
+    // 分钟窗口数量，保留当前分钟与之前完整的15分钟，多留一个窗口供轮换
+    public static final int MAX_WINDOW_MINUTES = 15;
+    private static final int WINDOW_COUNT = MAX_WINDOW_MINUTES + 2;
+
+    private final Window[] windows = new Window[WINDOW_COUNT];
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * 构造函数
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < WINDOW_COUNT; i++) {
+            windows[i] = new Window();
+        }
+    }
+
+    /**
+     * 记录一次耗时
+     * @param nanos 耗时(纳秒)
+     */
+    public void record(long nanos) {
+        if (nanos < 0L) {
+            return;
+        }
+
+        totalCount.increment();
+        totalNanos.add(nanos);
+
+        Window window = currentWindow(System.currentTimeMillis() / 60000L);
+        window.counts.incrementAndGet(bucketIndex(nanos / 1000L));
+        window.count.incrementAndGet();
+        window.max.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * 获取最近若干分钟的快照
+     * 窗口按自然分钟滚动，包含之前完整的N分钟与当前未满的一分钟
+     * @param minutes 分钟数，最多15
+     * @return 快照
+     */
+    public Snapshot snapshot(int minutes) {
+        long now = System.currentTimeMillis() / 60000L;
+        int span = Math.max(1, Math.min(MAX_WINDOW_MINUTES, minutes));
+
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0L;
+        long max = 0L;
+        for (Window window : windows) {
+            long minute = window.minute;
+            if (minute > now || minute < now - span) {
+                continue;
+            }
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += window.counts.get(i);
+            }
+            count += window.count.get();
+            max = Math.max(max, window.max.get());
+        }
+        return new Snapshot(counts, count, max);
+    }
+
+    /**
+     * 获取启动以来的记录次数
+     * @return 记录次数
+     */
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * 获取启动以来的累计耗时
+     * @return 累计耗时(纳秒)
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * 清空所有记录
+     */
+    public void reset() {
+        for (Window window : windows) {
+            synchronized (window) {
+                window.clear(-1L);
+            }
+        }
+        totalCount.reset();
+        totalNanos.reset();
+    }
+
+    /**
+     * 获取当前分钟的窗口，窗口属于过去的分钟时先清空
+     * 清空期间并发写入的极少量记录可能计入相邻分钟
+     * @param minute 当前分钟
+     * @return 窗口
+     */
+    private Window currentWindow(long minute) {
+        Window window = windows[(int) (minute % WINDOW_COUNT)];
+        if (window.minute != minute) {
+            synchronized (window) {
+                if (window.minute != minute) {
+                    window.clear(minute);
+                }
+            }
+        }
+        return window;
+    }
+
+    /**
+     * 计算桶索引
+     * @param micros 耗时(微秒)
+     * @return 桶索引
+     */
+    static int bucketIndex(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) Math.max(0L, micros);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * 获取桶的上界
+     * @param index 桶索引
+     * @return 上界(微秒，不含)
+     */
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index + 1L;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * 一分钟的记录窗口
+     */
+    private static class Window {
+        private volatile long minute = -1L;
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        private void clear(long newMinute) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts.set(i, 0L);
+            }
+            count.set(0L);
+            max.set(0L);
+            minute = newMinute;
+        }
+    }
+
+    /**
+     * 直方图快照
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * 获取记录次数
+         * @return 记录次数
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * 获取最大耗时
+         * @return 最大耗时(纳秒)
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * 获取分位数
+         * 返回所在桶的上界，且不超过记录到的最大值
+         * @param quantile 分位(0-1)
+         * @return 耗时(纳秒)，没有记录时返回0
+         */
+        public long getQuantileNanos(double quantile) {
+            long total = 0L;
+            for (long bucket : counts) {
+                total += bucket;
+            }
+            if (total == 0L) {
+                return 0L;
+            }
+
+            long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+            long seen = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i) * 1000L, maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
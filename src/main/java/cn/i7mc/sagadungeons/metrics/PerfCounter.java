@@ -0,0 +1,50 @@
+package cn.i7mc.sagadungeons.metrics;
+
+/**
+ * 性能计数项
+ */
+public enum PerfCounter {
+
+    DUNGEON_CREATED("dungeon_created"),
+    DUNGEON_REJECTED("dungeon_rejected"),
+    DUNGEON_DELETED("dungeon_deleted"),
+    WORLD_COPY_FAILED("world_copy_failed"),
+    PLAYER_DEATH("player_death"),
+    MOB_SPAWNED("mob_spawned"),
+    STATE_REAPED("state_reaped"),
+    RUN_RECORDED("run_recorded"),
+    RUN_DROPPED("run_dropped"),
+    LEVEL_PROVISIONED("level_provisioned"),
+    LEVEL_PROVISION_HIT("level_provision_hit"),
+    LEVEL_PROVISION_DISCARDED("level_provision_discarded"),
+    INSTANCE_HIBERNATED("instance_hibernated"),
+    INSTANCE_RESTORED("instance_restored");
+
+    private final String key;
+
+    PerfCounter(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 获取计数项名称，用于命令、变量与导出
+     * @return 名称
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 根据名称获取计数项
+     * @param key 名称
+     * @return 计数项，不存在时返回null
+     */
+    public static PerfCounter fromKey(String key) {
+        for (PerfCounter counter : values()) {
+            if (counter.key.equalsIgnoreCase(key)) {
+                return counter;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,414 @@
+package cn.i7mc.sagadungeons.metrics;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.config.ConfigManager;
+import cn.i7mc.sagadungeons.dungeon.DungeonInstance;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecyclePhase;
+import cn.i7mc.sagadungeons.dungeon.lifecycle.LifecycleScheduler;
+import cn.i7mc.sagadungeons.dungeon.resource.InstanceResources;
+import cn.i7mc.sagadungeons.io.IOLane;
+import cn.i7mc.sagadungeons.io.IOManager;
+import cn.i7mc.sagadungeons.io.LaneExecutor;
+import cn.i7mc.sagadungeons.reaper.StateReaper;
+import cn.i7mc.sagadungeons.reaper.StateSource;
+import cn.i7mc.sagadungeons.scheduler.TaskHandle;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 性能指标注册表
+ * 计数使用LongAdder分段累加，耗时写入延迟直方图；关闭时start()直接返回0，记录调用不做任何事。
+ * 可定时把所有指标以Prometheus文本格式写入文件，供node exporter的textfile收集器读取
+ */
+public class PerfRegistry {
+
+    private static final double[] EXPORT_QUANTILES = {0.5, 0.9, 0.99};
+    private static final int EXPORT_WINDOW_MINUTES = 5;
+    // 快照缓存时间，变量与命令频繁读取时不必每次合并直方图
+    private static final long SNAPSHOT_CACHE_NANOS = 1_000_000_000L;
+
+    private final SagaDungeons plugin;
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PerfTimer.values().length];
+    private final LongAdder[] counters = new LongAdder[PerfCounter.values().length];
+    private final CachedSnapshot[][] snapshotCache =
+            new CachedSnapshot[PerfTimer.values().length][LatencyHistogram.MAX_WINDOW_MINUTES + 1];
+    private volatile boolean enabled;
+    private TaskHandle exportTask;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public PerfRegistry(SagaDungeons plugin) {
+        this.plugin = plugin;
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        configure();
+    }
+
+    /**
+     * 读取配置并重新安排导出任务
+     */
+    public void configure() {
+        ConfigManager config = plugin.getConfigManager();
+        enabled = config.isPerfMetricsEnabled();
+
+        if (exportTask != null) {
+            exportTask.cancel();
+            exportTask = null;
+        }
+        if (enabled && config.isPrometheusExportEnabled()) {
+            long interval = config.getPrometheusExportInterval() * 20L;
+            exportTask = plugin.getTaskScheduler().runGlobalTimer(this::export, interval, interval);
+        }
+    }
+
+    /**
+     * 停止导出任务
+     */
+    public void shutdown() {
+        if (exportTask != null) {
+            exportTask.cancel();
+            exportTask = null;
+        }
+    }
+
+    /**
+     * 检查是否启用
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 开始计时
+     * @return 开始时间(纳秒)，未启用时返回0
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 结束计时并记录
+     * @param timer 计时项
+     * @param startNanos start()的返回值，为0时不记录
+     */
+    public void record(PerfTimer timer, long startNanos) {
+        if (startNanos != 0L) {
+            histograms[timer.ordinal()].record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * 记录一次已测得的耗时
+     * @param timer 计时项
+     * @param nanos 耗时(纳秒)
+     */
+    public void recordDuration(PerfTimer timer, long nanos) {
+        if (enabled) {
+            histograms[timer.ordinal()].record(nanos);
+        }
+    }
+
+    /**
+     * 计数加一
+     * @param counter 计数项
+     */
+    public void increment(PerfCounter counter) {
+        if (enabled) {
+            counters[counter.ordinal()].increment();
+        }
+    }
+
+    /**
+     * 计数增加指定值
+     * @param counter 计数项
+     * @param amount 增加值
+     */
+    public void add(PerfCounter counter, long amount) {
+        if (enabled) {
+            counters[counter.ordinal()].add(amount);
+        }
+    }
+
+    /**
+     * 获取延迟直方图
+     * @param timer 计时项
+     * @return 延迟直方图
+     */
+    public LatencyHistogram getHistogram(PerfTimer timer) {
+        return histograms[timer.ordinal()];
+    }
+
+    /**
+     * 获取最近若干分钟的直方图快照
+     * 同一计时项与窗口的快照缓存1秒
+     * @param timer 计时项
+     * @param minutes 分钟数，最多15
+     * @return 快照
+     */
+    public LatencyHistogram.Snapshot getSnapshot(PerfTimer timer, int minutes) {
+        int span = Math.max(1, Math.min(LatencyHistogram.MAX_WINDOW_MINUTES, minutes));
+        long now = System.nanoTime();
+        CachedSnapshot cached = snapshotCache[timer.ordinal()][span];
+        if (cached != null && now - cached.createdAt < SNAPSHOT_CACHE_NANOS) {
+            return cached.snapshot;
+        }
+
+        LatencyHistogram.Snapshot snapshot = getHistogram(timer).snapshot(span);
+        snapshotCache[timer.ordinal()][span] = new CachedSnapshot(snapshot, now);
+        return snapshot;
+    }
+
+    /**
+     * 获取计数值
+     * @param counter 计数项
+     * @return 计数值
+     */
+    public long getCount(PerfCounter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * 清空所有指标
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+        for (CachedSnapshot[] cache : snapshotCache) {
+            Arrays.fill(cache, null);
+        }
+    }
+
+    /**
+     * 将指标写入导出文件
+     * 在调度线程生成文本，在持久化I/O通道写入，写入使用临时文件替换，读取方不会看到半个文件
+     */
+    private void export() {
+        File file = new File(plugin.getConfigManager().getPrometheusExportFile());
+        if (!file.isAbsolute()) {
+            file = new File(plugin.getDataFolder(), file.getPath());
+        }
+        plugin.getIOManager().write(file, renderPrometheus());
+    }
+
+    /**
+     * 生成Prometheus文本格式的指标
+     * @return 指标文本
+     */
+    public String renderPrometheus() {
+        StringBuilder builder = new StringBuilder(4096);
+
+        // 操作耗时
+        builder.append("# HELP sagadungeons_operation_duration_seconds Duration of instrumented operations, quantiles over the last ")
+                .append(EXPORT_WINDOW_MINUTES).append(" minutes\n");
+        builder.append("# TYPE sagadungeons_operation_duration_seconds summary\n");
+        for (PerfTimer timer : PerfTimer.values()) {
+            LatencyHistogram histogram = getHistogram(timer);
+            LatencyHistogram.Snapshot snapshot = getSnapshot(timer, EXPORT_WINDOW_MINUTES);
+            for (double quantile : EXPORT_QUANTILES) {
+                builder.append("sagadungeons_operation_duration_seconds{operation=\"").append(timer.getKey())
+                        .append("\",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(snapshot.getQuantileNanos(quantile))).append('\n');
+            }
+            builder.append("sagadungeons_operation_duration_seconds_sum{operation=\"").append(timer.getKey()).append("\"} ")
+                    .append(seconds(histogram.getTotalNanos())).append('\n');
+            builder.append("sagadungeons_operation_duration_seconds_count{operation=\"").append(timer.getKey()).append("\"} ")
+                    .append(histogram.getTotalCount()).append('\n');
+        }
+
+        // 事件计数
+        builder.append("# HELP sagadungeons_events_total Number of dungeon events since startup\n");
+        builder.append("# TYPE sagadungeons_events_total counter\n");
+        for (PerfCounter counter : PerfCounter.values()) {
+            builder.append("sagadungeons_events_total{event=\"").append(counter.getKey()).append("\"} ")
+                    .append(getCount(counter)).append('\n');
+        }
+
+        // 活跃副本
+        if (plugin.getDungeonManager() != null) {
+            builder.append("# HELP sagadungeons_active_dungeons Number of active dungeon instances\n");
+            builder.append("# TYPE sagadungeons_active_dungeons gauge\n");
+            builder.append("sagadungeons_active_dungeons ").append(plugin.getDungeonManager().getActiveDungeonCount()).append('\n');
+
+            appendLifecycle(builder, plugin.getDungeonManager().getLifecycleScheduler());
+            appendResources(builder, plugin.getDungeonManager().getRegistry().getAll());
+        }
+
+        // 状态回收
+        if (plugin.getStateReaper() != null) {
+            appendReaper(builder, plugin.getStateReaper());
+        }
+
+        // I/O通道
+        if (plugin.getIOManager() != null) {
+            appendIO(builder, plugin.getIOManager());
+        }
+
+        return builder.toString();
+    }
+
+    private void appendLifecycle(StringBuilder builder, LifecycleScheduler scheduler) {
+        builder.append("# HELP sagadungeons_lifecycle_runs_total Lifecycle tasks executed per phase\n");
+        builder.append("# TYPE sagadungeons_lifecycle_runs_total counter\n");
+        for (LifecyclePhase phase : LifecyclePhase.values()) {
+            builder.append("sagadungeons_lifecycle_runs_total{phase=\"").append(phaseKey(phase)).append("\"} ")
+                    .append(scheduler.getPhaseRuns(phase)).append('\n');
+        }
+        builder.append("# HELP sagadungeons_lifecycle_seconds_total Time spent in lifecycle tasks per phase\n");
+        builder.append("# TYPE sagadungeons_lifecycle_seconds_total counter\n");
+        for (LifecyclePhase phase : LifecyclePhase.values()) {
+            builder.append("sagadungeons_lifecycle_seconds_total{phase=\"").append(phaseKey(phase)).append("\"} ")
+                    .append(seconds(scheduler.getPhaseNanos(phase))).append('\n');
+        }
+        builder.append("# HELP sagadungeons_lifecycle_pending Lifecycle tasks waiting on the timing wheel per phase\n");
+        builder.append("# TYPE sagadungeons_lifecycle_pending gauge\n");
+        for (LifecyclePhase phase : LifecyclePhase.values()) {
+            builder.append("sagadungeons_lifecycle_pending{phase=\"").append(phaseKey(phase)).append("\"} ")
+                    .append(scheduler.getPendingCount(phase)).append('\n');
+        }
+    }
+
+    private void appendResources(StringBuilder builder, Collection<DungeonInstance> instances) {
+        // 按模板汇总，标签数量不随副本数量增长
+        Map<String, long[]> totals = new TreeMap<>();
+        for (DungeonInstance instance : instances) {
+            InstanceResources resources = instance.getResources();
+            long[] total = totals.computeIfAbsent(instance.getTemplateName(), key -> new long[5]);
+            total[0]++;
+            total[1] += resources.getEntities();
+            total[2] += resources.getChunks();
+            total[3] += resources.getAliveMobs();
+            total[4] += resources.getTaskNanos();
+        }
+
+        builder.append("# HELP sagadungeons_template_instances Active dungeon instances per template\n");
+        builder.append("# TYPE sagadungeons_template_instances gauge\n");
+        appendTemplateTotals(builder, "sagadungeons_template_instances", totals, 0);
+        builder.append("# HELP sagadungeons_template_entities Entities in dungeon worlds per template\n");
+        builder.append("# TYPE sagadungeons_template_entities gauge\n");
+        appendTemplateTotals(builder, "sagadungeons_template_entities", totals, 1);
+        builder.append("# HELP sagadungeons_template_chunks Loaded chunks in dungeon worlds per template\n");
+        builder.append("# TYPE sagadungeons_template_chunks gauge\n");
+        appendTemplateTotals(builder, "sagadungeons_template_chunks", totals, 2);
+        builder.append("# HELP sagadungeons_template_alive_mobs Alive spawner mobs per template\n");
+        builder.append("# TYPE sagadungeons_template_alive_mobs gauge\n");
+        appendTemplateTotals(builder, "sagadungeons_template_alive_mobs", totals, 3);
+        builder.append("# HELP sagadungeons_template_task_seconds Lifecycle task time of active instances per template\n");
+        builder.append("# TYPE sagadungeons_template_task_seconds gauge\n");
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            builder.append("sagadungeons_template_task_seconds{template=\"").append(entry.getKey()).append("\"} ")
+                    .append(seconds(entry.getValue()[4])).append('\n');
+        }
+    }
+
+    private static void appendTemplateTotals(StringBuilder builder, String name, Map<String, long[]> totals, int index) {
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            builder.append(name).append("{template=\"").append(entry.getKey()).append("\"} ")
+                    .append(entry.getValue()[index]).append('\n');
+        }
+    }
+
+    private void appendReaper(StringBuilder builder, StateReaper reaper) {
+        builder.append("# HELP sagadungeons_reaper_sweeps_total Completed state reaper sweeps\n");
+        builder.append("# TYPE sagadungeons_reaper_sweeps_total counter\n");
+        builder.append("sagadungeons_reaper_sweeps_total ").append(reaper.getSweeps()).append('\n');
+        builder.append("# HELP sagadungeons_reaper_tracked Entries checked per state source in the last sweep\n");
+        builder.append("# TYPE sagadungeons_reaper_tracked gauge\n");
+        for (StateSource<?> source : reaper.getSources()) {
+            builder.append("sagadungeons_reaper_tracked{source=\"").append(source.getKey()).append("\"} ")
+                    .append(source.getTracked()).append('\n');
+        }
+        builder.append("# HELP sagadungeons_reaper_orphans Orphaned entries per state source found in the last sweep\n");
+        builder.append("# TYPE sagadungeons_reaper_orphans gauge\n");
+        for (StateSource<?> source : reaper.getSources()) {
+            builder.append("sagadungeons_reaper_orphans{source=\"").append(source.getKey()).append("\"} ")
+                    .append(source.getOrphans()).append('\n');
+        }
+        builder.append("# HELP sagadungeons_reaper_reclaimed_total Orphaned entries reclaimed per state source\n");
+        builder.append("# TYPE sagadungeons_reaper_reclaimed_total counter\n");
+        for (StateSource<?> source : reaper.getSources()) {
+            builder.append("sagadungeons_reaper_reclaimed_total{source=\"").append(source.getKey()).append("\"} ")
+                    .append(source.getReclaimed()).append('\n');
+        }
+    }
+
+    private void appendIO(StringBuilder builder, IOManager ioManager) {
+        builder.append("# HELP sagadungeons_io_queue_depth Tasks waiting per I/O lane\n");
+        builder.append("# TYPE sagadungeons_io_queue_depth gauge\n");
+        for (IOLane lane : IOLane.values()) {
+            builder.append("sagadungeons_io_queue_depth{lane=\"").append(lane.getKey()).append("\"} ")
+                    .append(ioManager.getLane(lane).getQueueDepth()).append('\n');
+        }
+        builder.append("# HELP sagadungeons_io_tasks_total I/O tasks per lane and outcome\n");
+        builder.append("# TYPE sagadungeons_io_tasks_total counter\n");
+        for (IOLane lane : IOLane.values()) {
+            LaneExecutor executor = ioManager.getLane(lane);
+            appendIOTasks(builder, lane, "completed", executor.getCompleted() - executor.getFailed());
+            appendIOTasks(builder, lane, "failed", executor.getFailed());
+            appendIOTasks(builder, lane, "rejected", executor.getRejected());
+        }
+        builder.append("# HELP sagadungeons_io_wait_seconds_total Time tasks spent queued per I/O lane\n");
+        builder.append("# TYPE sagadungeons_io_wait_seconds_total counter\n");
+        for (IOLane lane : IOLane.values()) {
+            builder.append("sagadungeons_io_wait_seconds_total{lane=\"").append(lane.getKey()).append("\"} ")
+                    .append(seconds(ioManager.getLane(lane).getWaitNanos())).append('\n');
+        }
+        builder.append("# HELP sagadungeons_io_run_seconds_total Time tasks spent running per I/O lane\n");
+        builder.append("# TYPE sagadungeons_io_run_seconds_total counter\n");
+        for (IOLane lane : IOLane.values()) {
+            builder.append("sagadungeons_io_run_seconds_total{lane=\"").append(lane.getKey()).append("\"} ")
+                    .append(seconds(ioManager.getLane(lane).getRunNanos())).append('\n');
+        }
+    }
+
+    private static void appendIOTasks(StringBuilder builder, IOLane lane, String outcome, long value) {
+        builder.append("sagadungeons_io_tasks_total{lane=\"").append(lane.getKey())
+                .append("\",outcome=\"").append(outcome).append("\"} ").append(value).append('\n');
+    }
+
+    private static String phaseKey(LifecyclePhase phase) {
+        return phase.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / 1_000_000_000.0);
+    }
+
+    /**
+     * 将纳秒格式化为毫秒文本
+     * @param nanos 纳秒
+     * @return 保留两位小数的毫秒
+     */
+    public static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * 缓存的快照
+     */
+    private static class CachedSnapshot {
+        private final LatencyHistogram.Snapshot snapshot;
+        private final long createdAt;
+
+        private CachedSnapshot(LatencyHistogram.Snapshot snapshot, long createdAt) {
+            this.snapshot = snapshot;
+            this.createdAt = createdAt;
+        }
+    }
+}
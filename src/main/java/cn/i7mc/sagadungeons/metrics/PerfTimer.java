@@ -0,0 +1,45 @@
+package cn.i7mc.sagadungeons.metrics;
+
+/**
+ * 性能计时项
+ * 每一项对应一个延迟直方图
+ */
+public enum PerfTimer {
+
+    WORLD_COPY("world_copy"),
+    WORLD_LOAD("world_load"),
+    TELEPORT("teleport"),
+    SPAWNER_TICK("spawner_tick"),
+    COMPLETION_EVENT("completion_event"),
+    DEATH("death"),
+    AUTOSAVE("autosave"),
+    GUI_OPEN("gui_open");
+
+    private final String key;
+
+    PerfTimer(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 获取计时项名称，用于命令、变量与导出
+     * @return 名称
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 根据名称获取计时项
+     * @param key 名称
+     * @return 计时项，不存在时返回null
+     */
+    public static PerfTimer fromKey(String key) {
+        for (PerfTimer timer : values()) {
+            if (timer.key.equalsIgnoreCase(key)) {
+                return timer;
+            }
+        }
+        return null;
+    }
+}
@@ -1,6 +1,8 @@
 package cn.i7mc.sagadungeons.model;
 
 import cn.i7mc.sagadungeons.dungeon.condition.DungeonRequirement;
+import cn.i7mc.sagadungeons.dungeon.resource.ResourceQuota;
+import cn.i7mc.sagadungeons.util.ItemMatcher;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -18,6 +20,7 @@ public class DungeonTemplate {
     private String displayName;
     private String worldDisplay; // 世界显示名称，用于占位符
     private int defaultTimeout;
+    private int creationCooldown = -1; // 创建冷却时间(秒)，-1表示使用全局配置
     private int levelRequirement;
     private final Map<String, MobSpawner> mobSpawners = new HashMap<>();
     private final List<DungeonRequirement> requirements = new ArrayList<>();
@@ -25,6 +28,7 @@ public class DungeonTemplate {
     private String reviveItemMaterial;
     private String reviveItemName;
     private String serializedReviveItem; // 序列化复活道具
+    private ItemMatcher reviveItemMatcher; // 复活道具匹配器，首次使用时创建
     private String worldPath; // 世界文件路径
     private String spawnLocation; // 重生点位置
     private String triggerConfig;
@@ -40,6 +44,9 @@ public class DungeonTemplate {
     // 禁止指令列表
     private final List<String> blockCMDList = new ArrayList<>();
 
+    // 资源配额
+    private ResourceQuota resourceQuota = ResourceQuota.UNLIMITED;
+
     /**
      * 构造函数
      * @param name 模板名称
@@ -106,6 +113,22 @@ public class DungeonTemplate {
         this.defaultTimeout = defaultTimeout;
     }
 
+    /**
+     * 获取创建冷却时间(秒)
+     * @return 创建冷却时间，-1表示使用全局配置
+     */
+    public int getCreationCooldown() {
+        return creationCooldown;
+    }
+
+    /**
+     * 设置创建冷却时间(秒)
+     * @param creationCooldown 创建冷却时间，-1表示使用全局配置
+     */
+    public void setCreationCooldown(int creationCooldown) {
+        this.creationCooldown = creationCooldown;
+    }
+
 
 
     /**
@@ -260,6 +283,18 @@ public class DungeonTemplate {
      */
     public void setSerializedReviveItem(String serializedReviveItem) {
         this.serializedReviveItem = serializedReviveItem;
+        this.reviveItemMatcher = null;
+    }
+
+    /**
+     * 获取序列化复活道具的匹配器
+     * @return 匹配器，没有序列化复活道具或反序列化失败时返回null
+     */
+    public ItemMatcher getReviveItemMatcher() {
+        if (reviveItemMatcher == null && hasSerializedReviveItem()) {
+            reviveItemMatcher = ItemMatcher.fromSerialized(serializedReviveItem);
+        }
+        return reviveItemMatcher;
     }
 
     /**
@@ -493,4 +528,20 @@ public class DungeonTemplate {
     public boolean hasBlockCommands() {
         return !blockCMDList.isEmpty();
     }
+
+    /**
+     * 获取资源配额
+     * @return 资源配额
+     */
+    public ResourceQuota getResourceQuota() {
+        return resourceQuota;
+    }
+
+    /**
+     * 设置资源配额
+     * @param resourceQuota 资源配额，null表示不限制
+     */
+    public void setResourceQuota(ResourceQuota resourceQuota) {
+        this.resourceQuota = resourceQuota != null ? resourceQuota : ResourceQuota.UNLIMITED;
+    }
 }
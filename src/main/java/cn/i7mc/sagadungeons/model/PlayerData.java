@@ -24,7 +24,6 @@ public class PlayerData {
     private int totalCreated = 0;
     private int totalJoined = 0;
     private GameMode originalGameMode; // 玩家进入副本前的游戏模式
-    private boolean hasLegalDungeonAccess = false; // 是否拥有合法副本进入权限
 
     /**
      * 构造函数
@@ -231,22 +230,6 @@ public class PlayerData {
         this.originalGameMode = originalGameMode;
     }
 
-    /**
-     * 检查是否拥有合法副本进入权限
-     * @return 是否拥有合法副本进入权限
-     */
-    public boolean hasLegalDungeonAccess() {
-        return hasLegalDungeonAccess;
-    }
-
-    /**
-     * 设置合法副本进入权限
-     * @param hasLegalDungeonAccess 是否拥有合法副本进入权限
-     */
-    public void setLegalDungeonAccess(boolean hasLegalDungeonAccess) {
-        this.hasLegalDungeonAccess = hasLegalDungeonAccess;
-    }
-
     /**
      * 保存到配置部分
      * @param section 配置部分
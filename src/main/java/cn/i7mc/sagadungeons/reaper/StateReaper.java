@@ -0,0 +1,285 @@
+package cn.i7mc.sagadungeons.reaper;
+
+import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.config.ConfigManager;
+import cn.i7mc.sagadungeons.dungeon.DungeonRegistry;
+import cn.i7mc.sagadungeons.metrics.PerfCounter;
+import cn.i7mc.sagadungeons.scheduler.TaskHandle;
+import cn.i7mc.sagadungeons.util.DebugUtil;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 副本状态回收器
+ * 副本状态分散在多个管理器中，删除副本时需要逐一清理，任何遗漏的路径都会在整个运行期间泄漏。
+ * 回收器定期将各管理器中的条目与副本注册表及已加载世界核对，回收已删除副本残留的条目。
+ * 每tick只核对少量条目，一次完整核对分摊到多个tick完成；
+ * 条目需在连续两次核对中都被判定为残留才会回收，避免与正在进行的创建或删除冲突
+ */
+public class StateReaper {
+
+    private final SagaDungeons plugin;
+    private final List<StateSource<?>> sources = new ArrayList<>();
+
+    private TaskHandle task;
+    private Cursor<?> cursor;
+    private int sourceIndex;
+    private int sweepReclaimed;
+    private int sweepTicks;
+    private volatile boolean sweeping;
+    private volatile long sweeps;
+    private volatile int lastSweepTicks;
+
+    // 配置缓存
+    private volatile boolean enabled;
+    private int entriesPerTick;
+    private long sweepInterval;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public StateReaper(SagaDungeons plugin) {
+        this.plugin = plugin;
+        registerSources();
+        configure();
+    }
+
+    /**
+     * 注册需要核对的状态
+     */
+    private void registerSources() {
+        sources.add(new StateSource<>("death-counts",
+                () -> plugin.getDungeonManager().getDeathManager().getTrackedDungeonIds(),
+                this::isUnregistered,
+                id -> plugin.getDungeonManager().getDeathManager().cleanupDungeonDeathCounts(id)));
+        sources.add(new StateSource<>("completion-conditions",
+                () -> plugin.getDungeonManager().getCompletionManager().getTrackedDungeonIds(),
+                this::isUnregistered,
+                id -> plugin.getDungeonManager().getCompletionManager().cleanupDungeonConditions(id)));
+        sources.add(new StateSource<>("trigger-state",
+                () -> plugin.getDungeonManager().getTriggerManager().getTrackedDungeonIds(),
+                this::isUnregistered,
+                id -> plugin.getDungeonManager().getTriggerManager().cleanup(id)));
+        sources.add(new StateSource<>("prepared-levels",
+                () -> plugin.getDungeonManager().getLevelProvisioner().getTrackedDungeonIds(),
+                this::isUnregistered,
+                id -> plugin.getDungeonManager().getLevelProvisioner().release(id)));
+        sources.add(new StateSource<>("hibernation",
+                () -> plugin.getDungeonManager().getHibernationManager().getTrackedDungeonIds(),
+                this::isUnregistered,
+                id -> plugin.getDungeonManager().getHibernationManager().cleanup(id)));
+        sources.add(new StateSource<>("spawners",
+                () -> plugin.getMobSpawnerManager().getTrackedDungeonIds(),
+                this::isUnregistered,
+                id -> plugin.getMobSpawnerManager().cleanupSpawners(id)));
+        sources.add(new StateSource<>("resource-samples",
+                () -> plugin.getDungeonManager().getResourceMonitor().getMonitoredDungeonIds(),
+                this::isUnregistered,
+                id -> plugin.getDungeonManager().getResourceMonitor().stopMonitoring(id)));
+        sources.add(new StateSource<>("unloading-worlds",
+                () -> plugin.getWorldManager().getUnloadingWorlds(),
+                name -> Bukkit.getWorld(name) == null && getRegistry().getByWorldName(name) == null,
+                name -> plugin.getWorldManager().clearUnloading(name)));
+        sources.add(new StateSource<>("world-ids",
+                () -> plugin.getWorldManager().getTrackedWorldIds(),
+                uid -> Bukkit.getWorld(uid) == null,
+                uid -> plugin.getWorldManager().untrackWorld(uid)));
+        sources.add(new StateSource<>("access-tokens",
+                () -> plugin.getDungeonSecurityManager().getTokenHolders(),
+                uuid -> isUnregistered(plugin.getDungeonSecurityManager().getAccessDungeonId(uuid)),
+                uuid -> plugin.getDungeonSecurityManager().cleanupPlayerSecurity(uuid)));
+        // 离线玩家的副本记录保留到重新上线，上线时据此恢复进入副本前的位置和游戏模式
+        sources.add(new StateSource<>("player-dungeons",
+                () -> plugin.getDungeonManager().getPlayersInDungeons(),
+                uuid -> Bukkit.getPlayer(uuid) != null
+                        && isUnregistered(plugin.getDungeonManager().getPlayerData(uuid).getCurrentDungeonId()),
+                uuid -> plugin.getDungeonManager().getPlayerData(uuid).setCurrentDungeonId(null)));
+    }
+
+    /**
+     * 读取配置并重新安排核对
+     */
+    public void configure() {
+        ConfigManager config = plugin.getConfigManager();
+        enabled = config.isReaperEnabled();
+        entriesPerTick = config.getReaperEntriesPerTick();
+        sweepInterval = config.getReaperSweepInterval() * 20L;
+
+        cancelTask();
+        if (enabled) {
+            task = plugin.getTaskScheduler().runGlobalLater(this::startSweep, sweepInterval);
+        }
+    }
+
+    /**
+     * 停止核对
+     */
+    public void shutdown() {
+        cancelTask();
+    }
+
+    /**
+     * 取消当前任务，中断的核对在下次重新开始
+     */
+    private void cancelTask() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        cursor = null;
+        sweeping = false;
+    }
+
+    /**
+     * 开始一次完整核对
+     */
+    private void startSweep() {
+        sourceIndex = 0;
+        sweepReclaimed = 0;
+        sweepTicks = 0;
+        cursor = null;
+        sweeping = true;
+        task = plugin.getTaskScheduler().runGlobalTimer(this::tick, 1L, 1L);
+    }
+
+    /**
+     * 核对本tick的条目
+     */
+    private void tick() {
+        sweepTicks++;
+        int budget = entriesPerTick;
+        while (budget > 0) {
+            if (cursor == null) {
+                if (sourceIndex >= sources.size()) {
+                    finishSweep();
+                    return;
+                }
+                cursor = new Cursor<>(sources.get(sourceIndex++));
+            }
+            if (!cursor.hasNext()) {
+                cursor.finish();
+                cursor = null;
+                continue;
+            }
+            if (cursor.checkNext()) {
+                sweepReclaimed++;
+            }
+            budget--;
+        }
+    }
+
+    /**
+     * 结束一次完整核对并安排下一次
+     */
+    private void finishSweep() {
+        task.cancel();
+        sweeping = false;
+        sweeps++;
+        lastSweepTicks = sweepTicks;
+
+        if (sweepReclaimed > 0) {
+            StringBuilder detail = new StringBuilder();
+            for (StateSource<?> source : sources) {
+                if (source.getOrphans() > 0) {
+                    if (detail.length() > 0) {
+                        detail.append(", ");
+                    }
+                    detail.append(source.getKey()).append('=').append(source.getOrphans());
+                }
+            }
+            plugin.getLogger().warning("状态回收: 回收了 " + sweepReclaimed + " 个已删除副本残留的条目 (" + detail + ")");
+        }
+
+        task = plugin.getTaskScheduler().runGlobalLater(this::startSweep, sweepInterval);
+    }
+
+    /**
+     * 检查副本是否已不在注册表中
+     * @param dungeonId 副本ID，为null时视为未残留
+     * @return 是否已不在注册表中
+     */
+    private boolean isUnregistered(String dungeonId) {
+        return dungeonId != null && getRegistry().get(dungeonId) == null;
+    }
+
+    private DungeonRegistry getRegistry() {
+        return plugin.getDungeonManager().getRegistry();
+    }
+
+    /**
+     * 检查是否启用
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 检查是否正在核对
+     * @return 是否正在核对
+     */
+    public boolean isSweeping() {
+        return sweeping;
+    }
+
+    /**
+     * 获取已完成的核对次数
+     * @return 次数
+     */
+    public long getSweeps() {
+        return sweeps;
+    }
+
+    /**
+     * 获取最近一次完整核对用去的tick数
+     * @return tick数
+     */
+    public int getLastSweepTicks() {
+        return lastSweepTicks;
+    }
+
+    /**
+     * 获取所有核对的状态
+     * @return 状态列表
+     */
+    public List<StateSource<?>> getSources() {
+        return Collections.unmodifiableList(sources);
+    }
+
+    /**
+     * 单类状态的核对进度
+     * @param <K> 条目键类型
+     */
+    private final class Cursor<K> {
+        private final StateSource<K> source;
+        private final Iterator<K> entries;
+
+        private Cursor(StateSource<K> source) {
+            this.source = source;
+            this.entries = source.begin().iterator();
+        }
+
+        private boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        private boolean checkNext() {
+            K entry = entries.next();
+            if (!source.check(entry)) {
+                return false;
+            }
+            plugin.getPerfRegistry().increment(PerfCounter.STATE_REAPED);
+            DebugUtil.debug("dungeon.reaper.reclaim", "source", source.getKey(), "entry", entry);
+            return true;
+        }
+
+        private void finish() {
+            source.finish();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package cn.i7mc.sagadungeons.reaper;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 状态回收器核对的一类副本状态
+ * 由条目快照、残留判断与回收动作组成，并记录最近一次核对的结果
+ * @param <K> 条目键类型
+ */
+public class StateSource<K> {
+
+    private final String key;
+    private final Supplier<Collection<K>> snapshot;
+    private final Predicate<K> orphan;
+    private final Consumer<K> reclaimer;
+
+    // 上一次核对中判定为残留的条目，本次核对再次判定为残留时才回收
+    private Set<K> suspects = new HashSet<>();
+    private Set<K> nextSuspects = new HashSet<>();
+
+    private volatile int tracked;
+    private volatile int orphans;
+    private volatile long reclaimed;
+    private int sweepOrphans;
+
+    /**
+     * 构造函数
+     * @param key 名称，用于指标标签与命令输出
+     * @param snapshot 获取当前条目的副本
+     * @param orphan 判断条目是否残留
+     * @param reclaimer 回收残留条目
+     */
+    public StateSource(String key, Supplier<Collection<K>> snapshot, Predicate<K> orphan, Consumer<K> reclaimer) {
+        this.key = key;
+        this.snapshot = snapshot;
+        this.orphan = orphan;
+        this.reclaimer = reclaimer;
+    }
+
+    /**
+     * 开始一次核对
+     * @return 需要核对的条目
+     */
+    Collection<K> begin() {
+        nextSuspects = new HashSet<>();
+        sweepOrphans = 0;
+        Collection<K> entries = snapshot.get();
+        tracked = entries.size();
+        return entries;
+    }
+
+    /**
+     * 核对一个条目
+     * 快照之后条目可能已被正常清理，因此在核对时重新判断
+     * @param entry 条目
+     * @return 是否回收了该条目
+     */
+    boolean check(K entry) {
+        if (!orphan.test(entry)) {
+            return false;
+        }
+        sweepOrphans++;
+        if (!suspects.contains(entry)) {
+            nextSuspects.add(entry);
+            return false;
+        }
+        reclaimer.accept(entry);
+        reclaimed++;
+        return true;
+    }
+
+    /**
+     * 结束一次核对，保存本次的疑似残留条目
+     */
+    void finish() {
+        suspects = nextSuspects;
+        orphans = sweepOrphans;
+    }
+
+    /**
+     * 获取名称
+     * @return 名称
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 获取最近一次核对时的条目数量
+     * @return 条目数量
+     */
+    public int getTracked() {
+        return tracked;
+    }
+
+    /**
+     * 获取最近一次核对中判定为残留的条目数量，包括已回收与待确认的条目
+     * @return 条目数量
+     */
+    public int getOrphans() {
+        return orphans;
+    }
+
+    /**
+     * 获取累计回收的条目数量
+     * @return 条目数量
+     */
+    public long getReclaimed() {
+        return reclaimed;
+    }
+}
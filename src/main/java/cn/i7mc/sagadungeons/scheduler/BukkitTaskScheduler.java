@@ -0,0 +1,105 @@
+package cn.i7mc.sagadungeons.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Bukkit调度器实现
+ * 非Folia服务端使用，所有同步任务都在主线程执行
+ */
+public class BukkitTaskScheduler implements TaskScheduler {
+
+    private final Plugin plugin;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public BukkitTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return false;
+    }
+
+    @Override
+    public TaskHandle runGlobal(Runnable task) {
+        return wrap(Bukkit.getScheduler().runTask(plugin, task));
+    }
+
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delayTicks) {
+        return wrap(Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks));
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return wrap(Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks));
+    }
+
+    @Override
+    public TaskHandle runAt(Location location, Runnable task) {
+        return runGlobal(task);
+    }
+
+    @Override
+    public TaskHandle runAtLater(Location location, Runnable task, long delayTicks) {
+        return runGlobalLater(task, delayTicks);
+    }
+
+    @Override
+    public TaskHandle runForEntity(Entity entity, Runnable task) {
+        return runGlobal(() -> {
+            if (isPresent(entity)) {
+                task.run();
+            }
+        });
+    }
+
+    @Override
+    public TaskHandle runForEntityLater(Entity entity, Runnable task, long delayTicks) {
+        return runGlobalLater(() -> {
+            if (isPresent(entity)) {
+                task.run();
+            }
+        }, delayTicks);
+    }
+
+    @Override
+    public TaskHandle runAsync(Runnable task) {
+        return wrap(Bukkit.getScheduler().runTaskAsynchronously(plugin, task));
+    }
+
+    /**
+     * 检查实体是否仍然存在
+     * 死亡的玩家isValid()返回false，但仍需要执行重生传送等任务，因此玩家只检查是否在线
+     * @param entity 实体
+     * @return 是否存在
+     */
+    private static boolean isPresent(Entity entity) {
+        if (entity instanceof Player) {
+            return ((Player) entity).isOnline();
+        }
+        return entity.isValid();
+    }
+
+    private static TaskHandle wrap(BukkitTask task) {
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
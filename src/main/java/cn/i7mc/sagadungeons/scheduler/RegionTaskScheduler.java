@@ -0,0 +1,100 @@
+package cn.i7mc.sagadungeons.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * 区域调度器实现
+ * Folia服务端使用Paper的 GlobalRegionScheduler / RegionScheduler / EntityScheduler / AsyncScheduler，
+ * 副本相关任务在拥有副本区域的线程执行
+ */
+public class RegionTaskScheduler implements TaskScheduler {
+
+    // 已取消或实体已移除时返回的空句柄
+    private static final TaskHandle CANCELLED = new TaskHandle() {
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return true;
+        }
+    };
+
+    private final Plugin plugin;
+
+    /**
+     * 构造函数
+     * @param plugin 插件实例
+     */
+    public RegionTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionized() {
+        return true;
+    }
+
+    @Override
+    public TaskHandle runGlobal(Runnable task) {
+        return wrap(Bukkit.getGlobalRegionScheduler().run(plugin, scheduled -> task.run()));
+    }
+
+    @Override
+    public TaskHandle runGlobalLater(Runnable task, long delayTicks) {
+        return wrap(Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), Math.max(1L, delayTicks)));
+    }
+
+    @Override
+    public TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return wrap(Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                Math.max(1L, delayTicks), Math.max(1L, periodTicks)));
+    }
+
+    @Override
+    public TaskHandle runAt(Location location, Runnable task) {
+        return wrap(Bukkit.getRegionScheduler().run(plugin, location, scheduled -> task.run()));
+    }
+
+    @Override
+    public TaskHandle runAtLater(Location location, Runnable task, long delayTicks) {
+        return wrap(Bukkit.getRegionScheduler().runDelayed(plugin, location, scheduled -> task.run(), Math.max(1L, delayTicks)));
+    }
+
+    @Override
+    public TaskHandle runForEntity(Entity entity, Runnable task) {
+        return wrap(entity.getScheduler().run(plugin, scheduled -> task.run(), null));
+    }
+
+    @Override
+    public TaskHandle runForEntityLater(Entity entity, Runnable task, long delayTicks) {
+        return wrap(entity.getScheduler().runDelayed(plugin, scheduled -> task.run(), null, Math.max(1L, delayTicks)));
+    }
+
+    @Override
+    public TaskHandle runAsync(Runnable task) {
+        return wrap(Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> task.run()));
+    }
+
+    private static TaskHandle wrap(ScheduledTask task) {
+        if (task == null) {
+            return CANCELLED;
+        }
+        return new TaskHandle() {
+            @Override
+            public void cancel() {
+                task.cancel();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package cn.i7mc.sagadungeons.scheduler;
+
+/**
+ * 任务句柄
+ * 屏蔽Bukkit调度器与Folia区域调度器返回的不同任务类型
+ */
+public interface TaskHandle {
+
+    /**
+     * 取消任务
+     */
+    void cancel();
+
+    /**
+     * 检查任务是否已取消
+     * @return 是否已取消
+     */
+    boolean isCancelled();
+}
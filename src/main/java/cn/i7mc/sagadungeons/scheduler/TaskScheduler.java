@@ -0,0 +1,102 @@
+package cn.i7mc.sagadungeons.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * 任务调度器
+ * 统一Bukkit调度器与Paper/Folia的区域调度器：
+ * 全局任务在全局区域(非Folia时为主线程)执行，
+ * 位置任务在拥有该位置的区域线程执行，实体任务跟随实体所在区域执行。
+ * 在非Folia服务端上所有同步任务都运行在主线程
+ */
+public interface TaskScheduler {
+
+    /**
+     * 根据服务端类型创建调度器
+     * @param plugin 插件实例
+     * @return Folia服务端返回区域调度器，否则返回Bukkit调度器
+     */
+    static TaskScheduler create(Plugin plugin) {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return new RegionTaskScheduler(plugin);
+        } catch (ClassNotFoundException e) {
+            return new BukkitTaskScheduler(plugin);
+        }
+    }
+
+    /**
+     * 检查是否运行在区域化(Folia)服务端上
+     * @return 是否区域化
+     */
+    boolean isRegionized();
+
+    /**
+     * 在全局区域执行任务
+     * @param task 任务
+     * @return 任务句柄
+     */
+    TaskHandle runGlobal(Runnable task);
+
+    /**
+     * 在全局区域延迟执行任务
+     * @param task 任务
+     * @param delayTicks 延迟(tick)
+     * @return 任务句柄
+     */
+    TaskHandle runGlobalLater(Runnable task, long delayTicks);
+
+    /**
+     * 在全局区域定时执行任务
+     * @param task 任务
+     * @param delayTicks 首次延迟(tick)
+     * @param periodTicks 周期(tick)
+     * @return 任务句柄
+     */
+    TaskHandle runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * 在拥有指定位置的区域执行任务
+     * @param location 位置
+     * @param task 任务
+     * @return 任务句柄
+     */
+    TaskHandle runAt(Location location, Runnable task);
+
+    /**
+     * 在拥有指定位置的区域延迟执行任务
+     * @param location 位置
+     * @param task 任务
+     * @param delayTicks 延迟(tick)
+     * @return 任务句柄
+     */
+    TaskHandle runAtLater(Location location, Runnable task, long delayTicks);
+
+    /**
+     * 在实体所在区域执行任务
+     * 实体已被移除或玩家已离线时任务不会执行
+     * @param entity 实体
+     * @param task 任务
+     * @return 任务句柄
+     */
+    TaskHandle runForEntity(Entity entity, Runnable task);
+
+    /**
+     * 在实体所在区域延迟执行任务
+     * 实体已被移除或玩家已离线时任务不会执行
+     * @param entity 实体
+     * @param task 任务
+     * @param delayTicks 延迟(tick)
+     * @return 任务句柄
+     */
+    TaskHandle runForEntityLater(Entity entity, Runnable task, long delayTicks);
+
+    /**
+     * 异步执行任务
+     * @param task 任务
+     * @return 任务句柄
+     */
+    TaskHandle runAsync(Runnable task);
+}
@@ -1,6 +1,7 @@
 package cn.i7mc.sagadungeons.util;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
+import cn.i7mc.sagadungeons.io.IOLane;
 import org.bukkit.Bukkit;
 
 import java.io.File;
@@ -56,10 +57,7 @@ public class BukkitFileUtil {
                             Path targetDir = target.toPath().resolve(source.toPath().relativize(dir));
                             Files.createDirectories(targetDir);
                         } catch (IOException e) {
-                            Map<String, String> placeholders = new HashMap<>();
-                            placeholders.put("dir", dir.toString());
-                            placeholders.put("message", e.getMessage());
-                            DebugUtil.debug("file.copy.dir-create-fail", placeholders);
+                            DebugUtil.debug("file.copy.dir-create-fail", "dir", dir, "message", e.getMessage());
                         }
                     });
             }
@@ -71,16 +69,12 @@ public class BukkitFileUtil {
                         String fileName = file.getFileName().toString();
                         if (fileName.equals("session.lock")) {
                             // 记录跳过session.lock文件的日志
-                            Map<String, String> placeholders = new HashMap<>();
-                            placeholders.put("file", file.toString());
-                            DebugUtil.debug("file.copy.skip-session-lock", placeholders);
+                            DebugUtil.debug("file.copy.skip-session-lock", "file", file);
                             return false;
                         }
                         if (fileName.equals("uid.dat")) {
                             // 记录跳过uid.dat文件的日志
-                            Map<String, String> placeholders = new HashMap<>();
-                            placeholders.put("file", file.toString());
-                            DebugUtil.debug("file.copy.skip-uid-dat", placeholders);
+                            DebugUtil.debug("file.copy.skip-uid-dat", "file", file);
                             return false;
                         }
                         return true;
@@ -111,19 +105,14 @@ public class BukkitFileUtil {
                                 // 忽略无法获取大小的文件
                             }
                         } catch (IOException e) {
-                            Map<String, String> placeholders = new HashMap<>();
-                            placeholders.put("file", file.toString());
-                            placeholders.put("message", e.getMessage());
-                            DebugUtil.debug("file.copy.fail", placeholders);
+                            DebugUtil.debug("file.copy.fail", "file", file, "message", e.getMessage());
                         }
                     });
             }
 
             return true;
         } catch (IOException e) {
-            Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("message", e.getMessage());
-            DebugUtil.debug("file.copy.dir-error", placeholders);
+            DebugUtil.debug("file.copy.dir-error", "message", e.getMessage());
             e.printStackTrace();
             return false;
         }
@@ -169,16 +158,12 @@ public class BukkitFileUtil {
                     String fileName = path.getFileName().toString();
                     if (fileName.equals("session.lock")) {
                         // 记录跳过session.lock文件的日志
-                        Map<String, String> placeholders = new HashMap<>();
-                        placeholders.put("file", path.toString());
-                        DebugUtil.debug("file.count.skip-session-lock", placeholders);
+                        DebugUtil.debug("file.count.skip-session-lock", "file", path);
                         return false;
                     }
                     if (fileName.equals("uid.dat")) {
                         // 记录跳过uid.dat文件的日志
-                        Map<String, String> placeholders = new HashMap<>();
-                        placeholders.put("file", path.toString());
-                        DebugUtil.debug("file.count.skip-uid-dat", placeholders);
+                        DebugUtil.debug("file.count.skip-uid-dat", "file", path);
                         return false;
                     }
                     return true;
@@ -198,13 +183,14 @@ public class BukkitFileUtil {
 
     /**
      * 异步复制文件夹
+     * 在交互I/O通道执行，完成回调在主线程执行
      * @param source 源文件夹
      * @param target 目标文件夹
      * @param progressCallback 进度回调
      * @param completionCallback 完成回调
      */
     public static void copyDirectoryAsync(File source, File target, Consumer<Double> progressCallback, Consumer<Boolean> completionCallback) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+        boolean accepted = plugin.getIOManager().execute(IOLane.INTERACTIVE, () -> {
             try {
                 // 记录开始时间
                 final long startTime = System.currentTimeMillis();
@@ -214,30 +200,26 @@ public class BukkitFileUtil {
 
                 // 计算耗时
                 final long copyTime = System.currentTimeMillis() - startTime;
-                Map<String, String> placeholders = new HashMap<>();
-                placeholders.put("time", String.valueOf(copyTime));
-                DebugUtil.debug("file.copy.async-complete", placeholders);
+                DebugUtil.debug("file.copy.async-complete", "time", copyTime);
 
                 // 在主线程中执行完成回调
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    if (completionCallback != null) {
-                        completionCallback.accept(success);
-                    }
-                });
+                complete(completionCallback, success);
             } catch (Exception e) {
-                Map<String, String> placeholders = new HashMap<>();
-                placeholders.put("message", e.getMessage());
-                DebugUtil.debug("file.copy.async-error", placeholders);
+                DebugUtil.debug("file.copy.async-error", "message", e.getMessage());
                 e.printStackTrace();
 
                 // 在主线程中执行完成回调，报告失败
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    if (completionCallback != null) {
-                        completionCallback.accept(false);
-                    }
-                });
+                complete(completionCallback, false);
             }
         });
+
+        // 队列已满时直接报告失败
+        if (!accepted) {
+            DebugUtil.debug("file.io.rejected", "lane", IOLane.INTERACTIVE.getKey());
+            if (completionCallback != null) {
+                completionCallback.accept(false);
+            }
+        }
     }
 
     /**
@@ -258,18 +240,13 @@ public class BukkitFileUtil {
                         try {
                             Files.delete(path);
                         } catch (IOException e) {
-                            Map<String, String> placeholders = new HashMap<>();
-                            placeholders.put("path", path.toString());
-                            placeholders.put("message", e.getMessage());
-                            DebugUtil.debug("file.delete.fail", placeholders);
+                            DebugUtil.debug("file.delete.fail", "path", path, "message", e.getMessage());
                         }
                     });
             }
             return true;
         } catch (IOException e) {
-            Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("message", e.getMessage());
-            DebugUtil.debug("file.delete.dir-error", placeholders);
+            DebugUtil.debug("file.delete.dir-error", "message", e.getMessage());
             e.printStackTrace();
             return false;
         }
@@ -277,11 +254,12 @@ public class BukkitFileUtil {
 
     /**
      * 异步删除文件夹及其内容
+     * 在后台I/O通道执行，完成回调在主线程执行
      * @param directory 要删除的文件夹
      * @param completionCallback 完成回调
      */
     public static void deleteDirectoryAsync(File directory, Consumer<Boolean> completionCallback) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+        boolean accepted = plugin.getIOManager().execute(IOLane.BACKGROUND, () -> {
             try {
                 // 记录开始时间
                 final long startTime = System.currentTimeMillis();
@@ -291,30 +269,39 @@ public class BukkitFileUtil {
 
                 // 计算耗时
                 final long deleteTime = System.currentTimeMillis() - startTime;
-                Map<String, String> placeholders = new HashMap<>();
-                placeholders.put("time", String.valueOf(deleteTime));
-                DebugUtil.debug("file.delete.async-complete", placeholders);
+                DebugUtil.debug("file.delete.async-complete", "time", deleteTime);
 
                 // 在主线程中执行完成回调
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    if (completionCallback != null) {
-                        completionCallback.accept(success);
-                    }
-                });
+                complete(completionCallback, success);
             } catch (Exception e) {
-                Map<String, String> placeholders = new HashMap<>();
-                placeholders.put("message", e.getMessage());
-                DebugUtil.debug("file.delete.async-error", placeholders);
+                DebugUtil.debug("file.delete.async-error", "message", e.getMessage());
                 e.printStackTrace();
 
                 // 在主线程中执行完成回调，报告失败
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    if (completionCallback != null) {
-                        completionCallback.accept(false);
-                    }
-                });
+                complete(completionCallback, false);
             }
         });
+
+        // 队列已满时报告失败，残留的文件夹会在下次启动时清理
+        if (!accepted) {
+            DebugUtil.debug("file.io.rejected", "lane", IOLane.BACKGROUND.getKey());
+            if (completionCallback != null) {
+                completionCallback.accept(false);
+            }
+        }
+    }
+
+    /**
+     * 在主线程执行完成回调
+     * 插件已关闭时不再调度回调
+     * @param completionCallback 完成回调
+     * @param success 是否成功
+     */
+    private static void complete(Consumer<Boolean> completionCallback, boolean success) {
+        if (completionCallback == null || !plugin.isEnabled()) {
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, () -> completionCallback.accept(success));
     }
 
     /**
@@ -331,25 +318,19 @@ public class BukkitFileUtil {
                         String fileName = path.getFileName().toString();
                         if (fileName.equals("session.lock")) {
                             // 记录跳过session.lock文件的日志
-                            Map<String, String> placeholders = new HashMap<>();
-                            placeholders.put("file", path.toString());
-                            DebugUtil.debug("file.count.skip-session-lock", placeholders);
+                            DebugUtil.debug("file.count.skip-session-lock", "file", path);
                             return false;
                         }
                         if (fileName.equals("uid.dat")) {
                             // 记录跳过uid.dat文件的日志
-                            Map<String, String> placeholders = new HashMap<>();
-                            placeholders.put("file", path.toString());
-                            DebugUtil.debug("file.count.skip-uid-dat", placeholders);
+                            DebugUtil.debug("file.count.skip-uid-dat", "file", path);
                             return false;
                         }
                         return true;
                     }) // 忽略session.lock和uid.dat文件
                     .count();
         } catch (IOException e) {
-            Map<String, String> placeholders = new HashMap<>();
-            placeholders.put("message", e.getMessage());
-            DebugUtil.debug("file.count.error", placeholders);
+            DebugUtil.debug("file.count.error", "message", e.getMessage());
 
             // 回退到旧方法
             int count = 0;
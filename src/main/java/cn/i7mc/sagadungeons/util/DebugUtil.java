@@ -1,7 +1,7 @@
 package cn.i7mc.sagadungeons.util;
 
 import cn.i7mc.sagadungeons.SagaDungeons;
-import cn.i7mc.sagadungeons.config.DebugMessageManager;
+import cn.i7mc.sagadungeons.manager.DebugLogManager;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -14,15 +14,24 @@ public class DebugUtil {
 
     private static final SagaDungeons plugin = SagaDungeons.getInstance();
 
+    /**
+     * 检查指定路径的调试消息是否需要记录
+     * 调用方可在构造变量映射前先行判断，调试关闭时没有任何开销
+     * @param path 消息路径
+     * @return 是否需要记录
+     */
+    public static boolean isEnabled(String path) {
+        DebugLogManager debugLogManager = plugin.getDebugLogManager();
+        return debugLogManager != null && debugLogManager.isEnabled(path);
+    }
+
     /**
      * 输出调试消息
      * @param path 消息路径
      */
     public static void debug(String path) {
-        if (plugin.getConfigManager().isDebugEnabled()) {
-            DebugMessageManager debugMessageManager = new DebugMessageManager(plugin);
-            String message = debugMessageManager.getMessage(path);
-            plugin.getLogger().info("[Debug] " + message);
+        if (isEnabled(path)) {
+            plugin.getDebugLogManager().log(path, null);
         }
     }
 
@@ -32,10 +41,36 @@ public class DebugUtil {
      * @param placeholders 变量映射
      */
     public static void debug(String path, Map<String, String> placeholders) {
-        if (plugin.getConfigManager().isDebugEnabled()) {
-            DebugMessageManager debugMessageManager = new DebugMessageManager(plugin);
-            String message = debugMessageManager.getMessage(path, placeholders);
-            plugin.getLogger().info("[Debug] " + message);
+        if (isEnabled(path)) {
+            plugin.getDebugLogManager().log(path, placeholders);
+        }
+    }
+
+    /**
+     * 输出带一个变量的调试消息
+     * 仅在需要记录时才创建变量映射
+     * @param path 消息路径
+     * @param key 变量名
+     * @param value 变量值
+     */
+    public static void debug(String path, String key, Object value) {
+        if (isEnabled(path)) {
+            plugin.getDebugLogManager().log(path, createPlaceholders(key, String.valueOf(value)));
+        }
+    }
+
+    /**
+     * 输出带两个变量的调试消息
+     * 仅在需要记录时才创建变量映射
+     * @param path 消息路径
+     * @param key1 变量名1
+     * @param value1 变量值1
+     * @param key2 变量名2
+     * @param value2 变量值2
+     */
+    public static void debug(String path, String key1, Object value1, String key2, Object value2) {
+        if (isEnabled(path)) {
+            plugin.getDebugLogManager().log(path, createPlaceholders(key1, String.valueOf(value1), key2, String.valueOf(value2)));
         }
     }
 
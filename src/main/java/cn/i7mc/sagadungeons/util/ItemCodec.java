@@ -0,0 +1,203 @@
+package cn.i7mc.sagadungeons.util;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 物品编解码器
+ * 使用Paper的 ItemStack.serializeAsBytes / deserializeBytes 保存物品，
+ * 编码格式为 "SD" + 版本号 + 压缩标记 + ":" + Base64，例如 SD1R:... (未压缩) 或 SD1Z:... (Deflate压缩)。
+ * 压缩只在结果更短时使用。旧版本的Java序列化Base64字符串仍可读取，并可通过 migrate 转换为新格式
+ */
+public final class ItemCodec {
+
+    private static final Logger logger = Logger.getLogger("SagaDungeons");
+
+    private static final String HEADER = "SD";
+    private static final char VERSION = '1';
+    private static final char RAW = 'R';
+    private static final char COMPRESSED = 'Z';
+    private static final int HEADER_LENGTH = 5; // SD + 版本 + 压缩标记 + ':'
+
+    // 编码字符串 -> 物品 缓存，按内容查找，返回时复制
+    private static final int CACHE_SIZE = 128;
+    private static final Map<String, ItemStack> decodeCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, ItemStack>(16, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ItemStack> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private ItemCodec() {
+    }
+
+    /**
+     * 编码物品
+     * @param itemStack 物品堆
+     * @return 编码后的字符串，失败时返回null
+     */
+    public static String encode(ItemStack itemStack) {
+        if (itemStack == null) {
+            return null;
+        }
+
+        try {
+            byte[] bytes = itemStack.serializeAsBytes();
+            byte[] compressed = compress(bytes);
+
+            boolean useCompression = compressed.length < bytes.length;
+            String encoded = HEADER + VERSION + (useCompression ? COMPRESSED : RAW) + ':'
+                    + Base64.getEncoder().encodeToString(useCompression ? compressed : bytes);
+
+            decodeCache.put(encoded, itemStack.clone());
+            return encoded;
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "序列化物品时出错", e);
+            return null;
+        }
+    }
+
+    /**
+     * 解码物品
+     * 支持新格式与旧版本的Java序列化格式
+     * @param encoded 编码后的字符串
+     * @return 物品堆的副本，失败时返回null
+     */
+    public static ItemStack decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+
+        ItemStack cached = decodeCache.get(encoded);
+        if (cached != null) {
+            return cached.clone();
+        }
+
+        try {
+            ItemStack itemStack = isLegacy(encoded) ? decodeLegacy(encoded) : decodeCurrent(encoded);
+            if (itemStack == null) {
+                return null;
+            }
+
+            decodeCache.put(encoded, itemStack);
+            return itemStack.clone();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "反序列化物品时出错", e);
+            return null;
+        }
+    }
+
+    /**
+     * 检查是否为旧版本的Java序列化格式
+     * Base64字符集不含':'，因此带版本头的字符串不会被误判
+     * @param encoded 编码后的字符串
+     * @return 是否为旧格式
+     */
+    public static boolean isLegacy(String encoded) {
+        return encoded == null || encoded.length() < HEADER_LENGTH
+                || !encoded.startsWith(HEADER) || encoded.charAt(HEADER_LENGTH - 1) != ':';
+    }
+
+    /**
+     * 将旧格式转换为新格式
+     * @param encoded 编码后的字符串
+     * @return 新格式字符串；已是新格式时原样返回；转换失败时返回null
+     */
+    public static String migrate(String encoded) {
+        if (encoded == null || encoded.isEmpty() || !isLegacy(encoded)) {
+            return encoded;
+        }
+
+        ItemStack itemStack = decode(encoded);
+        return itemStack == null ? null : encode(itemStack);
+    }
+
+    /**
+     * 清空解码缓存
+     */
+    public static void clearCache() {
+        decodeCache.clear();
+    }
+
+    /**
+     * 解码新格式
+     * @param encoded 编码后的字符串
+     * @return 物品堆
+     * @throws DataFormatException 压缩数据损坏时抛出
+     */
+    private static ItemStack decodeCurrent(String encoded) throws DataFormatException {
+        char version = encoded.charAt(2);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("不支持的物品编码版本: " + version);
+        }
+
+        byte[] bytes = Base64.getDecoder().decode(encoded.substring(HEADER_LENGTH));
+        if (encoded.charAt(3) == COMPRESSED) {
+            bytes = decompress(bytes);
+        }
+        return ItemStack.deserializeBytes(bytes);
+    }
+
+    /**
+     * 解码旧版本的Java序列化格式
+     * @param encoded 编码后的字符串
+     * @return 物品堆
+     * @throws Exception 反序列化失败时抛出
+     */
+    private static ItemStack decodeLegacy(String encoded) throws Exception {
+        byte[] bytes = Base64.getDecoder().decode(encoded);
+        try (BukkitObjectInputStream dataInput = new BukkitObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (ItemStack) dataInput.readObject();
+        }
+    }
+
+    private static byte[] compress(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] bytes) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length * 2);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("压缩数据不完整");
+                }
+                outputStream.write(buffer, 0, count);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package cn.i7mc.sagadungeons.util;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * 物品匹配器
+ * 配置物品只反序列化一次，并预先计算由材质、模型数据和显示名/描述哈希组成的指纹。
+ * 扫描背包时先比较材质与指纹，只有指纹相同的物品才调用isSimilar做完整比较
+ */
+public final class ItemMatcher {
+
+    private final ItemStack prototype;
+    private final Material material;
+    private final boolean hasMeta;
+    private final int modelData;
+    private final int metaHash;
+
+    /**
+     * 构造函数
+     * @param prototype 原型物品
+     */
+    private ItemMatcher(ItemStack prototype) {
+        this.prototype = prototype;
+        this.material = prototype.getType();
+        this.hasMeta = prototype.hasItemMeta();
+
+        ItemMeta meta = hasMeta ? prototype.getItemMeta() : null;
+        this.modelData = getModelData(meta);
+        this.metaHash = getMetaHash(meta);
+    }
+
+    /**
+     * 根据物品创建匹配器
+     * @param itemStack 物品堆
+     * @return 匹配器，物品为空时返回null
+     */
+    public static ItemMatcher of(ItemStack itemStack) {
+        if (itemStack == null || itemStack.getType() == Material.AIR) {
+            return null;
+        }
+        return new ItemMatcher(itemStack.clone());
+    }
+
+    /**
+     * 根据序列化物品创建匹配器
+     * @param serializedItem 序列化后的Base64字符串
+     * @return 匹配器，反序列化失败时返回null
+     */
+    public static ItemMatcher fromSerialized(String serializedItem) {
+        return of(ItemStackUtil.deserializeItemStack(serializedItem));
+    }
+
+    /**
+     * 获取原型物品
+     * @return 原型物品的副本
+     */
+    public ItemStack getPrototype() {
+        return prototype.clone();
+    }
+
+    /**
+     * 获取物品显示名称
+     * @return 显示名称，没有自定义名称时返回材质名称
+     */
+    public String getDisplayName() {
+        if (hasMeta) {
+            ItemMeta meta = prototype.getItemMeta();
+            if (meta != null && meta.hasDisplayName()) {
+                return meta.getDisplayName();
+            }
+        }
+        return material.name();
+    }
+
+    /**
+     * 检查物品是否与原型匹配
+     * @param itemStack 物品堆
+     * @return 是否匹配
+     */
+    public boolean matches(ItemStack itemStack) {
+        // 材质与是否有元数据不同时直接排除
+        if (itemStack == null || itemStack.getType() != material || itemStack.hasItemMeta() != hasMeta) {
+            return false;
+        }
+
+        // 比较指纹
+        if (hasMeta) {
+            ItemMeta meta = itemStack.getItemMeta();
+            if (getModelData(meta) != modelData || getMetaHash(meta) != metaHash) {
+                return false;
+            }
+        }
+
+        // 指纹相同时再做完整比较
+        return itemStack.isSimilar(prototype);
+    }
+
+    /**
+     * 统计背包中匹配物品的数量
+     * @param inventory 背包
+     * @param limit 达到该数量后停止统计
+     * @return 匹配物品数量，最多为limit
+     */
+    public int count(Inventory inventory, int limit) {
+        int count = 0;
+        for (ItemStack item : inventory.getContents()) {
+            if (matches(item)) {
+                count += item.getAmount();
+                if (count >= limit) {
+                    return count;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 检查背包中是否有足够的匹配物品
+     * @param inventory 背包
+     * @param amount 所需数量
+     * @return 是否有足够的物品
+     */
+    public boolean hasEnough(Inventory inventory, int amount) {
+        return inventory != null && count(inventory, amount) >= amount;
+    }
+
+    /**
+     * 从背包中移除指定数量的匹配物品
+     * 只扫描一次背包，数量不足时不做任何修改
+     * @param inventory 背包
+     * @param amount 要移除的数量
+     * @return 是否成功移除
+     */
+    public boolean remove(Inventory inventory, int amount) {
+        if (inventory == null) {
+            return false;
+        }
+
+        // 记录匹配槽位
+        ItemStack[] contents = inventory.getContents();
+        int[] slots = new int[contents.length];
+        int matched = 0;
+        int count = 0;
+        for (int i = 0; i < contents.length && count < amount; i++) {
+            if (matches(contents[i])) {
+                slots[matched++] = i;
+                count += contents[i].getAmount();
+            }
+        }
+
+        if (count < amount) {
+            return false;
+        }
+
+        // 移除物品
+        int remaining = amount;
+        for (int i = 0; i < matched && remaining > 0; i++) {
+            ItemStack item = contents[slots[i]];
+            if (item.getAmount() <= remaining) {
+                remaining -= item.getAmount();
+                inventory.setItem(slots[i], null);
+            } else {
+                item.setAmount(item.getAmount() - remaining);
+                inventory.setItem(slots[i], item);
+                remaining = 0;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 获取模型数据
+     * @param meta 物品元数据
+     * @return 模型数据，没有时返回0
+     */
+    private static int getModelData(ItemMeta meta) {
+        return meta != null && meta.hasCustomModelData() ? meta.getCustomModelData() : 0;
+    }
+
+    /**
+     * 计算显示名称与描述的哈希
+     * isSimilar相同的物品这两项必然相同，因此可作为预筛选条件
+     * @param meta 物品元数据
+     * @return 哈希值
+     */
+    private static int getMetaHash(ItemMeta meta) {
+        if (meta == null) {
+            return 0;
+        }
+        int hash = meta.hasDisplayName() ? meta.getDisplayName().hashCode() : 0;
+        hash = 31 * hash + (meta.hasLore() ? meta.getLore().hashCode() : 0);
+        return hash;
+    }
+}
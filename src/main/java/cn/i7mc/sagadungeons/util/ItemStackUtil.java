@@ -3,73 +3,66 @@ package cn.i7mc.sagadungeons.util;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.util.io.BukkitObjectInputStream;
-import org.bukkit.util.io.BukkitObjectOutputStream;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.util.Base64;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * 物品工具类
  * 提供ItemStack序列化和反序列化功能
- * 使用Bukkit兼容的序列化方法
+ * 编码格式见 {@link ItemCodec}
  */
 public class ItemStackUtil {
 
-    private static final Logger logger = Logger.getLogger("SagaDungeons");
+    // 序列化物品 -> 匹配器 缓存，避免每次比较都反序列化
+    private static final int MATCHER_CACHE_SIZE = 64;
+    private static final Map<String, ItemMatcher> matcherCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, ItemMatcher>(16, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ItemMatcher> eldest) {
+                    return size() > MATCHER_CACHE_SIZE;
+                }
+            });
 
     /**
-     * 将ItemStack序列化为Base64字符串
-     * 使用Bukkit兼容的序列化方法
+     * 将ItemStack序列化为字符串
      * @param itemStack 物品堆
-     * @return 序列化后的Base64字符串，如果失败则返回null
+     * @return 序列化后的字符串，如果失败则返回null
      */
     public static String serializeItemStack(ItemStack itemStack) {
-        if (itemStack == null) {
-            return null;
-        }
-
-        try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream);
-
-            dataOutput.writeObject(itemStack);
-            dataOutput.close();
-
-            return Base64.getEncoder().encodeToString(outputStream.toByteArray());
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "序列化物品时出错", e);
-            return null;
-        }
+        return ItemCodec.encode(itemStack);
     }
 
     /**
-     * 将Base64字符串反序列化为ItemStack
-     * 使用Bukkit兼容的反序列化方法
-     * @param serializedItem 序列化后的Base64字符串
+     * 将字符串反序列化为ItemStack
+     * 同时支持旧版本的Java序列化Base64字符串
+     * @param serializedItem 序列化后的字符串
      * @return 反序列化后的物品堆，如果失败则返回null
      */
     public static ItemStack deserializeItemStack(String serializedItem) {
+        return ItemCodec.decode(serializedItem);
+    }
+
+    /**
+     * 获取序列化物品的匹配器
+     * 同一序列化字符串只反序列化一次
+     * @param serializedItem 序列化后的Base64字符串
+     * @return 匹配器，反序列化失败时返回null
+     */
+    public static ItemMatcher getMatcher(String serializedItem) {
         if (serializedItem == null || serializedItem.isEmpty()) {
             return null;
         }
 
-        try {
-            byte[] bytes = Base64.getDecoder().decode(serializedItem);
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
-            BukkitObjectInputStream dataInput = new BukkitObjectInputStream(inputStream);
-
-            ItemStack itemStack = (ItemStack) dataInput.readObject();
-            dataInput.close();
-
-            return itemStack;
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "反序列化物品时出错", e);
-            return null;
+        ItemMatcher matcher = matcherCache.get(serializedItem);
+        if (matcher == null) {
+            matcher = ItemMatcher.fromSerialized(serializedItem);
+            if (matcher != null) {
+                matcherCache.put(serializedItem, matcher);
+            }
         }
+        return matcher;
     }
 
     /**
@@ -83,14 +76,9 @@ public class ItemStackUtil {
             return false;
         }
 
-        // 反序列化物品
-        ItemStack deserializedItem = deserializeItemStack(serializedItem);
-        if (deserializedItem == null) {
-            return false;
-        }
-
         // 比较物品类型和元数据
-        return itemStack.isSimilar(deserializedItem);
+        ItemMatcher matcher = getMatcher(serializedItem);
+        return matcher != null && matcher.matches(itemStack);
     }
 
     /**
@@ -141,24 +129,9 @@ public class ItemStackUtil {
             return false;
         }
 
-        // 反序列化物品
-        ItemStack deserializedItem = deserializeItemStack(serializedItem);
-        if (deserializedItem == null) {
-            return false;
-        }
-
         // 计算背包中匹配物品的总数
-        int count = 0;
-        for (ItemStack item : inventory.getContents()) {
-            if (item != null && item.isSimilar(deserializedItem)) {
-                count += item.getAmount();
-                if (count >= amount) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        ItemMatcher matcher = getMatcher(serializedItem);
+        return matcher != null && matcher.hasEnough(inventory, amount);
     }
 
     /**
@@ -188,36 +161,8 @@ public class ItemStackUtil {
             return false;
         }
 
-        // 检查是否有足够的物品
-        if (!hasEnoughSerializedItem(inventory, serializedItem, amount)) {
-            return false;
-        }
-
-        // 反序列化物品
-        ItemStack deserializedItem = deserializeItemStack(serializedItem);
-        if (deserializedItem == null) {
-            return false;
-        }
-
-        // 移除物品
-        int remaining = amount;
-        for (int i = 0; i < inventory.getSize(); i++) {
-            ItemStack item = inventory.getItem(i);
-            if (item != null && item.isSimilar(deserializedItem)) {
-                if (item.getAmount() <= remaining) {
-                    remaining -= item.getAmount();
-                    inventory.setItem(i, null);
-                } else {
-                    item.setAmount(item.getAmount() - remaining);
-                    remaining = 0;
-                }
-
-                if (remaining <= 0) {
-                    break;
-                }
-            }
-        }
-
-        return true;
+        // 数量不足时不会移除任何物品
+        ItemMatcher matcher = getMatcher(serializedItem);
+        return matcher != null && matcher.remove(inventory, amount);
     }
 }
@@ -82,6 +82,42 @@ public class MessageUtil {
         plugin.getConfigManager().getMessageManager().sendMessage(player, path, placeholders);
     }
 
+    /**
+     * 向发送者发送带单个变量的消息
+     * 不需要构建变量映射
+     * @param sender 发送者
+     * @param path 消息路径
+     * @param key 变量名
+     * @param value 变量值
+     */
+    public static void sendMessage(CommandSender sender, String path, String key, String value) {
+        SagaDungeons plugin = getPlugin();
+        if (plugin == null || plugin.getConfigManager() == null || plugin.getConfigManager().getMessageManager() == null) {
+            sender.sendMessage("§c[SagaDungeons] 消息系统未初始化: " + path);
+            return;
+        }
+        sender.sendMessage(plugin.getConfigManager().getMessageManager().getPrefixedMessage(path, key, value));
+    }
+
+    /**
+     * 向发送者发送带两个变量的消息
+     * 不需要构建变量映射
+     * @param sender 发送者
+     * @param path 消息路径
+     * @param key1 变量名1
+     * @param value1 变量值1
+     * @param key2 变量名2
+     * @param value2 变量值2
+     */
+    public static void sendMessage(CommandSender sender, String path, String key1, String value1, String key2, String value2) {
+        SagaDungeons plugin = getPlugin();
+        if (plugin == null || plugin.getConfigManager() == null || plugin.getConfigManager().getMessageManager() == null) {
+            sender.sendMessage("§c[SagaDungeons] 消息系统未初始化: " + path);
+            return;
+        }
+        sender.sendMessage(plugin.getConfigManager().getMessageManager().getPrefixedMessage(path, key1, value1, key2, value2));
+    }
+
     /**
      * 创建变量映射
      * @param key 变量名
@@ -149,6 +185,32 @@ public class MessageUtil {
         return placeholders;
     }
 
+    /**
+     * 创建变量映射
+     * @param key1 变量名1
+     * @param value1 变量值1
+     * @param key2 变量名2
+     * @param value2 变量值2
+     * @param key3 变量名3
+     * @param value3 变量值3
+     * @param key4 变量名4
+     * @param value4 变量值4
+     * @param key5 变量名5
+     * @param value5 变量值5
+     * @return 变量映射
+     */
+    public static Map<String, String> createPlaceholders(String key1, String value1, String key2, String value2,
+                                                        String key3, String value3, String key4, String value4,
+                                                        String key5, String value5) {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put(key1, value1);
+        placeholders.put(key2, value2);
+        placeholders.put(key3, value3);
+        placeholders.put(key4, value4);
+        placeholders.put(key5, value5);
+        return placeholders;
+    }
+
     /**
      * 创建变量映射
      * @param key1 变量名1
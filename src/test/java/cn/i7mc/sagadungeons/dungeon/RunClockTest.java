@@ -0,0 +1,72 @@
+package cn.i7mc.sagadungeons.dungeon;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 副本运行计时测试
+ */
+class RunClockTest {
+
+    /**
+     * 通关用时从世界就绪开始计算，不包括世界复制的时间
+     */
+    @Test
+    void clearTimeStartsWhenWorldIsReady() {
+        RunClock clock = new RunClock(1_000L);
+        clock.markReady(31_000L);
+        clock.markCompleted(151_000L);
+
+        assertEquals(120_000L, clock.getClearMillis());
+    }
+
+    /**
+     * 通关用时扣除每一次休眠的时间
+     */
+    @Test
+    void clearTimeExcludesHibernatedTime() {
+        RunClock clock = new RunClock(0L);
+        clock.markReady(10_000L);
+
+        // 运行60秒后休眠10分钟
+        clock.enterHibernation(70_000L);
+        clock.exitHibernation(670_000L);
+
+        // 再运行30秒后休眠5分钟
+        clock.enterHibernation(700_000L);
+        clock.exitHibernation(1_000_000L);
+
+        // 再运行30秒后通关
+        clock.markCompleted(1_030_000L);
+
+        assertEquals(900_000L, clock.getHibernatedMillis());
+        assertEquals(120_000L, clock.getClearMillis());
+    }
+
+    /**
+     * 只记录第一次就绪与通关，重新加载世界不会重置计时
+     */
+    @Test
+    void readyAndCompletionAreRecordedOnce() {
+        RunClock clock = new RunClock(0L);
+        clock.markReady(5_000L);
+        clock.markReady(50_000L);
+        clock.markCompleted(65_000L);
+        clock.markCompleted(90_000L);
+
+        assertEquals(5_000L, clock.getReadyTime());
+        assertEquals(60_000L, clock.getClearMillis());
+    }
+
+    /**
+     * 尚未通关时通关用时为0
+     */
+    @Test
+    void clearTimeIsZeroBeforeCompletion() {
+        RunClock clock = new RunClock(0L);
+        clock.markReady(5_000L);
+
+        assertEquals(0L, clock.getClearMillis());
+    }
+}